@@ -0,0 +1,48 @@
+package evaluation.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class BenchmarkRunner {
+
+    /**
+     * Runs GameBenchmarks with the GC profiler (for the allocation rate per operation), and writes the results
+     * as JSON so that they can be compared between releases.
+     * <p>
+     * Arguments (all optional):
+     * games=Dominion,Uno   only benchmark these games (default is every GameType)
+     * benchmarks=copy      regular expression for the benchmark methods to run (default all)
+     * output=file.json     where to write the results (default jmh-results.json)
+     * <p>
+     * Build with 'mvn -P benchmark package', and then run
+     * 'java -cp target/Benchmarks-jar-with-dependencies.jar evaluation.benchmarks.BenchmarkRunner'.
+     * (The standard JMH command line, org.openjdk.jmh.Main, is also available in the same jar.)
+     */
+    public static void main(String... args) throws RunnerException {
+        String games = "", benchmarks = ".*", output = "jmh-results.json";
+        for (String arg : args) {
+            String[] split = arg.split("=", 2);
+            if (split.length != 2)
+                throw new IllegalArgumentException("Arguments should be of the form name=value: " + arg);
+            switch (split[0]) {
+                case "games" -> games = split[1];
+                case "benchmarks" -> benchmarks = split[1];
+                case "output" -> output = split[1];
+                default -> throw new IllegalArgumentException("Unknown argument: " + split[0]);
+            }
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(GameBenchmarks.class.getSimpleName() + "\\." + benchmarks)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(output);
+        if (!games.isEmpty())
+            options.param("gameType", games.split(","));
+        new Runner(options.build()).run();
+    }
+}
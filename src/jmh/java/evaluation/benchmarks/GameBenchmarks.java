@@ -0,0 +1,111 @@
+package evaluation.benchmarks;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of the core operations of every game in GameType (as gameType is an enum, JMH runs each benchmark
+ * once for every value of it, unless restricted with -p gameType=...).
+ * <p>
+ * Each benchmark starts from a state reached by playing 'advance' random actions from the start of a seeded game,
+ * so that we are not just measuring the (often atypical) initial state.
+ * <p>
+ * Run these with BenchmarkRunner, which adds the GC profiler and writes the results as JSON.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmarks {
+
+    @Param
+    public GameType gameType;
+
+    @Param("10")
+    public int advance;
+
+    @Param("42")
+    public long seed;
+
+    // maximum number of actions in a playout, as some games can run (almost) indefinitely with random play
+    @Param("5000")
+    public int maxPlayoutLength;
+
+    AbstractForwardModel forwardModel;
+    AbstractGameState state;
+    List<AbstractAction> actions;
+    Random rnd;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Game game = gameType.createGameInstance(Math.max(2, gameType.getMinPlayers()), seed);
+        forwardModel = game.getForwardModel();
+        state = game.getGameState();
+        rnd = new Random(seed);
+        for (int i = 0; i < advance && state.isNotTerminal(); i++) {
+            List<AbstractAction> available = forwardModel.computeAvailableActions(state);
+            forwardModel.next(state, available.get(rnd.nextInt(available.size())));
+        }
+        if (!state.isNotTerminal())
+            throw new AssertionError(gameType + " finished in fewer than " + advance + " actions");
+        actions = forwardModel.computeAvailableActions(state);
+    }
+
+    @Benchmark
+    public AbstractGameState setupState() {
+        AbstractGameState newState = state.copy();
+        forwardModel.setup(newState);
+        return newState;
+    }
+
+    @Benchmark
+    public AbstractGameState copy() {
+        return state.copy();
+    }
+
+    @Benchmark
+    public AbstractGameState copyForPlayer() {
+        return state.copy(state.getCurrentPlayer());
+    }
+
+    @Benchmark
+    public List<AbstractAction> computeAvailableActions() {
+        return forwardModel.computeAvailableActions(state);
+    }
+
+    /**
+     * next() modifies the state, so each call is on a new copy; subtract the score of copy() to get next() alone.
+     */
+    @Benchmark
+    public AbstractGameState copyAndNext() {
+        AbstractGameState newState = state.copy();
+        forwardModel.next(newState, actions.get(rnd.nextInt(actions.size())).copy());
+        return newState;
+    }
+
+    /**
+     * A random playout from the benchmark state to the end of the game (or maxPlayoutLength actions).
+     */
+    @Benchmark
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 5)
+    public void randomPlayout(Blackhole blackhole) {
+        AbstractGameState playout = state.copy();
+        for (int i = 0; i < maxPlayoutLength && playout.isNotTerminal(); i++) {
+            List<AbstractAction> available = forwardModel.computeAvailableActions(playout);
+            forwardModel.next(playout, available.get(rnd.nextInt(available.size())));
+        }
+        blackhole.consume(playout.getGameTick());
+    }
+}
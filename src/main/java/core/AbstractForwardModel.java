@@ -93,6 +93,36 @@ public abstract class AbstractForwardModel {
         return _computeAvailableActions(gameState);
     }
 
+    /**
+     * Override this to return true if _countAvailableActions() and _getAvailableAction() are implemented for
+     * the given state. This allows random rollouts to pick an action without creating the list of all of them
+     * (see randomAvailableAction()).
+     * This is only asked when there is no action in progress and the default action space is used.
+     *
+     * @param gameState - current game state
+     * @return true if the available actions in this state can be counted and indexed
+     */
+    protected boolean supportsIndexedActions(AbstractGameState gameState) {
+        return false;
+    }
+
+    /**
+     * @param gameState - current game state
+     * @return the number of actions that _computeAvailableActions(gameState) would return
+     */
+    protected int _countAvailableActions(AbstractGameState gameState) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support indexed actions");
+    }
+
+    /**
+     * @param gameState - current game state
+     * @param index     - index of the action, from 0 to _countAvailableActions(gameState) - 1
+     * @return the action at this position in the list that _computeAvailableActions(gameState) would return
+     */
+    protected AbstractAction _getAvailableAction(AbstractGameState gameState, int index) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support indexed actions");
+    }
+
     protected abstract void endPlayerTurn(AbstractGameState state);
 
     /**
@@ -156,6 +186,49 @@ public abstract class AbstractForwardModel {
         currentState.advanceGameTick();
     }
 
+    /**
+     * Applies the given action to the game state (as next() does), and records what is needed to reverse it with undo().
+     * This allows search algorithms to explore the game tree depth-first with make/unmake on a single state, rather
+     * than copying the state before each call to next().
+     * This is only possible if supportsUndo() is true, and the action isReversible().
+     *
+     * @param currentState - current game state, to be modified by the action.
+     * @param action       - action requested to be played by a player.
+     */
+    public final void applyAndRecord(AbstractGameState currentState, AbstractAction action) {
+        if (!supportsUndo())
+            throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support undo");
+        if (action == null || !action.isReversible())
+            throw new UnsupportedOperationException("Action cannot be undone: " + action);
+        currentState.pushUndoFrame();
+        next(currentState, action);
+    }
+
+    /**
+     * Reverses the last action applied to the game state with applyAndRecord().
+     * The state is then equal to what it was before that action, with the exception of the player timers and the
+     * random number generator, which are not restored.
+     *
+     * @param currentState - game state to which the action was applied.
+     */
+    public final void undo(AbstractGameState currentState) {
+        currentState.popUndoFrame();
+    }
+
+    /**
+     * Override this to return true if the forward model supports applyAndRecord() and undo().
+     * This requires that any changes _next() makes to game-specific state (other than those made by the action,
+     * which are the action's responsibility) are recorded with AbstractGameState.recordUndo(). Changes to the core
+     * state (game status, player results, phase, turn and round counters, history) are reversed automatically.
+     * As the random number generator is not restored, this should only be true for games where _next() is
+     * deterministic.
+     *
+     * @return true if actions applied with applyAndRecord() can be undone
+     */
+    public boolean supportsUndo() {
+        return false;
+    }
+
     /**
      * Computes the available actions and updates the game state accordingly.
      *
@@ -186,6 +259,33 @@ public abstract class AbstractForwardModel {
         return retValue;
     }
 
+    /**
+     * Picks one of the available actions uniformly at random. This is equivalent to a RandomPlayer (with no decorators)
+     * choosing from computeAvailableActions(gameState, actionSpace), and uses rnd in the same way, but does not
+     * create the list of actions if the forward model supports indexed actions in this state.
+     * This is intended for random rollouts in search algorithms.
+     *
+     * @param gameState   - current game state
+     * @param actionSpace - action space to use
+     * @param rnd         - random number generator of the (random) player choosing the action
+     * @return - a random available action
+     */
+    public final AbstractAction randomAvailableAction(AbstractGameState gameState, ActionSpace actionSpace, Random rnd) {
+        boolean indexed = decorators.isEmpty() && (actionSpace == null || actionSpace.isDefault())
+                && !gameState.isActionInProgress() && supportsIndexedActions(gameState);
+        List<AbstractAction> actions = indexed ? null : computeAvailableActions(gameState, actionSpace);
+        int count = indexed ? _countAvailableActions(gameState) : actions.size();
+        if (count == 0)
+            throw new AssertionError("No actions available");
+        int index = 0;
+        if (count > 1) {
+            // as in AbstractPlayer.getAction()
+            gameState.rnd = rnd;
+            index = rnd.nextInt(count);
+        }
+        return indexed ? _getAvailableAction(gameState, index) : actions.get(index);
+    }
+
     /**
      * Performs any end of game computations, as needed.
      * This should not normally need to be overriden - but can be. For example if a game is purely co-operative
@@ -17,6 +17,7 @@ import utilities.Pair;
 
 import java.util.*;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -39,6 +40,9 @@ public abstract class AbstractGameState {
     // Game being played
     protected final GameType gameType = _getGameType();
     private Area allComponents;
+    // allComponents is only built when it is first needed (see getComponentById()), as most copies of a state
+    // (for example during MCTS rollouts) never look up a component by ID
+    private boolean allComponentsStale = true;
 
     // Game tick, number of iterations of game loop
     private int tick = 0;
@@ -51,12 +55,25 @@ public abstract class AbstractGameState {
 
     // Timers for all players
     protected ElapsedCpuChessTimer[] playerTimer;
+    // True if playerTimer may also be referenced by a copy of this state, or by the state this was copied from.
+    // The timers are then copied before they are changed, so that each state only changes its own.
+    private boolean playerTimerShared;
+    // Bit p is set if the timer of player p may be shared with another state, even if the array itself is not
+    private long sharedTimers;
 
     // A record of all actions taken to reach this game state
     // The history is stored as a list of pairs, where the first element is the player who took the action
     // this is in chronological order
     private List<Pair<Integer, AbstractAction>> history = new ArrayList<>();
     private List<String> historyText = new ArrayList<>();
+    // true if the history lists may be referenced by another copy of this state (see shareOnCopy())
+    private boolean sharedHistory;
+
+    // Reversible-delta log used by AbstractForwardModel.applyAndRecord() and undo(). There is one frame for each
+    // action applied, and undoDeltas holds the game-specific changes recorded by all those actions (see recordUndo()).
+    // This is never copied; a copy starts with no actions to undo.
+    private ArrayDeque<UndoFrame> undoFrames;
+    private ArrayDeque<Runnable> undoDeltas;
 
     // Status of the game, and status for each player (in cooperative games, the game status is also each player's status)
     protected CoreConstants.GameResult gameStatus;
@@ -91,12 +108,18 @@ public abstract class AbstractGameState {
      */
     protected void reset() {
         allComponents = new Area(-1, "All Components");
+        allComponentsStale = true;
         gameStatus = GAME_ONGOING;
         playerResults = new CoreConstants.GameResult[getNPlayers()];
         Arrays.fill(playerResults, GAME_ONGOING);
         history = new ArrayList<>();
         historyText = new ArrayList<>();
+        sharedHistory = false;
+        undoFrames = null;
+        undoDeltas = null;
         playerTimer = new ElapsedCpuChessTimer[getNPlayers()];
+        playerTimerShared = false;
+        sharedTimers = 0;
         tick = 0;
         turnOwner = 0;
         turnCounter = 0;
@@ -154,14 +177,36 @@ public abstract class AbstractGameState {
         return gamePhase;
     }
     public final ElapsedCpuChessTimer[] getPlayerTimer() {
+        for (int p = 0; p < playerTimer.length; p++)
+            getPlayerTimerForUpdate(p);
         return playerTimer;
     }
+
+    /**
+     * The timer of one player, to be changed. Unlike getPlayerTimer(), this only copies that one timer if it is
+     * shared with a copy of this state, and the others are left shared.
+     *
+     * @param player - the player whose timer is needed
+     * @return the timer of the player, owned by this state
+     */
+    public final ElapsedCpuChessTimer getPlayerTimerForUpdate(int player) {
+        if (playerTimerShared) {
+            playerTimer = playerTimer.clone();
+            playerTimerShared = false;
+        }
+        if ((sharedTimers & 1L << player) != 0) {
+            playerTimer[player] = playerTimer[player].copy();
+            sharedTimers &= ~(1L << player);
+        }
+        return playerTimer[player];
+    }
     public final GameType getGameType() {
         return gameType;
     }
 
 
     protected void setHistoryAt(int index, Pair<Integer, AbstractAction> action) {
+        ensureOwnHistory();
         history.set(index, action);
     }
     /**
@@ -239,6 +284,8 @@ public abstract class AbstractGameState {
     }
     public final int getGameTick() {return tick;}
     public final Component getComponentById(int id) {
+        if (allComponentsStale)
+            addAllComponents();
         Component c = allComponents.getComponent(id);
         if (c == null) {
             try {
@@ -251,7 +298,7 @@ public abstract class AbstractGameState {
     }
 
     public final Area getAllComponents() {
-        addAllComponents(); // otherwise the list of allComponents is only ever updated when we copy the state!
+        addAllComponents(); // otherwise the list of allComponents is only updated on the first lookup by ID!
         return allComponents;
     }
 
@@ -266,12 +313,34 @@ public abstract class AbstractGameState {
         return _getAllComponents();
     }
 
+    /**
+     * Passes each of the top-level components (see getAllTopLevelComponents()) to action, in the same order.
+     * By default this builds the list from _getAllComponents(); games can override it to visit their components
+     * directly, for callers such as ZobristStateKey that do this for every state.
+     *
+     * @param action - called for each component
+     */
+    public void forEachTopLevelComponent(Consumer<Component> action) {
+        for (Component c : _getAllComponents())
+            action.accept(c);
+    }
+
     /**
      * Adds all components given by the game to the allComponents map in the correct way, first clearing the map.
      */
     protected final void addAllComponents() {
         allComponents.clear();
         allComponents.putComponents(_getAllComponents());
+        allComponentsStale = false;
+    }
+
+    /**
+     * Marks the allComponents map as out of date, so that it is rebuilt on the next call to getComponentById().
+     * This should be called when a component is replaced by a different object with the same ID (for example when
+     * a shared part of the state is copied before modification), as that would not otherwise be picked up.
+     */
+    protected final void invalidateAllComponents() {
+        allComponentsStale = true;
     }
 
     /**
@@ -312,8 +381,16 @@ public abstract class AbstractGameState {
         s.rnd = new Random(redeterminisationRnd.nextLong());
 
         if (!coreGameParameters.competitionMode) {
-            s.history = new ArrayList<>(history);
-            s.historyText = new ArrayList<>(historyText);
+            if (shareOnCopy()) {
+                // the lists are only copied when one of the states next records history
+                s.history = history;
+                s.historyText = historyText;
+                s.sharedHistory = true;
+                sharedHistory = true;
+            } else {
+                s.history = new ArrayList<>(history);
+                s.historyText = new ArrayList<>(historyText);
+            }
             // we do not copy individual actions in history, as these are now dead and should not change
             // History is for debugging and spectation of games. There is a risk that History might contain information
             // formally hidden to some participants. For this reason, in COMPETITION_MODE we explicitly do not copy
@@ -327,13 +404,15 @@ public abstract class AbstractGameState {
                 a -> s.actionsInProgress.push(a.copy())
         );
 
-        s.playerTimer = new ElapsedCpuChessTimer[getNPlayers()];
-        for (int i = 0; i < getNPlayers(); i++) {
-            s.playerTimer[i] = playerTimer[i].copy();
-        }
+        // the timers are only copied when one of the states next uses them
+        s.playerTimer = playerTimer;
+        s.playerTimerShared = true;
+        playerTimerShared = true;
+        s.sharedTimers = -1L;
+        sharedTimers = -1L;
 
-        // Update the list of components for ID matching in actions.
-        s.addAllComponents();
+        // The list of components for ID matching in actions is rebuilt on first use
+        s.allComponentsStale = true;
         return s;
     }
 
@@ -343,6 +422,7 @@ public abstract class AbstractGameState {
      * @param action The action that has just been applied (or is about to be applied) to the game state
      */
     protected final void recordAction(AbstractAction action, int player) {
+        ensureOwnHistory();
         history.add(new Pair<>(player, action.copy()));
         historyText.add("Player " + player + " : " + action.getString(this));
     }
@@ -371,9 +451,107 @@ public abstract class AbstractGameState {
     }
 
     public void recordHistory(String history) {
+        ensureOwnHistory();
         historyText.add(history);
     }
 
+    private void ensureOwnHistory() {
+        if (sharedHistory) {
+            history = new ArrayList<>(history);
+            historyText = new ArrayList<>(historyText);
+            sharedHistory = false;
+        }
+    }
+
+    /**
+     * Games can opt in to structural sharing on copy(), in which case data that is not modified after the copy
+     * (currently the history of the game) is shared between the original state and the copy until one of them
+     * changes it. Game-specific data can use the same switch in _copy() (for example with Deck.setCopyOnWrite()).
+     * This can be turned off for all games with CoreParameters.structuralSharing.
+     *
+     * @return true if copies of this state may share unmodified data with it
+     */
+    public boolean shareOnCopy() {
+        return coreGameParameters.structuralSharing && supportsStructuralSharing();
+    }
+
+    /**
+     * Override this to return true in games whose _copy() supports structural sharing (see shareOnCopy()).
+     */
+    protected boolean supportsStructuralSharing() {
+        return false;
+    }
+
+    /* Methods dealing with the undo log */
+
+    private record UndoFrame(int nDeltas, int tick, int roundCounter, int turnCounter, int turnOwner, int firstPlayer,
+                             CoreConstants.GameResult gameStatus, CoreConstants.GameResult[] playerResults,
+                             IGamePhase gamePhase, int historySize, int historyTextSize) {
+    }
+
+    /**
+     * @return true if the action currently being applied was applied with AbstractForwardModel.applyAndRecord(), and
+     * so must record how to reverse any game-specific changes it makes with recordUndo().
+     */
+    public final boolean isRecordingUndo() {
+        return undoFrames != null && !undoFrames.isEmpty();
+    }
+
+    /**
+     * Records a change to game-specific state, so that it can be reversed by AbstractForwardModel.undo().
+     * The changes for an action are reversed in the opposite order to that in which they were recorded, and then all the
+     * core state (game status, player results, game phase, turn/round counters, current player, history) is restored
+     * to how it was before the action, so there is no need to record changes to these.
+     * This does nothing if isRecordingUndo() is false - check that first to avoid creating the Runnable unnecessarily.
+     *
+     * @param undo - reverses the change just made to this state
+     */
+    public final void recordUndo(Runnable undo) {
+        if (isRecordingUndo())
+            undoDeltas.push(undo);
+    }
+
+    /**
+     * @return the number of actions applied with AbstractForwardModel.applyAndRecord() that can be undone
+     */
+    public final int getUndoDepth() {
+        return undoFrames == null ? 0 : undoFrames.size();
+    }
+
+    final void pushUndoFrame() {
+        if (!actionsInProgress.isEmpty())
+            throw new UnsupportedOperationException("Undo is not supported while an extended action sequence is in progress");
+        if (undoFrames == null) {
+            undoFrames = new ArrayDeque<>();
+            undoDeltas = new ArrayDeque<>();
+        }
+        undoFrames.push(new UndoFrame(undoDeltas.size(), tick, roundCounter, turnCounter, turnOwner, firstPlayer,
+                gameStatus, playerResults.clone(), gamePhase, history.size(), historyText.size()));
+    }
+
+    final void popUndoFrame() {
+        if (getUndoDepth() == 0)
+            throw new AssertionError("No action to undo");
+        UndoFrame frame = undoFrames.pop();
+        while (undoDeltas.size() > frame.nDeltas)
+            undoDeltas.pop().run();
+        // anything on the stack was put there by the action being undone (see pushUndoFrame())
+        actionsInProgress.clear();
+        tick = frame.tick;
+        roundCounter = frame.roundCounter;
+        turnCounter = frame.turnCounter;
+        turnOwner = frame.turnOwner;
+        firstPlayer = frame.firstPlayer;
+        gameStatus = frame.gameStatus;
+        System.arraycopy(frame.playerResults, 0, playerResults, 0, playerResults.length);
+        gamePhase = frame.gamePhase;
+        if (history.size() > frame.historySize || historyText.size() > frame.historyTextSize) {
+            ensureOwnHistory();
+            history.subList(frame.historySize, history.size()).clear();
+            historyText.subList(frame.historyTextSize, historyText.size()).clear();
+        }
+    }
+
     /* Methods dealing with ExtendedActions and the actionStack */
 
     public final IExtendedSequence currentActionInProgress() {
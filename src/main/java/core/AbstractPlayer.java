@@ -17,6 +17,7 @@ public abstract class AbstractPlayer {
     private AbstractForwardModel forwardModel;
     public PlayerParameters parameters;
     protected List<IPlayerDecorator> decorators;
+    private Boolean usesUpdatedObservations;  // found lazily by usesUpdatedObservations()
 
     public AbstractPlayer(PlayerParameters params, String name) {
         this.parameters = params != null ? params : new PlayerParameters();
@@ -112,6 +113,10 @@ public abstract class AbstractPlayer {
         decorators.remove(decorator);
     }
 
+    public final boolean hasDecorators() {
+        return !decorators.isEmpty();
+    }
+
     @Override
     public String toString() {
         if (name != null) return name;
@@ -156,6 +161,24 @@ public abstract class AbstractPlayer {
     public void registerUpdatedObservation(AbstractGameState gameState) {
     }
 
+    /**
+     * The Game only creates an observation for a decision the player does not take (as only one action is available)
+     * if the player will use it; i.e. if the player overrides registerUpdatedObservation().
+     *
+     * @return true if registerUpdatedObservation() is overridden
+     */
+    public final boolean usesUpdatedObservations() {
+        if (usesUpdatedObservations == null) {
+            try {
+                usesUpdatedObservations = getClass().getMethod("registerUpdatedObservation", AbstractGameState.class)
+                        .getDeclaringClass() != AbstractPlayer.class;
+            } catch (NoSuchMethodException e) {
+                throw new AssertionError("registerUpdatedObservation() not found", e);
+            }
+        }
+        return usesUpdatedObservations;
+    }
+
 
     public void onEvent(Event event) {
     }
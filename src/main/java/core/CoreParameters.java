@@ -11,6 +11,7 @@ public class CoreParameters extends TunableParameters<Object> {
     public boolean recordEventHistory = true;  // include in history text game events
     public boolean partialObservable = true;
     public boolean competitionMode = false;
+    public boolean structuralSharing = true;  // share unmodified data between copies of the state, in games that support it
     public boolean disqualifyPlayerOnIllegalActionPlayed = false;
     public boolean disqualifyPlayerOnTimeout = false;
     public boolean alwaysDisplayFullObservable = false;
@@ -25,6 +26,7 @@ public class CoreParameters extends TunableParameters<Object> {
         addTunableParameter("recordEventHistory", recordEventHistory, Arrays.asList(false, true));
         addTunableParameter("partial observable", partialObservable, Arrays.asList(false, true));
         addTunableParameter("competition mode", competitionMode, Arrays.asList(false, true));
+        addTunableParameter("structuralSharing", structuralSharing, Arrays.asList(false, true));
         addTunableParameter("disqualify player on illegal action played", disqualifyPlayerOnIllegalActionPlayed, Arrays.asList(false, true));
         addTunableParameter("disqualify player on timeout", disqualifyPlayerOnTimeout, Arrays.asList(false, true));
         addTunableParameter("always display full observable", alwaysDisplayFullObservable, Arrays.asList(false, true));
@@ -44,14 +46,13 @@ public class CoreParameters extends TunableParameters<Object> {
     public boolean _equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof CoreParameters)) return false;
-        if (!super.equals(o)) return false;
         CoreParameters that = (CoreParameters) o;
-        return verbose == that.verbose && recordEventHistory == that.recordEventHistory && partialObservable == that.partialObservable && competitionMode == that.competitionMode && disqualifyPlayerOnIllegalActionPlayed == that.disqualifyPlayerOnIllegalActionPlayed && disqualifyPlayerOnTimeout == that.disqualifyPlayerOnTimeout && alwaysDisplayFullObservable == that.alwaysDisplayFullObservable && alwaysDisplayCurrentPlayer == that.alwaysDisplayCurrentPlayer && frameSleepMS == that.frameSleepMS && Objects.equals(actionSpace, that.actionSpace);
+        return verbose == that.verbose && recordEventHistory == that.recordEventHistory && partialObservable == that.partialObservable && competitionMode == that.competitionMode && structuralSharing == that.structuralSharing && disqualifyPlayerOnIllegalActionPlayed == that.disqualifyPlayerOnIllegalActionPlayed && disqualifyPlayerOnTimeout == that.disqualifyPlayerOnTimeout && alwaysDisplayFullObservable == that.alwaysDisplayFullObservable && alwaysDisplayCurrentPlayer == that.alwaysDisplayCurrentPlayer && frameSleepMS == that.frameSleepMS && Objects.equals(actionSpace, that.actionSpace);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), verbose, recordEventHistory, partialObservable, competitionMode, disqualifyPlayerOnIllegalActionPlayed, disqualifyPlayerOnTimeout, alwaysDisplayFullObservable, alwaysDisplayCurrentPlayer, frameSleepMS, actionSpace);
+        return Objects.hash(super.hashCode(), verbose, recordEventHistory, partialObservable, competitionMode, structuralSharing, disqualifyPlayerOnIllegalActionPlayed, disqualifyPlayerOnTimeout, alwaysDisplayFullObservable, alwaysDisplayCurrentPlayer, frameSleepMS, actionSpace);
     }
 
     @Override
@@ -65,6 +66,7 @@ public class CoreParameters extends TunableParameters<Object> {
         recordEventHistory = (boolean) getParameterValue("recordEventHistory");
         partialObservable = (boolean) getParameterValue("partial observable");
         competitionMode = (boolean) getParameterValue("competition mode");
+        structuralSharing = (boolean) getParameterValue("structuralSharing");
         disqualifyPlayerOnIllegalActionPlayed = (boolean) getParameterValue("disqualify player on illegal action played");
         disqualifyPlayerOnTimeout = (boolean) getParameterValue("disqualify player on timeout");
         alwaysDisplayFullObservable = (boolean) getParameterValue("always display full observable");
@@ -1,6 +1,7 @@
 package core;
 
 import core.actions.AbstractAction;
+import core.actions.ActionSpace;
 import core.actions.DoNothing;
 import core.interfaces.IExtendedSequence;
 import core.interfaces.IPrintable;
@@ -53,6 +54,11 @@ public class Game {
     private JFrame frame;
     // Timers for various function calls
     private double nextTime, copyTime, agentTime, actionComputeTime;
+    // The actions available in gameState, cached against the tick, player and action space they were computed for
+    private List<AbstractAction> cachedActions;
+    private AbstractGameState cachedActionsState;
+    private int cachedActionsTick = -1, cachedActionsPlayer = -1;
+    private ActionSpace cachedActionSpace;
     // Keeps track of action spaces for each game tick, pairs of (player ID, #actions)
     private ArrayList<Pair<Integer, Integer>> actionSpaceSize;
     // Number of times an agent is asked for decisions
@@ -409,6 +415,7 @@ public class Game {
         copyTime = 0;
         agentTime = 0;
         actionComputeTime = 0;
+        cachedActions = null;
         nDecisions = 0;
         actionSpaceSize = new ArrayList<>();
         nActionsPerTurnSum = 0;
@@ -525,18 +532,37 @@ public class Game {
         AbstractPlayer currentPlayer = players.get(activePlayer);
         if (debug) System.out.printf("Starting oneAction for player %s%n", activePlayer);
 
-        // Get player observation, and time how long it takes
-        double s = System.nanoTime();
-        // copying the gamestate also copies the game parameters and resets the random seed (so agents cannot use this
-        // to reconstruct the starting hands etc.)
-        AbstractGameState observation = gameState.copy(activePlayer);
-        copyTime = (System.nanoTime() - s);
-        //      System.out.printf("Total copyTime in ms = %.2f at tick %d (Avg %.3f) %n", copyTime / 1e6, tick, copyTime / (tick +1.0) / 1e6);
-
-        // Get actions for the player
-        s = System.nanoTime();
-        boolean errorInbound = forwardModel.computeAvailableActions(observation, currentPlayer.getParameters().actionSpace).isEmpty();
-        List<AbstractAction> observedActions = forwardModel.computeAvailableActions(observation, currentPlayer.getParameters().actionSpace);
+        // The actions are computed once per decision. A single available action is played automatically (except for
+        // human players, who confirm it), and the observation is then only needed by a player that uses
+        // registerUpdatedObservation(). So unless we already know that the player will see the observation, the
+        // actions are computed (and cached) on the real game state, and the copy is only made if the player has a
+        // choice to make. They are then the actions of the observation too, as copy(activePlayer) must not change the
+        // actions available to the active player (the chosen action is applied to the real game state).
+        ActionSpace actionSpace = currentPlayer.getParameters().actionSpace;
+        boolean isHuman = currentPlayer instanceof HumanGUIPlayer || currentPlayer instanceof HumanConsolePlayer;
+        boolean observeFirst = isHuman || currentPlayer.usesUpdatedObservations() || gameState.coreGameParameters.verbose;
+        List<AbstractAction> observedActions = null;
+        AbstractGameState observation = null;
+        copyTime = 0;
+        double s;
+        if (observeFirst) {
+            observation = copyObservation(activePlayer);
+            // Get actions for the player
+            s = System.nanoTime();
+            observedActions = forwardModel.computeAvailableActions(observation, actionSpace);
+            actionComputeTime = (System.nanoTime() - s);
+        } else {
+            s = System.nanoTime();
+            List<AbstractAction> actions = getAvailableActions(actionSpace);
+            actionComputeTime = (System.nanoTime() - s);
+            if (actions.size() > 1) {
+                observation = copyObservation(activePlayer);
+                // the player gets its own copy of the (cached) list, as some players reorder it
+                observedActions = new ArrayList<>(actions);
+            } else {
+                observedActions = actions;
+            }
+        }
         if (observedActions.isEmpty()) {
             Stack<IExtendedSequence> actionsInProgress = gameState.getActionsInProgress();
             IExtendedSequence topOfStack = null;
@@ -558,16 +584,17 @@ public class Game {
                     System.out.println(history.get(i));
                 }
             }
-            forwardModel.computeAvailableActions(gameState);
             throw new AssertionError("No actions available for player " + activePlayer
                     + (lastAction != null ? ". Last action: " + lastAction.getClass().getSimpleName() + " (" + lastAction + ")" : ". No actions in history")
                     + ". Actions in progress: " + actionsInProgress.size()
                     + (topOfStack != null ? ". Top of stack: " + topOfStack.getClass().getSimpleName() + " (" + (topOfStack instanceof AbstractAction ? ((AbstractAction) topOfStack).getString(gameState) : topOfStack) + ")" : ""));
 
         }
-        actionComputeTime = (System.nanoTime() - s);
         actionSpaceSize.add(new Pair<>(activePlayer, observedActions.size()));
 
+        // A single action is played automatically (except for human players, who confirm it)
+        boolean autoPlay = observedActions.size() == 1 && (!isHuman || observedActions.get(0) instanceof DoNothing);
+
         if (gameState.coreGameParameters.verbose) {
             System.out.println("Round: " + gameState.getRoundCounter());
         }
@@ -576,16 +603,20 @@ public class Game {
             ((IPrintable) observation).printToConsole();
         }
 
+        // Checked before the timer is resumed for this decision (previously this was checked on the observation)
+        boolean timedOut = gameState.getPlayerTimerForUpdate(activePlayer).exceededMaxTime();
+
         // Start the timer for this decision
-        gameState.playerTimer[activePlayer].resume();
+        gameState.getPlayerTimerForUpdate(activePlayer).resume();
 
         // Either ask player which action to use or, in case no actions are available, report the updated observation
         AbstractAction action = null;
         if (!observedActions.isEmpty()) {
-            if (observedActions.size() == 1 && (!(currentPlayer instanceof HumanGUIPlayer || currentPlayer instanceof HumanConsolePlayer) || observedActions.get(0) instanceof DoNothing)) {
+            if (autoPlay) {
                 // Can only do 1 action, so do it.
                 action = observedActions.get(0);
-                currentPlayer.registerUpdatedObservation(observation);
+                if (observation != null)
+                    currentPlayer.registerUpdatedObservation(observation);
             } else {
                 // Get action from player, and time it
                 s = System.nanoTime();
@@ -610,13 +641,11 @@ public class Game {
             AbstractAction finalAction = action;
             listeners.forEach(l -> l.onEvent(Event.createEvent(Event.GameEvent.ACTION_CHOSEN, gameState, finalAction, activePlayer)));
 
-        } else {
-            currentPlayer.registerUpdatedObservation(observation);
         }
 
         // End the timer for this decision
-        gameState.playerTimer[activePlayer].pause();
-        gameState.playerTimer[activePlayer].incrementAction();
+        gameState.getPlayerTimerForUpdate(activePlayer).pause();
+        gameState.getPlayerTimerForUpdate(activePlayer).incrementAction();
 
         if (gameState.coreGameParameters.verbose && !(action == null)) {
             System.out.println(action);
@@ -625,7 +654,7 @@ public class Game {
             throw new AssertionError("We have a NULL action in the Game loop");
 
         // Check player timeout
-        if (observation.playerTimer[activePlayer].exceededMaxTime()) {
+        if (timedOut) {
             action = forwardModel.disqualifyOrRandomAction(gameState.coreGameParameters.disqualifyPlayerOnTimeout, gameState);
         } else {
             // Resolve action and game rules, time it
@@ -646,6 +675,39 @@ public class Game {
         return action;
     }
 
+    /**
+     * Creates the observation of the game state for the player, and records how long this took in copyTime.
+     */
+    private AbstractGameState copyObservation(int player) {
+        double s = System.nanoTime();
+        // copying the gamestate also copies the game parameters and resets the random seed (so agents cannot use this
+        // to reconstruct the starting hands etc.)
+        AbstractGameState observation = gameState.copy(player);
+        copyTime = (System.nanoTime() - s);
+        return observation;
+    }
+
+    /**
+     * The actions available to the current player in the current game state. These are computed at most once for
+     * each game tick (per action space), so this can be called by anything that needs them during a decision without
+     * recomputing them.
+     *
+     * @param actionSpace - the action space to use
+     * @return the available actions. This list must not be modified.
+     */
+    public List<AbstractAction> getAvailableActions(ActionSpace actionSpace) {
+        int player = gameState.getCurrentPlayer();
+        if (cachedActions == null || cachedActionsState != gameState || cachedActionsTick != gameState.getGameTick()
+                || cachedActionsPlayer != player || !Objects.equals(cachedActionSpace, actionSpace)) {
+            cachedActions = forwardModel.computeAvailableActions(gameState, actionSpace);
+            cachedActionsState = gameState;
+            cachedActionsTick = gameState.getGameTick();
+            cachedActionsPlayer = player;
+            cachedActionSpace = actionSpace;
+        }
+        return cachedActions;
+    }
+
     /**
      * Called at the end of game loop execution, when the game is over.
      */
@@ -702,7 +764,9 @@ public class Game {
     }
 
     /**
-     * Retrieves the copy timer value, i.e. how long the game state took to produce player observations in this game.
+     * Retrieves the copy timer value, i.e. how long the game state took to produce the player observation for the
+     * last decision. This is zero if no observation was needed (a single action was played automatically, and the
+     * player does not use registerUpdatedObservation()).
      *
      * @return - copy time
      */
@@ -722,7 +786,7 @@ public class Game {
 
     /**
      * Retrieves the action compute timer value, i.e. how long the forward model took to compute the available actions
-     * in a game state.
+     * for the last decision (on either the game state or the observation).
      *
      * @return - action compute time
      */
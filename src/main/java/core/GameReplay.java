@@ -0,0 +1,244 @@
+package core;
+
+import core.actions.AbstractAction;
+import core.actions.ActionSpace;
+import evaluation.listeners.GameRecordListener;
+import games.GameType;
+import utilities.Pair;
+
+import java.io.*;
+import java.util.*;
+
+import static evaluation.listeners.GameRecordListener.*;
+
+/**
+ * Reconstructs the states of a game from a record written by {@link GameRecordListener}.
+ * <p>
+ * The state after any number of actions is found by re-running AbstractForwardModel.next() with the recorded actions.
+ * As game states cannot be written to disk, the record only holds fingerprints of the state, so the first request
+ * replays from the start of the game. The replay checks each fingerprint as it passes, and keeps a copy of the state at
+ * that point in memory, so that later requests to the same GameReplay only need to replay from the nearest of these.
+ * <p>
+ * The Game used must have the same parameters as the one recorded (other than the seed).
+ */
+public class GameReplay {
+
+    private record Fingerprint(int tick, int currentPlayer, int round, int turn, int status, double[] scores, byte[] rnd) {
+    }
+
+    private final String fileName;
+    private final Game game;
+    private final GameType gameType;
+    private final int nPlayers;
+    private final long seed;
+
+    private final int[] ticks, players, indices;  // index is -1 for a timeout
+    private final ActionSpace[] actionSpaces;
+    private final boolean[] disqualified;
+    private final Map<Integer, Fingerprint> fingerprints = new HashMap<>();
+    private Fingerprint finalFingerprint;  // null if the game did not finish
+
+    // the states at each fingerprint reached so far (and the initial state), keyed by the number of actions
+    private final TreeMap<Integer, AbstractGameState> states = new TreeMap<>();
+
+    /**
+     * Replays the game with the default parameters for the game type
+     */
+    public GameReplay(String fileName) throws IOException {
+        this(fileName, null);
+    }
+
+    /**
+     * @param game a game with the same parameters as the game recorded. It is reset with the recorded seed, and its
+     *             players are not used. If null, a game is created with the default parameters.
+     */
+    public GameReplay(String fileName, Game game) throws IOException {
+        this.fileName = fileName;
+        List<int[]> actions = new ArrayList<>();
+        List<ActionSpace> spaces = new ArrayList<>();
+        List<Boolean> disqualifications = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fileName)))) {
+            if (in.readInt() != MAGIC)
+                throw new IOException(fileName + " is not a game record");
+            int version = in.readInt();
+            if (version != VERSION)
+                throw new IOException("Unsupported version " + version + " of " + fileName);
+            gameType = GameType.valueOf(in.readUTF());
+            nPlayers = in.readInt();
+            seed = in.readLong();
+            // a record that stops part way through (e.g. of a game in progress) can still be replayed up to that point
+            try {
+                boolean ended = false;
+                while (!ended) {
+                    byte tag = in.readByte();
+                    switch (tag) {
+                        case ACTION -> {
+                            actions.add(new int[]{in.readInt(), in.readInt(), in.readInt()});
+                            spaces.add(new ActionSpace(ActionSpace.Structure.values()[in.readByte()],
+                                    ActionSpace.Flexibility.values()[in.readByte()],
+                                    ActionSpace.Context.values()[in.readByte()]));
+                            disqualifications.add(false);
+                        }
+                        case TIMEOUT -> {
+                            actions.add(new int[]{in.readInt(), in.readInt(), -1});
+                            spaces.add(null);
+                            disqualifications.add(in.readBoolean());
+                        }
+                        case FINGERPRINT -> {
+                            int actionCount = in.readInt();
+                            fingerprints.put(actionCount, readFingerprint(in));
+                        }
+                        case END -> {
+                            finalFingerprint = readFingerprint(in);
+                            ended = true;
+                        }
+                        default -> throw new IOException("Unknown record " + tag + " in " + fileName);
+                    }
+                }
+            } catch (EOFException e) {
+                // the rest of the file is missing
+            }
+        }
+        ticks = actions.stream().mapToInt(a -> a[0]).toArray();
+        players = actions.stream().mapToInt(a -> a[1]).toArray();
+        indices = actions.stream().mapToInt(a -> a[2]).toArray();
+        actionSpaces = spaces.toArray(new ActionSpace[0]);
+        disqualified = new boolean[disqualifications.size()];
+        for (int i = 0; i < disqualified.length; i++)
+            disqualified[i] = disqualifications.get(i);
+
+        this.game = game == null ? gameType.createGameInstance(nPlayers, seed) : game;
+        this.game.reset(Collections.emptyList(), seed);
+        AbstractGameState initialState = this.game.getGameState();
+        verify(initialState, fingerprints.get(0), 0);
+        states.put(0, copyWithRnd(initialState));
+    }
+
+    private Fingerprint readFingerprint(DataInputStream in) throws IOException {
+        int tick = in.readInt();
+        int currentPlayer = in.readInt();
+        int round = in.readInt();
+        int turn = in.readInt();
+        int status = in.readInt();
+        double[] scores = new double[nPlayers];
+        for (int p = 0; p < nPlayers; p++)
+            scores[p] = in.readDouble();
+        byte[] rnd = new byte[in.readInt()];
+        in.readFully(rnd);
+        return new Fingerprint(tick, currentPlayer, round, turn, status, scores, rnd);
+    }
+
+    /**
+     * copy() gives the copy a new Random, so to re-run the game from the copy we also need to copy the Random
+     */
+    private static AbstractGameState copyWithRnd(AbstractGameState state) {
+        AbstractGameState retValue = state.copy();
+        byte[] rnd = GameRecordListener.serialise(state.rnd);
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(rnd))) {
+            retValue.rnd = (Random) in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new AssertionError("Problem copying Random : " + e.getMessage());
+        }
+        return retValue;
+    }
+
+    private void verify(AbstractGameState state, Fingerprint fingerprint, int actionCount) {
+        if (fingerprint == null)
+            return;
+        double[] scores = new double[nPlayers];
+        for (int p = 0; p < nPlayers; p++)
+            scores[p] = state.getGameScore(p);
+        if (fingerprint.tick != state.getGameTick() || fingerprint.currentPlayer != state.getCurrentPlayer()
+                || fingerprint.round != state.getRoundCounter() || fingerprint.turn != state.getTurnCounter()
+                || fingerprint.status != state.getGameStatus().ordinal() || !Arrays.equals(fingerprint.scores, scores)
+                || !Arrays.equals(fingerprint.rnd, GameRecordListener.serialise(state.rnd)))
+            throw new AssertionError("Replay of " + fileName + " does not match the fingerprint after " + actionCount + " actions");
+    }
+
+    /**
+     * @return the state after the first nActions actions of the game (after the end of game processing, if
+     * nActions is all of them and the game finished). This is a new state, which the caller may modify.
+     */
+    public AbstractGameState getStateAfter(int nActions) {
+        if (nActions < 0 || nActions > ticks.length)
+            throw new IllegalArgumentException("There are only " + ticks.length + " actions in " + fileName);
+        Map.Entry<Integer, AbstractGameState> start = states.floorEntry(nActions);
+        AbstractGameState state = copyWithRnd(start.getValue());
+        for (int i = start.getKey(); i < nActions; i++) {
+            apply(state, i);
+            Fingerprint fingerprint = fingerprints.get(i + 1);
+            if (fingerprint != null && !states.containsKey(i + 1)) {
+                verify(state, fingerprint, i + 1);
+                states.put(i + 1, copyWithRnd(state));
+            }
+        }
+        if (nActions == ticks.length && finalFingerprint != null) {
+            game.getForwardModel().endGame(state);
+            verify(state, finalFingerprint, nActions);
+        }
+        return state;
+    }
+
+    /**
+     * @return the state at the given game tick; that is, before the first action recorded at or after it
+     */
+    public AbstractGameState getState(int tick) {
+        int nActions = 0;
+        while (nActions < ticks.length && ticks[nActions] < tick)
+            nActions++;
+        return getStateAfter(nActions);
+    }
+
+    /**
+     * @return the action applied in the given state, which is the one recorded as action number i
+     */
+    private AbstractAction apply(AbstractGameState state, int i) {
+        if (state.getGameTick() != ticks[i] || state.getCurrentPlayer() != players[i])
+            throw new AssertionError("Replay of " + fileName + " has diverged at action " + i);
+        AbstractForwardModel forwardModel = game.getForwardModel();
+        if (indices[i] == -1)
+            return forwardModel.disqualifyOrRandomAction(disqualified[i], state);
+        AbstractAction action = forwardModel.computeAvailableActions(state, actionSpaces[i]).get(indices[i]);
+        // as in Game, the action is copied before it is applied
+        forwardModel.next(state, action.copy());
+        return action;
+    }
+
+    /**
+     * @return the recorded actions in order, with the player who took each one
+     */
+    public List<Pair<Integer, AbstractAction>> getActions() {
+        List<Pair<Integer, AbstractAction>> retValue = new ArrayList<>(ticks.length);
+        Map.Entry<Integer, AbstractGameState> start = states.firstEntry();
+        AbstractGameState state = copyWithRnd(start.getValue());
+        for (int i = 0; i < ticks.length; i++)
+            retValue.add(new Pair<>(players[i], apply(state, i)));
+        return retValue;
+    }
+
+    public GameType getGameType() {
+        return gameType;
+    }
+
+    public int getNPlayers() {
+        return nPlayers;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return the number of actions recorded
+     */
+    public int getActionCount() {
+        return ticks.length;
+    }
+
+    /**
+     * @return true if the record runs to the end of the game
+     */
+    public boolean isComplete() {
+        return finalFingerprint != null;
+    }
+}
@@ -18,6 +18,8 @@ import players.python.PythonAgent;
 import players.simple.RandomPlayer;
 import utilities.ActionTreeNode;
 
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -25,18 +27,26 @@ import java.util.stream.IntStream;
 
 enum FeatureExtractors {
     /* Every game implementing the RL interfaces should be registered here, PyTAG uses this to reference the correct features extractors and action spaces
-    * In case that an interface is not implemented they can be set to null*/
+    * In case that an interface is not implemented they can be set to null
+    * VectorPyTAG calls the feature vectors on the game state itself, rather than a copy for the player, unless
+    * copyForPlayer is set: the features of LoveLetter count the cards the player has seen, which are only marked as
+    * such in the player's copy. All of the feature vectors below write into its buffers without allocating.*/
   //  ExplodingKittens( ExplodingKittensFeatures.class, null),
-    LoveLetter(LLStateFeaturesReduced.class, null),
+    LoveLetter(LLStateFeaturesReduced.class, null, true),
     Stratego(StrategoFeatures.class, null),
     SushiGo(null, SGFeatures.class),
     TicTacToe(TTTFeatures.class, TTTFeatures.class),
     Diamant(DiamantFeatures.class, DiamantFeatures.class);
     Class<? extends IStateFeatureVector> stateFeatureVector;
     Class<? extends IStateFeatureJSON> stateFeatureJSON;
+    boolean copyForPlayer;
     FeatureExtractors(Class<? extends IStateFeatureVector> stateFeatureVector, Class<? extends IStateFeatureJSON> stateFeatureJSON) {
+        this(stateFeatureVector, stateFeatureJSON, false);
+    }
+    FeatureExtractors(Class<? extends IStateFeatureVector> stateFeatureVector, Class<? extends IStateFeatureJSON> stateFeatureJSON, boolean copyForPlayer) {
         this.stateFeatureVector = stateFeatureVector;
         this.stateFeatureJSON = stateFeatureJSON;
+        this.copyForPlayer = copyForPlayer;
     }
 
     @Override
@@ -75,6 +85,7 @@ public class PyTAG {
     private AbstractForwardModel forwardModel;
     private IStateFeatureVector stateVectoriser;
     private IStateFeatureJSON stateJSONiser;
+    private boolean copyForFeatures;  // if the features must be read from a copy of the state for the player
     private List<AbstractPlayer> players;
     private int turnPause = 0;
     private int tick;
@@ -118,6 +129,7 @@ public class PyTAG {
         this.players = players;
         this.stateVectoriser = FeatureExtractors.valueOf(gameToPlay.name()).getStateFeatureVector();
         this.stateJSONiser = FeatureExtractors.valueOf(gameToPlay.name()).getStateFeatureJSON();
+        this.copyForFeatures = FeatureExtractors.valueOf(gameToPlay.name()).copyForPlayer;
 
         // Creating game instance (null if not implemented)
         if (parameterConfigFile != null) {
@@ -225,7 +237,6 @@ public class PyTAG {
         this.lastSeed = seedRandom.nextLong();
         gameState.gameParameters.setRandomSeed(this.lastSeed);
         this.forwardModel = game.getForwardModel();
-        this.availableActions = forwardModel.computeAvailableActions(gameState);
 
         // execute the game if needed until Python agent is required to make a decision
         boolean isTerminal = nextDecision();
@@ -235,9 +246,8 @@ public class PyTAG {
             this.root = ((ITreeActionSpace)this.forwardModel).initActionTree(this.gameState);
         }
         // update with initial actions
-        // Compute the updated available actions and the action tree
-        AbstractGameState observation = gameState.copy(gameState.getCurrentPlayer());
-        this.availableActions = forwardModel.computeAvailableActions(observation);
+        // Compute the updated action tree (the available actions are computed when first asked for)
+        this.availableActions = null;
         this.root = ((ITreeActionSpace)this.forwardModel).updateActionTree(this.root, this.gameState);
         this.leaves = root.getLeafNodes();
     }
@@ -255,6 +265,9 @@ public class PyTAG {
     }
 
     public List<AbstractAction> getActions(){
+        // VectorPyTAG never asks for these, so they are only computed (from a copy of the state) when needed
+        if (availableActions == null)
+            availableActions = forwardModel.computeAvailableActions(gameState.copy(gameState.getCurrentPlayer()));
         return availableActions;
     }
 
@@ -264,16 +277,17 @@ public class PyTAG {
         int activePlayer = gameState.getCurrentPlayer();
         AbstractPlayer currentPlayer = players.get(activePlayer);
         while ( !(currentPlayer instanceof PythonAgent)){
-            AbstractGameState observation = gameState.copy(activePlayer);
-            List<core.actions.AbstractAction> observedActions = forwardModel.computeAvailableActions(observation);
-
             if (isDone()){
                 // game is over
                 return true;
             }
 
+            // the built-in players decide on their own copy of the state, as in Game
+            AbstractGameState observation = gameState.copy(activePlayer);
+            List<core.actions.AbstractAction> observedActions = forwardModel.computeAvailableActions(observation);
+
             // Start the timer for this decision
-            gameState.playerTimer[activePlayer].resume();
+            gameState.getPlayerTimerForUpdate(activePlayer).resume();
 
             // Either ask player which action to use or, in case no actions are available, report the updated observation
             core.actions.AbstractAction action = null;
@@ -291,8 +305,8 @@ public class PyTAG {
             }
 
             // End the timer for this decision
-            gameState.playerTimer[activePlayer].pause();
-            gameState.playerTimer[activePlayer].incrementAction();
+            gameState.getPlayerTimerForUpdate(activePlayer).pause();
+            gameState.getPlayerTimerForUpdate(activePlayer).incrementAction();
 
             if (gameState.coreGameParameters.verbose && !(action == null)) {
                 System.out.println(action);
@@ -308,41 +322,74 @@ public class PyTAG {
             activePlayer = gameState.getCurrentPlayer();
             currentPlayer = players.get(gameState.getCurrentPlayer());
         }
-        return false;
+        // the last action of a built-in player may have ended the game, with a Python agent as the current player
+        return isDone();
     }
 
 
     public AbstractGameState step(int actionId) throws Exception{
+        if (!advance(actionId)) {
+            // game is over
+            return gameState.copy(gameState.getCurrentPlayer());
+        }
+        int activePlayer = gameState.getCurrentPlayer();
+        AbstractGameState observation = gameState.copy(activePlayer);
+        this.availableActions = forwardModel.computeAvailableActions(observation);
+        return observation;
+    }
+
+    /**
+     * Executes the action, and then the game loop until an RL agent is required to make a decision, and updates
+     * the action tree. This is step() without the observation and the list of available actions (which VectorPyTAG
+     * does not need).
+     *
+     * @return false if the game is over
+     */
+    boolean advance(int actionId) throws Exception {
         // execute action and loop until an RL agent is required to make a decision
-        if (isDone()){
-            throw new Exception("Need to reset the environment after each finished episode");
-        } else if (this.gameState == null){
+        if (this.gameState == null){
             throw new Exception("Need to reset the environment before calling step");
+        } else if (isDone()){
+            throw new Exception("Need to reset the environment after each finished episode");
         }
         // executes the seleted actions
         executeAction(actionId);
         if (isDone()){
             // check if the game has just ended
-            // game is over
-            return gameState.copy(gameState.getCurrentPlayer());
+            return false;
         }
 
         // update game until RL agent is required to make a decision - if game is over in the mean time returns isTerminal
         boolean isTerminal = nextDecision();
         if (isTerminal){
-            // game is over
-            return gameState.copy(gameState.getCurrentPlayer());
+            return false;
         }
 
-        int activePlayer = gameState.getCurrentPlayer();
-        AbstractGameState observation = gameState.copy(activePlayer);
-
-        // Compute the updated available actions and the action tree
-        this.availableActions = forwardModel.computeAvailableActions(observation);
+        // Compute the updated action tree
         this.root = ((ITreeActionSpace)this.forwardModel).updateActionTree(this.root, this.gameState);
         this.leaves = root.getLeafNodes();
+        return true;
+    }
 
-        return observation;
+    /**
+     * Writes the observation vector of the current player into target at index offset, using scratch (of length
+     * getObservationSpace()) for the features
+     */
+    void writeObservation(DoubleBuffer target, int offset, double[] scratch) throws Exception {
+        if (stateVectoriser == null)
+            throw new Exception("Observation vectoriser function is not implemented");
+        // most feature vectors only read what the player can observe, so need no copy (see FeatureExtractors)
+        int player = gameState.getCurrentPlayer();
+        stateVectoriser.featureVector(copyForFeatures ? gameState.copy(player) : gameState, player, scratch, 0);
+        target.put(offset, scratch);
+    }
+
+    /**
+     * Writes the action mask into target at index offset
+     */
+    void writeActionMask(IntBuffer target, int offset) {
+        for (int i = 0; i < leaves.size(); i++)
+            target.put(offset + i, leaves.get(i).getValue());
     }
 
     public int getTick(){
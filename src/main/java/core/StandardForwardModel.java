@@ -70,7 +70,7 @@ public abstract class StandardForwardModel extends AbstractForwardModel {
         if (gs.getGameStatus() != GAME_ONGOING) return;
 
         int currentPlayer = gs.getCurrentPlayer();
-        gs.getPlayerTimer()[currentPlayer].incrementTurn();
+        gs.getPlayerTimerForUpdate(currentPlayer).incrementTurn();
         gs.listeners.forEach(l -> l.onEvent(Event.createEvent(TURN_OVER, gs, currentPlayer)));
         if (gs.getCoreGameParameters().recordEventHistory) {
             gs.recordHistory(TURN_OVER.name());
@@ -120,7 +120,7 @@ public abstract class StandardForwardModel extends AbstractForwardModel {
         if (gs.getGameStatus() != GAME_ONGOING) return;
 
         int currentPlayer = gs.getCurrentPlayer();
-        gs.getPlayerTimer()[currentPlayer].incrementRound();
+        gs.getPlayerTimerForUpdate(currentPlayer).incrementRound();
         gs.listeners.forEach(l -> l.onEvent(Event.createEvent(ROUND_OVER, gs, currentPlayer)));
         if (gs.getCoreGameParameters().recordEventHistory) {
             gs.recordHistory(ROUND_OVER.name());
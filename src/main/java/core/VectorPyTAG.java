@@ -0,0 +1,220 @@
+package core;
+
+import games.GameType;
+
+import java.nio.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+
+/**
+ * Runs a number of independent PyTAG environments of the same game together, for training RL agents.
+ * <p>
+ * The observations, action masks, rewards and done flags of all the environments are written into buffers that are
+ * supplied once by the caller with setBuffers() (flat arrays, or direct ByteBuffers that can be shared with numpy
+ * without copying). Each call to step() then advances every environment with one crossing of the Python bridge, and
+ * without allocating arrays to pass back. The layout of each buffer is one contiguous block per environment:
+ * observations[env * getObservationSpace() + i], masks[env * getActionSpace() + i], rewards[env] and dones[env].
+ * <p>
+ * An environment whose episode finishes in step() reports the final reward and done = 1, and is then reset
+ * immediately, so the observation and mask written for it are the first of its next episode.
+ * <p>
+ * If nThreads > 1, the environments are split into nThreads blocks which are stepped in parallel. Each environment
+ * has its own Game and copies of the players, so the results do not depend on the number of threads.
+ */
+public class VectorPyTAG {
+
+    private final PyTAG[] envs;
+    private final int observationSpace;
+    private int actionSpace = -1;  // known after the first reset()
+    private final double[][] scratch;  // one per environment, for the observation vector
+
+    private DoubleBuffer observations, rewards;
+    private IntBuffer masks, dones, actions;
+
+    private final ExecutorService executor;
+    private final List<Callable<Void>> stepTasks = new ArrayList<>();
+    private final List<Callable<Void>> resetTasks = new ArrayList<>();
+
+    /**
+     * @param players the players in each game; each environment uses its own copies of these
+     * @param seed    the seeds of the individual environments are generated from this
+     */
+    public VectorPyTAG(GameType gameToPlay, String parameterConfigFile, List<AbstractPlayer> players,
+                       int nEnvs, long seed, boolean isNormalized, int nThreads) throws Exception {
+        if (nEnvs < 1)
+            throw new IllegalArgumentException("Need at least one environment");
+        Random seedRandom = new Random(seed);
+        envs = new PyTAG[nEnvs];
+        for (int i = 0; i < nEnvs; i++) {
+            List<AbstractPlayer> envPlayers = new ArrayList<>(players.size());
+            for (AbstractPlayer player : players)
+                envPlayers.add(player.copy());
+            envs[i] = new PyTAG(gameToPlay, parameterConfigFile, envPlayers, seedRandom.nextLong(), isNormalized);
+        }
+        observationSpace = envs[0].getObservationSpace();
+        scratch = new double[nEnvs][observationSpace];
+
+        int nBlocks = Math.max(1, Math.min(nThreads, nEnvs));
+        for (int b = 0; b < nBlocks; b++) {
+            int from = b * nEnvs / nBlocks;
+            int to = (b + 1) * nEnvs / nBlocks;
+            stepTasks.add(() -> {
+                for (int i = from; i < to; i++)
+                    stepEnv(i);
+                return null;
+            });
+            resetTasks.add(() -> {
+                for (int i = from; i < to; i++)
+                    resetEnv(i);
+                return null;
+            });
+        }
+        executor = nBlocks == 1 ? null : Executors.newFixedThreadPool(nBlocks, r -> {
+            Thread t = new Thread(r, "VectorPyTAGWorker");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Sets flat arrays as the buffers. These must have at least getNumEnvs() * getObservationSpace() and
+     * getNumEnvs() * getActionSpace() elements for observations and masks, and getNumEnvs() elements for the others.
+     * actions is read by step().
+     */
+    public void setBuffers(double[] observations, int[] masks, double[] rewards, int[] dones, int[] actions) {
+        setBuffers(DoubleBuffer.wrap(observations), IntBuffer.wrap(masks), DoubleBuffer.wrap(rewards),
+                IntBuffer.wrap(dones), IntBuffer.wrap(actions));
+    }
+
+    /**
+     * Sets (usually direct) ByteBuffers as the buffers, with values in native byte order (as numpy arrays of
+     * float64 and int32). The sizes are as for the array version.
+     */
+    public void setBuffers(ByteBuffer observations, ByteBuffer masks, ByteBuffer rewards, ByteBuffer dones, ByteBuffer actions) {
+        setBuffers(observations.duplicate().order(ByteOrder.nativeOrder()).asDoubleBuffer(),
+                masks.duplicate().order(ByteOrder.nativeOrder()).asIntBuffer(),
+                rewards.duplicate().order(ByteOrder.nativeOrder()).asDoubleBuffer(),
+                dones.duplicate().order(ByteOrder.nativeOrder()).asIntBuffer(),
+                actions.duplicate().order(ByteOrder.nativeOrder()).asIntBuffer());
+    }
+
+    public void setBuffers(DoubleBuffer observations, IntBuffer masks, DoubleBuffer rewards, IntBuffer dones, IntBuffer actions) {
+        checkCapacity("rewards", rewards, envs.length);
+        checkCapacity("dones", dones, envs.length);
+        checkCapacity("actions", actions, envs.length);
+        this.observations = observations;
+        this.masks = masks;
+        this.rewards = rewards;
+        this.dones = dones;
+        this.actions = actions;
+    }
+
+    private void checkCapacity(String name, Buffer buffer, int required) {
+        if (buffer.capacity() < required)
+            throw new IllegalArgumentException(name + " buffer has capacity " + buffer.capacity() + ", but " + required + " is needed");
+    }
+
+    /**
+     * Resets all the environments, and writes their first observations and masks (with rewards and dones of zero).
+     */
+    public void reset() throws Exception {
+        if (observations == null)
+            throw new IllegalStateException("setBuffers() must be called before reset()");
+        if (actionSpace == -1) {
+            // we need to reset one environment to build its action tree before we know the size of the action space
+            envs[0].reset();
+            actionSpace = envs[0].getActionSpace();
+            checkCapacity("observations", observations, envs.length * observationSpace);
+            checkCapacity("masks", masks, envs.length * actionSpace);
+        }
+        run(resetTasks);
+    }
+
+    /**
+     * Takes the action in the actions buffer in each environment.
+     */
+    public void step() throws Exception {
+        if (actionSpace == -1)
+            throw new IllegalStateException("reset() must be called before step()");
+        run(stepTasks);
+    }
+
+    /**
+     * Copies actions into the actions buffer, and then calls step()
+     */
+    public void step(int[] actions) throws Exception {
+        for (int i = 0; i < envs.length; i++)
+            this.actions.put(i, actions[i]);
+        step();
+    }
+
+    private void run(List<Callable<Void>> tasks) throws Exception {
+        if (executor == null) {
+            tasks.get(0).call();
+            return;
+        }
+        for (Future<Void> future : executor.invokeAll(tasks)) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception cause)
+                    throw cause;
+                throw e;
+            }
+        }
+    }
+
+    private void resetEnv(int i) throws Exception {
+        envs[i].reset();
+        rewards.put(i, 0.0);
+        dones.put(i, 0);
+        writeEnv(i);
+    }
+
+    private void stepEnv(int i) throws Exception {
+        PyTAG env = envs[i];
+        boolean done = !env.advance(actions.get(i));
+        rewards.put(i, env.getReward());
+        dones.put(i, done ? 1 : 0);
+        if (done)
+            env.reset();
+        writeEnv(i);
+    }
+
+    private void writeEnv(int i) throws Exception {
+        envs[i].writeObservation(observations, i * observationSpace, scratch[i]);
+        envs[i].writeActionMask(masks, i * actionSpace);
+    }
+
+    public int getNumEnvs() {
+        return envs.length;
+    }
+
+    public int getObservationSpace() {
+        return observationSpace;
+    }
+
+    /**
+     * @return the size of the action space, or -1 before the first reset()
+     */
+    public int getActionSpace() {
+        return actionSpace;
+    }
+
+    /**
+     * @return the individual environment, for access to anything not in the buffers (such as getPlayerResults())
+     */
+    public PyTAG getEnv(int i) {
+        return envs[i];
+    }
+
+    /**
+     * Stops the worker threads. The environments cannot be stepped afterwards.
+     */
+    public void close() {
+        if (executor != null)
+            executor.shutdownNow();
+    }
+}
@@ -0,0 +1,62 @@
+package core;
+
+import core.components.Component;
+import core.components.Zobrist;
+import core.interfaces.IBitboardGameState;
+import core.interfaces.IStateKey;
+
+import java.util.function.Consumer;
+
+/**
+ * A state key built from the incrementally maintained Zobrist hashes of the components of the state (see
+ * Component.getZobristHash()), plus the core state (current player, phase and results).
+ * This costs O(number of top-level components) rather than O(state size), so is suitable as the
+ * MCGSStateKey for transposition tables in MCGS. The components are visited with
+ * AbstractGameState.forEachTopLevelComponent(), which games can override so that no list of them is built.
+ * <p>
+ * This only covers game state that is held in components. Games with other state that distinguishes positions
+ * (scores or counters held as ints, for example) should extend this and override getGameSpecificHash().
+ */
+public class ZobristStateKey implements IStateKey {
+
+    @Override
+    public Long getKey(AbstractGameState state, int playerId) {
+        // the features for the core state are all negative, so that they are distinct from component IDs
+        long hash = Zobrist.key(Long.MIN_VALUE + playerId, state.getCurrentPlayer());
+        hash += Zobrist.key(-1, state.getGamePhase() == null ? 0 : state.getGamePhase().toString().hashCode());
+        CoreConstants.GameResult[] results = state.getPlayerResults();
+        for (int p = 0; p < results.length; p++)
+            hash += Zobrist.key(-2 - p, results[p].ordinal());
+        if (state instanceof IBitboardGameState bitboardState) {
+            // the tokens are all there is on the board, and reading them directly means the GridBoard from
+            // _getAllComponents() does not need to be built
+            for (int p = 0; p < state.getNPlayers(); p++)
+                hash += Zobrist.key(-2 - results.length - p, bitboardState.getTokens(p).getZobristHash());
+        } else {
+            ComponentHash components = new ComponentHash();
+            state.forEachTopLevelComponent(components);
+            hash += components.hash;
+        }
+        return hash + getGameSpecificHash(state, playerId);
+    }
+
+    /**
+     * Override this to include any state that is not held in components.
+     *
+     * @return a 64-bit hash of the game-specific state (see Zobrist.key())
+     */
+    protected long getGameSpecificHash(AbstractGameState state, int playerId) {
+        return 0;
+    }
+
+    // sums the keys of the components it is given
+    private static final class ComponentHash implements Consumer<Component> {
+        long hash;
+
+        @Override
+        public void accept(Component c) {
+            if (c != null)
+                hash += Zobrist.key(c.getComponentID(), c.getZobristHash());
+        }
+    }
+}
@@ -24,6 +24,17 @@ public abstract class AbstractAction implements IPrintable {
      */
     public abstract AbstractAction copy();
 
+    /**
+     * Override this to return true if execute() records how to reverse all of its changes to the game state with
+     * AbstractGameState.recordUndo() (whenever AbstractGameState.isRecordingUndo() is true), so that the action can
+     * be used with AbstractForwardModel.applyAndRecord() and undo().
+     *
+     * @return - true if this action can be undone.
+     */
+    public boolean isReversible() {
+        return false;
+    }
+
     @Override
     public abstract boolean equals(Object obj);
 
@@ -0,0 +1,47 @@
+package core.actions;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Interns actions: actions that are equal (by equals() and hashCode()) are mapped to a single canonical instance, so
+ * that a search can keep one copy of each distinct action rather than one per node.
+ * <p>
+ * The canonical instances are copies made on registration, and must not be modified or executed directly - use
+ * copy() for that, as with any action stored by an agent.
+ * <p>
+ * A registry is not thread-safe, and should live no longer than the structure that holds its actions. In MCTS each
+ * tree has its own, which is cleared when the tree is reused for the next decision; so it holds at most the actions
+ * expanded in one search.
+ */
+public class ActionRegistry {
+
+    private final Map<AbstractAction, AbstractAction> actions = new HashMap<>();
+
+    /**
+     * @return the canonical instance equal to the action, registering a copy of it if it is new
+     */
+    public AbstractAction intern(AbstractAction action) {
+        AbstractAction retValue = actions.get(action);
+        if (retValue == null) {
+            retValue = action.copy();
+            actions.put(retValue, retValue);
+        }
+        return retValue;
+    }
+
+    /**
+     * Forgets all registered actions. Actions already interned are unaffected, and are still equal to any new
+     * canonical instances.
+     */
+    public void clear() {
+        actions.clear();
+    }
+
+    /**
+     * @return the number of distinct actions registered
+     */
+    public int size() {
+        return actions.size();
+    }
+}
@@ -0,0 +1,40 @@
+package core.actions;
+
+import core.AbstractGameState;
+import core.interfaces.IBitboardGameState;
+
+/**
+ * Places a player's token in a game that keeps its grid as bitboards (IBitboardGameState). This is the same move
+ * as the SetGridValueAction it extends (and equal to it), but does not need the GridBoard component.
+ */
+public class SetBitboardValueAction extends SetGridValueAction {
+
+    private final int player;
+
+    /**
+     * @param valueID the ID of the BoardNode that stands for the player's tokens on the GridBoard
+     */
+    public SetBitboardValueAction(int gridBoard, int x, int y, int valueID, int player) {
+        super(gridBoard, x, y, valueID);
+        this.player = player;
+    }
+
+    @Override
+    public boolean execute(AbstractGameState gs) {
+        IBitboardGameState state = (IBitboardGameState) gs;
+        int x = getX(), y = getY();
+        if (gs.isRecordingUndo())
+            gs.recordUndo(() -> state.removeToken(x, y));
+        state.placeToken(x, y, player);
+        return true;
+    }
+
+    @Override
+    public SetBitboardValueAction copy() {
+        return this;
+    }
+
+    public int getPlayer() {
+        return player;
+    }
+}
@@ -31,7 +31,17 @@ public class SetGridValueAction extends AbstractAction implements IPrintable {
     @Override
     public boolean execute(AbstractGameState gs) {
         BoardNode value = (BoardNode) gs.getComponentById(valueID);
-        return ((GridBoard)gs.getComponentById(gridBoard)).setElement(x, y, value);
+        GridBoard board = (GridBoard) gs.getComponentById(gridBoard);
+        if (gs.isRecordingUndo()) {
+            BoardNode previous = board.getElement(x, y);
+            gs.recordUndo(() -> board.setElement(x, y, previous));
+        }
+        return board.setElement(x, y, value);
+    }
+
+    @Override
+    public boolean isReversible() {
+        return true;
     }
 
     @Override
@@ -0,0 +1,47 @@
+package core.components;
+
+import core.interfaces.IBitboardGameState;
+
+import java.util.List;
+
+/**
+ * The GridBoard of a game that holds its grid as bitboards (IBitboardGameState), built from them when it is asked
+ * for. Changes made to this board (by a SetGridValueAction, say) are passed on to the state, and the state passes
+ * on its own changes to the board, so the two stay in step for as long as the state keeps this board.
+ */
+public class BitboardGridBoard extends GridBoard {
+
+    private final IBitboardGameState state;
+    private final List<BoardNode> playerTokens;
+
+    /**
+     * @param emptyBoard   the board with no tokens, which gives the size, the empty cells and the component ID
+     * @param playerTokens the BoardNode that stands for each player's tokens, by player ID
+     */
+    public BitboardGridBoard(GridBoard emptyBoard, IBitboardGameState state, List<BoardNode> playerTokens) {
+        super(emptyBoard.getWidth(), emptyBoard.getHeight(), emptyBoard.getComponentID());
+        this.state = state;
+        this.playerTokens = playerTokens;
+        for (int y = 0; y < getHeight(); y++) {
+            for (int x = 0; x < getWidth(); x++) {
+                int player = state.getPlayerAt(x, y);
+                super.setElement(x, y, player == -1 ? emptyBoard.getElement(x, y) : playerTokens.get(player));
+            }
+        }
+    }
+
+    @Override
+    public boolean setElement(int x, int y, BoardNode value) {
+        if (!super.setElement(x, y, value))
+            return false;
+        int player = playerTokens.indexOf(value);
+        int current = state.getPlayerAt(x, y);
+        if (player != current) {
+            if (current != -1)
+                state.removeToken(x, y);
+            if (player != -1)
+                state.placeToken(x, y, player);
+        }
+        return true;
+    }
+}
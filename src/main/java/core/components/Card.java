@@ -30,9 +30,4 @@ public class Card extends Component {
         PropertyString hashName =  (PropertyString)getProperty(nameHash);
         return hashName != null ? hashName.value : componentName;
     }
-
-    @Override
-    public int hashCode() {
-        return super.hashCode();
-    }
 }
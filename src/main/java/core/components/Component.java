@@ -14,6 +14,7 @@ public abstract class Component {
     protected transient final int componentID;  // Unique ID of this component
     protected final ComponentType type;  // Type of this component
     protected HashMap<Integer, Property> properties;  // Maps between integer key for the property and the property object
+    transient Deck<?> zobristDeck;  // The deck holding this component, if any, which is told of changes to getZobristHash()
     protected transient int ownerId = -1;  // By default belongs to the game
     protected String componentName;  // Name of this component
 
@@ -234,6 +235,50 @@ public abstract class Component {
         return toString();
     }
 
+    /**
+     * A 64-bit hash of the current state of this component, for use by ZobristStateKey.
+     * By default this is a key of hashCode(), which only covers the state of subclasses that include it in hashCode()
+     * (the component ID otherwise). Subclasses with other state that changes during a game should override this, and
+     * call zobristChanged() whenever that state changes; Deck and GridBoard update theirs incrementally as they are
+     * modified.
+     *
+     * @return 64-bit hash of this component
+     */
+    public long getZobristHash() {
+        return Zobrist.key(hashCode());
+    }
+
+    // For each class, whether its hash can change without zobristChanged() being called: true if it uses the default
+    // getZobristHash() but has overridden hashCode() (usually to cover its state)
+    private static final ClassValue<Boolean> untrackedZobristHash = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("getZobristHash").getDeclaringClass() == Component.class
+                        && type.getMethod("hashCode").getDeclaringClass() != Component.class;
+            } catch (NoSuchMethodException e) {
+                throw new AssertionError(e);
+            }
+        }
+    };
+
+    /**
+     * @return true if getZobristHash() may change without zobristChanged() being called, in which case a Deck
+     * holding this component recomputes its hash each time it is asked for it
+     */
+    final boolean hasUntrackedZobristHash() {
+        return untrackedZobristHash.get(getClass());
+    }
+
+    /**
+     * Subclasses that override getZobristHash() must call this whenever a change to the component changes its hash,
+     * so that a Deck holding the component can update its own hash.
+     */
+    protected void zobristChanged() {
+        if (zobristDeck != null)
+            zobristDeck.componentChanged();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -63,6 +63,7 @@ public class Counter extends Component {
      */
     public boolean increment(int amount) {
         this.valueIdx += amount;
+        zobristChanged();
         return clamp();
     }
     public boolean increment() {
@@ -76,6 +77,7 @@ public class Counter extends Component {
      */
     public boolean decrement(int amount) {
         this.valueIdx -= amount;
+        zobristChanged();
         return clamp();
     }
     public boolean decrement() {
@@ -152,6 +154,7 @@ public class Counter extends Component {
      */
     public void setMaximum(int maximum) {
         this.maximum = maximum;
+        zobristChanged();
     }
 
     /**
@@ -160,6 +163,7 @@ public class Counter extends Component {
      */
     public void setMinimum(int minimum) {
         this.minimum = minimum;
+        zobristChanged();
     }
 
     /**
@@ -168,14 +172,17 @@ public class Counter extends Component {
      */
     public void setValue(int i) {
         this.valueIdx = i;
+        zobristChanged();
     }
 
     public void setToMax() {
         this.valueIdx = maximum;
+        zobristChanged();
     }
 
     public void setToMin() {
         this.valueIdx = minimum;
+        zobristChanged();
     }
 
     /**
@@ -239,6 +246,11 @@ public class Counter extends Component {
         return result;
     }
 
+    @Override
+    public long getZobristHash() {
+        return Zobrist.key(Zobrist.key(componentID, valueIdx), Zobrist.key(minimum, maximum));
+    }
+
     @Override
     public String toString() {
         return "" + getValue();
@@ -7,10 +7,12 @@ import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
+import utilities.RingBufferList;
 
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static core.CoreConstants.VisibilityMode;
 
@@ -28,13 +30,32 @@ public class Deck<T extends Component> extends Component implements IComponentCo
     protected List<T> components;  // List of components in this deck
     protected VisibilityMode visibility;
 
+    // Opt-in structural sharing (see setCopyOnWrite()). When copyOnWrite is set, copy() hands the same components
+    // list to the new deck, and sharedComponents marks that this list may be referenced by another deck, so must be
+    // copied before it is modified.
+    protected boolean copyOnWrite;
+    protected boolean sharedComponents;
+
+    // Incremental hash of the components, in order (see getZobristHash()). This is updated in O(1) when a component
+    // is added or removed at the top or bottom of the deck; any other change marks it invalid, and it is then
+    // recomputed when next needed. zobristPower is Zobrist.SEQUENCE_MULTIPLIER to the power of the deck size.
+    protected long zobristHash;
+    protected long zobristPower = 1;
+    protected boolean zobristValid = true;
+    // Set once the deck holds a component whose hash may change without it telling the deck (see
+    // Component.hasUntrackedZobristHash()); the hash is then recomputed every time it is needed, until clear()
+    protected boolean zobristUntracked;
+
+    // Read-only (unless modified through it) view of components returned by getComponents(), created on first use
+    private List<T> componentsView;
+
     public Deck(String name, VisibilityMode visibility) {
         this(name, -1, visibility);
     }
 
     public Deck(String name, int ownerId, VisibilityMode visibility) {
         super(CoreConstants.ComponentType.DECK, name);
-        this.components = new LinkedList<>();   // we always add new components to element 0...so an ArrayList is inefficient
+        this.components = new RingBufferList<>();   // we always add new components to element 0, and need indexed access
         this.ownerId = ownerId;
         this.capacity = -1;
         this.visibility = visibility;
@@ -42,7 +63,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
 
     protected Deck(String name, int ownerId, int ID, VisibilityMode visibility) {
         super(CoreConstants.ComponentType.DECK, name, ID);
-        this.components = new LinkedList<>();
+        this.components = new RingBufferList<>();
         this.capacity = -1;
         this.ownerId = ownerId;
         this.visibility = visibility;
@@ -140,11 +161,16 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      * @param idx the index of the component in the deck
      * @return the component in position idx from the deck
      */
+    @SuppressWarnings("unchecked")
     public T pick(int idx) {
         if (!components.isEmpty() && idx < components.size() && idx >= 0) {
+            ensureOwnComponents();
             T c = components.get(idx);
+            updateZobristOnRemove(idx, c);
             components.remove(idx);
-            return c;
+            release(c);
+            // with copy-on-write the component may still be referenced by copies of this deck
+            return copyOnWrite ? (T) c.copy() : c;
         }
         return null;
     }
@@ -221,7 +247,10 @@ public class Deck<T extends Component> extends Component implements IComponentCo
         if (c == null)
             throw new IllegalArgumentException("null cannot be added to a Deck");
         c.setOwnerId(ownerId);
+        ensureOwnComponents();
+        updateZobristOnAdd(index, c);
         components.add(index, c);
+        hold(c);
         return capacity == -1 || components.size() <= capacity;
     }
 
@@ -253,10 +282,26 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      * @param index - the position in which the elements of d should be inserted in this deck.
      * @return true if not over capacity, false otherwise.
      */
+    @SuppressWarnings("unchecked")
     public boolean add(Deck<T> d, int index) {
-        components.addAll(index, d.components);
-        for (T comp : d.components) {
-            comp.setOwnerId(ownerId);
+        ensureOwnComponents();
+        zobristValid = false;
+        if (d.copyOnWrite && !copyOnWrite) {
+            // the components of d may be shared with copies of d, so we take our own
+            List<T> added = new ArrayList<>(d.components.size());
+            for (T comp : d.components)
+                added.add((T) comp.copy());
+            for (T comp : added) {
+                comp.setOwnerId(ownerId);
+                hold(comp);
+            }
+            components.addAll(index, added);
+        } else {
+            components.addAll(index, d.components);
+            for (T comp : d.components) {
+                comp.setOwnerId(ownerId);
+                hold(comp);
+            }
         }
         return capacity == -1 || components.size() <= capacity;
     }
@@ -266,9 +311,12 @@ public class Deck<T extends Component> extends Component implements IComponentCo
     }
 
     public boolean add(Collection<T> d, int index) {
+        ensureOwnComponents();
+        zobristValid = false;
         components.addAll(index, d);
         for (T comp : d) {
             comp.setOwnerId(ownerId);
+            hold(comp);
         }
         return capacity == -1 || components.size() <= capacity;
     }
@@ -297,8 +345,12 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      */
     public boolean remove(int idx) {
         if (idx >= 0 && idx < components.size()) {
-            components.get(idx).setOwnerId(-1);
+            ensureOwnComponents();
+            T c = components.get(idx);
+            c.setOwnerId(-1);
+            updateZobristOnRemove(idx, c);
             components.remove(idx);
+            release(c);
             return true;
         }
         return false;
@@ -322,8 +374,18 @@ public class Deck<T extends Component> extends Component implements IComponentCo
     public void clear() {
         for (T comp : components) {
             comp.setOwnerId(-1);
+            release(comp);
+        }
+        if (sharedComponents) {
+            components = new RingBufferList<>();
+            sharedComponents = false;
+        } else {
+            components.clear();
         }
-        components.clear();
+        zobristHash = 0;
+        zobristPower = 1;
+        zobristValid = true;
+        zobristUntracked = false;
     }
 
     // Getters, Setters
@@ -332,6 +394,8 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      * Shuffles the deck with a specific random object.
      */
     public void shuffle(Random rnd) {
+        ensureOwnComponents();
+        zobristValid = false;
         Collections.shuffle(components, rnd);
     }
 
@@ -343,6 +407,8 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      * @param rnd       - random number generator used for shuffling
      */
     public void shuffle(int fromIndex, int toIndex, Random rnd) {
+        ensureOwnComponents();
+        zobristValid = false;
         List<T> subList = components.subList(fromIndex, toIndex);
         Collections.shuffle(subList, rnd);
         int i = 0;
@@ -353,11 +419,79 @@ public class Deck<T extends Component> extends Component implements IComponentCo
     }
 
     /**
+     * The list returned is a live view of the components. Reading it does not affect copy-on-write sharing or the
+     * incremental hash. It may also be modified, as before, in which case the deck takes its own copy of the list if
+     * it is shared, and recomputes its hash when next needed.
+     * Components added through the view do not have their owner set, unlike those added with add().
+     *
      * @return all the components in this deck.
      */
     @Override
     public List<T> getComponents() {
-        return components;
+        if (componentsView == null)
+            componentsView = new ComponentsView();
+        return componentsView;
+    }
+
+    private final class ComponentsView extends AbstractList<T> implements RandomAccess {
+        @Override
+        public T get(int index) {
+            return components.get(index);
+        }
+
+        @Override
+        public int size() {
+            return components.size();
+        }
+
+        @Override
+        public T set(int index, T element) {
+            ensureOwnComponents();
+            zobristValid = false;
+            T old = components.set(index, element);
+            release(old);
+            if (element != null)
+                hold(element);
+            return old;
+        }
+
+        @Override
+        public void add(int index, T element) {
+            ensureOwnComponents();
+            zobristValid = false;
+            components.add(index, element);
+            if (element != null)
+                hold(element);
+        }
+
+        @Override
+        public T remove(int index) {
+            ensureOwnComponents();
+            zobristValid = false;
+            T old = components.remove(index);
+            release(old);
+            return old;
+        }
+
+        @Override
+        public void clear() {
+            ensureOwnComponents();
+            zobristValid = false;
+            for (T comp : components)
+                release(comp);
+            components.clear();
+        }
+    }
+
+    // getSize() and stream() are read-only, so do not need to un-share the components list (as getComponents() does)
+    @Override
+    public int getSize() {
+        return components.size();
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return components.stream();
     }
 
     /**
@@ -367,8 +501,11 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      */
     public void setComponents(List<T> components) {
         this.components = components;
+        sharedComponents = false;
+        zobristValid = false;
         for (T comp : components) {
             comp.setOwnerId(ownerId);
+            hold(comp);
         }
     }
 
@@ -403,7 +540,10 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      */
     public void setComponent(int idx, T component) {
         component.setOwnerId(ownerId);
-        components.set(idx, component);
+        ensureOwnComponents();
+        zobristValid = false;
+        release(components.set(idx, component));
+        hold(component);
     }
 
     /**
@@ -425,6 +565,35 @@ public class Deck<T extends Component> extends Component implements IComponentCo
         visibility = mode;
     }
 
+    /**
+     * Opts this deck in to structural sharing on copy(). Copies of the deck then share the same list of components
+     * until either deck is modified, at which point the modified deck takes its own (shallow) copy of the list.
+     * This is only safe for components that are immutable, as a component changed in place would change in every
+     * copy. (Components removed from the deck with pick() or draw() are copied before they are returned, but
+     * getComponents(), peek() and get() return the shared components.) Copies made for one player with
+     * copy(playerId) are not shared, as Component.copy(int) may hide information from that player.
+     *
+     * @param copyOnWrite - true to share components between copies of this deck
+     */
+    public void setCopyOnWrite(boolean copyOnWrite) {
+        this.copyOnWrite = copyOnWrite;
+    }
+
+    public boolean isCopyOnWrite() {
+        return copyOnWrite;
+    }
+
+    /**
+     * Takes a private copy of the components list if it is currently shared with another deck.
+     * This must be called before any modification of the components list.
+     */
+    protected void ensureOwnComponents() {
+        if (sharedComponents) {
+            components = new RingBufferList<>(components);
+            sharedComponents = false;
+        }
+    }
+
     /**
      * Creates a copy of this deck.
      *
@@ -438,12 +607,19 @@ public class Deck<T extends Component> extends Component implements IComponentCo
 
     @SuppressWarnings("unchecked")
     protected void copyTo(Deck<T> deck) {
-        List<T> newComponents = new LinkedList<>();
+        if (copyOnWrite) {
+            shareComponentsWith(deck);
+            return;
+        }
+        List<T> newComponents = new RingBufferList<>(components.size());
         for (T c : components) {
-            newComponents.add((T) c.copy());
+            T copy = (T) c.copy();
+            deck.hold(copy);
+            newComponents.add(copy);
         }
         deck.components = newComponents;
         deck.capacity = capacity;
+        copyZobristTo(deck);
 
         //copy type and component.
         copyComponentTo(deck);
@@ -452,17 +628,118 @@ public class Deck<T extends Component> extends Component implements IComponentCo
 
     @SuppressWarnings("unchecked")
     protected void copyTo(Deck<T> deck, int playerId) {
-        List<T> newComponents = new LinkedList<>();
+        // a copy for one player may hide some components from them (see Component.copy(int)), so cannot share
+        if (copyOnWrite && playerId == -1) {
+            shareComponentsWith(deck);
+            return;
+        }
+        List<T> newComponents = new RingBufferList<>(components.size());
         for (T c : components) {
-            newComponents.add((T) c.copy(playerId));
+            T copy = (T) c.copy(playerId);
+            if (copy != null)
+                deck.hold(copy);
+            newComponents.add(copy);
         }
         deck.components = newComponents;
         deck.capacity = capacity;
+        deck.copyOnWrite = copyOnWrite;
+        // the copies of some components may be hidden from playerId, so the hash may differ
+        deck.zobristValid = false;
 
         //copy type and component.
         copyComponentTo(deck);
     }
 
+    private void shareComponentsWith(Deck<T> deck) {
+        deck.components = components;
+        deck.capacity = capacity;
+        deck.copyOnWrite = true;
+        deck.sharedComponents = true;
+        sharedComponents = true;
+        copyZobristTo(deck);
+        copyComponentTo(deck);
+    }
+
+    private void copyZobristTo(Deck<T> deck) {
+        deck.zobristHash = zobristHash;
+        deck.zobristPower = zobristPower;
+        deck.zobristValid = zobristValid;
+        deck.zobristUntracked = zobristUntracked;
+    }
+
+    /**
+     * The hash is sum(h(c_i) * M^i) over the components c_i, from the top of the deck (i = 0), where M is
+     * Zobrist.SEQUENCE_MULTIPLIER and all arithmetic is modulo 2^64. Adding or removing at the top or bottom then only
+     * needs one multiplication.
+     * h(c_i) is the component's own getZobristHash(). A component whose hash changes while it is in the deck tells the
+     * deck through Component.zobristChanged(), and the hash is then recomputed when next needed. If the deck holds a
+     * component that may change without doing so, the hash is recomputed every time. (A deck held in another deck
+     * does not tell it of changes, so nested decks are not covered.)
+     *
+     * @return a 64-bit hash of the components in this deck, in order
+     */
+    @Override
+    public long getZobristHash() {
+        if (!zobristValid || zobristUntracked) {
+            zobristHash = 0;
+            zobristPower = 1;
+            for (T c : components) {
+                zobristHash += c.getZobristHash() * zobristPower;
+                zobristPower *= Zobrist.SEQUENCE_MULTIPLIER;
+            }
+            zobristValid = true;
+        }
+        return zobristHash;
+    }
+
+    // called by a component in this deck when its own hash changes
+    void componentChanged() {
+        zobristValid = false;
+    }
+
+    // called when component c is put in this deck, so that it tells this deck of changes to its hash
+    private void hold(T c) {
+        c.zobristDeck = this;
+        if (c.hasUntrackedZobristHash())
+            zobristUntracked = true;
+    }
+
+    // called after component c is removed from this deck, so that it no longer tells this deck of changes
+    private void release(T c) {
+        if (c != null && c.zobristDeck == this)
+            c.zobristDeck = null;
+    }
+
+    // called before component c is inserted at index
+    private void updateZobristOnAdd(int index, T c) {
+        if (!zobristValid || zobristUntracked)
+            return;
+        if (index == 0) {
+            zobristHash = c.getZobristHash() + Zobrist.SEQUENCE_MULTIPLIER * zobristHash;
+        } else if (index == components.size()) {
+            zobristHash += c.getZobristHash() * zobristPower;
+        } else {
+            zobristValid = false;
+            return;
+        }
+        zobristPower *= Zobrist.SEQUENCE_MULTIPLIER;
+    }
+
+    // called before component c is removed from index
+    private void updateZobristOnRemove(int index, T c) {
+        if (!zobristValid || zobristUntracked)
+            return;
+        if (index == 0) {
+            zobristHash = (zobristHash - c.getZobristHash()) * Zobrist.SEQUENCE_INVERSE;
+            zobristPower *= Zobrist.SEQUENCE_INVERSE;
+        } else if (index == components.size() - 1) {
+            zobristPower *= Zobrist.SEQUENCE_INVERSE;
+            zobristHash -= c.getZobristHash() * zobristPower;
+        } else {
+            zobristValid = false;
+        }
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -30,6 +30,10 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
 
     private BoardNode[][] grid;  // 2D grid representation of this board
 
+    // XOR of Zobrist.key(cell, element) over all cells, updated by setElement() (see getZobristHash())
+    private long zobristHash;
+    private boolean zobristValid;
+
     protected GridBoard() {
         super(CoreConstants.ComponentType.BOARD);
     }
@@ -131,6 +135,7 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
             if (w >= 0) System.arraycopy(this.grid[i], 0, grid[i + offsetY], offsetX, w);
         }
         this.grid = grid;
+        zobristValid = false;
     }
 
     /**
@@ -143,6 +148,8 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
      */
     public boolean setElement(int x, int y, BoardNode value) {
         if (x >= 0 && x < width && y >= 0 && y < height) {
+            if (zobristValid)
+                zobristHash ^= cellKey(x, y, grid[y][x]) ^ cellKey(x, y, value);
             grid[y][x] = value;
             return true;
         } else
@@ -176,6 +183,8 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
      * @return - 2D grid.
      */
     public BoardNode[][] getGridValues() {
+        // the caller may modify the grid, so we can no longer track the hash
+        zobristValid = false;
         return grid;
     }
 
@@ -263,6 +272,8 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
             }
         }
         GridBoard g = new GridBoard(gridCopy, componentID);
+        g.zobristHash = zobristHash;
+        g.zobristValid = zobristValid;
         copyComponentTo(g);
         return g;
     }
@@ -357,6 +368,7 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
         }
 
         this.grid = new BoardNode[height][width];
+        zobristValid = false;
 
         JSONArray grids = (JSONArray) board.get("grid");
         int y = 0;
@@ -494,6 +506,29 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
         return Objects.hash(componentID) + 5 * Arrays.hashCode(flattenGrid());
     }
 
+    /**
+     * Classic Zobrist hash of the grid: the XOR of a key for each (cell, element) pair. setElement() updates this
+     * in O(1). Elements contribute their hashCode(), so changes made to a BoardNode while it is on the grid are
+     * not picked up.
+     *
+     * @return 64-bit hash of the elements on this grid
+     */
+    @Override
+    public long getZobristHash() {
+        if (!zobristValid) {
+            zobristHash = 0;
+            for (int y = 0; y < height; y++)
+                for (int x = 0; x < width; x++)
+                    zobristHash ^= cellKey(x, y, grid[y][x]);
+            zobristValid = true;
+        }
+        return zobristHash;
+    }
+
+    private static long cellKey(int x, int y, BoardNode element) {
+        return Zobrist.key(((long) x << 32) | y, element == null ? 0 : element.hashCode());
+    }
+
     @Override
     public List<BoardNode> getComponents() {
         return Arrays.stream(flattenGrid()).collect(Collectors.toList());
@@ -5,6 +5,7 @@ import core.CoreConstants.VisibilityMode;
 import org.jetbrains.annotations.NotNull;
 import utilities.DeterminisationUtilities;
 import utilities.Pair;
+import utilities.RingBufferList;
 
 import java.util.*;
 
@@ -15,7 +16,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     protected boolean[] deckVisibility;
 
     // Visibility of each component in the deck, order corresponds to order of elements in the deck;
-    protected List<boolean[]> elementVisibility = new LinkedList<>();
+    protected List<boolean[]> elementVisibility = new RingBufferList<>();
 
     public boolean getVisibilityForPlayer(int elementIdx, int playerID) {
         return elementVisibility.get(elementIdx)[playerID];
@@ -303,6 +304,8 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     public void shuffleAndKeepVisibility(Random rnd) {
         Pair<List<T>, List<boolean[]>> shuffled = shuffleLists(components, elementVisibility, rnd);
         components = shuffled.a;
+        zobristValid = false;
+        sharedComponents = false;
         elementVisibility = shuffled.b;
         applyVisibilityMode();
     }
@@ -317,8 +320,8 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @return - both lists shuffled, keeping the mapping from component to visibility at the same index.
      */
     private Pair<List<T>, List<boolean[]>> shuffleLists(List<T> comps, List<boolean[]> vis, Random rnd) {
-        List<T> tmp_components = new LinkedList<>();
-        List<boolean[]> tmp_visibility = new LinkedList<>();
+        List<T> tmp_components = new RingBufferList<>(comps.size());
+        List<boolean[]> tmp_visibility = new RingBufferList<>(comps.size());
 
         List<Integer> indexList = new ArrayList<>(comps.size());
         for (int i = 0; i < comps.size(); i++)
@@ -367,7 +370,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     private PartialObservableDeck<T> commonCopy(PartialObservableDeck<T> dp) {
         dp.deckVisibility = deckVisibility.clone();
 
-        ArrayList<boolean[]> newVisibility = new ArrayList<>();
+        List<boolean[]> newVisibility = new RingBufferList<>(elementVisibility.size());
         for (boolean[] visibility : elementVisibility) {
             newVisibility.add(visibility.clone());
         }
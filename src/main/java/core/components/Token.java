@@ -3,6 +3,7 @@ package core.components;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Objects;
 
 import core.CoreConstants;
 import org.json.simple.JSONArray;
@@ -46,6 +47,7 @@ public class Token extends Component {
      */
     public void setTokenType(String tokenType) {
         this.tokenType = tokenType;
+        zobristChanged();
     }
 
     /**
@@ -90,6 +92,11 @@ public class Token extends Component {
         return componentID;
     }
 
+    @Override
+    public long getZobristHash() {
+        return Zobrist.key(componentID, Objects.hashCode(tokenType));
+    }
+
     @Override
     public String toString() {
         return tokenType;
@@ -0,0 +1,45 @@
+package core.components;
+
+/**
+ * Keys for Zobrist-style incremental hashing of game states (see Component.getZobristHash() and ZobristStateKey).
+ * <p>
+ * A classic Zobrist table holds a random 64-bit key for every (feature, value) pair. As the features and values of
+ * components are not known in advance, we instead compute the key on demand by passing the pair through a 64-bit
+ * mixing function (the SplitMix64 finaliser). This gives well-distributed keys that are the same in every copy of a
+ * state, without a table.
+ */
+public final class Zobrist {
+
+    // An odd multiplier used by ordered sequences (see Deck.getZobristHash()), and its inverse modulo 2^64.
+    public static final long SEQUENCE_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    public static final long SEQUENCE_INVERSE = inverse(SEQUENCE_MULTIPLIER);
+
+    private Zobrist() {
+    }
+
+    /**
+     * @param value - value to hash
+     * @return the 64-bit key for this value
+     */
+    public static long key(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * @return the 64-bit key for the pair (feature, value), for example (position, piece) on a board
+     */
+    public static long key(long feature, long value) {
+        return key(key(feature) ^ value);
+    }
+
+    // Newton's method for the multiplicative inverse of an odd number modulo 2^64; each step doubles the correct bits
+    private static long inverse(long odd) {
+        long x = odd;  // correct to 3 bits, as odd * odd == 1 (mod 8)
+        for (int i = 0; i < 5; i++)
+            x *= 2 - odd * x;
+        return x;
+    }
+}
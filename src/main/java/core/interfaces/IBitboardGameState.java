@@ -0,0 +1,25 @@
+package core.interfaces;
+
+import utilities.Bitboard;
+
+/**
+ * A grid game whose state holds the tokens of each player as bitboards (see utilities.Bitboard). The GridBoard from
+ * getGridBoard() is then only built when asked for (for the GUI, say), and tokens are placed with
+ * SetBitboardValueAction, which changes the bitboards directly.
+ */
+public interface IBitboardGameState extends IGridGameState {
+
+    /**
+     * @return the player with a token at (x, y), or -1 if it is empty
+     */
+    int getPlayerAt(int x, int y);
+
+    /**
+     * @return the tokens of the player, which must not be changed (use placeToken() and removeToken())
+     */
+    Bitboard getTokens(int player);
+
+    void placeToken(int x, int y, int player);
+
+    void removeToken(int x, int y);
+}
@@ -6,6 +6,16 @@ public interface IStateFeatureVector extends IStateKey {
 
     double[] featureVector(AbstractGameState state, int playerID);
 
+    /**
+     * Writes the feature vector into target, starting at offset. This is used to fill pre-allocated buffers
+     * (as in VectorPyTAG); the default calls featureVector(), but implementations can override this to avoid
+     * allocating a new array on each call.
+     */
+    default void featureVector(AbstractGameState state, int playerID, double[] target, int offset) {
+        double[] features = featureVector(state, playerID);
+        System.arraycopy(features, 0, target, offset, features.length);
+    }
+
     String[] names();
 
     @Override
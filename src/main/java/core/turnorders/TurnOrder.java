@@ -135,7 +135,7 @@ public abstract class TurnOrder {
     public void endPlayerTurn(AbstractGameState gameState) {
         if (gameState.getGameStatus() != GAME_ONGOING) return;
 
-        gameState.getPlayerTimer()[getCurrentPlayer(gameState)].incrementTurn();
+        gameState.getPlayerTimerForUpdate(getCurrentPlayer(gameState)).incrementTurn();
 
         listeners.forEach(l -> l.onEvent(Event.createEvent(Event.GameEvent.TURN_OVER, gameState,getCurrentPlayer(gameState))));
 
@@ -172,7 +172,7 @@ public abstract class TurnOrder {
         _endRound(gameState);
         if (gameState.getGameStatus() != GAME_ONGOING) return;
 
-        gameState.getPlayerTimer()[getCurrentPlayer(gameState)].incrementRound();
+        gameState.getPlayerTimerForUpdate(getCurrentPlayer(gameState)).incrementRound();
 
         listeners.forEach(l -> l.onEvent(Event.createEvent(Event.GameEvent.ROUND_OVER, gameState, getCurrentPlayer(gameState))));
         if (gameState.getCoreGameParameters().recordEventHistory) {
@@ -0,0 +1,135 @@
+package evaluation;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.Game;
+import core.actions.AbstractAction;
+import core.components.Component;
+import games.GameType;
+import players.simple.RandomPlayer;
+import utilities.Utils;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class CopyCostBenchmark {
+
+    /**
+     * Measures the cost of AbstractGameState.copy(), with and without structural sharing
+     * (CoreParameters.structuralSharing), for each of the games specified.
+     * <p>
+     * A random game is played with the same seed in both modes. At each decision point we take nCopies copies of the
+     * state and record the bytes allocated and the time taken per copy(). As structural sharing defers some of the
+     * cost of a copy to the first modification of shared data, we also record the cost of a copy() followed by
+     * next() with a random action (which is what the search agents do).
+     * <p>
+     * The index of components by ID is built lazily, on the first call to getComponentById() on a copy. We also record
+     * the cost of a copy() followed by a single getComponentById(), which is what every copy() used to cost when the
+     * index was built eagerly.
+     * <p>
+     * Allocations are measured with com.sun.management.ThreadMXBean, so this needs a HotSpot based JVM.
+     * <p>
+     * Arguments: games (comma-separated, default Dominion,TerraformingMars,Catan), nPlayers (default 3),
+     * seed, nDecisions (maximum number of decision points sampled per game, default 200), nCopies (default 20).
+     */
+    public static void main(String... args) {
+        String games = Utils.getArg(args, "games", "Dominion,TerraformingMars,Catan");
+        int nPlayers = Utils.getArg(args, "nPlayers", 3);
+        long seed = Utils.getArg(args, "seed", 42L);
+        int nDecisions = Utils.getArg(args, "nDecisions", 200);
+        int nCopies = Utils.getArg(args, "nCopies", 20);
+
+        System.out.printf("%-20s %-8s %14s %12s %20s %18s %20s %18s%n", "Game", "Sharing",
+                "bytes/copy", "us/copy", "bytes/(copy+next)", "us/(copy+next)", "bytes/(copy+index)", "us/(copy+index)");
+        for (String gameName : games.split(",")) {
+            GameType gameType = GameType.valueOf(gameName.trim());
+            // we run the baseline twice, and report the second, so that both modes are measured on a warm JVM
+            measure(gameType, nPlayers, seed, nDecisions, nCopies, false);
+            double[] without = measure(gameType, nPlayers, seed, nDecisions, nCopies, false);
+            double[] with = measure(gameType, nPlayers, seed, nDecisions, nCopies, true);
+            report(gameType, "off", without);
+            report(gameType, "on", with);
+            System.out.printf("%-20s %-8s %13.1f%% %11.1f%% %19.1f%% %17.1f%% %19.1f%% %17.1f%%%n", gameType, "change",
+                    change(without[0], with[0]), change(without[1], with[1]),
+                    change(without[2], with[2]), change(without[3], with[3]),
+                    change(without[4], with[4]), change(without[5], with[5]));
+        }
+    }
+
+    /**
+     * @return bytes per copy, microseconds per copy, bytes per copy+next, microseconds per copy+next,
+     * bytes per copy+index, microseconds per copy+index
+     */
+    private static double[] measure(GameType gameType, int nPlayers, long seed, int nDecisions, int nCopies, boolean sharing) {
+        Game game = gameType.createGameInstance(nPlayers, seed);
+        game.getCoreParameters().structuralSharing = sharing;
+        List<AbstractPlayer> players = new ArrayList<>();
+        for (int i = 0; i < nPlayers; i++)
+            players.add(new RandomPlayer(new Random(seed + i)));
+        // reset() creates the game-specific components, so must be after we set structuralSharing
+        game.reset(players, seed);
+
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel forwardModel = game.getForwardModel();
+        Random rnd = new Random(seed);
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        long copyBytes = 0, copyNanos = 0, nextBytes = 0, nextNanos = 0, indexBytes = 0, indexNanos = 0, checksum = 0;
+        int samples = 0;
+        while (state.isNotTerminal() && samples < nDecisions) {
+            List<AbstractAction> actions = forwardModel.computeAvailableActions(state);
+            AbstractAction action = actions.get(rnd.nextInt(actions.size()));
+
+            long startBytes = bean.getCurrentThreadAllocatedBytes();
+            long startTime = System.nanoTime();
+            for (int i = 0; i < nCopies; i++) {
+                checksum += state.copy().getGameTick();
+            }
+            copyNanos += System.nanoTime() - startTime;
+            copyBytes += bean.getCurrentThreadAllocatedBytes() - startBytes;
+
+            startBytes = bean.getCurrentThreadAllocatedBytes();
+            startTime = System.nanoTime();
+            for (int i = 0; i < nCopies; i++) {
+                AbstractGameState copy = state.copy();
+                forwardModel.next(copy, action.copy());
+                checksum += copy.getGameTick();
+            }
+            nextNanos += System.nanoTime() - startTime;
+            nextBytes += bean.getCurrentThreadAllocatedBytes() - startBytes;
+
+            // any component will do, as the first lookup builds the whole index
+            List<Component> topLevel = state.getAllTopLevelComponents();
+            int id = topLevel.isEmpty() ? -1 : topLevel.get(0).getComponentID();
+            startBytes = bean.getCurrentThreadAllocatedBytes();
+            startTime = System.nanoTime();
+            for (int i = 0; i < nCopies; i++) {
+                AbstractGameState copy = state.copy();
+                if (copy.getComponentById(id) != null)
+                    checksum++;
+            }
+            indexNanos += System.nanoTime() - startTime;
+            indexBytes += bean.getCurrentThreadAllocatedBytes() - startBytes;
+
+            forwardModel.next(state, action);
+            samples++;
+        }
+        if (checksum == 0)
+            throw new AssertionError("No copies were made");
+        double n = (double) samples * nCopies;
+        return new double[]{copyBytes / n, copyNanos / n / 1000.0, nextBytes / n, nextNanos / n / 1000.0,
+                indexBytes / n, indexNanos / n / 1000.0};
+    }
+
+    private static void report(GameType gameType, String mode, double[] results) {
+        System.out.printf("%-20s %-8s %14.0f %12.2f %20.0f %18.2f %20.0f %18.2f%n", gameType, mode,
+                results[0], results[1], results[2], results[3], results[4], results[5]);
+    }
+
+    private static double change(double before, double after) {
+        return 100.0 * (after - before) / before;
+    }
+}
@@ -0,0 +1,92 @@
+package evaluation;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import players.search.MaxNSearchParameters;
+import players.search.MaxNSearchPlayer;
+import utilities.Utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class MakeUnmakeBenchmark {
+
+    /**
+     * Compares the speed of MaxNSearchPlayer when it copies the state before each action, against make/unmake
+     * with AbstractForwardModel.applyAndRecord() and undo().
+     * <p>
+     * For each game we sample nStates states from a seeded random game, and run a fixed-depth MaxN search
+     * (without alpha-beta pruning, so that both modes visit exactly the same nodes) from each. We report the nodes
+     * visited per second in each mode.
+     * <p>
+     * Arguments: games (comma-separated, default TicTacToe,Connect4,DotsAndBoxes,ChineseCheckers), nPlayers (default 2),
+     * seed, depth (default 3), nStates (default 20).
+     */
+    public static void main(String... args) {
+        String games = Utils.getArg(args, "games", "TicTacToe,Connect4,DotsAndBoxes,ChineseCheckers");
+        int nPlayers = Utils.getArg(args, "nPlayers", 2);
+        long seed = Utils.getArg(args, "seed", 42L);
+        int depth = Utils.getArg(args, "depth", 3);
+        int nStates = Utils.getArg(args, "nStates", 20);
+
+        System.out.printf("%-20s %12s %16s %16s %10s%n", "Game", "nodes", "copy nodes/s", "undo nodes/s", "speedup");
+        for (String gameName : games.split(",")) {
+            GameType gameType = GameType.valueOf(gameName.trim());
+            Game game = gameType.createGameInstance(nPlayers, seed);
+            List<AbstractGameState> states = sampleStates(game, seed, nStates);
+            AbstractForwardModel forwardModel = game.getForwardModel();
+            // the first pass in each mode is to warm up the JVM
+            search(forwardModel, states, depth, seed, false);
+            search(forwardModel, states, depth, seed, true);
+            long[] copy = search(forwardModel, states, depth, seed, false);
+            long[] undo = search(forwardModel, states, depth, seed, true);
+            if (copy[0] != undo[0])
+                throw new AssertionError("Different number of nodes visited: " + copy[0] + " with copy, " + undo[0] + " with undo");
+            double copyRate = copy[0] * 1e9 / copy[1];
+            double undoRate = undo[0] * 1e9 / undo[1];
+            System.out.printf("%-20s %12d %16.0f %16.0f %9.2fx%n", gameType, copy[0], copyRate, undoRate, undoRate / copyRate);
+        }
+    }
+
+    private static List<AbstractGameState> sampleStates(Game game, long seed, int nStates) {
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel forwardModel = game.getForwardModel();
+        Random rnd = new Random(seed);
+        List<AbstractGameState> states = new ArrayList<>();
+        while (state.isNotTerminal() && states.size() < nStates) {
+            states.add(state.copy());
+            List<AbstractAction> actions = forwardModel.computeAvailableActions(state);
+            forwardModel.next(state, actions.get(rnd.nextInt(actions.size())));
+        }
+        return states;
+    }
+
+    /**
+     * @return total nodes visited, and total nanoseconds taken
+     */
+    private static long[] search(AbstractForwardModel forwardModel, List<AbstractGameState> states, int depth, long seed, boolean makeUnmake) {
+        long nodes = 0, nanos = 0;
+        for (AbstractGameState state : states) {
+            MaxNSearchParameters params = new MaxNSearchParameters();
+            params.setParameterValue("searchDepth", depth);
+            params.setParameterValue("alphaBetaPruning", false);
+            params.setParameterValue("makeUnmake", makeUnmake);
+            params.setParameterValue("budget", Integer.MAX_VALUE);
+            params.setParameterValue("randomSeed", (int) seed);
+            MaxNSearchPlayer player = new MaxNSearchPlayer(params);
+            player.setForwardModel(forwardModel);
+
+            AbstractGameState root = state.copy(state.getCurrentPlayer());
+            List<AbstractAction> actions = forwardModel.computeAvailableActions(root);
+            long start = System.nanoTime();
+            player._getAction(root, actions);
+            nanos += System.nanoTime() - start;
+            nodes += player.getNodesExpanded();
+        }
+        return new long[]{nodes, nanos};
+    }
+}
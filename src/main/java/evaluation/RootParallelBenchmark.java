@@ -0,0 +1,96 @@
+package evaluation;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import players.PlayerConstants;
+import players.mcts.MCTSEnums;
+import players.mcts.MCTSParams;
+import players.mcts.MCTSPlayer;
+import utilities.Utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class RootParallelBenchmark {
+
+    /**
+     * Measures how root parallel MCTS (MCTSParams.parallelMode Root) scales with the number of threads.
+     * <p>
+     * For each game we sample nStates states from a seeded random game, and ask an MCTSPlayer for a decision in each,
+     * with the same total iteration budget for each thread count (this is split across the workers). We report the
+     * wall-clock time taken, the iterations per second and the speedup over a single (sequential) thread.
+     * <p>
+     * Arguments: games (comma-separated, default TicTacToe,Connect4,Dominion), nPlayers (default 2), seed,
+     * threads (comma-separated, default 1,2,4,8), budget (iterations per decision, default 4000), nStates (default 10).
+     */
+    public static void main(String... args) {
+        String games = Utils.getArg(args, "games", "TicTacToe,Connect4,Dominion");
+        int nPlayers = Utils.getArg(args, "nPlayers", 2);
+        long seed = Utils.getArg(args, "seed", 42L);
+        String threads = Utils.getArg(args, "threads", "1,2,4,8");
+        int budget = Utils.getArg(args, "budget", 4000);
+        int nStates = Utils.getArg(args, "nStates", 10);
+
+        System.out.printf("%-20s %8s %12s %14s %10s%n", "Game", "threads", "ms", "iterations/s", "speedup");
+        for (String gameName : games.split(",")) {
+            GameType gameType = GameType.valueOf(gameName.trim());
+            Game game = gameType.createGameInstance(nPlayers, seed);
+            List<AbstractGameState> states = sampleStates(game, seed, nStates);
+            // the first pass is to warm up the JVM
+            search(game.getForwardModel(), states, 1, budget, seed);
+            double sequential = 0;
+            for (String t : threads.split(",")) {
+                int nThreads = Integer.parseInt(t.trim());
+                long nanos = search(game.getForwardModel(), states, nThreads, budget, seed);
+                if (sequential == 0)
+                    sequential = nanos;
+                System.out.printf("%-20s %8d %12.1f %14.0f %9.2fx%n", gameType.name(), nThreads, nanos / 1e6,
+                        (double) budget * states.size() * 1e9 / nanos, sequential / nanos);
+            }
+        }
+    }
+
+    private static List<AbstractGameState> sampleStates(Game game, long seed, int nStates) {
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel forwardModel = game.getForwardModel();
+        Random rnd = new Random(seed);
+        List<AbstractGameState> states = new ArrayList<>();
+        while (state.isNotTerminal() && states.size() < nStates) {
+            List<AbstractAction> actions = forwardModel.computeAvailableActions(state);
+            if (actions.size() > 1)
+                states.add(state.copy());
+            forwardModel.next(state, actions.get(rnd.nextInt(actions.size())));
+        }
+        return states;
+    }
+
+    /**
+     * @return total nanoseconds taken for a decision in each state
+     */
+    private static long search(AbstractForwardModel forwardModel, List<AbstractGameState> states, int nThreads, int budget, long seed) {
+        MCTSParams params = new MCTSParams();
+        params.setRandomSeed(seed);
+        params.setParameterValue("parallelMode", nThreads > 1 ? MCTSEnums.ParallelMode.Root : MCTSEnums.ParallelMode.None);
+        params.setParameterValue("parallelThreads", nThreads);
+        params.budgetType = PlayerConstants.BUDGET_ITERATIONS;
+        params.budget = budget;
+        MCTSPlayer player = new MCTSPlayer(params);
+        player.setForwardModel(forwardModel);
+        player.initializePlayer(states.get(0));
+
+        long nanos = 0;
+        for (AbstractGameState state : states) {
+            AbstractGameState root = state.copy(state.getCurrentPlayer());
+            List<AbstractAction> actions = forwardModel.computeAvailableActions(root);
+            long start = System.nanoTime();
+            player.getAction(root, actions);
+            nanos += System.nanoTime() - start;
+        }
+        player.finalizePlayer(states.get(states.size() - 1));
+        return nanos;
+    }
+}
@@ -27,6 +27,10 @@ public enum RunArg {
             "\t This may be useful if you want to use the same destDir for multiple experiments.",
             false,
             new Usage[]{Usage.RunGames}),
+    batchSize("The number of settings NTBEA proposes (from the landscape model) and evaluates in each generation.\n" +
+            "\t The evaluations in a generation are run in parallel if nThreads > 1. Default is 1.",
+            1,
+            new Usage[]{Usage.ParameterSearch}),
     budget("The budget to be used by all agent (if they support the IAnyTime interface). \n" +
             "\t If non-zero then this will override the value in any JSON definitions.\n",
             0,
@@ -138,6 +142,12 @@ public enum RunArg {
     nPlayers("The number of players in each game. Overrides playerRange.",
             -1,
             new Usage[]{Usage.ParameterSearch, Usage.RunGames}),
+    nThreads("The number of threads to use to play games in parallel. Default is 1 (sequential).\n" +
+            "\t Each matchup is played on a worker thread with its own Game and player copies. Results and listener\n" +
+            "\t events are merged in the same order as a sequential run, so the results for a given seed are unchanged.\n" +
+            "\t For ParameterSearch, the games in each NTBEA generation (see batchSize) are played in parallel.",
+            1,
+            new Usage[]{Usage.RunGames, Usage.ParameterSearch}),
     discretisation("The number of discretisation levels to use in NTBEAFunctions. Default is 10.",
             10,
             new Usage[]{Usage.ParameterSearch}),
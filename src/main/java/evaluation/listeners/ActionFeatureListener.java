@@ -35,7 +35,7 @@ public class ActionFeatureListener extends FeatureListener {
         this.psiFn = psi;
         this.phiFn = phi;
         this.includeActionsNotTaken = includeActionsNotTaken;
-        logger = new FileStatsLogger(fileName);
+        logger = createFileLogger(fileName);
     }
 
     @Override
@@ -0,0 +1,88 @@
+package evaluation.listeners;
+
+import core.Game;
+import evaluation.metrics.Event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records a snapshot of every event in a game, so that the events can be replayed later to other listeners.
+ * <p>
+ * This is used when games are played on worker threads (see RoundRobinTournament). The listeners of the tournament
+ * are not thread-safe, and inspect the live game state - so each event is stored with a copy of the state (and action)
+ * at the time it occurred, and replayed on the main thread in the same order as a sequential run.
+ * <p>
+ * If the recorder is given the listeners the events will be replayed to, it only records the events that one of them
+ * listens to, and only copies the state for an event if one of them uses it (see IGameListener.usesState()).
+ */
+public class EventRecorder implements IGameListener {
+
+    protected Game game;
+    protected final List<Event> events = new ArrayList<>();
+    // the listeners the events are for, or null to record every event with its state
+    private final List<IGameListener> listeners;
+
+    public EventRecorder() {
+        this(null);
+    }
+
+    public EventRecorder(List<IGameListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    @Override
+    public void onEvent(Event event) {
+        if (listeners == null) {
+            events.add(event.snapshot());
+            return;
+        }
+        boolean listened = false, stateUsed = false;
+        for (IGameListener listener : listeners) {
+            listened |= listener.listensTo(event.type);
+            stateUsed |= listener.usesState(event.type);
+        }
+        if (stateUsed)
+            events.add(event.snapshot());
+        else if (listened)
+            events.add(Event.createEvent(event.type, null, event.action == null ? null : event.action.copy(), event.playerID));
+    }
+
+    /**
+     * Replays all recorded events to the listeners provided. For the duration of the replay each listener
+     * is pointed at the Game the events were recorded from (so that player names and timings are those of that game),
+     * and then reset to the Game it was originally attached to.
+     */
+    public void replay(List<IGameListener> listeners) {
+        List<Game> originalGames = new ArrayList<>();
+        for (IGameListener listener : listeners) {
+            originalGames.add(listener.getGame());
+            listener.setGame(game);
+        }
+        for (Event event : events) {
+            for (IGameListener listener : listeners)
+                listener.onEvent(event);
+        }
+        for (int i = 0; i < listeners.size(); i++)
+            listeners.get(i).setGame(originalGames.get(i));
+    }
+
+    public List<Event> getEvents() {
+        return events;
+    }
+
+    @Override
+    public void report() {
+        // nothing to report; the events are replayed to other listeners
+    }
+
+    @Override
+    public void setGame(Game game) {
+        this.game = game;
+    }
+
+    @Override
+    public Game getGame() {
+        return game;
+    }
+}
@@ -3,6 +3,7 @@ package evaluation.listeners;
 import core.*;
 import core.actions.AbstractAction;
 import core.interfaces.IStatisticLogger;
+import evaluation.loggers.BinaryStatsLogger;
 import evaluation.loggers.FileStatsLogger;
 import evaluation.metrics.Event;
 import utilities.Utils;
@@ -37,6 +38,15 @@ public abstract class FeatureListener implements IGameListener {
         this.logger = logger;
     }
 
+    /**
+     * @return a BinaryStatsLogger if the file has its extension, otherwise a (tab-delimited) FileStatsLogger
+     */
+    protected static IStatisticLogger createFileLogger(String fileName) {
+        if (fileName.endsWith(BinaryStatsLogger.EXTENSION))
+            return new BinaryStatsLogger(fileName);
+        return new FileStatsLogger(fileName);
+    }
+
     @Override
     public void onEvent(Event event) {
 
@@ -59,6 +69,8 @@ public abstract class FeatureListener implements IGameListener {
 
         if (logger instanceof FileStatsLogger fileLogger) {
             fileLogger.setOutPutDirectory(nestedDirectories);
+        } else if (logger instanceof BinaryStatsLogger binaryLogger) {
+            binaryLogger.setOutPutDirectory(nestedDirectories);
         }
         return true;
     }
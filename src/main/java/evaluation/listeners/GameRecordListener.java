@@ -0,0 +1,215 @@
+package evaluation.listeners;
+
+import core.AbstractGameState;
+import core.Game;
+import core.actions.AbstractAction;
+import core.actions.ActionSpace;
+import evaluation.metrics.Event;
+import utilities.Utils;
+
+import java.io.*;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Streams a compact binary record of each game to disk, from which any point in the game can be reconstructed with
+ * {@link core.GameReplay}. One file is written per game, named [GameType]_[gameID].tagr, and is closed at GAME_OVER.
+ * <p>
+ * Rather than the actions themselves, the record holds the seed of the game and, for each decision, the player and the
+ * index of the chosen action in the list of available actions (in the action space of that player). As the forward
+ * model is deterministic given the seed, this is enough to re-run the game exactly.
+ * <p>
+ * Every fingerprintInterval actions a fingerprint of the state is written: its counters, status and scores, and the
+ * state of the game random number generator. These are not enough to restore the state (game states cannot be written
+ * to disk), so a replay always starts from the beginning of the game; they are checked as the replay passes them, to
+ * detect any divergence from the recorded game.
+ * <p>
+ * Layout (as written by DataOutputStream):
+ * MAGIC, VERSION, game type name, nPlayers, seed; then a sequence of records, each starting with a tag byte:
+ * ACTION: tick, player, action index, and the ordinals of the action space structure, flexibility and context;
+ * TIMEOUT: tick, player, and whether the player was disqualified (rather than a random action played);
+ * FINGERPRINT: number of actions so far, and a fingerprint of the state - tick, current player, round, turn, game status
+ * ordinal, nPlayers scores, length of the serialised Random, and the serialised Random;
+ * END: the fingerprint of the final state (after the end of game processing).
+ */
+public class GameRecordListener implements IGameListener {
+
+    public static final String EXTENSION = ".tagr";
+    public static final int MAGIC = 0x52474154;  // "TAGR"
+    public static final int VERSION = 1;
+    public static final byte END = 0, ACTION = 1, TIMEOUT = 2, FINGERPRINT = 3;
+
+    protected Game game;
+    private String directory = ".";
+    private final int fingerprintInterval;
+
+    private DataOutputStream out;
+    private String fileName;
+    private int actionCount;
+    // the action chosen at ACTION_CHOSEN, which is written at ACTION_TAKEN
+    private AbstractAction pendingAction;
+    private int pendingIndex, pendingTick;
+    private ActionSpace pendingSpace;
+
+    /**
+     * @param fingerprintInterval the number of actions between fingerprints of the state
+     */
+    public GameRecordListener(int fingerprintInterval) {
+        if (fingerprintInterval < 1)
+            throw new IllegalArgumentException("fingerprintInterval must be positive, not " + fingerprintInterval);
+        this.fingerprintInterval = fingerprintInterval;
+    }
+
+    public GameRecordListener() {
+        this(100);
+    }
+
+    @Override
+    public boolean setOutputDirectory(String... nestedDirectories) {
+        directory = Utils.createDirectory(nestedDirectories);
+        return true;
+    }
+
+    @Override
+    public void onEvent(Event event) {
+        if (!(event.type instanceof Event.GameEvent type))
+            return;
+        try {
+            switch (type) {
+                case ABOUT_TO_START -> start(event.state);
+                case ACTION_CHOSEN -> choose(event);
+                case ACTION_TAKEN -> take(event);
+                case GAME_OVER -> finish(event.state);
+                default -> {
+                }
+            }
+        } catch (IOException e) {
+            throw new AssertionError("Problem writing to file " + fileName + " : " + e.getMessage());
+        }
+    }
+
+    private void start(AbstractGameState state) throws IOException {
+        close();
+        fileName = directory + File.separator + state.getGameType().name() + "_" + state.getGameID() + EXTENSION;
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileName)));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(state.getGameType().name());
+        out.writeInt(state.getNPlayers());
+        out.writeLong(state.getGameParameters().getRandomSeed());
+        actionCount = 0;
+        pendingAction = null;
+        writeFingerprintRecord(state);
+    }
+
+    private void choose(Event event) {
+        if (out == null) return;
+        AbstractGameState state = event.state;
+        pendingSpace = game.getPlayers().get(event.playerID).getParameters().actionSpace;
+        // on the live game the list is cached for the decision; a copy of the state (from an EventRecorder) needs it computed
+        List<AbstractAction> available = state == game.getGameState() ? game.getAvailableActions(pendingSpace) :
+                game.getForwardModel().computeAvailableActions(state, pendingSpace);
+        pendingIndex = available.indexOf(event.action);
+        if (pendingIndex == -1)
+            throw new AssertionError("Chosen action " + event.action + " is not available in " + fileName);
+        pendingAction = event.action.copy();
+        pendingTick = state.getGameTick();
+    }
+
+    private void take(Event event) throws IOException {
+        if (out == null) return;
+        if (pendingAction == null)
+            throw new AssertionError("ACTION_TAKEN without ACTION_CHOSEN in " + fileName);
+        if (pendingAction.equals(event.action)) {
+            out.writeByte(ACTION);
+            out.writeInt(pendingTick);
+            out.writeInt(event.playerID);
+            out.writeInt(pendingIndex);
+            out.writeByte(pendingSpace.structure.ordinal());
+            out.writeByte(pendingSpace.flexibility.ordinal());
+            out.writeByte(pendingSpace.context.ordinal());
+        } else {
+            // the player timed out, and the chosen action was replaced
+            out.writeByte(TIMEOUT);
+            out.writeInt(pendingTick);
+            out.writeInt(event.playerID);
+            out.writeBoolean(event.state.getCoreGameParameters().disqualifyPlayerOnTimeout);
+        }
+        pendingAction = null;
+        actionCount++;
+        if (actionCount % fingerprintInterval == 0)
+            writeFingerprintRecord(event.state);
+    }
+
+    private void writeFingerprintRecord(AbstractGameState state) throws IOException {
+        out.writeByte(FINGERPRINT);
+        out.writeInt(actionCount);
+        writeFingerprint(state);
+    }
+
+    private void writeFingerprint(AbstractGameState state) throws IOException {
+        out.writeInt(state.getGameTick());
+        out.writeInt(state.getCurrentPlayer());
+        out.writeInt(state.getRoundCounter());
+        out.writeInt(state.getTurnCounter());
+        out.writeInt(state.getGameStatus().ordinal());
+        for (int p = 0; p < state.getNPlayers(); p++)
+            out.writeDouble(state.getGameScore(p));
+        byte[] rnd = serialise(state.getRnd());
+        out.writeInt(rnd.length);
+        out.write(rnd);
+    }
+
+    /**
+     * @return the serialised form of the Random (which includes its internal seed)
+     */
+    public static byte[] serialise(Random rnd) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream objects = new ObjectOutputStream(bytes)) {
+            objects.writeObject(rnd);
+        } catch (IOException e) {
+            throw new AssertionError("Problem serialising Random : " + e.getMessage());
+        }
+        return bytes.toByteArray();
+    }
+
+    private void finish(AbstractGameState state) throws IOException {
+        if (out == null) return;
+        out.writeByte(END);
+        writeFingerprint(state);
+        close();
+    }
+
+    private void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    /**
+     * @return the file for the current (or most recent) game
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    @Override
+    public void report() {
+        try {
+            close();
+        } catch (IOException e) {
+            throw new AssertionError("Problem closing file " + fileName + " : " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void setGame(Game game) {
+        this.game = game;
+    }
+
+    @Override
+    public Game getGame() {
+        return game;
+    }
+}
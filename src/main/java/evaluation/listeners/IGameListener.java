@@ -1,6 +1,7 @@
 package evaluation.listeners;
 
 import core.Game;
+import core.interfaces.IGameEvent;
 import evaluation.metrics.AbstractMetric;
 import evaluation.metrics.Event;
 import evaluation.metrics.GameMetrics;
@@ -63,6 +64,24 @@ public interface IGameListener {
         return listener;
     }
 
+    /**
+     * A listener that is sent events recorded on another thread (see {@link EventRecorder}) is only sent the events
+     * that some listener listens to, and only given a copy of the state for the events that need it.
+     *
+     * @return true if this listener does anything with events of this type. Default behaviour is true.
+     */
+    default boolean listensTo(IGameEvent type) {
+        return true;
+    }
+
+    /**
+     * @return true if this listener reads the state of events of this type (see listensTo()). Default behaviour is
+     * true for all the events it listens to.
+     */
+    default boolean usesState(IGameEvent type) {
+        return listensTo(type);
+    }
+
     default void reset() {
     }
 
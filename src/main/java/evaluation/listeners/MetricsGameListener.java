@@ -1,5 +1,6 @@
 package evaluation.listeners;
 
+import core.AbstractPlayer;
 import core.Game;
 import core.interfaces.IGameEvent;
 import evaluation.metrics.AbstractMetric;
@@ -11,6 +12,9 @@ import utilities.Utils;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import static evaluation.metrics.Event.GameEvent.*;
 import static evaluation.metrics.IDataLogger.ReportDestination.*;
@@ -25,6 +29,15 @@ import static utilities.Utils.createDirectory;
  * set up a metrics class that implements the interface {@link IMetricsCollection}, check this for more information.
  * See {@link games.sushigo.metrics.SushiGoMetrics} for an example of a metric collection.
  * See {@link games.terraformingmars.stats.TMStatsVisualiser} for an example of a visualiser of metrics.
+ * ---
+ * By default all metrics run on the game thread as each event occurs, and add their data to their tables straight
+ * away. After setAsync() is called, the metrics still run on the game thread, but only the data they extract from
+ * each event (see {@link AbstractMetric#extract}) is put into a bounded queue, and added to the tables in batches by a
+ * background thread. If the queue is full, the game thread waits for space.
+ * Metrics that do a lot of work for each event can ask to be run on the background thread instead
+ * ({@link AbstractMetric#runsOnStateCopy()}); these are given a copy of the state and action, taken once for each
+ * event they listen to and shared by all of them, and should get player names from getPlayerName() rather than from
+ * the Game. The queue is drained at the end of each game, and before reset(), init() and report().
  */
 public class MetricsGameListener implements IGameListener {
 
@@ -46,6 +59,18 @@ public class MetricsGameListener implements IGameListener {
     // Destination directory for the reports
     String destDir = "metrics/out/"; //by default
 
+    // Maximum number of events the background thread processes in one go in async mode
+    static final int ASYNC_BATCH_SIZE = 256;
+
+    // Queue of the data extracted from each event in async mode; null if the metrics run synchronously
+    private BlockingQueue<QueuedEvent> eventQueue;
+    private final Object queueLock = new Object();
+    private long eventsQueued, eventsProcessed;  // guarded by queueLock
+    private volatile Throwable consumerFailure;
+    // The names of the players in the current game in async mode, taken on the game thread
+    private volatile List<String> playerNames = Collections.emptyList();
+    private List<AbstractPlayer> playerNamesSource;
+
     public MetricsGameListener() {
     }
 
@@ -76,21 +101,195 @@ public class MetricsGameListener implements IGameListener {
      *              It's not guaranteed that the data fields are different to null, so a check is necessary.
      */
     public void onEvent(Event event) {
+        if (eventQueue != null && game != null && (event.type == ABOUT_TO_START || game.getPlayers() != playerNamesSource))
+            updatePlayerNames();
         if (!eventsOfInterest.contains(event.type))
             return;
 
         // Use of LinkedHashMap so that data is stored in the same order it is listed in the json config file
 
-        for (String attrStr : metrics.keySet()) {
-            AbstractMetric metric = metrics.get(attrStr);
+        if (eventQueue == null) {
+            for (AbstractMetric metric : metrics.values())
+                runMetric(metric, event);
+            return;
+        }
+
+        List<AbstractMetric.Row> rows = new ArrayList<>();
+        boolean snapshotState = false;
+        for (AbstractMetric metric : metrics.values()) {
+            if (onStateCopy(metric)) {
+                snapshotState |= metric.listens(event.type);
+                continue;
+            }
             if (metric.listens(event.type)) {
-                // Apply metric
-                metric.run(this, event);
+                AbstractMetric.Row row = metric.extract(this, event);
+                if (row != null)
+                    rows.add(row);
             }
-
             if (event.type == GAME_OVER)
                 metric.notifyGameOver();
         }
+        // GAME_OVER is always queued, so that the metrics on the background thread are notified of it
+        Event queuedEvent = null;
+        if (snapshotState)
+            queuedEvent = event.snapshot();
+        else if (event.type == GAME_OVER)
+            queuedEvent = Event.createEvent(GAME_OVER);
+        if (queuedEvent != null || !rows.isEmpty())
+            enqueue(new QueuedEvent(rows, queuedEvent));
+        if (event.type == GAME_OVER) {
+            // The players and the Game are re-used for the next game, so all of this one must be processed first
+            flush();
+        }
+    }
+
+    @Override
+    public boolean listensTo(IGameEvent type) {
+        return eventsOfInterest.contains(type);
+    }
+
+    /**
+     * The state is only used by the metrics that listen to the event; GAME_OVER is also of interest to the others,
+     * which only need to know that the game is over.
+     */
+    @Override
+    public boolean usesState(IGameEvent type) {
+        for (AbstractMetric metric : metrics.values())
+            if (metric.listens(type))
+                return true;
+        return false;
+    }
+
+    private void updatePlayerNames() {
+        playerNamesSource = game.getPlayers();
+        List<String> names = new ArrayList<>(playerNamesSource.size());
+        for (AbstractPlayer player : playerNamesSource)
+            names.add(player.toString());
+        playerNames = names;
+    }
+
+    /**
+     * @return the name of the player in the current game. Unlike getGame().getPlayers(), this is safe to call from
+     * metrics that run on the background thread in async mode.
+     */
+    public String getPlayerName(int playerID) {
+        if (eventQueue == null)
+            return game.getPlayers().get(playerID).toString();
+        return playerNames.get(playerID);
+    }
+
+    /**
+     * @return true if the metric is run on the background thread, on a copy of the state, in async mode
+     */
+    private static boolean onStateCopy(AbstractMetric metric) {
+        return metric.runsOnStateCopy() && !metric.requiresLiveGame();
+    }
+
+    private void runMetric(AbstractMetric metric, Event event) {
+        if (metric.listens(event.type)) {
+            // Apply metric
+            metric.run(this, event);
+        }
+
+        if (event.type == GAME_OVER)
+            metric.notifyGameOver();
+    }
+
+    /**
+     * Switches this listener to asynchronous processing of events (see the class comment).
+     *
+     * @param queueSize maximum number of events waiting to be processed
+     */
+    public void setAsync(int queueSize) {
+        if (queueSize < 1)
+            throw new IllegalArgumentException("Queue size must be at least 1, not " + queueSize);
+        if (eventQueue != null)
+            throw new IllegalStateException("Async processing is already on");
+        eventQueue = new ArrayBlockingQueue<>(queueSize);
+        Thread consumer = new Thread(this::consumeEvents, "MetricsConsumer");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    public boolean isAsync() {
+        return eventQueue != null;
+    }
+
+    /**
+     * The data extracted from an event on the game thread, and the copy of the event for the metrics that run on the
+     * background thread (if any of them need it).
+     */
+    private record QueuedEvent(List<AbstractMetric.Row> rows, Event event) {
+    }
+
+    private void enqueue(QueuedEvent snapshot) {
+        synchronized (queueLock) {
+            eventsQueued++;
+        }
+        try {
+            // a blocking put() would never return if the consumer has died, so we check for that while waiting
+            while (!eventQueue.offer(snapshot, 100, TimeUnit.MILLISECONDS))
+                checkConsumer();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while queueing metrics event", e);
+        }
+    }
+
+    private void consumeEvents() {
+        List<QueuedEvent> batch = new ArrayList<>(ASYNC_BATCH_SIZE);
+        try {
+            while (true) {
+                batch.add(eventQueue.take());
+                eventQueue.drainTo(batch, ASYNC_BATCH_SIZE - 1);
+                for (QueuedEvent queued : batch) {
+                    for (AbstractMetric.Row row : queued.rows())
+                        row.addToLogger();
+                    if (queued.event() == null)
+                        continue;
+                    for (AbstractMetric metric : metrics.values()) {
+                        if (onStateCopy(metric))
+                            runMetric(metric, queued.event());
+                    }
+                }
+                synchronized (queueLock) {
+                    eventsProcessed += batch.size();
+                    queueLock.notifyAll();
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // nothing to do; the listener is being discarded
+        } catch (RuntimeException | Error e) {
+            // (an Error, such as a failed assertion, would otherwise leave the game thread waiting in flush())
+            consumerFailure = e;
+            synchronized (queueLock) {
+                queueLock.notifyAll();
+            }
+        }
+    }
+
+    private void checkConsumer() {
+        if (consumerFailure != null)
+            throw new RuntimeException("Metrics failed on the background thread", consumerFailure);
+    }
+
+    /**
+     * Waits until all the events queued so far have been processed. Does nothing if async processing is off.
+     */
+    public void flush() {
+        if (eventQueue == null)
+            return;
+        synchronized (queueLock) {
+            try {
+                while (eventsProcessed < eventsQueued && consumerFailure == null)
+                    queueLock.wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for metrics", e);
+            }
+        }
+        checkConsumer();
     }
 
     @Override
@@ -113,6 +312,7 @@ public class MetricsGameListener implements IGameListener {
      * This is useful for Listeners that are just interested in aggregate data across many runs
      */
     public void report() {
+        flush();
         boolean success = true;
 
         if (reportDestinations.contains(ToFile) || reportDestinations.contains(ToBoth)) {
@@ -174,6 +374,7 @@ public class MetricsGameListener implements IGameListener {
     }
 
     public void reset() {
+        flush();
         for (AbstractMetric metric : metrics.values()) {
             metric.reset();
         }
@@ -182,6 +383,7 @@ public class MetricsGameListener implements IGameListener {
     @Override
     public void init(Game game, int nPlayersPerGame, Set<String> playerNames) {
         this.game = game;
+        flush();
 
         for (AbstractMetric metric : metrics.values()) {
             metric.init(game, nPlayersPerGame, playerNames);
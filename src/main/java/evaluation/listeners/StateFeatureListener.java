@@ -21,7 +21,7 @@ public class StateFeatureListener extends FeatureListener {
     public StateFeatureListener(IStateFeatureVector phi, Event.GameEvent frequency, boolean currentPlayerOnly, String fileName) {
         super(frequency, currentPlayerOnly);
         this.phiFn = phi;
-        logger = new FileStatsLogger(fileName);
+        logger = createFileLogger(fileName);
     }
 
     @Override
@@ -0,0 +1,226 @@
+package evaluation.loggers;
+
+import core.interfaces.IStatisticLogger;
+import evaluation.summarisers.TAGOccurrenceStatSummary;
+import evaluation.summarisers.TAGStatSummary;
+import utilities.Utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * A numeric alternative to FileStatsLogger, for large volumes of training data (e.g. from FeatureListener).
+ * <p>
+ * Records are written to a column-oriented binary file, without any text formatting. The file starts with a header
+ * of the column names, and is followed by chunks of up to chunkRows records. Each chunk holds the number of records
+ * in it, and then all the values of the first column, all the values of the second column, and so on. All values are
+ * stored as little-endian doubles, with null as NaN; so only numeric (and boolean) data can be recorded.
+ * <p>
+ * Layout (all ints and doubles little-endian):
+ * MAGIC, VERSION, nColumns, then for each column the length of its UTF-8 name in bytes and the name itself;
+ * then any number of chunks, each of nRows, followed by nColumns blocks of nRows doubles.
+ * <p>
+ * Records are buffered until a chunk is full, and the last partial chunk is written by processDataAndFinish().
+ * The files are read by {@link BinaryStatsReader}.
+ */
+public class BinaryStatsLogger implements IStatisticLogger {
+
+    public static final String EXTENSION = ".tagc";
+    static final int MAGIC = 0x43474154;  // "TAGC"
+    static final int VERSION = 1;
+
+    private String fileName;
+    private String actionName;
+    private final boolean append;
+    private final int chunkRows;
+    private FileChannel channel;
+
+    private String[] columns;
+    private double[][] chunk;  // [column][row]
+    private int rowsInChunk;
+    private ByteBuffer buffer;
+
+    /**
+     * @param fileName  The full location of the file to write results to
+     * @param append    If true, and the file already exists, then new data is added to the end of it. The columns
+     *                  must match those already in the file.
+     * @param chunkRows The maximum number of records in each chunk of the file
+     */
+    public BinaryStatsLogger(String fileName, boolean append, int chunkRows) {
+        if (chunkRows < 1)
+            throw new IllegalArgumentException("chunkRows must be positive, not " + chunkRows);
+        this.fileName = fileName;
+        this.append = append;
+        this.chunkRows = chunkRows;
+    }
+
+    public BinaryStatsLogger(String fileName) {
+        this(fileName, true, 4096);
+    }
+
+    public void setOutPutDirectory(String... nestedDirectories) {
+        if (channel != null) {
+            throw new AssertionError("Cannot set output directory after initialisation");
+        }
+        String folder = Utils.createDirectory(nestedDirectories);
+        this.fileName = folder + File.separator + this.fileName;
+    }
+
+    private void initialise(Collection<String> keys) {
+        columns = keys.toArray(new String[0]);
+        chunk = new double[columns.length][chunkRows];
+        buffer = ByteBuffer.allocateDirect(4 + columns.length * chunkRows * 8).order(ByteOrder.LITTLE_ENDIAN);
+        String[] names = columns;
+        if (actionName != null) {
+            names = Arrays.stream(columns).map(c -> c.endsWith(":" + actionName) ?
+                    c.substring(0, c.length() - actionName.length() - 1) : c).toArray(String[]::new);
+        }
+        File file = new File(fileName);
+        try {
+            if (append && file.exists() && file.length() > 0) {
+                try (BinaryStatsReader reader = new BinaryStatsReader(fileName)) {
+                    if (!Arrays.equals(reader.getColumnNames(), names))
+                        throw new AssertionError("Columns do not match those already in " + fileName);
+                }
+                channel = FileChannel.open(Path.of(fileName), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            } else {
+                channel = FileChannel.open(Path.of(fileName), StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+                writeHeader(names);
+            }
+        } catch (IOException e) {
+            throw new AssertionError("Problem opening file " + fileName + " : " + e.getMessage());
+        }
+    }
+
+    private void writeHeader(String[] names) throws IOException {
+        byte[][] encoded = new byte[names.length][];
+        int size = 12;
+        for (int i = 0; i < names.length; i++) {
+            encoded[i] = names[i].getBytes(StandardCharsets.UTF_8);
+            size += 4 + encoded[i].length;
+        }
+        ByteBuffer header = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(names.length);
+        for (byte[] name : encoded)
+            header.putInt(name.length).put(name);
+        header.flip();
+        while (header.hasRemaining())
+            channel.write(header);
+    }
+
+    /**
+     * Records one row of data. The columns are fixed by the first call; data for other keys is ignored, and
+     * missing values are recorded as NaN. Nested maps are flattened, as in FileStatsLogger.
+     *
+     * @param rawData A map of name -> value pairs
+     */
+    @Override
+    public void record(Map<String, ?> rawData) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        for (String key : rawData.keySet()) {
+            Object thing = rawData.get(key);
+            if (thing instanceof Map) {
+                data.putAll((Map<? extends String, ?>) thing);
+            } else {
+                data.put(key, thing);
+            }
+        }
+        if (columns == null)
+            initialise(data.keySet());
+        else if (channel == null)
+            throw new AssertionError("Cannot record to " + fileName + " after processDataAndFinish()");
+        for (int c = 0; c < columns.length; c++)
+            chunk[c][rowsInChunk] = toDouble(columns[c], data.get(columns[c]));
+        rowsInChunk++;
+        if (rowsInChunk == chunkRows)
+            writeChunk();
+    }
+
+    private static double toDouble(String key, Object datum) {
+        if (datum == null)
+            return Double.NaN;
+        if (datum instanceof TAGOccurrenceStatSummary summary)
+            datum = summary.getHighestOccurrence().a;
+        if (datum instanceof Number number)
+            return number.doubleValue();
+        if (datum instanceof Boolean bool)
+            return bool ? 1.0 : 0.0;
+        throw new IllegalArgumentException("BinaryStatsLogger can only record numeric data, but " + key + " is " + datum);
+    }
+
+    private void writeChunk() {
+        if (rowsInChunk == 0) return;
+        buffer.clear();
+        buffer.putInt(rowsInChunk);
+        DoubleBuffer values = buffer.asDoubleBuffer();
+        for (double[] column : chunk)
+            values.put(column, 0, rowsInChunk);
+        buffer.position(4 + columns.length * rowsInChunk * 8);
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+        } catch (IOException e) {
+            throw new AssertionError("Problem writing to file " + fileName + " : " + e.getMessage());
+        }
+        rowsInChunk = 0;
+    }
+
+    @Override
+    public void record(String key, Object datum) {
+        // Datum ignored - as with FileStatsLogger, only the other record() is used
+    }
+
+    /**
+     * Writes any buffered records, and closes the file
+     */
+    @Override
+    public void processDataAndFinish() {
+        if (channel == null) return;
+        writeChunk();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new AssertionError("Problem closing file " + fileName + " : " + e.getMessage());
+        }
+        channel = null;
+    }
+
+    /**
+     * Records are written a full chunk at a time, so this does nothing
+     */
+    @Override
+    public void processDataAndNotFinish() {
+    }
+
+    /**
+     * This always returns an empty Map
+     *
+     * @return A summary of the data
+     */
+    @Override
+    public Map<String, TAGStatSummary> summary() {
+        return new HashMap<>();
+    }
+
+    @Override
+    public BinaryStatsLogger emptyCopy(String id) {
+        String[] fileParts = fileName.split(Pattern.quote("."));
+        if (fileParts.length != 2)
+            throw new AssertionError("Filename does not conform to expected <stem>.<type>");
+        String newFileName = fileParts[0] + "_" + id + "." + fileParts[1];
+        BinaryStatsLogger retValue = new BinaryStatsLogger(newFileName, append, chunkRows);
+        retValue.actionName = id;
+        return retValue;
+    }
+}
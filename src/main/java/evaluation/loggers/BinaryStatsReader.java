@@ -0,0 +1,138 @@
+package evaluation.loggers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the files written by {@link BinaryStatsLogger}. Each chunk of the file is memory-mapped when it is read,
+ * so values are copied straight into the arrays returned, without any parsing.
+ */
+public class BinaryStatsReader implements AutoCloseable {
+
+    private final String fileName;
+    private final FileChannel channel;
+    private final String[] columnNames;
+    private final long[] chunkPositions;  // of the first value in each chunk
+    private final int[] chunkRows;
+    private final int nRows;
+
+    public BinaryStatsReader(String fileName) throws IOException {
+        this.fileName = fileName;
+        channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ);
+        try {
+            long position = 0;
+            ByteBuffer intBuffer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            if (readInt(intBuffer, position) != BinaryStatsLogger.MAGIC)
+                throw new IOException(fileName + " is not a binary stats file");
+            int version = readInt(intBuffer, position + 4);
+            if (version != BinaryStatsLogger.VERSION)
+                throw new IOException("Unsupported version " + version + " of " + fileName);
+            columnNames = new String[readInt(intBuffer, position + 8)];
+            position += 12;
+            for (int i = 0; i < columnNames.length; i++) {
+                int length = readInt(intBuffer, position);
+                ByteBuffer name = ByteBuffer.allocate(length);
+                readFully(name, position + 4);
+                columnNames[i] = new String(name.array(), StandardCharsets.UTF_8);
+                position += 4 + length;
+            }
+
+            // we only need to read the size of each chunk to find them all
+            List<Long> positions = new ArrayList<>();
+            List<Integer> rows = new ArrayList<>();
+            long size = channel.size();
+            int total = 0;
+            while (position < size) {
+                int chunkSize = readInt(intBuffer, position);
+                positions.add(position + 4);
+                rows.add(chunkSize);
+                total += chunkSize;
+                position += 4 + (long) chunkSize * columnNames.length * 8;
+            }
+            if (position != size)
+                throw new IOException(fileName + " is truncated");
+            chunkPositions = positions.stream().mapToLong(Long::longValue).toArray();
+            chunkRows = rows.stream().mapToInt(Integer::intValue).toArray();
+            nRows = total;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private int readInt(ByteBuffer intBuffer, long position) throws IOException {
+        intBuffer.clear();
+        readFully(intBuffer, position);
+        return intBuffer.getInt(0);
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0)
+                throw new IOException("Unexpected end of " + fileName);
+            position += read;
+        }
+    }
+
+    private DoubleBuffer mapChunk(int chunk) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, chunkPositions[chunk], (long) chunkRows[chunk] * columnNames.length * 8)
+                .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+    }
+
+    public String[] getColumnNames() {
+        return columnNames.clone();
+    }
+
+    public int getRowCount() {
+        return nRows;
+    }
+
+    /**
+     * @return all the data, as [row][column]
+     */
+    public double[][] readRows() throws IOException {
+        double[][] retValue = new double[nRows][columnNames.length];
+        int rowBase = 0;
+        for (int chunk = 0; chunk < chunkRows.length; chunk++) {
+            DoubleBuffer values = mapChunk(chunk);
+            int rows = chunkRows[chunk];
+            for (int c = 0; c < columnNames.length; c++) {
+                for (int r = 0; r < rows; r++)
+                    retValue[rowBase + r][c] = values.get(c * rows + r);
+            }
+            rowBase += rows;
+        }
+        return retValue;
+    }
+
+    /**
+     * @return all the values in one column
+     */
+    public double[] readColumn(int column) throws IOException {
+        if (column < 0 || column >= columnNames.length)
+            throw new IllegalArgumentException("No column " + column + " in " + fileName);
+        double[] retValue = new double[nRows];
+        int rowBase = 0;
+        for (int chunk = 0; chunk < chunkRows.length; chunk++) {
+            DoubleBuffer values = mapChunk(chunk);
+            values.position(column * chunkRows[chunk]);
+            values.get(retValue, rowBase, chunkRows[chunk]);
+            rowBase += chunkRows[chunk];
+        }
+        return retValue;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
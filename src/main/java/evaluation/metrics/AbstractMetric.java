@@ -89,6 +89,20 @@ public abstract class AbstractMetric {
      * @param e        - event, which includes game event type, state, action and player ID
      */
     public final void run(MetricsGameListener listener, Event e) {
+        Row row = extract(listener, e);
+        if (row != null)
+            row.addToLogger();
+    }
+
+    /**
+     * Runs this metric as run() does, but returns the data instead of adding it to the data logger. This lets the
+     * data be taken from the event as it happens, and added to the tables later (on another thread).
+     *
+     * @param listener - game listener object, with access to the game itself
+     * @param e        - event, which includes game event type, state, action and player ID
+     * @return the data to record, or null if nothing is to be recorded for this event
+     */
+    public final Row extract(MetricsGameListener listener, Event e) {
         // Ask for custom records from the metric and record these too
         Map<String, Object> records = new HashMap<>();
 
@@ -98,12 +112,24 @@ public abstract class AbstractMetric {
         }
 
         // Run the metric and fill in the map with recorded data
-        boolean record = _run(listener, e, records);
+        if (!_run(listener, e, records))
+            return null;
+        return new Row(dataLogger, getDefaultData(e), records);
+    }
 
-        if (record) {
+    /**
+     * The data recorded by a metric for one event, and the data logger it is for.
+     *
+     * @param dataLogger  - the logger that was current for the metric when the event occurred
+     * @param defaultData - data for the default columns, in order
+     * @param records     - data for the columns of the metric
+     */
+    public record Row(IDataLogger dataLogger, Map<String, Object> defaultData, Map<String, Object> records) {
+        public void addToLogger() {
             // Record default column data first, custom data for each default column
-            addDefaultData(e);
-
+            for (Map.Entry<String, Object> entry : defaultData.entrySet()) {
+                dataLogger.addData(entry.getKey(), entry.getValue());
+            }
             // Add the recorded data to the table
             for (Map.Entry<String, Object> entry : records.entrySet()) {
                 dataLogger.addData(entry.getKey(), entry.getValue());
@@ -148,14 +174,26 @@ public abstract class AbstractMetric {
      * @param e event for which the data is recorded
      */
     public void addDefaultData(Event e) {
-        dataLogger.addData("GameID", String.valueOf(e.state.getGameID()));
-        dataLogger.addData("GameName", e.state.getGameType().name());
-        dataLogger.addData("PlayerCount", String.valueOf(e.state.getNPlayers()));
-        dataLogger.addData("GameSeed", String.valueOf(e.state.getGameParameters().getRandomSeed()));
-        dataLogger.addData("Tick", e.state.getGameTick());
-        dataLogger.addData("Turn", e.state.getTurnCounter());
-        dataLogger.addData("Round", e.state.getRoundCounter());
-        dataLogger.addData("Event", e.type.name());
+        for (Map.Entry<String, Object> entry : getDefaultData(e).entrySet()) {
+            dataLogger.addData(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * @param e event for which the data is recorded
+     * @return the data for the default columns, in the order they are recorded
+     */
+    public Map<String, Object> getDefaultData(Event e) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("GameID", String.valueOf(e.state.getGameID()));
+        data.put("GameName", e.state.getGameType().name());
+        data.put("PlayerCount", String.valueOf(e.state.getNPlayers()));
+        data.put("GameSeed", String.valueOf(e.state.getGameParameters().getRandomSeed()));
+        data.put("Tick", e.state.getGameTick());
+        data.put("Turn", e.state.getTurnCounter());
+        data.put("Round", e.state.getRoundCounter());
+        data.put("Event", e.type.name());
+        return data;
     }
 
     /**
@@ -184,6 +222,30 @@ public abstract class AbstractMetric {
         return eventTypes.contains(eventType);
     }
 
+    /**
+     * @return true if this metric reads data that is not in the event itself and changes as the game goes on, such
+     * as the internal state of the players or timings from the Game, or uses the Game's forward model. Such metrics
+     * always run on the game thread as the event occurs, even if they ask for a copy of the state
+     * (runsOnStateCopy()). Player names are available to all metrics from MetricsGameListener.getPlayerName().
+     * Default behaviour is false.
+     */
+    public boolean requiresLiveGame() {
+        return false;
+    }
+
+    /**
+     * When a listener processes events asynchronously, a metric is run on the game thread as each event occurs, and
+     * only the data it extracts is passed to the background thread to be added to the tables. A metric that does a
+     * lot of work for each event can instead be run on the background thread, on a copy of the state (and action)
+     * taken as the event occurs. This is only worth it if the metric costs more than the copy of the state, which is
+     * shared by all such metrics.
+     *
+     * @return true if this metric should be run on a copy of the state in async mode. Default behaviour is false.
+     */
+    public boolean runsOnStateCopy() {
+        return false;
+    }
+
     /**
      * @return true if this metric should filter data in table by event type when reporting, creating several
      * tables of separate relevant data instead of one. Default behaviour is true. May override to return false
@@ -75,4 +75,18 @@ public class Event
     {
         return Event.createEvent(type, state, null, playerID);
     }
+
+    /**
+     * A copy of this event, with copies of the state and action, for processing after the game has moved on.
+     * Copying the game parameters gives them a new random seed, so the copy is given back the seed of the game.
+     */
+    public Event snapshot()
+    {
+        AbstractGameState stateCopy = null;
+        if (state != null) {
+            stateCopy = state.copy();
+            stateCopy.getGameParameters().setRandomSeed(state.getGameParameters().getRandomSeed());
+        }
+        return Event.createEvent(type, stateCopy, action == null ? null : action.copy(), playerID);
+    }
 }
@@ -33,7 +33,7 @@ public class GameMetrics implements IMetricsCollection {
                 double score = e.state.getGameScore(i);
                 sum += score;
                 records.put("Player-" + i, score);
-                records.put("PlayerName-" + i, listener.getGame().getPlayers().get(i).toString());
+                records.put("PlayerName-" + i, listener.getPlayerName(i));
                 if (e.state.getOrdinalPosition(i) == 1) leaderID = i;
                 if (e.state.getNPlayers() > 1 && e.state.getOrdinalPosition(i) == 2) secondID = i;
             }
@@ -77,7 +77,7 @@ public class GameMetrics implements IMetricsCollection {
         public boolean _run(MetricsGameListener listener, Event e, Map<String, Object> records) {
             for (int i = 0; i < e.state.getNPlayers(); i++) {
                 records.put("Player-" + i, e.state.getGameScore(i));
-                records.put("PlayerName-" + i, listener.getGame().getPlayers().get(i).toString());
+                records.put("PlayerName-" + i, listener.getPlayerName(i));
             }
             return true;
         }
@@ -145,7 +145,7 @@ public class GameMetrics implements IMetricsCollection {
         @Override
         public boolean _run(MetricsGameListener listener, Event e, Map<String, Object> records) {
             for (int i = 0; i < e.state.getNPlayers(); i++) {
-                records.put("PlayerType-" + i, listener.getGame().getPlayers().get(i).toString());
+                records.put("PlayerType-" + i, listener.getPlayerName(i));
             }
             return true;
         }
@@ -194,6 +194,11 @@ public class GameMetrics implements IMetricsCollection {
 
     public static class ComputationTimes extends AbstractMetric {
 
+        @Override
+        public boolean requiresLiveGame() {
+            return true;
+        }
+
         @Override
         public Map<String, Class<?>> getColumns(int nPlayersPerGame, Set<String> playerNames) {
             return new HashMap<String, Class<?>>() {{
@@ -213,7 +218,7 @@ public class GameMetrics implements IMetricsCollection {
             records.put("Copy (ms)", listener.getGame().getCopyTime() / 1e6);
             records.put("Actions Available Compute (ms)", listener.getGame().getActionComputeTime() / 1e6);
             records.put("Agent (ms)", listener.getGame().getAgentTime() / 1e6);
-            records.put("Agent", listener.getGame().getPlayers().get(e.playerID).toString());
+            records.put("Agent", listener.getPlayerName(e.playerID));
             records.put("Player", e.playerID);
             return true;
         }
@@ -242,7 +247,7 @@ public class GameMetrics implements IMetricsCollection {
             for (int i = 0; i < e.state.getNPlayers(); i++) {
                 records.put("Player-" + i, e.state.getOrdinalPosition(i));
                 records.put("Player-" + i + " rank", String.valueOf(e.state.getOrdinalPosition(i)));
-                records.put("PlayerName-" + i, listener.getGame().getPlayers().get(i).toString());
+                records.put("PlayerName-" + i, listener.getPlayerName(i));
             }
             return true;
         }
@@ -256,6 +261,12 @@ public class GameMetrics implements IMetricsCollection {
 
     public static class Decisions extends AbstractMetric {
 
+        @Override
+        public boolean requiresLiveGame() {
+            // the action space sizes are recorded by the Game as it goes
+            return true;
+        }
+
         @Override
         public Map<String, Class<?>> getColumns(int nPlayersPerGame, Set<String> playerNames) {
             return new HashMap<String, Class<?>>() {{
@@ -299,6 +310,12 @@ public class GameMetrics implements IMetricsCollection {
             super(args);
         }
 
+        @Override
+        public boolean requiresLiveGame() {
+            // the action space is computed with the Game's forward model, which is only safe to use on the game thread
+            return true;
+        }
+
         @Override
         public boolean _run(MetricsGameListener listener, Event e, Map<String, Object> records) {
             Game g = listener.getGame();
@@ -363,6 +380,12 @@ public class GameMetrics implements IMetricsCollection {
             super(args);
         }
 
+        @Override
+        public boolean requiresLiveGame() {
+            // as for Actions, the action space is computed with the Game's forward model
+            return true;
+        }
+
         @Override
         public boolean _run(MetricsGameListener listener, Event e, Map<String, Object> records) {
             Game g = listener.getGame();
@@ -43,6 +43,11 @@ public class TournamentMetric extends AbstractMetric {
         return wrappedMetric.getDefaultEventTypes();
     }
 
+    @Override
+    public boolean requiresLiveGame() {
+        return wrappedMetric.requiresLiveGame();
+    }
+
     public void reset() {
         super.reset();
         for (IDataLogger logger : dataLoggers.values()) {
@@ -13,6 +13,7 @@ import games.GameType;
 import players.IAnyTimePlayer;
 
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.stream.IntStream;
 
 import static evaluation.optimisation.NTBEAParameters.Mode.CoopNTBEA;
@@ -40,6 +41,7 @@ public class GameEvaluator implements SolutionEvaluator {
     IStateHeuristic stateHeuristic;
     IGameHeuristic gameHeuristic;
     List<IGameListener> listeners = new ArrayList<>();
+    int teamsInGame;  // the number of teams in the game (when we are not tuning the game), found lazily
 
     /**
      * GameEvaluator
@@ -90,6 +92,50 @@ public class GameEvaluator implements SolutionEvaluator {
      */
     @Override
     public double evaluate(int[] settings) {
+        return prepare(settings).call();
+    }
+
+    /**
+     * Evaluates a batch of settings. If params.nThreads > 1, then the games are played in parallel.
+     * <p>
+     * Everything that uses the shared random number generator or search space (the game seed, the choice of
+     * opponents and the instantiation of the tuned agents) is done first, on this thread, in the order of the
+     * settings. The workers then only play the games, so the results are identical to evaluating each of the
+     * settings in turn.
+     */
+    @Override
+    public double[] evaluate(List<int[]> solutions) {
+        List<Evaluation> evaluations = solutions.stream().map(this::prepare).collect(toList());
+        double[] retValue = new double[evaluations.size()];
+        if (params.nThreads <= 1 || evaluations.size() < 2) {
+            for (int i = 0; i < retValue.length; i++)
+                retValue[i] = evaluations.get(i).call();
+            return retValue;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(params.nThreads, evaluations.size()), r -> {
+            Thread t = new Thread(r, "NTBEAWorker");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<Double>> results = executor.invokeAll(evaluations);
+            for (int i = 0; i < retValue.length; i++)
+                retValue[i] = results.get(i).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error evaluating settings", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+        return retValue;
+    }
+
+    /**
+     * Sets up everything needed to evaluate the settings, and increments nEvals.
+     */
+    private Evaluation prepare(int[] settings) {
         if (debug)
             System.out.printf("Starting evaluation %d of %s at %tT%n", nEvals,
                     Arrays.toString(settings), System.currentTimeMillis());
@@ -97,9 +143,9 @@ public class GameEvaluator implements SolutionEvaluator {
         boolean tuningPlayer = configuredThing instanceof AbstractPlayer;
         boolean tuningGame = configuredThing instanceof Game;
 
-        Game newGame = tuningGame ? (Game) configuredThing : game.createGameInstance(nPlayers, gameParams);
+        Game newGame = tuningGame ? (Game) configuredThing : null;
         // we assign one player to each team (the default for a game is each player being their own team of 1)
-        int nTeams = newGame.getGameState().getNTeams();
+        int nTeams = tuningGame ? newGame.getGameState().getNTeams() : teamsInGame();
 
         // We can reduce variance here by cycling the teamIndex on each iteration
         // If we're not tuning the player, then setting index to -99 means we just use the provided opponents list
@@ -112,29 +158,66 @@ public class GameEvaluator implements SolutionEvaluator {
             throw new AssertionError("StableNTBEA mode requires tuning of player");
         int gamesToRun = params.mode == StableNTBEA ? nTeams : 1;
         long seed = rnd.nextLong();
-        double retValue = 0.0;
+        int[] teamIndices = new int[gamesToRun];
+        List<List<AbstractPlayer>> players = new ArrayList<>(gamesToRun);
         for (int loop = 0; loop < gamesToRun; loop++) {
-            int thisTeamIndex = teamIndex == -99 ? -99 : (teamIndex + loop) % nTeams;
-            List<AbstractPlayer> allPlayers = setupPlayers(thisTeamIndex, nTeams, settings);
+            teamIndices[loop] = teamIndex == -99 ? -99 : (teamIndex + loop) % nTeams;
+            players.add(setupPlayers(teamIndices[loop], nTeams, settings));
+        }
+        nEvals++;
+        return new Evaluation(newGame, seed, teamIndices, players, tuningPlayer);
+    }
 
-            // always reset the random seed for each new game
-            newGame.reset(allPlayers, seed);
-            newGame.run();
+    private int teamsInGame() {
+        if (teamsInGame == 0)
+            teamsInGame = game.createGameInstance(nPlayers, gameParams == null ? null : gameParams.copy()).getGameState().getNTeams();
+        return teamsInGame;
+    }
 
-            int playerOnTeam = -1;
-            for (int p = 0; p < newGame.getGameState().getNPlayers(); p++) {
-                if (newGame.getGameState().getTeam(p) == thisTeamIndex) {
-                    playerOnTeam = p;
+    /**
+     * The games to be played for one evaluation. This only touches its own Game and players, so
+     * can safely be run on a worker thread.
+     */
+    private class Evaluation implements Callable<Double> {
+        final Game configuredGame;
+        final long seed;
+        final int[] teamIndices;
+        final List<List<AbstractPlayer>> players;
+        final boolean tuningPlayer;
+
+        Evaluation(Game configuredGame, long seed, int[] teamIndices, List<List<AbstractPlayer>> players, boolean tuningPlayer) {
+            this.configuredGame = configuredGame;
+            this.seed = seed;
+            this.teamIndices = teamIndices;
+            this.players = players;
+            this.tuningPlayer = tuningPlayer;
+        }
+
+        @Override
+        public Double call() {
+            boolean tuningGame = configuredGame != null;
+            Game newGame = tuningGame ? configuredGame : game.createGameInstance(nPlayers, gameParams == null ? null : gameParams.copy());
+            double retValue = 0.0;
+            for (int loop = 0; loop < teamIndices.length; loop++) {
+                int thisTeamIndex = teamIndices[loop];
+
+                // always reset the random seed for each new game
+                newGame.reset(players.get(loop), seed);
+                newGame.run();
+
+                int playerOnTeam = -1;
+                for (int p = 0; p < newGame.getGameState().getNPlayers(); p++) {
+                    if (newGame.getGameState().getTeam(p) == thisTeamIndex) {
+                        playerOnTeam = p;
+                    }
                 }
+                if (tuningPlayer && playerOnTeam == -1)
+                    throw new AssertionError("No Player found on team " + thisTeamIndex);
+                retValue += tuningGame ? gameHeuristic.evaluateGame(newGame) : stateHeuristic.evaluateState(newGame.getGameState(), playerOnTeam);
             }
-            if (tuningPlayer && playerOnTeam == -1)
-                throw new AssertionError("No Player found on team " + thisTeamIndex);
-            retValue += tuningGame ? gameHeuristic.evaluateGame(newGame) : stateHeuristic.evaluateState(newGame.getGameState(), playerOnTeam);
+            //    System.out.println("GameEvaluator: " + retValue);
+            return retValue;
         }
-        //    System.out.println("GameEvaluator: " + retValue);
-
-        nEvals++;
-        return retValue;
     }
 
     private List<AbstractPlayer> setupPlayers(int teamIndex, int nTeams, int[] settings) {
@@ -142,7 +225,7 @@ public class GameEvaluator implements SolutionEvaluator {
         // create a random permutation of opponents - this is used if we want to avoid opponent duplicates
         // if we allow duplicates, then we randomise them all independently
         List<Integer> opponentOrdering = IntStream.range(0, opponents.size()).boxed().collect(toList());
-        Collections.shuffle(opponentOrdering);
+        Collections.shuffle(opponentOrdering, rnd);
         int count = 0;
         for (int i = 0; i < nTeams; i++) {
             if (params.mode != CoopNTBEA && i != teamIndex) {
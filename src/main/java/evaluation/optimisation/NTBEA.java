@@ -302,8 +302,8 @@ public class NTBEA {
 
     protected Pair<Double, Double> evaluateWinner(int[] winnerSettings) {
 
-        double[] results = IntStream.range(0, params.evalGames)
-                .mapToDouble(answer -> evaluator.evaluate(winnerSettings)).toArray();
+        // evaluated as one batch, so that the games can be run in parallel
+        double[] results = evaluator.evaluate(Collections.nCopies(params.evalGames, winnerSettings));
         Arrays.sort(results);
         double avg = Arrays.stream(results).average().orElse(0.0);
         double quantileValue = results[(int) (results.length * params.quantile / 100.0)];
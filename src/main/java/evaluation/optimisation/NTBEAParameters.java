@@ -45,6 +45,7 @@ public class NTBEAParameters extends TunableParameters<NTBEA> {
     public Mode mode;
     public int quantile = -1;
     public int evaluationsPerTrial = 1;
+    public int batchSize = 1;
 
     // and those that are not (so must be included separately in copy etc)
     public boolean tuningGame = false;
@@ -56,6 +57,7 @@ public class NTBEAParameters extends TunableParameters<NTBEA> {
     public boolean byTeam = false;
     public GameType gameType;
     public int nPlayers;
+    public int nThreads = 1;
 
     public NTBEAParameters() {
         addTunableParameter("iterations", 1000);
@@ -77,6 +79,7 @@ public class NTBEAParameters extends TunableParameters<NTBEA> {
         addTunableParameter("mode", Mode.NTBEA);
         addTunableParameter("quantile", -1);
         addTunableParameter("evalsPerTrial", 1);
+        addTunableParameter("batchSize", 1);
     }
 
     @Override
@@ -100,6 +103,7 @@ public class NTBEAParameters extends TunableParameters<NTBEA> {
         mode = (Mode) getParameterValue("mode");
         quantile = (int) getParameterValue("quantile");
         evaluationsPerTrial = (int) getParameterValue("evalsPerTrial");
+        batchSize = (int) getParameterValue("batchSize");
 
         if (evalGames == -1) evalGames = iterationsPerRun / 5;
     }
@@ -126,6 +130,7 @@ public class NTBEAParameters extends TunableParameters<NTBEA> {
         setParameterValue("mode", Mode.valueOf(args.get(RunArg.NTBEAMode).toString()));
         setParameterValue("quantile", args.get(RunArg.quantile));
         setParameterValue("evalsPerTrial", args.get(RunArg.evalsPerTrial));
+        setParameterValue("batchSize", args.get(RunArg.batchSize));
 
         configure(args);
     }
@@ -135,6 +140,7 @@ public class NTBEAParameters extends TunableParameters<NTBEA> {
         byTeam = (boolean) args.get(RunArg.byTeam);
         gameType = GameType.valueOf(args.get(RunArg.game).toString());
         nPlayers = (int) args.get(RunArg.nPlayers);
+        nThreads = (int) args.getOrDefault(RunArg.nThreads, 1);
         gameParams = args.get(RunArg.gameParams).equals("") ? null :
                 AbstractParameters.createFromFile(gameType, (String) args.get(RunArg.gameParams));
 
@@ -221,6 +227,7 @@ public class NTBEAParameters extends TunableParameters<NTBEA> {
         ntp.destDir = destDir;
         ntp.gameType = gameType;
         ntp.nPlayers = nPlayers;
+        ntp.nThreads = nThreads;
         return ntp;
     }
 
@@ -3,8 +3,7 @@ package evaluation.optimisation.ntbea;
 import evaluation.optimisation.NTBEAParameters;
 import utilities.StatSummary;
 
-import java.util.Arrays;
-import java.util.Random;
+import java.util.*;
 
 /**
  * Created by sml on 09/01/2017.
@@ -18,23 +17,38 @@ public class NTupleBanditEA {
     // they are only explored IN THE FITNESS LANDSCAPE MODEL, not by sampling the fitness function
     int nNeighbours;
     int nSamples = 1;
+    // the number of settings proposed (and evaluated, possibly in parallel) in each generation
+    int batchSize = 1;
 
     public NTupleBanditEA(LandscapeModel model, NTBEAParameters params) {
         landscapeModel = model;
         this.nNeighbours = params.neighbourhoodSize;
         this.nSamples = params.evaluationsPerTrial;
+        this.batchSize = Math.max(1, params.batchSize);
+        this.rnd = new Random(params.seed);
     }
 
-    StatSummary fitness(SolutionEvaluator evaluator, int[] sol) {
-        StatSummary ss = new StatSummary();
-        for (int i = 0; i < nSamples; i++) {
-            double fitness = evaluator.evaluate(sol);
-            ss.add(fitness);
+    /**
+     * Evaluates each setting in the batch nSamples times, and returns the mean fitness of each.
+     * All the evaluations are passed to the evaluator in one call, so that they can be run in parallel.
+     */
+    double[] fitness(SolutionEvaluator evaluator, List<int[]> batch) {
+        List<int[]> toEvaluate = new ArrayList<>(batch.size() * nSamples);
+        for (int[] sol : batch)
+            for (int i = 0; i < nSamples; i++)
+                toEvaluate.add(sol);
+        double[] results = evaluator.evaluate(toEvaluate);
+        double[] retValue = new double[batch.size()];
+        for (int b = 0; b < batch.size(); b++) {
+            StatSummary ss = new StatSummary();
+            for (int i = 0; i < nSamples; i++)
+                ss.add(results[b * nSamples + i]);
+            retValue[b] = ss.mean();
         }
-        return ss;
+        return retValue;
     }
 
-    Random rnd = new Random();
+    Random rnd;
     SolutionEvaluator evaluator;
 
     public void runTrial(SolutionEvaluator evaluator, int nEvals) {
@@ -46,55 +60,78 @@ public class NTupleBanditEA {
         if (nNeighbours < 5) nNeighbours = 5;
 
         // then each time around the loop try the following
-        // create a neighbourhood set of points and pick the best one that combines its exploitation and evaluation scores
+        // create a neighbourhood set of points and pick the best ones that combine their exploitation and evaluation scores
 
-        int[] p = SearchSpaceUtil.randomPoint(searchSpace);
+        List<int[]> batch = new ArrayList<>();
+        batch.add(SearchSpaceUtil.randomPoint(searchSpace, rnd));
 
-        for (int i = 0; i < nEvals; i++) {
-            // each time around the loop we make one fitness evaluation of p
+        int evalsSoFar = 0;
+        while (evalsSoFar < nEvals) {
+            // each time around the loop we make one fitness evaluation of each point in the batch
             // and add this NEW information to the memory
-            double fitness;
-            if (nSamples == 1) {
-                fitness = evaluator.evaluate(p);
-            } else {
-                fitness = fitness(evaluator, p).mean();
-            }
+            if (batch.size() > nEvals - evalsSoFar)
+                batch = batch.subList(0, nEvals - evalsSoFar);
+            double[] fitness = fitness(evaluator, batch);
+            // the model is updated in the order the batch was proposed, regardless of the order in which the
+            // evaluations completed, so that the results are the same for any number of threads
+            for (int b = 0; b < batch.size(); b++)
+                landscapeModel.addPoint(batch.get(b), fitness[b]);
+            evalsSoFar += batch.size();
+
+            // and then explore the neighbourhood around the best point of the last batch (the one with the highest
+            // fitness this time, the first on ties; with a batchSize of 1 this is just the last point evaluated),
+            // balancing exploration and exploitation
+            int best = 0;
+            for (int b = 1; b < batch.size(); b++)
+                if (fitness[b] > fitness[best]) best = b;
+            batch = nextBatch(searchSpace, batch.get(best));
+        }
+    }
 
-            landscapeModel.addPoint(p, fitness);
-
-            // and then explore the neighbourhood around p, balancing exploration and exploitation
-            // we currently hardcode one mutation function to randomly change one setting at a time
-
-            int nDims = searchSpace.nDims();
-            double bestSoFar = Double.NEGATIVE_INFINITY;
-            int[] settingToTryNext = new int[0];
-            for (int n = 0; n < nNeighbours; n++) {
-                int[] pp = Arrays.copyOf(p, p.length);
-                boolean mutation = false;
-                for (int d = 0; d < nDims; d++) {
-                    if (rnd.nextDouble() < 1.0 / nDims) {
-                        pp[d] = rnd.nextInt(searchSpace.nValues(d) - 1);
-                        if (p[d] <= pp[d]) pp[d]++;
-                        mutation = true;
-                    }
-                }
-                // if no mutations made, then change one
-                if (!mutation) {
-                    int d = rnd.nextInt(searchSpace.nDims());
+    /**
+     * Samples nNeighbours neighbours of p, and returns the batchSize distinct ones with the highest upper bounds
+     * in the landscape model (in descending order). With a batchSize of 1, this is the single best neighbour.
+     */
+    private List<int[]> nextBatch(SearchSpace searchSpace, int[] p) {
+        // we currently hardcode one mutation function to randomly change one setting at a time
+        int nDims = searchSpace.nDims();
+        List<int[]> neighbours = new ArrayList<>(nNeighbours);
+        List<Double> upperBounds = new ArrayList<>(nNeighbours);
+        for (int n = 0; n < nNeighbours; n++) {
+            int[] pp = Arrays.copyOf(p, p.length);
+            boolean mutation = false;
+            for (int d = 0; d < nDims; d++) {
+                if (rnd.nextDouble() < 1.0 / nDims) {
                     pp[d] = rnd.nextInt(searchSpace.nValues(d) - 1);
                     if (p[d] <= pp[d]) pp[d]++;
-                }
-
-                double estimatedUpperBound = landscapeModel.getUpperBound(pp);
-                if (estimatedUpperBound > bestSoFar) {
-                    settingToTryNext = pp;
-                    bestSoFar = estimatedUpperBound;
+                    mutation = true;
                 }
             }
-
-            if (settingToTryNext.length == 0)
-                settingToTryNext = p;
-            p = settingToTryNext;
+            // if no mutations made, then change one
+            if (!mutation) {
+                int d = rnd.nextInt(searchSpace.nDims());
+                pp[d] = rnd.nextInt(searchSpace.nValues(d) - 1);
+                if (p[d] <= pp[d]) pp[d]++;
+            }
+            boolean duplicate = false;
+            for (int[] other : neighbours)
+                duplicate |= Arrays.equals(other, pp);
+            if (!duplicate) {
+                neighbours.add(pp);
+                upperBounds.add(landscapeModel.getUpperBound(pp));
+            }
         }
+
+        // a stable sort, so that ties are broken by the order in which the neighbours were generated
+        List<Integer> order = new ArrayList<>(neighbours.size());
+        for (int i = 0; i < neighbours.size(); i++)
+            order.add(i);
+        order.sort(Comparator.comparingDouble(i -> -upperBounds.get(i)));
+        List<int[]> retValue = new ArrayList<>(batchSize);
+        for (int i = 0; i < Math.min(batchSize, order.size()); i++)
+            retValue.add(neighbours.get(order.get(i)));
+        if (retValue.isEmpty())
+            retValue.add(p);
+        return retValue;
     }
 }
@@ -1,5 +1,7 @@
 package evaluation.optimisation.ntbea;
 
+import java.util.List;
+
 public interface SolutionEvaluator {
     /**
      * Created by simonmarklucas on 06/08/2016.
@@ -19,6 +21,20 @@ public interface SolutionEvaluator {
      * @return
      */
     double evaluate(int[] solution);
+
+    /**
+     * Evaluates each of the solutions, in order. Implementations may run the evaluations concurrently, but the
+     * results must be the same as calling evaluate(int[]) on each solution in turn.
+     *
+     * @param solutions The settings to evaluate (the same settings may appear more than once)
+     * @return The result for each of the solutions, in the same order
+     */
+    default double[] evaluate(List<int[]> solutions) {
+        double[] retValue = new double[solutions.size()];
+        for (int i = 0; i < retValue.length; i++)
+            retValue[i] = evaluate(solutions.get(i));
+        return retValue;
+    }
     // has the algorithm found the optimal solution?
 
     /**
@@ -1,8 +1,11 @@
 package evaluation.tournaments;
 
+import core.AbstractGameState;
 import core.AbstractParameters;
 import core.AbstractPlayer;
+import core.Game;
 import evaluation.RunArg;
+import evaluation.listeners.EventRecorder;
 import evaluation.listeners.IGameListener;
 import evaluation.listeners.TournamentMetricsGameListener;
 import games.GameType;
@@ -15,6 +18,7 @@ import utilities.*;
 import java.io.File;
 import java.io.FileWriter;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -54,6 +58,10 @@ public class RoundRobinTournament extends AbstractTournament {
     int tournamentSeeds;
     String seedFile;
     Random seedRnd;
+    // Parallel execution: matchups are played on a pool of worker threads, and then processed in order
+    int nThreads;
+    ExecutorService executor;
+    Queue<PendingMatchUp> pendingMatchUps = new ArrayDeque<>();
 
     /**
      * Create a round robin tournament, which plays all agents against all others.
@@ -148,6 +156,12 @@ public class RoundRobinTournament extends AbstractTournament {
         this.randomSeed = ((Number) config.getOrDefault(RunArg.seed, System.currentTimeMillis())).longValue();
         this.seedRnd = new Random(randomSeed);
         this.randomGameParams = (boolean) config.getOrDefault(RunArg.randomGameParams, false);
+        this.nThreads = (int) config.getOrDefault(RunArg.nThreads, 1);
+        if (nThreads > 1 && randomGameParams) {
+            // the parameters are randomised on the shared game, so this cannot be done in parallel
+            System.out.println("randomGameParams is not supported with nThreads > 1 : games will be run sequentially");
+            nThreads = 1;
+        }
 
         this.name = String.format("Game: %s, Players: %d, Mode: %s, TotalGames: %d, GamesPerMatchup: %d",
                 gameToPlay.name(), playersPerGame, tournamentMode, actualGames, gamesPerMatchup);
@@ -174,6 +188,14 @@ public class RoundRobinTournament extends AbstractTournament {
             game.addListener(gameTracker);
         }
 
+        if (nThreads > 1) {
+            executor = Executors.newFixedThreadPool(nThreads, r -> {
+                Thread t = new Thread(r, "TournamentWorker");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+
         LinkedList<Integer> matchUp = new LinkedList<>();
         // add outer loop if we have tournamentSeeds enabled; if not this will just run once
         List<Integer> allSeeds = new ArrayList<>(gameSeeds);
@@ -188,6 +210,12 @@ public class RoundRobinTournament extends AbstractTournament {
                 gameSeeds = IntStream.range(0, gamesPerMatchup).mapToObj(i -> seedRnd.nextInt()).collect(toList());
             }
             createAndRunMatchUp(matchUp);
+            if (executor != null)
+                processPendingMatchUps(true);
+        }
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
         }
         reportResults();
 
@@ -307,6 +335,8 @@ public class RoundRobinTournament extends AbstractTournament {
 
     /**
      * Evaluates one combination of players.
+     * If we are running in parallel, then the games are played on a worker thread, and the statistics updated
+     * later (in the same order as they would have been sequentially) by processPendingMatchUps().
      *
      * @param agentIDsInThisGame - IDs of agents participating in this run.
      */
@@ -330,14 +360,19 @@ public class RoundRobinTournament extends AbstractTournament {
             System.out.println(sb);
         }
 
-        // TODO : Not sure this is the ideal place for this...ask Raluca
-        Set<String> agentNames = agents.stream().map(AbstractPlayer::toString).collect(Collectors.toSet());
-        for (IGameListener listener : listeners) {
-            if (listener instanceof TournamentMetricsGameListener) {
-                ((TournamentMetricsGameListener) listener).tournamentInit(game, nPlayers, agentNames, new HashSet<>(matchUpPlayers));
-            }
+        if (executor != null) {
+            // the matchUp list is modified by the caller, so we take copies of everything the worker needs
+            List<Integer> agentIDs = new ArrayList<>(agentIDsInThisGame);
+            List<Integer> matchUpSeeds = new ArrayList<>(seeds.subList(0, nGames));
+            pendingMatchUps.add(new PendingMatchUp(agentIDs, matchUpPlayers,
+                    executor.submit(() -> playMatchUp(matchUpPlayers, matchUpSeeds))));
+            // we bound the number of matchups in flight, as each holds the recorded events of its games
+            processPendingMatchUps(pendingMatchUps.size() >= 4 * nThreads);
+            return;
         }
 
+        initMatchUpListeners(matchUpPlayers);
+
         // Run the game N = gamesPerMatchUp times with these players
         for (int i = 0; i < nGames; i++) {
             // if tournamentSeeds > 0, then we are running this many tournaments, each with a different random seed fixed for the whole tournament
@@ -351,67 +386,127 @@ public class RoundRobinTournament extends AbstractTournament {
             }
 
             game.run();  // Always running tournaments without visuals
-            GameResult[] results = game.getGameState().getPlayerResults();
-
-            int numDraws = 0;
-            for (int j = 0; j < matchUpPlayers.size(); j++) {
-                nGamesPlayed[agentIDsInThisGame.get(j)] += 1;
-                for (int k = 0; k < matchUpPlayers.size(); k++) {
-                    if (k != j) {
-                        nGamesPlayedPerOpponent[agentIDsInThisGame.get(j)][agentIDsInThisGame.get(k)] += 1;
-                    }
+            recordGameOutcome(agentIDsInThisGame, GameOutcome.from(game, null));
+        }
+        totalGamesRun += nGames;
+    }
+
+    private void initMatchUpListeners(List<AbstractPlayer> matchUpPlayers) {
+        // TODO : Not sure this is the ideal place for this...ask Raluca
+        Set<String> agentNames = agents.stream().map(AbstractPlayer::toString).collect(Collectors.toSet());
+        for (IGameListener listener : listeners) {
+            if (listener instanceof TournamentMetricsGameListener) {
+                ((TournamentMetricsGameListener) listener).tournamentInit(game, nPlayers, agentNames, new HashSet<>(matchUpPlayers));
+            }
+        }
+    }
+
+    /**
+     * Plays all the games for one matchup on a worker thread. Each game has its own Game instance (and a copy of the
+     * If the tournament has listeners then the events they listen to are recorded for later replay on the main thread.
+     * If the tournament has listeners then all events are recorded for later replay on the main thread.
+     */
+    protected List<GameOutcome> playMatchUp(List<AbstractPlayer> matchUpPlayers, List<Integer> seeds) {
+        List<GameOutcome> outcomes = new ArrayList<>();
+        for (int seed : seeds) {
+            Game workerGame = game.getGameType().createGameInstance(nPlayers, game.getGameState().getGameParameters().copy());
+            EventRecorder recorder = listeners.isEmpty() ? null : new EventRecorder(listeners);
+            if (recorder != null)
+                workerGame.addListener(recorder);
+            workerGame.reset(matchUpPlayers, seed);
+            workerGame.run();
+            outcomes.add(GameOutcome.from(workerGame, recorder));
+        }
+        return outcomes;
+    }
+
+    /**
+     * Updates the tournament statistics (and replays listener events) for completed matchups, strictly in the order
+     * in which they were submitted. This guarantees the same results as a sequential run.
+     *
+     * @param waitForAll - if true we block until all pending matchups are complete; otherwise we block only
+     *                   until the oldest one is complete
+     */
+    protected void processPendingMatchUps(boolean waitForAll) {
+        boolean waitForNext = waitForAll;
+        while (!pendingMatchUps.isEmpty() && (waitForNext || pendingMatchUps.peek().outcomes.isDone())) {
+            PendingMatchUp next = pendingMatchUps.poll();
+            List<GameOutcome> outcomes;
+            try {
+                outcomes = next.outcomes.get();
+            } catch (InterruptedException | ExecutionException e) {
+                throw new RuntimeException("Error playing matchup " + next.agentIDs, e);
+            }
+            initMatchUpListeners(next.players);
+            for (GameOutcome outcome : outcomes) {
+                if (outcome.events() != null)
+                    outcome.events().replay(listeners);
+                recordGameOutcome(next.agentIDs, outcome);
+            }
+            totalGamesRun += outcomes.size();
+            waitForNext = waitForAll;
+        }
+    }
+
+    private void recordGameOutcome(List<Integer> agentIDsInThisGame, GameOutcome outcome) {
+        GameResult[] results = outcome.results();
+        int numDraws = 0;
+        for (int j = 0; j < agentIDsInThisGame.size(); j++) {
+            nGamesPlayed[agentIDsInThisGame.get(j)] += 1;
+            for (int k = 0; k < agentIDsInThisGame.size(); k++) {
+                if (k != j) {
+                    nGamesPlayedPerOpponent[agentIDsInThisGame.get(j)][agentIDsInThisGame.get(k)] += 1;
                 }
+            }
 
-                // now we need to be careful if we have a team game, as the agents are indexed by Team, not player
-                if (byTeam) {
-                    for (int player = 0; player < game.getGameState().getNPlayers(); player++) {
-                        if (game.getGameState().getTeam(player) == j) {
-                            numDraws += updatePoints(results, agentIDsInThisGame, agentIDsInThisGame.get(j), player);
-                            break; // we stop after one player on the team to avoid double counting
-                        }
+            // now we need to be careful if we have a team game, as the agents are indexed by Team, not player
+            if (byTeam) {
+                for (int player = 0; player < results.length; player++) {
+                    if (outcome.teams()[player] == j) {
+                        numDraws += updatePoints(outcome, agentIDsInThisGame, agentIDsInThisGame.get(j), player);
+                        break; // we stop after one player on the team to avoid double counting
                     }
-                } else {
-                    numDraws += updatePoints(results, agentIDsInThisGame, agentIDsInThisGame.get(j), j);
                 }
+            } else {
+                numDraws += updatePoints(outcome, agentIDsInThisGame, agentIDsInThisGame.get(j), j);
             }
+        }
 
-            if (numDraws > 0) {
-                double pointsPerDraw = 1.0 / numDraws;
-                for (int j = 0; j < matchUpPlayers.size(); j++) {
-                    if (results[j] == GameResult.DRAW_GAME) pointsPerPlayer[agentIDsInThisGame.get(j)] += pointsPerDraw;
-                    if (results[j] == GameResult.DRAW_GAME)
-                        pointsPerPlayerSquared[agentIDsInThisGame.get(j)] += pointsPerDraw * pointsPerDraw;
-                }
+        if (numDraws > 0) {
+            double pointsPerDraw = 1.0 / numDraws;
+            for (int j = 0; j < agentIDsInThisGame.size(); j++) {
+                if (results[j] == GameResult.DRAW_GAME) pointsPerPlayer[agentIDsInThisGame.get(j)] += pointsPerDraw;
+                if (results[j] == GameResult.DRAW_GAME)
+                    pointsPerPlayerSquared[agentIDsInThisGame.get(j)] += pointsPerDraw * pointsPerDraw;
             }
+        }
 
-            if (verbose) {
-                StringBuffer sb = new StringBuffer();
-                sb.append("[");
-                for (int j = 0; j < matchUpPlayers.size(); j++) {
-                    for (int player = 0; player < game.getGameState().getNPlayers(); player++) {
-                        if (game.getGameState().getTeam(player) == j) {
-                            sb.append(results[player]).append(",");
-                            break; // we stop after one player on the team to avoid double counting
-                        }
+        if (verbose) {
+            StringBuffer sb = new StringBuffer();
+            sb.append("[");
+            for (int j = 0; j < agentIDsInThisGame.size(); j++) {
+                for (int player = 0; player < results.length; player++) {
+                    if (outcome.teams()[player] == j) {
+                        sb.append(results[player]).append(",");
+                        break; // we stop after one player on the team to avoid double counting
                     }
                 }
-                sb.setCharAt(sb.length() - 1, ']');
-                System.out.println(sb);
             }
-
+            sb.setCharAt(sb.length() - 1, ']');
+            System.out.println(sb);
         }
-        totalGamesRun += nGames;
     }
 
-    private int updatePoints(GameResult[] results, List<Integer> matchUpPlayers, int j, int player) {
+    private int updatePoints(GameOutcome outcome, List<Integer> matchUpPlayers, int j, int player) {
         // j is the index of the agent in the matchup; player is the corresponding player number in the game
-        int ordinalPos = game.getGameState().getOrdinalPosition(player);
+        GameResult[] results = outcome.results();
+        int ordinalPos = outcome.ordinalPositions()[player];
         rankPerPlayer[j] += ordinalPos;
         rankPerPlayerSquared[j] += ordinalPos * ordinalPos;
 
-        for (int playerPos = 0; playerPos < game.getGameState().getNPlayers(); playerPos++) {
+        for (int playerPos = 0; playerPos < results.length; playerPos++) {
             if (playerPos != player) {
-                int ordinalOther = game.getGameState().getOrdinalPosition(playerPos);
+                int ordinalOther = outcome.ordinalPositions()[playerPos];
                 ordinalDeltaPerOpponent[j][matchUpPlayers.get(playerPos)] += ordinalOther - ordinalPos;
             }
         }
@@ -431,6 +526,26 @@ public class RoundRobinTournament extends AbstractTournament {
         return 0;
     }
 
+    /**
+     * The outcome of a single game, holding just what is needed to update the tournament statistics.
+     * This means the statistics can be updated after the game has been played on a worker thread.
+     */
+    protected record GameOutcome(GameResult[] results, int[] ordinalPositions, int[] teams, EventRecorder events) {
+        static GameOutcome from(Game game, EventRecorder recorder) {
+            AbstractGameState state = game.getGameState();
+            int[] ordinals = new int[state.getNPlayers()];
+            int[] teams = new int[state.getNPlayers()];
+            for (int p = 0; p < state.getNPlayers(); p++) {
+                ordinals[p] = state.getOrdinalPosition(p);
+                teams[p] = state.getTeam(p);
+            }
+            return new GameOutcome(state.getPlayerResults().clone(), ordinals, teams, recorder);
+        }
+    }
+
+    private record PendingMatchUp(List<Integer> agentIDs, List<AbstractPlayer> players, Future<List<GameOutcome>> outcomes) {
+    }
+
 
     protected void calculateFinalResults() {
         finalWinRanking = new LinkedHashMap<>();
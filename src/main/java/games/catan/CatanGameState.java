@@ -16,13 +16,17 @@ import java.util.*;
 import static core.CoreConstants.GameResult;
 import static games.catan.CatanConstants.HEX_SIDES;
 import static games.catan.stats.CatanMetrics.CatanEvent.LargestArmySteal;
+import static games.catan.stats.CatanMetrics.CatanEvent.LongestRoadSteal;
 
 public class CatanGameState extends AbstractGameState {
     protected CatanTile[][] board;
+    // true if board may be referenced by another copy of this state; only the robber changes after setup
+    boolean sharedBoard;
     protected GraphBoardWithEdges catanGraph;
     protected int[] scores; // score for each player
     protected int[] victoryPoints; // secret points from victory cards
-    protected int[] knights, roadLengths; // knight count and road length for each player
+    protected int[] knights; // knight count for each player
+    protected RoadNetwork roadNetwork; // roads of each player, and the length of their longest road
     protected List<Map<CatanParameters.Resource, Counter>> exchangeRates; // exchange rate with bank for each resource
     protected int largestArmyOwner; // playerID of the player currently holding the largest army
     protected int longestRoadOwner; // playerID of the player currently holding the longest road
@@ -85,6 +89,11 @@ public class CatanGameState extends AbstractGameState {
         return GameType.Catan;
     }
 
+    @Override
+    protected boolean supportsStructuralSharing() {
+        return true;
+    }
+
     @Override
     protected List<Component> _getAllComponents() {
         return new ArrayList<>() {{
@@ -107,9 +116,8 @@ public class CatanGameState extends AbstractGameState {
     public boolean _equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof CatanGameState)) return false;
-        if (!super.equals(o)) return false;
         CatanGameState that = (CatanGameState) o;
-        return largestArmyOwner == that.largestArmyOwner && longestRoadOwner == that.longestRoadOwner && longestRoadLength == that.longestRoadLength && largestArmySize == that.largestArmySize && rollValue == that.rollValue && developmentCardPlayed == that.developmentCardPlayed && negotiationStepsCount == that.negotiationStepsCount && nTradesThisTurn == that.nTradesThisTurn && Arrays.deepEquals(board, that.board) && Objects.equals(catanGraph, that.catanGraph) && Arrays.equals(scores, that.scores) && Arrays.equals(victoryPoints, that.victoryPoints) && Arrays.equals(knights, that.knights) && Arrays.equals(roadLengths, that.roadLengths) && Objects.equals(exchangeRates, that.exchangeRates) && Objects.equals(playerResources, that.playerResources) && Objects.equals(playerTokens, that.playerTokens) && Objects.equals(playerDevCards, that.playerDevCards) && Objects.equals(resourcePool, that.resourcePool) && Objects.equals(devCards, that.devCards) && Objects.equals(tradeOffer, that.tradeOffer);
+        return largestArmyOwner == that.largestArmyOwner && longestRoadOwner == that.longestRoadOwner && longestRoadLength == that.longestRoadLength && largestArmySize == that.largestArmySize && rollValue == that.rollValue && developmentCardPlayed == that.developmentCardPlayed && negotiationStepsCount == that.negotiationStepsCount && nTradesThisTurn == that.nTradesThisTurn && Arrays.deepEquals(board, that.board) && Objects.equals(catanGraph, that.catanGraph) && Arrays.equals(scores, that.scores) && Arrays.equals(victoryPoints, that.victoryPoints) && Arrays.equals(knights, that.knights) && Objects.equals(roadNetwork, that.roadNetwork) && Objects.equals(exchangeRates, that.exchangeRates) && Objects.equals(playerResources, that.playerResources) && Objects.equals(playerTokens, that.playerTokens) && Objects.equals(playerDevCards, that.playerDevCards) && Objects.equals(resourcePool, that.resourcePool) && Objects.equals(devCards, that.devCards) && Objects.equals(tradeOffer, that.tradeOffer);
     }
 
     @Override
@@ -119,18 +127,33 @@ public class CatanGameState extends AbstractGameState {
         result = 31 * result + Arrays.hashCode(scores);
         result = 31 * result + Arrays.hashCode(victoryPoints);
         result = 31 * result + Arrays.hashCode(knights);
-        result = 31 * result + Arrays.hashCode(roadLengths);
+        result = 31 * result + Objects.hashCode(roadNetwork);
         return result;
     }
 
     public void setBoard(CatanTile[][] board) {
         this.board = board;
+        this.sharedBoard = false;
     }
 
     public CatanTile[][] getBoard() {
         return board;
     }
 
+    /**
+     * @return the board, for use when a tile is to be modified (i.e. when moving the robber).
+     * If the board is currently shared with another copy of this state, a private copy is taken first.
+     */
+    public CatanTile[][] getBoardForUpdate() {
+        if (sharedBoard) {
+            board = copyBoard();
+            sharedBoard = false;
+            // the tiles are registered by ID, so the new ones must replace the shared ones
+            invalidateAllComponents();
+        }
+        return board;
+    }
+
     public void setGraph(GraphBoardWithEdges graph) {
         this.catanGraph = graph;
     }
@@ -152,8 +175,13 @@ public class CatanGameState extends AbstractGameState {
         this.longestRoadLength = longestRoadLength;
     }
 
+    // The length of the longest road of each player
     public int[] getRoadLengths() {
-        return roadLengths;
+        return roadNetwork.getLongestRoads();
+    }
+
+    public RoadNetwork getRoadNetwork() {
+        return roadNetwork;
     }
 
     public CatanTile getRobber(CatanTile[][] board) {
@@ -232,6 +260,34 @@ public class CatanGameState extends AbstractGameState {
     }
 
 
+    public void updateLongestRoadAfterBreak(CatanParameters params) {
+        /* Checks if the holder of the longest road still has it, after a road was broken by a settlement */
+        if (longestRoadOwner == -1 || roadNetwork.getLongestRoad(longestRoadOwner) == longestRoadLength) return;
+        int max = 0, nMax = 0, maxPlayer = -1;
+        for (int i = 0; i < getNPlayers(); i++) {
+            int length = roadNetwork.getLongestRoad(i);
+            if (length > max) {
+                max = length;
+                nMax = 1;
+                maxPlayer = i;
+            } else if (length == max) {
+                nMax++;
+            }
+        }
+        longestRoadLength = max;
+        if (roadNetwork.getLongestRoad(longestRoadOwner) == max) return;  // still (joint) longest, so keeps it
+
+        scores[longestRoadOwner] -= params.longest_road_value;
+        if (nMax == 1 && max > params.min_longest_road) {
+            logEvent(LongestRoadSteal, String.valueOf(maxPlayer));
+            scores[maxPlayer] += params.longest_road_value;
+            longestRoadOwner = maxPlayer;
+        } else {
+            // nobody has it until one road is longer than all the others
+            longestRoadOwner = -1;
+        }
+    }
+
     public int[] getScores() {
         return scores;
     }
@@ -240,75 +296,6 @@ public class CatanGameState extends AbstractGameState {
         return exchangeRates.get(playerID);
     }
 
-    // The road distance between two adjacent settlements, one at x, y, the other along the specified edgeIdx
-    public int getRoadDistance(int x, int y, int edgeIdx) {
-        // As the settlements are the nodes, we expand them to find roads
-        // calculates the distance length of the road
-        Set<Edge> roadSet = new LinkedHashSet<>();
-        Set<Edge> roadSet2 = new LinkedHashSet<>();
-
-        ArrayList<Building> dir1 = new ArrayList<>();
-        ArrayList<Building> dir2 = new ArrayList<>();
-        Building settl1 = (Building) catanGraph.getNodeByID(board[x][y].getVerticesBoardNodeIDs()[edgeIdx]);
-        Building settl2 = (Building) catanGraph.getNodeByID(board[x][y].getVerticesBoardNodeIDs()[(edgeIdx + 1) % 6]);
-
-        dir1.add(settl1);
-        dir2.add(settl2);
-
-        // find longest segment, we first follow dir_1 then dir_2
-        roadSet = expandRoad(roadSet, new ArrayList<>(dir1), new ArrayList<>(dir2));
-        roadSet.addAll(expandRoad(roadSet2, new ArrayList<>(dir2), new ArrayList<>(dir1)));
-
-//        System.out.println("Current road length is " + roadSet.size() + " for player " + getCurrentPlayer());
-        return roadSet.size();
-    }
-
-    private Set<Edge> expandRoad(Set<Edge> roadSet, List<Building> unexpanded, List<Building> expanded) {
-        // return length, makes it possible to compare segments
-        // modify original set
-        if (unexpanded.size() == 0) {
-            return roadSet;
-        }
-        if (unexpanded.size() == 2) {
-            // Handle branching
-            int length = 0;
-            Set<Edge> longestSegment = new LinkedHashSet<>(roadSet);
-            for (Building settlement : unexpanded) {
-                ArrayList<Building> toExpand = new ArrayList<>();
-                toExpand.add(settlement);
-                Set<Edge> roadSetCopy = new LinkedHashSet<>(roadSet);
-                roadSetCopy = expandRoad(roadSetCopy, toExpand, expanded);
-                if (roadSetCopy.size() >= length) {
-                    length = roadSetCopy.size();
-                    longestSegment = roadSetCopy;
-                }
-            }
-            roadSet.addAll(longestSegment);
-            return roadSet;
-        } else {
-            // case of expanding a single settlement
-            Building settlement = unexpanded.remove(0);
-            expanded.add(settlement);
-
-            for (Map.Entry<Edge, BoardNodeWithEdges> e : settlement.getNeighbourEdgeMapping().entrySet()) {
-                if (e.getKey().getOwnerId() == getCurrentPlayer()) {
-                    if (expanded.contains((Building)e.getValue())) {
-                        // The road used to get here
-                        roadSet.add(e.getKey());
-                    } else {
-                        // if settlement belongs to somebody else it's a deadend
-                        if (e.getValue().getOwnerId() == -1 || e.getValue().getOwnerId() == getCurrentPlayer()) {
-                            unexpanded.add((Building) e.getValue());
-                        }
-                    }
-                }
-            }
-        }
-
-        // only gets here when explored a single road
-        return expandRoad(roadSet, unexpanded, expanded);
-    }
-
     // The number of resource cards in a player's hand
     public int getNResourcesInHand(int player) {
         int deckSize = 0;
@@ -403,14 +390,20 @@ public class CatanGameState extends AbstractGameState {
     protected CatanGameState _copy(int playerId) {
         CatanGameState copy = new CatanGameState(getGameParameters().copy(), getNPlayers());
         copy.gamePhase = gamePhase;
-        copy.board = copyBoard();
+        if (shareOnCopy()) {
+            copy.board = board;
+            copy.sharedBoard = true;
+            sharedBoard = true;
+        } else {
+            copy.board = copyBoard();
+        }
         copy.catanGraph = catanGraph.copy();
 
         copy.gameStatus = gameStatus;
         copy.playerResults = playerResults.clone();
         copy.scores = scores.clone();
         copy.knights = knights.clone();
-        copy.roadLengths = roadLengths.clone();
+        copy.roadNetwork = roadNetwork.copy();
 
         copy.tradeOffer = tradeOffer != null? tradeOffer.copy() : null;
         copy.negotiationStepsCount = negotiationStepsCount;
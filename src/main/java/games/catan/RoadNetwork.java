@@ -0,0 +1,223 @@
+package games.catan;
+
+import core.components.BoardNodeWithEdges;
+import core.components.GraphBoardWithEdges;
+
+import java.util.*;
+
+/**
+ * The roads of each player, and the length of the longest road of each, kept up to date as roads and settlements are
+ * built rather than found by walking the board graph each time.
+ * <p>
+ * A road is the longest trail (a path that may cross itself at a settlement, but uses each road segment at most once)
+ * in the segments of one player. It is broken by a settlement of another player, which it can reach but not pass.
+ * <p>
+ * Building a road can only make the longest road longer, and only in the network the new segment is joined to, so
+ * only that network is searched. A settlement only changes anything for the players with two or more segments
+ * meeting at it, which are searched again in full. A player has at most a handful of segments (15 in the standard
+ * game), so each search is bounded by a small constant, independent of the size of the board.
+ * <p>
+ * Settlements are held by vertex index, from the IDs of the nodes in the board graph; the mapping is fixed after
+ * setup, so it is shared between copies, and a copy is only a clone of some small int arrays.
+ */
+public class RoadNetwork {
+
+    // A mask of used segments is held in a long
+    private static final int MAX_ROADS = 64;
+
+    private final Map<Integer, Integer> vertexIndex;  // from node ID to vertex index, shared between copies
+    private final int[] vertexOwners;  // owner of the building at each vertex, or -1
+    private final int[][] roadEnds;  // for each player, the two vertices of each segment, as ends[2i], ends[2i + 1]
+    private final int[] nRoads;
+    private final int[] longestRoads;
+
+    public RoadNetwork(GraphBoardWithEdges graph, int nPlayers) {
+        vertexIndex = new HashMap<>();
+        for (BoardNodeWithEdges node : graph.getBoardNodes())
+            vertexIndex.put(node.getComponentID(), vertexIndex.size());
+        vertexOwners = new int[vertexIndex.size()];
+        Arrays.fill(vertexOwners, -1);
+        roadEnds = new int[nPlayers][8];
+        nRoads = new int[nPlayers];
+        longestRoads = new int[nPlayers];
+    }
+
+    private RoadNetwork(RoadNetwork other) {
+        vertexIndex = other.vertexIndex;
+        vertexOwners = other.vertexOwners.clone();
+        roadEnds = new int[other.roadEnds.length][];
+        for (int p = 0; p < roadEnds.length; p++)
+            roadEnds[p] = other.roadEnds[p].clone();
+        nRoads = other.nRoads.clone();
+        longestRoads = other.longestRoads.clone();
+    }
+
+    public RoadNetwork copy() {
+        return new RoadNetwork(this);
+    }
+
+    /**
+     * Adds a road segment of the player between the two nodes
+     *
+     * @return the new length of the longest road of the player
+     */
+    public int addRoad(int player, int fromNodeID, int toNodeID) {
+        if (nRoads[player] == MAX_ROADS)
+            throw new IllegalArgumentException("Player " + player + " cannot have more than " + MAX_ROADS + " roads");
+        int road = nRoads[player]++;
+        if (2 * nRoads[player] > roadEnds[player].length)
+            roadEnds[player] = Arrays.copyOf(roadEnds[player], 2 * roadEnds[player].length);
+        roadEnds[player][2 * road] = vertexIndex.get(fromNodeID);
+        roadEnds[player][2 * road + 1] = vertexIndex.get(toNodeID);
+
+        // Any longer road must use the new segment, so it is in the same network
+        long network = network(player, road);
+        longestRoads[player] = Math.max(longestRoads[player], longestTrail(player, network));
+        return longestRoads[player];
+    }
+
+    /**
+     * Records a settlement of the player at the node, which breaks the roads of any other players through it
+     *
+     * @return true if the longest road of any other player changed
+     */
+    public boolean addSettlement(int player, int nodeID) {
+        int vertex = vertexIndex.get(nodeID);
+        vertexOwners[vertex] = player;
+        boolean retValue = false;
+        for (int p = 0; p < nRoads.length; p++) {
+            if (p == player || countRoadsAt(p, vertex) < 2) continue;
+            int length = longestTrail(p, allRoads(p));
+            if (length != longestRoads[p]) {
+                longestRoads[p] = length;
+                retValue = true;
+            }
+        }
+        return retValue;
+    }
+
+    public int getLongestRoad(int player) {
+        return longestRoads[player];
+    }
+
+    /**
+     * @return the length of the longest road of each player
+     */
+    public int[] getLongestRoads() {
+        return longestRoads.clone();
+    }
+
+    public int getNRoads(int player) {
+        return nRoads[player];
+    }
+
+    private long allRoads(int player) {
+        return nRoads[player] == MAX_ROADS ? -1L : (1L << nRoads[player]) - 1;
+    }
+
+    private int countRoadsAt(int player, int vertex) {
+        int retValue = 0;
+        int[] ends = roadEnds[player];
+        for (int i = 0; i < 2 * nRoads[player]; i++) {
+            if (ends[i] == vertex) retValue++;
+        }
+        return retValue;
+    }
+
+    private boolean isBlocked(int player, int vertex) {
+        return vertexOwners[vertex] != -1 && vertexOwners[vertex] != player;
+    }
+
+    /**
+     * @return the mask of the segments of the player joined to the road (through vertices that are not blocked)
+     */
+    private long network(int player, int road) {
+        int[] ends = roadEnds[player];
+        long retValue = 1L << road;
+        Deque<Integer> open = new ArrayDeque<>();
+        open.push(road);
+        while (!open.isEmpty()) {
+            int r = open.pop();
+            for (int e = 0; e < 2; e++) {
+                int vertex = ends[2 * r + e];
+                if (isBlocked(player, vertex)) continue;
+                for (int i = 0; i < nRoads[player]; i++) {
+                    if ((retValue & 1L << i) == 0 && (ends[2 * i] == vertex || ends[2 * i + 1] == vertex)) {
+                        retValue |= 1L << i;
+                        open.push(i);
+                    }
+                }
+            }
+        }
+        return retValue;
+    }
+
+    /**
+     * @return the number of segments in the longest trail of the player that only uses segments in the mask
+     */
+    private int longestTrail(int player, long roads) {
+        int[] ends = roadEnds[player];
+        int retValue = 0;
+        for (int i = 0; i < nRoads[player]; i++) {
+            if ((roads & 1L << i) == 0) continue;
+            // trails start at one end of a segment; the other end is covered by starting from the other end
+            retValue = Math.max(retValue, extend(player, ends[2 * i], ~roads));
+            retValue = Math.max(retValue, extend(player, ends[2 * i + 1], ~roads));
+        }
+        return retValue;
+    }
+
+    /**
+     * @return the length of the longest trail from the vertex, not using any of the segments in the mask
+     */
+    private int extend(int player, int vertex, long used) {
+        int[] ends = roadEnds[player];
+        int retValue = 0;
+        for (int i = 0; i < nRoads[player]; i++) {
+            if ((used & 1L << i) != 0) continue;
+            int next;
+            if (ends[2 * i] == vertex) next = ends[2 * i + 1];
+            else if (ends[2 * i + 1] == vertex) next = ends[2 * i];
+            else continue;
+            // a road can reach a settlement of another player, but not go past it
+            int length = 1 + (isBlocked(player, next) ? 0 : extend(player, next, used | 1L << i));
+            retValue = Math.max(retValue, length);
+        }
+        return retValue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RoadNetwork that)) return false;
+        if (!Arrays.equals(vertexOwners, that.vertexOwners) || !Arrays.equals(nRoads, that.nRoads)
+                || !Arrays.equals(longestRoads, that.longestRoads))
+            return false;
+        for (int p = 0; p < nRoads.length; p++) {
+            if (!Arrays.equals(segments(p), that.segments(p)))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the segments of the player, each as its two vertices packed in a long (the lower first), in order;
+     * networks with the same roads built in a different order (or either way round) have the same segments
+     */
+    private long[] segments(int player) {
+        int[] ends = roadEnds[player];
+        long[] retValue = new long[nRoads[player]];
+        for (int i = 0; i < retValue.length; i++) {
+            int from = ends[2 * i], to = ends[2 * i + 1];
+            retValue[i] = (long) Math.min(from, to) << 32 | Math.max(from, to);
+        }
+        Arrays.sort(retValue);
+        return retValue;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 31 * Arrays.hashCode(vertexOwners) + Arrays.hashCode(nRoads);
+        return 31 * result + Arrays.hashCode(longestRoads);
+    }
+}
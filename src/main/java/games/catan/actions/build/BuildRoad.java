@@ -10,6 +10,7 @@ import core.components.Edge;
 
 import java.util.Objects;
 
+import static games.catan.CatanConstants.HEX_SIDES;
 import static games.catan.stats.CatanMetrics.CatanEvent.LongestRoadSteal;
 
 public class BuildRoad extends AbstractAction {
@@ -55,8 +56,8 @@ public class BuildRoad extends AbstractAction {
             road.setOwnerId(playerID);
 
             // Check longest road
-            int new_length = cgs.getRoadDistance(x, y, edge);
-            cgs.getRoadLengths()[playerID] = new_length;
+            Integer[] vertices = tile.getVerticesBoardNodeIDs();
+            int new_length = cgs.getRoadNetwork().addRoad(playerID, vertices[edge], vertices[(edge + 1) % HEX_SIDES]);
             if (new_length > cgs.getLongestRoadLength() && new_length > cp.min_longest_road) {
                 cgs.setLongestRoadLength(new_length);
                 // add points for longest road and set the new road in gamestate
@@ -50,6 +50,10 @@ public class BuildSettlement extends AbstractAction {
             settleTokens.increment();
 
             settlement.setOwnerId(playerID);
+            // the settlement may break the road of another player
+            if (cgs.getRoadNetwork().addSettlement(playerID, settlement.getComponentID())) {
+                cgs.updateLongestRoadAfterBreak(cp);
+            }
             if(settlement.getHarbour() != null){
                 gs.logEvent(PortSettle, String.valueOf(playerID));
 
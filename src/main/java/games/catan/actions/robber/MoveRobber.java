@@ -27,15 +27,16 @@ public class MoveRobber extends AbstractAction implements IExtendedSequence {
     @Override
     public boolean execute(AbstractGameState gs) {
         CatanGameState cgs = (CatanGameState) gs;
-        CatanTile robberTile = cgs.getRobber(cgs.getBoard());
+        CatanTile[][] board = cgs.getBoardForUpdate();
+        CatanTile robberTile = cgs.getRobber(board);
         if(gs.getCoreGameParameters().verbose){
-            System.out.println("moving robber from " + robberTile.toString() + " to " + cgs.getBoard()[x][y].toString());
+            System.out.println("moving robber from " + robberTile.toString() + " to " + board[x][y].toString());
         }
 
         if (robberTile.removeRobber()){
-            cgs.getBoard()[x][y].placeRobber();
+            board[x][y].placeRobber();
         } else {
-            throw new AssertionError("Cannot move robber from " + robberTile + " to " + cgs.getBoard()[x][y].toString());
+            throw new AssertionError("Cannot move robber from " + robberTile + " to " + board[x][y].toString());
         }
 
         if (_computeAvailableActions(gs).size() > 0) {
@@ -43,8 +43,8 @@ public class CatanMetrics implements IMetricsCollection {
             if (winners.size() != 1)
                 return false;
             int winnerId = winners.iterator().next();
-            records.put("PlayerType", listener.getGame().getPlayers().get(winnerId).toString());
-            records.put("PlayerType-StartingPos", listener.getGame().getPlayers().get(winnerId).toString() + "-" + winnerId);
+            records.put("PlayerType", listener.getPlayerName(winnerId));
+            records.put("PlayerType-StartingPos", listener.getPlayerName(winnerId) + "-" + winnerId);
             return true;
         }
 
@@ -92,7 +92,7 @@ public class CatanMetrics implements IMetricsCollection {
                 }
             }
             for (int i = 0; i < gs.getNPlayers(); i++) {
-                String playerName = listener.getGame().getPlayers().get(i).toString();
+                String playerName = listener.getPlayerName(i);
                 for (CatanParameters.Resource r: CatanParameters.Resource.values()) {
                     if (r == CatanParameters.Resource.WILD) continue;
                     if (initResources.get(i).contains(r)) {
@@ -150,7 +150,7 @@ public class CatanMetrics implements IMetricsCollection {
         @Override
         protected boolean _run(MetricsGameListener listener, Event e, Map<String, Object> records) {
             int playerId = Integer.parseInt(((LogEvent)e.action).text);
-            String playerName = listener.getGame().getPlayers().get(playerId).toString();
+            String playerName = listener.getPlayerName(playerId);
             records.put(playerName + "_portSettle", 1);
             return true;
         }
@@ -179,7 +179,7 @@ public class CatanMetrics implements IMetricsCollection {
         protected boolean _run(MetricsGameListener listener, Event e, Map<String, Object> records) {
             CatanGameState gs = (CatanGameState) e.state;
             for (int i = 0; i < gs.getNPlayers(); i++) {
-                String playerName = listener.getGame().getPlayers().get(i).toString();
+                String playerName = listener.getPlayerName(i);
                 records.put(playerName + "_nKnights", gs.getKnights()[i]);
                 records.put(playerName + "_longestRoadLength", gs.getRoadLengths()[i]);
             }
@@ -216,7 +216,7 @@ public class CatanMetrics implements IMetricsCollection {
             }
             else {
                 for (int i = 0; i < gs.getNPlayers(); i++) {
-                    String playerName = listener.getGame().getPlayers().get(i).toString();
+                    String playerName = listener.getPlayerName(i);
                     records.put(playerName + "_nSevenOuts", sevenOuts.contains(i) ? 1 : 0);
                 }
                 sevenOuts.clear();
@@ -246,11 +246,11 @@ public class CatanMetrics implements IMetricsCollection {
         @Override
         protected boolean _run(MetricsGameListener listener, Event e, Map<String, Object> records) {
             if (e.type == CatanEvent.LongestRoadSteal) {
-                String playerName = listener.getGame().getPlayers().get(Integer.parseInt(((LogEvent)e.action).text)).toString();
+                String playerName = listener.getPlayerName(Integer.parseInt(((LogEvent)e.action).text));
                 records.put(playerName + "_nLongestRoadSteals", 1);
             }
             else if (e.type == CatanEvent.LargestArmySteal) {
-                String playerName = listener.getGame().getPlayers().get(Integer.parseInt(((LogEvent)e.action).text)).toString();
+                String playerName = listener.getPlayerName(Integer.parseInt(((LogEvent)e.action).text));
                 records.put(playerName + "_nLargestArmySteals", 1);
             }
             return true;
@@ -282,7 +282,7 @@ public class CatanMetrics implements IMetricsCollection {
         @Override
         protected boolean _run(MetricsGameListener listener, Event e, Map<String, Object> records) {
             AbstractAction a = e.action;
-            String playerName = listener.getGame().getPlayers().get(e.playerID).toString();
+            String playerName = listener.getPlayerName(e.playerID);
             if (a instanceof BuildCity) {
                 records.put(playerName + "_devType", BuyAction.BuyType.City.name());
             } else if (a instanceof BuildSettlement && !((BuildSettlement) a).free) {
@@ -322,7 +322,7 @@ public class CatanMetrics implements IMetricsCollection {
         protected boolean _run(MetricsGameListener listener, Event e, Map<String, Object> records) {
             if (e.type == Event.GameEvent.GAME_OVER) {
                 for (int i = 0; i < e.state.getNPlayers(); i++) {
-                    String playerName = listener.getGame().getPlayers().get(i).toString();
+                    String playerName = listener.getPlayerName(i);
                     records.put(playerName + "_leadPercentage", (double) nTurnsInLead[i] / nTurnsPlayed[i]);
                 }
                 return true;
@@ -406,7 +406,7 @@ public class CatanMetrics implements IMetricsCollection {
                 }
             }
             for (int i = 0; i < e.state.getNPlayers(); i++) {
-                String playerName = listener.getGame().getPlayers().get(i).toString();
+                String playerName = listener.getPlayerName(i);
                 records.put(playerName + "_nRoadsCutOffToOthers", cuttingOffs[i]);
                 records.put(playerName + "_nRoadsCutOffByOthers", cutOffs[i]);
             }
@@ -181,6 +181,12 @@ public class CCForwardModel extends StandardForwardModel {
             endPlayerTurn(state);
     }
 
+    @Override
+    public boolean supportsUndo() {
+        // all game-specific changes are made by (reversible) actions
+        return true;
+    }
+
     private boolean checkWinCondition(CCGameState state, Peg.Colour colour) {
         CCParameters params = (CCParameters) state.getGameParameters();
         int[] colourIndices = params.colourIndices.get(colour);
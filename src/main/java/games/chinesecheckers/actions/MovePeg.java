@@ -28,6 +28,14 @@ public class MovePeg extends AbstractAction {
         CCNode nodeDestination = state.getStarBoard().getBoardNodes().get(to);
 
         Peg peg = nodeStart.getOccupiedPeg();
+        if (gs.isRecordingUndo()) {
+            boolean wasInDestination = peg.getInDestination();
+            gs.recordUndo(() -> {
+                nodeDestination.setOccupiedPeg(null);
+                nodeStart.setOccupiedPeg(peg);
+                peg.setInDestination(wasInDestination);
+            });
+        }
 
         nodeStart.setOccupiedPeg(null);
         nodeDestination.setOccupiedPeg(peg);
@@ -45,6 +53,11 @@ public class MovePeg extends AbstractAction {
         return true;
     }
 
+    @Override
+    public boolean isReversible() {
+        return true;
+    }
+
     public int getFrom(){
         return from;
     }
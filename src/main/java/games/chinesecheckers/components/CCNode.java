@@ -164,7 +164,8 @@ public class CCNode extends Component {
     public boolean equals(Object o) {
         if (o instanceof CCNode) {
             CCNode other = (CCNode) o;
-            return componentID == other.componentID && occupiedPeg.equals(other.occupiedPeg) && x == other.x && y == other.y && Objects.equals(neighbours, other.neighbours) && Objects.equals(neighbourSideMapping, other.neighbourSideMapping) && maxNeighbours == other.maxNeighbours;
+            // The neighbours are fixed at setup, and comparing them would compare the whole board again from each node
+            return componentID == other.componentID && Objects.equals(occupiedPeg, other.occupiedPeg) && colour == other.colour && x == other.x && y == other.y && maxNeighbours == other.maxNeighbours;
         }
         return false;
     }
@@ -56,6 +56,10 @@ public class Peg extends Component {
         this.occupiedNode = occupiedNode;
     }
 
+    private Peg(int componentID) {
+        super(CoreConstants.ComponentType.TOKEN, "PEG", componentID);
+    }
+
     public void setInDestination(boolean value) {
         inDestination = value;
     }
@@ -70,7 +74,7 @@ public class Peg extends Component {
 
     @Override
     public Component copy() {
-        Peg copy = new Peg();
+        Peg copy = new Peg(componentID);
         copy.setInDestination(getInDestination());
         copy.team = getColour();
         return copy;
@@ -78,14 +82,15 @@ public class Peg extends Component {
 
     @Override
     public final int hashCode() {
-        return Objects.hash(componentID, occupiedNode, team, inDestination);
+        // occupiedNode is only set at setup, and is not kept up to date as the peg moves, so it is not compared
+        return Objects.hash(componentID, team, inDestination);
     }
 
     @Override
     public boolean equals(Object o) {
         if (o instanceof Peg) {
             Peg other = (Peg) o;
-            return componentID == other.componentID && Objects.equals(occupiedNode, other.occupiedNode) && Objects.equals(team, other.team) && inDestination == other.inDestination;
+            return componentID == other.componentID && Objects.equals(team, other.team) && inDestination == other.inDestination;
         }
         return false;
     }
@@ -159,7 +159,7 @@ public class ColtExpressTurnOrder extends TurnOrder {
         ColtExpressGameState cegs = (ColtExpressGameState) gameState;
         if (gameState.getGameStatus() != GAME_ONGOING) return;
 
-        gameState.getPlayerTimer()[getCurrentPlayer(gameState)].incrementTurn();
+        gameState.getPlayerTimerForUpdate(getCurrentPlayer(gameState)).incrementTurn();
 
         listeners.forEach(l -> l.onEvent(Event.createEvent(Event.GameEvent.TURN_OVER, gameState, getCurrentPlayer(gameState))));
 
@@ -2,10 +2,12 @@ package games.connect4;
 import core.AbstractGameState;
 import core.CoreConstants;
 import core.actions.AbstractAction;
+import core.actions.SetBitboardValueAction;
 import core.actions.SetGridValueAction;
 import core.components.BoardNode;
 import core.components.GridBoard;
 import core.forwardModels.SequentialActionForwardModel;
+import utilities.Bitboard;
 import utilities.Pair;
 
 import java.util.ArrayList;
@@ -21,7 +23,12 @@ public class Connect4ForwardModel extends SequentialActionForwardModel {
         Connect4GameParameters c4gp = (Connect4GameParameters) firstState.getGameParameters();
         int gridSize = c4gp.gridSize;
         Connect4GameState state = (Connect4GameState) firstState;
-        state.gridBoard = new GridBoard(gridSize, gridSize, new BoardNode(Connect4Constants.emptyCell));
+        state.emptyBoard = new GridBoard(gridSize, gridSize, new BoardNode(Connect4Constants.emptyCell));
+        state.gridBoard = null;
+        state.tokens = new Bitboard[state.getNPlayers()];
+        for (int p = 0; p < state.tokens.length; p++)
+            state.tokens[p] = new Bitboard(gridSize, gridSize);
+        state.columnHeights = new int[gridSize];
         state.winnerCells = new LinkedList<>();
     }
 
@@ -32,128 +39,101 @@ public class Connect4ForwardModel extends SequentialActionForwardModel {
         int player = c4gs.getCurrentPlayer();
 
         if (gameState.isNotTerminal())
-            for (int x = 0; x < c4gs.gridBoard.getWidth(); x++) {
-                int y = c4gs.gridBoard.getHeight() - 1; // this is bottom of column
-                boolean end = false;
-                while(!end)
-                {
-                    boolean newCol = false;
-                    if (c4gs.gridBoard.getElement(x, y).getComponentName().equals(Connect4Constants.emptyCell)) {
-                        actions.add(new SetGridValueAction(c4gs.gridBoard.getComponentID(), x, y, Connect4Constants.playerMapping.get(player).getComponentID()));
-                        newCol = true;
-                    }
-
-                    //Stop when reaching top (column is full) or on finding the first empty cell (action available)
-                    end = (--y <  0 || newCol);
-                }
+            for (int x = 0; x < c4gs.getWidth(); x++) {
+                // the piece drops to the lowest empty cell in the column
+                int y = c4gs.getLandingRow(x);
+                if (y >= 0)
+                    actions.add(move(c4gs, x, y, player));
             }
         return actions;
     }
 
+    private SetBitboardValueAction move(Connect4GameState c4gs, int x, int y, int player) {
+        return new SetBitboardValueAction(c4gs.emptyBoard.getComponentID(), x, y, Connect4Constants.playerMapping.get(player).getComponentID(), player);
+    }
+
+    @Override
+    protected boolean supportsIndexedActions(AbstractGameState gameState) {
+        return true;
+    }
+
+    @Override
+    protected int _countAvailableActions(AbstractGameState gameState) {
+        Connect4GameState c4gs = (Connect4GameState) gameState;
+        int count = 0;
+        if (gameState.isNotTerminal()) {
+            for (int x = 0; x < c4gs.getWidth(); x++) {
+                if (c4gs.getLandingRow(x) >= 0)
+                    count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    protected AbstractAction _getAvailableAction(AbstractGameState gameState, int index) {
+        Connect4GameState c4gs = (Connect4GameState) gameState;
+        int remaining = index;
+        for (int x = 0; x < c4gs.getWidth(); x++) {
+            int y = c4gs.getLandingRow(x);
+            if (y >= 0) {
+                if (remaining == 0)
+                    return move(c4gs, x, y, c4gs.getCurrentPlayer());
+                remaining--;
+            }
+        }
+        throw new IllegalArgumentException("No available action with index " + index);
+    }
+
     @Override
     protected void _afterAction(AbstractGameState currentState, AbstractAction action) {
         Connect4GameState c4gs = (Connect4GameState) currentState;
 
         // game-specific check for end of game
-        if (checkGameEnd(c4gs)) {
+        if (checkGameEnd(c4gs, (SetGridValueAction) action)) {
             return;
         }
         super._afterAction(currentState, action);
     }
 
+    @Override
+    public boolean supportsUndo() {
+        // the only game-specific change outside the actions is to the winning cells, which registerWinner() records
+        return true;
+    }
+
     /**
-     * Checks if the game ended.
+     * Checks if the game ended. Only lines through the token just placed can have been completed by it.
      *
      * @param gameState - game state to check game end.
+     * @param move - the token just placed.
      */
-    private boolean checkGameEnd(Connect4GameState gameState) {
-        GridBoard gridBoard = gameState.getGridBoard();
+    private boolean checkGameEnd(Connect4GameState gameState, SetGridValueAction move) {
         Connect4GameParameters c4gp = (Connect4GameParameters) gameState.getGameParameters();
-        boolean gap = false;
-        LinkedList<Pair<Integer, Integer>> winning = new LinkedList<>();;
-
-        // Check columns
-        for (int x = 0; x < gridBoard.getWidth(); x++) {
-            int count = 0;
-            String lastToken = null;
-            winning.clear();
-            for (int y = gridBoard.getHeight() - 1; y >= 0; y--) {
-                BoardNode c = gridBoard.getElement(x, y);
-                if (c.getComponentName().equals(Connect4Constants.emptyCell)) {
-                    count = 0;
-                    lastToken = null;
-                    winning.clear();
-                    gap = true;
-                } else if (lastToken == null || !lastToken.equals(c.getComponentName())) {
-                    winning.clear();
-                    count = 1;
-                    lastToken = c.getComponentName();
-                    winning.add(new Pair<>(x, y));
-                } else {
-                    {
-                        count++;
-                        winning.add(new Pair<>(x, y));
-                        if (count == c4gp.winCount) {
-                            registerWinner(gameState, c, winning);
-                            return true;
-                        }
-                    }
-                    lastToken = c.getComponentName();
+        int x = move.getX(), y = move.getY();
+        int player = gameState.getPlayerAt(x, y);
+        Bitboard tokens = gameState.tokens[player];
+
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        for (int[] d : directions) {
+            if (tokens.lineLength(x, y, d[0], d[1]) >= c4gp.winCount) {
+                // the winning cells are the first winCount of the line, from one end (a longer line has more)
+                int startX = x, startY = y;
+                while (inGrid(gameState, startX - d[0], startY - d[1]) && tokens.get(startX - d[0], startY - d[1])) {
+                    startX -= d[0];
+                    startY -= d[1];
                 }
-            }
-        }
-
-        // Check rows
-        for (int y = gridBoard.getHeight() - 1; y >= 0; y--) {
-            int count = 0;
-            String lastToken = null;
-            winning.clear();
-            for (int x = 0; x < gridBoard.getWidth(); x++) {
-                BoardNode c = gridBoard.getElement(x, y);
-                if (c.getComponentName().equals(Connect4Constants.emptyCell)) {
-                    count = 0;
-                    lastToken = null;
-                    winning.clear();
-                } else if (lastToken == null || !lastToken.equals(c.getComponentName())) {
-                    winning.clear();
-                    count = 1;
-                    lastToken = c.getComponentName();
-                    winning.add(new Pair<>(x, y));
-                } else {
-                    {
-                        count++;
-                        winning.add(new Pair<>(x, y));
-                        if (count == c4gp.winCount) {
-                            registerWinner(gameState, c, winning);
-                            return true;
-                        }
-                    }
-                    lastToken = c.getComponentName();
-                }
-            }
-        }
-
-        //Check main diagonals (from col 0)
-        for (int y = gridBoard.getHeight() - 1; y >= 0; y--) {
-            if (checkMainDiagonals(gameState, 0, y))
-                return true;
-
-        }
-
-        //Check main and inverse diagonals (from row 0)
-        for (int x = 1; x < gridBoard.getWidth(); x++) {
-            if (checkMainDiagonals(gameState, x, gridBoard.getHeight() - 1))
-                return true;
-            if (checkInvDiagonals(gameState, x, gridBoard.getHeight() - 1))
-                return true;
-        }
-
-        //Check inv diagonals (from last column)
-        for (int y = gridBoard.getHeight() - 2; y >= 0; y--) { //height -1 is checked in previous loop
-            if (checkInvDiagonals(gameState, gridBoard.getWidth()-1, y))
+                LinkedList<Pair<Integer, Integer>> winning = new LinkedList<>();
+                for (int i = startX, j = startY; winning.size() < c4gp.winCount; i += d[0], j += d[1])
+                    winning.add(new Pair<>(i, j));
+                registerWinner(gameState, Connect4Constants.playerMapping.get(player), winning);
                 return true;
+            }
         }
 
+        boolean gap = false;
+        for (int column = 0; column < gameState.getWidth() && !gap; column++)
+            gap = gameState.getLandingRow(column) >= 0;
         if (!gap) { //tie
             gameState.setGameStatus(CoreConstants.GameResult.DRAW_GAME);
             Arrays.fill(gameState.getPlayerResults(), CoreConstants.GameResult.DRAW_GAME);
@@ -163,71 +143,8 @@ public class Connect4ForwardModel extends SequentialActionForwardModel {
         return false;
     }
 
-
-    private boolean checkMainDiagonals(Connect4GameState gameState, int xStart, int yStart)
-    {
-        GridBoard gridBoard = gameState.getGridBoard();
-        Connect4GameParameters c4gp = (Connect4GameParameters) gameState.getGameParameters();
-        int count = 0;
-        String lastToken = null;
-        LinkedList<Pair<Integer, Integer>> winning = new LinkedList<>();
-
-        for (int x = xStart, y = yStart; x < gridBoard.getWidth() && y >=0; x++, y--) {
-            BoardNode c = gridBoard.getElement(x, y);
-
-            if (c.getComponentName().equals(Connect4Constants.emptyCell)) {
-                count = 0;
-                lastToken = null;
-                winning.clear();
-            } else if (lastToken == null || !lastToken.equals(c.getComponentName())) {
-                winning.clear();
-                count = 1;
-                lastToken = c.getComponentName();
-                winning.add(new Pair<>(x, y));
-            } else {
-                count++;
-                winning.add(new Pair<>(x, y));
-                if (count == c4gp.winCount) {
-                    registerWinner(gameState, c, winning);
-                    return true;
-                }
-                lastToken = c.getComponentName();
-            }
-        }
-        return false;
-    }
-
-    private boolean checkInvDiagonals(Connect4GameState gameState, int xStart, int yStart)
-    {
-        GridBoard gridBoard = gameState.getGridBoard();
-        Connect4GameParameters c4gp = (Connect4GameParameters) gameState.getGameParameters();
-        int count = 0;
-        String lastToken = null;
-        LinkedList<Pair<Integer, Integer>> winning = new LinkedList<>();
-
-        for (int x = xStart, y = yStart; x >= 0 && y >= 0; x--, y--) {
-            BoardNode c = gridBoard.getElement(x, y);
-
-            if (c.getComponentName().equals(Connect4Constants.emptyCell)) {
-                count = 0;
-                lastToken = null;
-                winning.clear();
-            } else if (lastToken == null || !lastToken.equals(c.getComponentName())) {
-                winning.clear();
-                count = 1;
-                lastToken = c.getComponentName();
-                winning.add(new Pair<>(x, y));
-            } else {
-                count++;
-                winning.add(new Pair<>(x, y));
-                if (count == c4gp.winCount) {
-                    registerWinner(gameState, c, winning);
-                    return true;
-                }
-                lastToken = c.getComponentName();
-            }
-        }
-        return false;
+    private boolean inGrid(Connect4GameState gameState, int x, int y) {
+        return x >= 0 && y >= 0 && x < gameState.getWidth() && y < gameState.getHeight();
     }
 
     /**
@@ -240,6 +157,10 @@ public class Connect4ForwardModel extends SequentialActionForwardModel {
         int winningPlayer = Connect4Constants.playerMapping.indexOf(winnerSymbol);
         gameState.setPlayerResult(CoreConstants.GameResult.WIN_GAME, winningPlayer);
         gameState.setPlayerResult(CoreConstants.GameResult.LOSE_GAME, 1 - winningPlayer);
+        if (gameState.isRecordingUndo()) {
+            LinkedList<Pair<Integer, Integer>> previous = gameState.getWinningCells();
+            gameState.recordUndo(() -> gameState.registerWinningCells(previous));
+        }
         gameState.registerWinningCells(winPos);
     }
 }
\ No newline at end of file
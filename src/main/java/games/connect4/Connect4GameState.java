@@ -2,22 +2,30 @@ package games.connect4;
 
 import core.AbstractGameState;
 import core.AbstractParameters;
+import core.components.BitboardGridBoard;
 import core.components.BoardNode;
 import core.components.Component;
 import core.components.GridBoard;
-import core.components.Token;
-import core.interfaces.IGridGameState;
+import core.interfaces.IBitboardGameState;
 import core.interfaces.IPrintable;
 import games.GameType;
+import utilities.Bitboard;
 import utilities.Pair;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
 
-public class Connect4GameState extends AbstractGameState implements IPrintable, IGridGameState {
+public class Connect4GameState extends AbstractGameState implements IPrintable, IBitboardGameState {
 
+    // The tokens of each player; y = 0 is the top row, and tokens fill each column from the bottom
+    Bitboard[] tokens;
+    int[] columnHeights;  // the number of tokens in each column
+    // An empty board, shared by all copies, from which gridBoard is built (with the same component ID)
+    GridBoard emptyBoard;
+    // The tokens as a GridBoard, built from the bitboards when first needed; changes to either are passed to the other
     GridBoard gridBoard;
     LinkedList<Pair<Integer, Integer>> winnerCells;
 
@@ -30,9 +38,40 @@ public class Connect4GameState extends AbstractGameState implements IPrintable,
     /**
      * This returns the player id of the token at the given position. Or -1 if this is empty.
      */
+    @Override
     public int getPlayerAt(int x, int y) {
-        BoardNode token = gridBoard.getElement(x, y);
-        return token == null ? -1 : token.getOwnerId();
+        for (int p = 0; p < tokens.length; p++)
+            if (tokens[p].get(x, y)) return p;
+        return -1;
+    }
+
+    @Override
+    public Bitboard getTokens(int player) {
+        return tokens[player];
+    }
+
+    @Override
+    public void placeToken(int x, int y, int player) {
+        tokens[player].set(x, y);
+        columnHeights[x]++;
+        if (gridBoard != null)
+            gridBoard.setElement(x, y, Connect4Constants.playerMapping.get(player));
+    }
+
+    @Override
+    public void removeToken(int x, int y) {
+        for (Bitboard playerTokens : tokens)
+            playerTokens.clear(x, y);
+        columnHeights[x]--;
+        if (gridBoard != null)
+            gridBoard.setElement(x, y, emptyBoard.getElement(x, y));
+    }
+
+    /**
+     * @return the row that a token played in the column would fall to, or -1 if the column is full
+     */
+    public int getLandingRow(int x) {
+        return emptyBoard.getHeight() - 1 - columnHeights[x];
     }
 
     @Override
@@ -43,7 +82,7 @@ public class Connect4GameState extends AbstractGameState implements IPrintable,
     @Override
     protected List<Component> _getAllComponents() {
         return new ArrayList<>() {{
-            add(gridBoard);
+            add(getGridBoard());
             addAll(Connect4Constants.playerMapping);
         }};
     }
@@ -51,7 +90,11 @@ public class Connect4GameState extends AbstractGameState implements IPrintable,
     @Override
     protected AbstractGameState _copy(int playerId) {
         Connect4GameState s = new Connect4GameState(gameParameters.copy(), getNPlayers());
-        s.gridBoard = gridBoard.copy();
+        s.tokens = new Bitboard[tokens.length];
+        for (int p = 0; p < tokens.length; p++)
+            s.tokens[p] = tokens[p].copy();
+        s.columnHeights = columnHeights.clone();
+        s.emptyBoard = emptyBoard;
 
         s.winnerCells.clear();
         for (Pair<Integer, Integer> wC : this.winnerCells)
@@ -77,8 +120,7 @@ public class Connect4GameState extends AbstractGameState implements IPrintable,
     protected boolean _equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof Connect4GameState that)) return false;
-        if (!super.equals(o)) return false;
-        return Objects.equals(gridBoard, that.gridBoard);
+        return Arrays.equals(tokens, that.tokens);
     }
 
     @Override
@@ -86,12 +128,13 @@ public class Connect4GameState extends AbstractGameState implements IPrintable,
         StringBuilder sb = new StringBuilder();
         sb.append("{");
 
-        for (int y = 0; y < gridBoard.getHeight(); y++) {
-            for (int x = 0; x < gridBoard.getWidth(); x++) {
+        GridBoard board = getGridBoard();
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
                 if (y != 0 || x != 0) {
                     sb.append(",");
                 }
-                BoardNode t = gridBoard.getElement(x, y);
+                BoardNode t = board.getElement(x, y);
                 sb.append("\"").append("Grid_").append(x).append('_').append(y).append("\":\"").append(t.toString()).append("\"");
             }
         }
@@ -102,17 +145,29 @@ public class Connect4GameState extends AbstractGameState implements IPrintable,
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), gridBoard);
+        return Objects.hash(super.hashCode(), Arrays.hashCode(tokens));
     }
 
     @Override
     public GridBoard getGridBoard() {
+        if (gridBoard == null)
+            gridBoard = new BitboardGridBoard(emptyBoard, this, Connect4Constants.playerMapping);
         return gridBoard;
     }
 
+    @Override
+    public int getWidth() {
+        return emptyBoard.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return emptyBoard.getHeight();
+    }
+
     @Override
     public void printToConsole() {
-        System.out.println(gridBoard.toString());
+        System.out.println(getGridBoard().toString());
     }
 
     void registerWinningCells(LinkedList<Pair<Integer, Integer>> winnerCells) {
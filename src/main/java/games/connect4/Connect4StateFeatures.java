@@ -1,11 +1,8 @@
 package games.connect4;
 
 import core.AbstractGameState;
-import core.components.GridBoard;
 import players.heuristics.AbstractStateFeature;
 
-import java.util.Objects;
-
 public class Connect4StateFeatures extends AbstractStateFeature {
 
     String[] localNames = new String[]{"One_Token", "Opponent_One_Token", "Two_Token", "Opponent_Two_Token",
@@ -28,35 +25,33 @@ public class Connect4StateFeatures extends AbstractStateFeature {
 
     @Override
     protected double[] localFeatureVector(AbstractGameState gs, int playerID) {
+        // the tokens are read from the bitboards of the state, so that the GridBoard does not need to be built
         Connect4GameState state = (Connect4GameState) gs;
-        GridBoard gridBoard = state.gridBoard;
-        int width = gridBoard.getWidth();
-        int height = gridBoard.getHeight();
+        int width = state.getWidth();
+        int height = state.getHeight();
         double[] retValue = new double[localNames.length];
 
-        String playerChar = Connect4Constants.playerMapping.get(playerID).getComponentName();
-
         // Count 1 token
         int[][] directions = {{0, 1}, {0, -1}, {-1, 0}, {1, 0}};
         for (int x = 0; x < width; x++) {
             for (int y = 0; y < height; y++) {
 
-                String ownerChar = gridBoard.getElement(x, y).getComponentName();
-                if (Objects.equals(ownerChar, Connect4Constants.emptyCell)) {
+                int owner = state.getPlayerAt(x, y);
+                if (owner == -1) {
                     continue;
                 }
 
                 int ownerCount = 0;
                 for (int[] direction : directions) {
                     if (isInBound((x + direction[0]), y + direction[1], width, height)) {
-                        if (Objects.equals(gridBoard.getElement(x + direction[0], y + direction[1]).getComponentName(), ownerChar)) {
+                        if (state.getPlayerAt(x + direction[0], y + direction[1]) == owner) {
                             ownerCount++;
                         }
                     }
                 }
 
                 if (ownerCount == 0) {
-                    if (Objects.equals(ownerChar, playerChar)) {
+                    if (owner == playerID) {
                         retValue[0]++;
                     } else {
                         retValue[1]++;
@@ -69,27 +64,27 @@ public class Connect4StateFeatures extends AbstractStateFeature {
         // down
         int x_direction = 0;
         int y_direction = 1;
-        pattern_match(gridBoard, width, height, retValue, playerChar, x_direction, y_direction);
+        pattern_match(state, width, height, retValue, playerID, x_direction, y_direction);
 
         // right
         x_direction = 1;
         y_direction = 0;
-        pattern_match(gridBoard, width, height, retValue, playerChar, x_direction, y_direction);
+        pattern_match(state, width, height, retValue, playerID, x_direction, y_direction);
 
         // left-down
         x_direction = -1;
         y_direction = 1;
-        pattern_match(gridBoard, width, height, retValue, playerChar, x_direction, y_direction);
+        pattern_match(state, width, height, retValue, playerID, x_direction, y_direction);
 
         // right-down
         x_direction = 1;
         y_direction = 1;
-        pattern_match(gridBoard, width, height, retValue, playerChar, x_direction, y_direction);
+        pattern_match(state, width, height, retValue, playerID, x_direction, y_direction);
 
         return retValue;
     }
 
-    private void pattern_match(GridBoard gridBoard, int width, int height, double[] retValue, String playerChar, int x_direction, int y_direction) {
+    private void pattern_match(Connect4GameState state, int width, int height, double[] retValue, int playerID, int x_direction, int y_direction) {
         int[][] visitedMap = new int[width][height];
         for (int x = 0; x < width; x++) {
             for (int y = 0; y < height; y++) {
@@ -104,8 +99,8 @@ public class Connect4StateFeatures extends AbstractStateFeature {
                 visitedMap[cur_x][cur_y] = 1;
 
                 // Skip the empty Cell
-                String ownerChar = gridBoard.getElement(cur_x, cur_y).getComponentName();
-                if (Objects.equals(ownerChar, Connect4Constants.emptyCell)) {
+                int owner = state.getPlayerAt(cur_x, cur_y);
+                if (owner == -1) {
                     continue;
                 }
 
@@ -113,7 +108,7 @@ public class Connect4StateFeatures extends AbstractStateFeature {
                 int link = 1;
                 int new_x = cur_x + x_direction;
                 int new_y = cur_y + y_direction;
-                while (isInBound(new_x, new_y, width, height) && Objects.equals(gridBoard.getElement(new_x, new_y).getComponentName(), ownerChar)) {
+                while (isInBound(new_x, new_y, width, height) && state.getPlayerAt(new_x, new_y) == owner) {
                     cur_x = new_x;
                     cur_y = new_y;
                     visitedMap[cur_x][cur_y] = 1;
@@ -128,11 +123,11 @@ public class Connect4StateFeatures extends AbstractStateFeature {
                     // right location (Oxox)
                     int x_next = x + 2 * x_direction;
                     int y_next = y + 2 * y_direction;
-                    if (isInBound(x_next, y_next, width, height) && Objects.equals(gridBoard.getElement(x_next, y_next).getComponentName(), ownerChar)) {
+                    if (isInBound(x_next, y_next, width, height) && state.getPlayerAt(x_next, y_next) == owner) {
                         if (!isInBound(x_next + x_direction, y_next + y_direction, width, height)) {
-                            retValue[getRetValueIdx(link + 1, ownerChar, playerChar)]++;
-                        } else if (!Objects.equals(gridBoard.getElement(x_next + x_direction, y_next + y_direction).getComponentName(), ownerChar)) {
-                            retValue[getRetValueIdx(link + 1, ownerChar, playerChar)]++;
+                            retValue[getRetValueIdx(link + 1, owner, playerID)]++;
+                        } else if (state.getPlayerAt(x_next + x_direction, y_next + y_direction) != owner) {
+                            retValue[getRetValueIdx(link + 1, owner, playerID)]++;
                         }
 
                     }
@@ -147,14 +142,14 @@ public class Connect4StateFeatures extends AbstractStateFeature {
                     // right location (OoXo)
                     int x_next = x + 3 * x_direction;
                     int y_next = y + 3 * y_direction;
-                    if (isInBound(x_prev, y_prev, width, height) && Objects.equals(gridBoard.getElement(x_prev, y_prev).getComponentName(), ownerChar)) {
-                        retValue[getRetValueIdx(link + 1, ownerChar, playerChar)]++;
-                    } else if (isInBound(x_next, y_next, width, height) && Objects.equals(gridBoard.getElement(x_next, y_next).getComponentName(), ownerChar)) {
-                        retValue[getRetValueIdx(link + 1, ownerChar, playerChar)]++;
+                    if (isInBound(x_prev, y_prev, width, height) && state.getPlayerAt(x_prev, y_prev) == owner) {
+                        retValue[getRetValueIdx(link + 1, owner, playerID)]++;
+                    } else if (isInBound(x_next, y_next, width, height) && state.getPlayerAt(x_next, y_next) == owner) {
+                        retValue[getRetValueIdx(link + 1, owner, playerID)]++;
                     }
                 }
 
-                retValue[getRetValueIdx(link, ownerChar, playerChar)]++;
+                retValue[getRetValueIdx(link, owner, playerID)]++;
             }
         }
     }
@@ -164,21 +159,21 @@ public class Connect4StateFeatures extends AbstractStateFeature {
         return x >= 0 && x < width && y >= 0 && y < height;
     }
 
-    private int getRetValueIdx(int link, String ownerChar, String playerChar) {
+    private int getRetValueIdx(int link, int owner, int playerID) {
         if (link == 2) {
-            if (Objects.equals(ownerChar, playerChar)) {
+            if (owner == playerID) {
                 return 2;
             } else {
                 return 3;
             }
         } else if (link == 3) {
-            if (Objects.equals(ownerChar, playerChar)) {
+            if (owner == playerID) {
                 return 4;
             } else {
                 return 5;
             }
         } else {
-            if (Objects.equals(ownerChar, playerChar)) {
+            if (owner == playerID) {
                 return 6;
             } else {
                 return 7;
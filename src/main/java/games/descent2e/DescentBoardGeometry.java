@@ -0,0 +1,225 @@
+package games.descent2e;
+
+import core.components.BoardNode;
+import core.components.GridBoard;
+import core.properties.PropertyInt;
+import core.properties.PropertyVector2D;
+import utilities.LineOfSight;
+import utilities.Vector2D;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static core.CoreConstants.coordinateHash;
+import static core.CoreConstants.playersHash;
+
+/**
+ * The static geometry of a Descent master board: the movement distance between every pair of cells, and which pairs
+ * of cells could see each other if the board were empty. Neither depends on where the figures are, as the cells and
+ * their connections do not change once the board is set up; so these are computed once per board layout and shared
+ * by all copies of the game state (and all games on the same layout).
+ * <p>
+ * Line of sight is then only a lookup, plus a check of the occupancy of the cells on the precomputed line.
+ * <p>
+ * The tables hold every pair of cells, so take O(nCells^2) memory: 2 bytes for the distance, 4 for the line offset
+ * and a bit for line of sight per pair, plus 4 bytes per cell on each line with static line of sight. The quest
+ * maps have around 150 cells, which is a few hundred KB per layout; a map of several thousand cells would need
+ * hundreds of MB, and should compute these on demand instead.
+ */
+public class DescentBoardGeometry {
+
+    // keyed by the layout (size and connections of the cells), so games on the same map share the tables
+    private static final Map<Layout, DescentBoardGeometry> cache = new ConcurrentHashMap<>();
+
+    private record Layout(int width, int height, int[] adjacency) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Layout other && width == other.width && height == other.height &&
+                    Arrays.equals(adjacency, other.adjacency);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * width + height) + Arrays.hashCode(adjacency);
+        }
+    }
+
+    private final int width, height;
+    private final int[] cellIndex;  // from y * width + x to the index of the cell, or -1 if there is no cell there
+    private final int nCells;
+    private final short[] distances;  // [from * nCells + to], -1 if there is no path
+    private final long[] staticLOS;  // bit [from * nCells + to]
+    // the cells (as y * width + x) strictly between the ends of each line with static line of sight
+    private final int[] lineOffsets;
+    private final int[] lineCells;
+
+    /**
+     * @return the geometry of the board, computed if this is the first board with its layout
+     */
+    public static DescentBoardGeometry forBoard(GridBoard board) {
+        return cache.computeIfAbsent(layout(board), l -> new DescentBoardGeometry(board));
+    }
+
+    /**
+     * The layout is the list of neighbours of each cell (as y * width + x), with -1 for a missing cell and -2 to end
+     * the list of each cell
+     */
+    private static Layout layout(GridBoard board) {
+        int width = board.getWidth(), height = board.getHeight();
+        int[] adjacency = new int[width * height * 6];
+        int n = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                BoardNode node = board.getElement(x, y);
+                if (node == null) {
+                    adjacency = ensureCapacity(adjacency, n + 1);
+                    adjacency[n++] = -1;
+                    continue;
+                }
+                int start = n;
+                for (BoardNode neighbour : node.getNeighbours().keySet()) {
+                    if (neighbour == null) continue;
+                    Vector2D loc = ((PropertyVector2D) neighbour.getProperty(coordinateHash)).values;
+                    adjacency = ensureCapacity(adjacency, n + 2);
+                    adjacency[n++] = loc.getY() * width + loc.getX();
+                }
+                Arrays.sort(adjacency, start, n);
+                adjacency[n++] = -2;
+            }
+        }
+        return new Layout(width, height, Arrays.copyOf(adjacency, n));
+    }
+
+    private static int[] ensureCapacity(int[] array, int size) {
+        return size <= array.length ? array : Arrays.copyOf(array, Math.max(size, array.length * 2));
+    }
+
+    private DescentBoardGeometry(GridBoard board) {
+        width = board.getWidth();
+        height = board.getHeight();
+        cellIndex = new int[width * height];
+        Arrays.fill(cellIndex, -1);
+        int count = 0;
+        for (int y = 0; y < height; y++)
+            for (int x = 0; x < width; x++)
+                if (board.getElement(x, y) != null)
+                    cellIndex[y * width + x] = count++;
+        nCells = count;
+
+        // neighbours of each cell, by cell index
+        int[][] neighbours = new int[nCells][];
+        int[] cellPosition = new int[nCells];
+        for (int pos = 0; pos < cellIndex.length; pos++) {
+            if (cellIndex[pos] == -1) continue;
+            cellPosition[cellIndex[pos]] = pos;
+            BoardNode node = board.getElement(pos % width, pos / width);
+            neighbours[cellIndex[pos]] = node.getNeighbours().keySet().stream()
+                    .filter(Objects::nonNull)
+                    .map(nb -> ((PropertyVector2D) nb.getProperty(coordinateHash)).values)
+                    .filter(v -> v.getX() >= 0 && v.getX() < width && v.getY() >= 0 && v.getY() < height)
+                    .mapToInt(v -> cellIndex[v.getY() * width + v.getX()])
+                    .filter(i -> i != -1)
+                    .toArray();
+        }
+
+        // breadth-first search from every cell (as in DescentHelper.bfsLee())
+        distances = new short[nCells * nCells];
+        Arrays.fill(distances, (short) -1);
+        int[] queue = new int[nCells];
+        for (int from = 0; from < nCells; from++) {
+            int base = from * nCells;
+            int head = 0, tail = 0;
+            queue[tail++] = from;
+            distances[base + from] = 0;
+            while (head < tail) {
+                int cell = queue[head++];
+                for (int next : neighbours[cell]) {
+                    if (distances[base + next] == -1) {
+                        distances[base + next] = (short) (distances[base + cell] + 1);
+                        queue[tail++] = next;
+                    }
+                }
+            }
+        }
+
+        // static line of sight: every cell on the line exists, and each is connected to the one before it
+        staticLOS = new long[(int) (((long) nCells * nCells + 63) / 64)];
+        lineOffsets = new int[nCells * nCells + 1];
+        int[] cells = new int[nCells * 4];
+        int nLineCells = 0;
+        for (int from = 0; from < nCells; from++) {
+            Vector2D start = new Vector2D(cellPosition[from] % width, cellPosition[from] / width);
+            for (int to = 0; to < nCells; to++) {
+                int pair = from * nCells + to;
+                lineOffsets[pair] = nLineCells;
+                Vector2D end = new Vector2D(cellPosition[to] % width, cellPosition[to] / width);
+                List<Vector2D> line = LineOfSight.bresenhamsLineAlgorithm(start, end);
+                boolean clear = true;
+                for (int i = 1; i < line.size() && clear; i++) {
+                    BoardNode previous = board.getElement(line.get(i - 1));
+                    BoardNode current = board.getElement(line.get(i));
+                    clear = current != null && previous.getNeighbours().containsKey(current);
+                }
+                if (!clear) continue;
+                staticLOS[pair >>> 6] |= 1L << pair;
+                for (int i = 1; i < line.size() - 1; i++) {
+                    cells = ensureCapacity(cells, nLineCells + 1);
+                    cells[nLineCells++] = line.get(i).getY() * width + line.get(i).getX();
+                }
+            }
+        }
+        lineOffsets[nCells * nCells] = nLineCells;
+        lineCells = Arrays.copyOf(cells, nLineCells);
+    }
+
+    private int cell(Vector2D position) {
+        int x = position.getX(), y = position.getY();
+        if (x < 0 || x >= width || y < 0 || y >= height)
+            return -1;
+        return cellIndex[y * width + x];
+    }
+
+    /**
+     * @return the number of steps on the shortest path between two cells (ignoring figures and terrain costs),
+     * or -1 if there is no path or either is not a cell of the board
+     */
+    public int distance(Vector2D from, Vector2D to) {
+        int a = cell(from), b = cell(to);
+        if (a == -1 || b == -1)
+            return -1;
+        return distances[a * nCells + b];
+    }
+
+    /**
+     * @return true if there is line of sight between two cells on an empty board
+     */
+    public boolean hasStaticLineOfSight(Vector2D from, Vector2D to) {
+        int a = cell(from), b = cell(to);
+        if (a == -1 || b == -1)
+            return false;
+        int pair = a * nCells + b;
+        return (staticLOS[pair >>> 6] & (1L << pair)) != 0;
+    }
+
+    /**
+     * @return true if there is line of sight between two cells, given the figures currently on the board. The line is
+     * blocked by any figure on it other than those at either end (which may be large figures covering several cells).
+     */
+    public boolean hasLineOfSight(GridBoard board, Vector2D from, Vector2D to) {
+        if (!hasStaticLineOfSight(from, to))
+            return false;
+        int start = owner(board, from.getY() * width + from.getX());
+        int target = owner(board, to.getY() * width + to.getX());
+        int pair = cell(from) * nCells + cell(to);
+        for (int i = lineOffsets[pair]; i < lineOffsets[pair + 1]; i++) {
+            int owner = owner(board, lineCells[i]);
+            if (owner != -1 && owner != start && owner != target)
+                return false;
+        }
+        return true;
+    }
+
+    private int owner(GridBoard board, int position) {
+        return ((PropertyInt) board.getElement(position % width, position / width).getProperty(playersHash)).value;
+    }
+}
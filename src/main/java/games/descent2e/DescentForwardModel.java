@@ -1269,6 +1269,7 @@ public class DescentForwardModel extends StandardForwardModel {
                     }
                 }
             }
+            dgs.boardGeometry = DescentBoardGeometry.forBoard(dgs.masterBoard);
         } else {
 //            System.out.println("Tiles for the map not found");
         }
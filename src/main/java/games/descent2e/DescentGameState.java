@@ -35,6 +35,8 @@ public class DescentGameState extends AbstractGameState implements IPrintable {
 
     Deck<Card> searchCards;
     GridBoard masterBoard;
+    // distances and line of sight on the master board; this never changes, so is shared by all copies
+    DescentBoardGeometry boardGeometry;
     DicePool attackDicePool;
     DicePool defenceDicePool;
     DicePool attributeDicePool;
@@ -127,6 +129,7 @@ public class DescentGameState extends AbstractGameState implements IPrintable {
             copy.tiles.put(e.getKey(), e.getValue().copy());
         }
         copy.masterBoard = masterBoard.copy();
+        copy.boardGeometry = boardGeometry;
         copy.attackDicePool = attackDicePool.copy();
         copy.defenceDicePool = defenceDicePool.copy();
         copy.attributeDicePool = attributeDicePool.copy();
@@ -237,7 +240,6 @@ public class DescentGameState extends AbstractGameState implements IPrintable {
     public boolean _equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof DescentGameState that)) return false;
-        if (!super.equals(o)) return false;
         return initData == that.initData && overlordPlayer == that.overlordPlayer &&
                 Objects.equals(data, that.data) && Objects.equals(tiles, that.tiles) &&
                 Arrays.deepEquals(tileReferences, that.tileReferences) &&
@@ -304,6 +306,12 @@ public class DescentGameState extends AbstractGameState implements IPrintable {
         return masterBoard;
     }
 
+    public DescentBoardGeometry getBoardGeometry() {
+        if (boardGeometry == null)
+            boardGeometry = DescentBoardGeometry.forBoard(masterBoard);
+        return boardGeometry;
+    }
+
     public List<Hero> getHeroes() {
         return heroes;
     }
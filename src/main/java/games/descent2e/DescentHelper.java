@@ -15,7 +15,6 @@ import games.descent2e.actions.items.RerollAttributeTest;
 import games.descent2e.actions.monsterfeats.MonsterAbilities;
 import games.descent2e.components.*;
 import games.descent2e.components.tokens.DToken;
-import utilities.LineOfSight;
 import utilities.Pair;
 import utilities.Vector2D;
 
@@ -190,55 +189,13 @@ public class DescentHelper {
     }
 
     public static boolean hasLineOfSight(DescentGameState dgs, Vector2D startPoint, Vector2D endPoint){
-        int counter = 0;
-        boolean hasLineOfSight = true;
-
-        ArrayList<Vector2D> containedPoints = LineOfSight.bresenhamsLineAlgorithm(startPoint, endPoint);
-
-        BoardNode startTile = dgs.masterBoard.getElement(startPoint.getX(), startPoint.getY());
-        int start = ((PropertyInt) startTile.getProperty(playersHash)).value;
-
-        BoardNode targetTile = dgs.masterBoard.getElement(endPoint.getX(), endPoint.getY());
-        int target = ((PropertyInt) targetTile.getProperty(playersHash)).value;
-
-        // For each coordinate in the line, check:
+        // For each coordinate in the line (see LineOfSight.bresenhamsLineAlgorithm()), check:
         // 1) Does the coordinate have its board node
         // 2) Is the board node empty (no character on location)
         // 3) Is the board node connected to previously checked board node
         // If any of these are false, then there is no LOS
-        for (int i = 1; i < containedPoints.size(); i++){
-
-            Vector2D previousPoint = containedPoints.get(i - 1);
-            Vector2D point = containedPoints.get(i);
-
-            // Check 1) Does the board node exist at this coordinate
-            BoardNode currentTile = dgs.masterBoard.getElement(point.getX(), point.getY());
-            if (currentTile == null){
-                hasLineOfSight = false;
-                break;
-            }
-
-            // Check 2) Is the board node empty (or, if either figure is large, not occupied by itself or the target)
-            int owner = ((PropertyInt) currentTile.getProperty(playersHash)).value;
-            if (owner != -1 && i != containedPoints.size() - 1){
-                if (owner != target && owner != start){
-                    hasLineOfSight = false;
-                    break;
-                }
-            }
-
-            // Check 3) Is the board node connected to previous board node
-            BoardNode previousTile = dgs.masterBoard.getElement(previousPoint.getX(), previousPoint.getY());
-            if (!previousTile.getNeighbours().containsKey(currentTile)){
-                hasLineOfSight = false;
-                break;
-            }
-        }
-
-        if (hasLineOfSight)
-            counter++;
-
-        return (counter > 0);
+        // 1) and 3) do not change during the game, so are precomputed for all pairs of cells; only 2) is checked here
+        return dgs.getBoardGeometry().hasLineOfSight(dgs.masterBoard, startPoint, endPoint);
     }
 
     public static List<AbstractAction> moveActions(DescentGameState dgs, Figure f) {
@@ -598,49 +555,8 @@ public class DescentHelper {
         // Breadth-First Search Lee Algorithm
         // Used to find the shortest path between two points
         // Used for the Heroes/Monsters to find the shortest path to their target enemy
-
-        GridBoard board = dgs.getMasterBoard();
-
-        // Ensure that both start and end points are valid
-        if (board.getElement(start) == null || board.getElement(end) == null)
-            return -1;
-
-        boolean[][] visited = new boolean[board.getWidth()][board.getHeight()];
-        visited[start.getX()][start.getY()] = true;
-
-        // Distance from the source cell is initialized to 0
-        Queue<Pair<BoardNode, Integer>> queue = new LinkedList<>();
-        queue.add(new Pair<BoardNode, Integer>((BoardNode) board.getElement(start), 0));
-
-        // BFS starting from start cell
-        while (!queue.isEmpty())
-        {
-            Pair<BoardNode, Integer> curr = queue.peek();
-            BoardNode node = curr.a;
-
-            Vector2D currLoc = ((PropertyVector2D) node.getProperty(coordinateHash)).values;
-
-            // If we have reached the destination cell, we are done
-            if (currLoc.equals(end))
-                return curr.b;
-
-            // Otherwise dequeue the front cell in the queue and enqueue its adjacent cells
-            queue.poll();
-
-            for (BoardNode neighbour : node.getNeighbours().keySet())
-            {
-                if (neighbour == null) continue;
-                Vector2D nextLoc = ((PropertyVector2D) neighbour.getProperty(coordinateHash)).values;
-                if (!checkValid(nextLoc.getX(), nextLoc.getY(), board)) continue;
-                if (!visited[nextLoc.getX()][nextLoc.getY()])
-                {
-                    visited[nextLoc.getX()][nextLoc.getY()] = true;
-                    queue.add(new Pair<>(neighbour, curr.b + 1));
-                }
-            }
-        }
-
-        return -1;
+        // This ignores figures on the board, so the distances between all pairs of cells are precomputed
+        return dgs.getBoardGeometry().distance(start, end);
     }
 
     // Check whether given cell(row,col) is a valid cell or not
@@ -30,20 +30,25 @@ public class DiamantFeatures implements IStateFeatureVector, IStateFeatureJSON {
 
     @Override
     public double[] featureVector(AbstractGameState gameState, int playerId) {
-        DiamantGameState gs = (DiamantGameState) gameState;
         double[] retVal = new double[getObservationSpace()];
-        retVal[0] = gs.getTreasureChests().get(playerId).getValue();
-        retVal[1] = gs.path.getComponents().get(gs.path.getSize()-1).getNumberOfGems(); // nGemsOnPath;
-        retVal[2] = gs.playerInCave.size();
-        retVal[3] = gs.nCave;
-        retVal[4] = gs.nHazardExplosionsOnPath;
-        retVal[5] = gs.nHazardPoissonGasOnPath;
-        retVal[6] = gs.nHazardRockfallsOnPath;
-        retVal[7] = gs.nHazardScorpionsOnPath;
-        retVal[8] = gs.nHazardSnakesOnPath;
+        featureVector(gameState, playerId, retVal, 0);
         return retVal;
     }
 
+    @Override
+    public void featureVector(AbstractGameState gameState, int playerId, double[] target, int offset) {
+        DiamantGameState gs = (DiamantGameState) gameState;
+        target[offset] = gs.getTreasureChests().get(playerId).getValue();
+        target[offset + 1] = gs.path.getComponents().get(gs.path.getSize()-1).getNumberOfGems(); // nGemsOnPath;
+        target[offset + 2] = gs.playerInCave.size();
+        target[offset + 3] = gs.nCave;
+        target[offset + 4] = gs.nHazardExplosionsOnPath;
+        target[offset + 5] = gs.nHazardPoissonGasOnPath;
+        target[offset + 6] = gs.nHazardRockfallsOnPath;
+        target[offset + 7] = gs.nHazardScorpionsOnPath;
+        target[offset + 8] = gs.nHazardSnakesOnPath;
+    }
+
 //    public double[] normFeatureVector() {
 //        double[] retVal = new double[getObservationSpace()];
 //        retVal[0] = getTreasureChests().get(getCurrentPlayer()).getValue() / 100d;
@@ -16,6 +16,7 @@ import games.dominion.cards.CardType;
 import games.dominion.cards.DominionCard;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -184,6 +185,19 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
         return components;
     }
 
+    @Override
+    public void forEachTopLevelComponent(Consumer<Component> action) {
+        for (Deck<DominionCard> deck : playerHands)
+            action.accept(deck);
+        for (Deck<DominionCard> deck : playerDiscards)
+            action.accept(deck);
+        for (Deck<DominionCard> deck : playerTableaux)
+            action.accept(deck);
+        for (Deck<DominionCard> deck : playerDrawPiles)
+            action.accept(deck);
+        action.accept(trashPile);
+    }
+
     /**
      * Get the Deck of the specified type for the specified player.
      * DeckType.ALL is not valid
@@ -404,9 +418,23 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
             playerDiscards[i] = new Deck<>("Discard of Player " + i + 1, i, VISIBLE_TO_ALL);
             playerTableaux[i] = new Deck<>("Tableau of Player " + i + 1, i, VISIBLE_TO_ALL);
         }
+        // DominionCards are immutable, so all decks can share their cards with copies
+        boolean share = shareOnCopy();
+        trashPile.setCopyOnWrite(share);
+        for (int i = 0; i < nPlayers; i++) {
+            playerHands[i].setCopyOnWrite(share);
+            playerDrawPiles[i].setCopyOnWrite(share);
+            playerDiscards[i].setCopyOnWrite(share);
+            playerTableaux[i].setCopyOnWrite(share);
+        }
         super.reset();
     }
 
+    @Override
+    protected boolean supportsStructuralSharing() {
+        return true;
+    }
+
     /**
      * Checks if the given object is the same as the current.
      *
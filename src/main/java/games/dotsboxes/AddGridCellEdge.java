@@ -3,7 +3,6 @@ package games.dotsboxes;
 import core.AbstractGameState;
 import core.actions.AbstractAction;
 
-import java.util.HashSet;
 import java.util.Objects;
 
 public class AddGridCellEdge extends AbstractAction {
@@ -15,27 +14,27 @@ public class AddGridCellEdge extends AbstractAction {
 
     @Override
     public boolean execute(AbstractGameState gs) {
-        // Find neighbouring cells
         DBGameState dbgs = (DBGameState) gs;
+        int e = dbgs.edgeIndex(edge);
 
-        int nCellsCompleteBefore = dbgs.cellToOwnerMap.size();
-        // Mark this edge as complete by current player and check if connected cells are complete too
-        dbgs.edgeToOwnerMap.put(edge, gs.getCurrentPlayer());
-
-        HashSet<DBCell> cells = dbgs.edgeToCellMap.get(edge);
-        for (DBCell c : cells) {
-            int nEdgesComplete = dbgs.countCompleteEdges(c);
-            if (nEdgesComplete == 4) {  // A cell has 4 sides
-                // All edges complete, this box complete
-                dbgs.cellToOwnerMap.put(c, gs.getCurrentPlayer());
-                dbgs.nCellsPerPlayer[gs.getCurrentPlayer()]++;
-            }
+        if (gs.isRecordingUndo()) {
+            boolean lastActionDidNotScore = dbgs.lastActionDidNotScore;
+            gs.recordUndo(() -> {
+                dbgs.removeEdge(e);
+                dbgs.lastActionDidNotScore = lastActionDidNotScore;
+            });
         }
-        int nCellsCompleteAfter = dbgs.cellToOwnerMap.size();
-        dbgs.setLastActionDidNotScore(nCellsCompleteAfter == nCellsCompleteBefore);
+        // Mark this edge as complete by current player, which also completes any connected cells with all 4 edges
+        int nCellsCompleted = dbgs.placeEdge(e, gs.getCurrentPlayer());
+        dbgs.setLastActionDidNotScore(nCellsCompleted == 0);
         return true;  // Always able to execute
     }
 
+    @Override
+    public boolean isReversible() {
+        return true;
+    }
+
     @Override
     public AbstractAction copy() {
         return new AddGridCellEdge(edge.copy());
@@ -15,34 +15,46 @@ public class DBForwardModel extends StandardForwardModel {
         DBParameters dbp = (DBParameters) firstState.getGameParameters();
 
         dbgs.lastActionDidNotScore = false;
-        // Generate edge to cell mapping and all cell objects with appropriate constructor
-        dbgs.edgeToCellMap = new HashMap<>();
-        dbgs.cellToEdgesMap = new HashMap<>();
-        dbgs.cellToOwnerMap = new HashMap<>();
-        dbgs.edgeToOwnerMap = new HashMap<>();
-        dbgs.edges = new HashSet<>();
-        dbgs.cells = new HashSet<>();
-        for (int i = 0; i < dbp.gridHeight; i++) {
-            for (int j = 0; j < dbp.gridWidth; j++) {
-                DBCell c = new DBCell(j, i);
-                dbgs.cells.add(c);
-                HashSet<DBEdge> edges = new HashSet<>(4);
-                edges.add(new DBEdge(new Vector2D(j, i), new Vector2D(j, i + 1)));
-                edges.add(new DBEdge(new Vector2D(j, i), new Vector2D(j + 1, i)));
-                edges.add(new DBEdge(new Vector2D(j + 1, i), new Vector2D(j + 1, i + 1)));
-                edges.add(new DBEdge(new Vector2D(j, i + 1), new Vector2D(j + 1, i + 1)));
-
-                for (DBEdge edge : edges) {
-                    dbgs.edges.add(edge);
-                    if (!dbgs.edgeToCellMap.containsKey(edge)) {
-                        dbgs.edgeToCellMap.put(edge, new HashSet<>());
-                    }
-                    dbgs.edgeToCellMap.get(edge).add(c);
-                }
-
-                dbgs.cellToEdgesMap.put(c, edges);
+        // Generate all edge and cell objects, and the cells next to each edge
+        int w = dbp.gridWidth, h = dbp.gridHeight;
+        int nHorizontal = w * (h + 1);
+        dbgs.gridWidth = w;
+        dbgs.gridHeight = h;
+        dbgs.cells = new DBCell[w * h];
+        dbgs.edges = new DBEdge[nHorizontal + (w + 1) * h];
+        dbgs.edgeToCells = new int[dbgs.edges.length][];
+        for (int i = 0; i < h; i++) {
+            for (int j = 0; j < w; j++) {
+                dbgs.cells[i * w + j] = new DBCell(j, i);
+            }
+        }
+        for (int i = 0; i <= h; i++) {
+            for (int j = 0; j < w; j++) {
+                int e = i * w + j;
+                dbgs.edges[e] = new DBEdge(new Vector2D(j, i), new Vector2D(j + 1, i));
+                // the cells above and below
+                if (i == 0) dbgs.edgeToCells[e] = new int[]{i * w + j};
+                else if (i == h) dbgs.edgeToCells[e] = new int[]{(i - 1) * w + j};
+                else dbgs.edgeToCells[e] = new int[]{(i - 1) * w + j, i * w + j};
             }
         }
+        for (int i = 0; i < h; i++) {
+            for (int j = 0; j <= w; j++) {
+                int e = nHorizontal + i * (w + 1) + j;
+                dbgs.edges[e] = new DBEdge(new Vector2D(j, i), new Vector2D(j, i + 1));
+                // the cells to the left and right
+                if (j == 0) dbgs.edgeToCells[e] = new int[]{i * w + j};
+                else if (j == w) dbgs.edgeToCells[e] = new int[]{i * w + j - 1};
+                else dbgs.edgeToCells[e] = new int[]{i * w + j - 1, i * w + j};
+            }
+        }
+        dbgs.placedEdges = new long[(dbgs.edges.length + 63) / 64];
+        dbgs.edgeOwners = new byte[dbgs.edges.length];
+        Arrays.fill(dbgs.edgeOwners, (byte) -1);
+        dbgs.cellEdgeCounts = new byte[dbgs.cells.length];
+        dbgs.cellOwners = new byte[dbgs.cells.length];
+        Arrays.fill(dbgs.cellOwners, (byte) -1);
+        dbgs.nCellsComplete = 0;
         // Initialise other variables
         dbgs.nCellsPerPlayer = new int[dbgs.getNPlayers()];
     }
@@ -50,10 +62,9 @@ public class DBForwardModel extends StandardForwardModel {
     @Override
     protected void _afterAction(AbstractGameState currentState, AbstractAction action) {
         DBGameState dbgs = (DBGameState) currentState;
-        DBParameters dbp = (DBParameters) currentState.getGameParameters();
 
         // Check end of game (when all cells completed)
-        if (dbgs.cellToOwnerMap.size() == dbp.gridWidth * dbp.gridHeight) {
+        if (dbgs.nCellsComplete == dbgs.cells.length) {
             // Game is over. Set status and find winner
             endGame(dbgs);
         } else if (dbgs.getLastActionDidNotScore()) {
@@ -62,31 +73,42 @@ public class DBForwardModel extends StandardForwardModel {
         }
     }
 
+    @Override
+    public boolean supportsUndo() {
+        // all game-specific changes are made by (reversible) actions
+        return true;
+    }
+
     @Override
     protected List<AbstractAction> _computeAvailableActions(AbstractGameState gameState) {
 
-        Set<AbstractAction> actions = calculateActions((DBGameState) gameState, false);
+        List<AbstractAction> actions = calculateActions((DBGameState) gameState, false);
         if (actions.isEmpty()) {
             // in case the only actions are to create a three-box, we need to override the rule
             actions = calculateActions((DBGameState) gameState, true);
         }
 
-        return new ArrayList<>(actions);
+        return actions;
     }
 
-    private Set<AbstractAction> calculateActions(DBGameState dbgs, boolean override) {
-        Set<AbstractAction> actions = new HashSet<>();  // Same edge may appear in multiple cells, ensure unique actions
+    private List<AbstractAction> calculateActions(DBGameState dbgs, boolean override) {
+        List<AbstractAction> actions = new ArrayList<>();
         DBParameters dbp = (DBParameters) dbgs.getGameParameters();
+        boolean checkThreeBox = !override && dbgs.getGameTick() < dbp.disallowThreeBoxCreationUntilMove;
 
         // Actions in this game are adding edges to the board (that don't already exist)
-        for (DBEdge e : dbgs.edges) {
-            if (!dbgs.edgeToOwnerMap.containsKey(e)) {
-                if (!override && dbgs.getGameTick() < dbp.disallowThreeBoxCreationUntilMove) {
+        for (int w = 0; w < dbgs.placedEdges.length; w++) {
+            long free = ~dbgs.placedEdges[w];
+            while (free != 0) {
+                int e = w * 64 + Long.numberOfTrailingZeros(free);
+                free &= free - 1;
+                if (e >= dbgs.edges.length) break;
+                if (checkThreeBox) {
                     // we also need to check if this would create a three-box without closing one
                     // (i.e. any cell already has 2 edges; and none have 3)
                     boolean threeBox = false;
-                    for (DBCell c : dbgs.edgeToCellMap.get(e)) {
-                        int edges = dbgs.countCompleteEdges(c);
+                    for (int c : dbgs.edgeToCells[e]) {
+                        int edges = dbgs.cellEdgeCounts[c];
                         if (edges == 3) {
                             threeBox = false;
                             break;  // and no need to check other cells
@@ -97,7 +119,7 @@ public class DBForwardModel extends StandardForwardModel {
                     if (threeBox) continue;
                 }
                 // Can add this edge
-                actions.add(new AddGridCellEdge(e));
+                actions.add(new AddGridCellEdge(dbgs.edges[e]));
             }
         }
         return actions;
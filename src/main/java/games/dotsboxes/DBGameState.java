@@ -12,19 +12,22 @@ public class DBGameState extends AbstractGameState {
 
     IStateHeuristic heuristic;
 
-    // List of all edges possible
-    HashSet<DBEdge> edges;
-    // List of all cells possible
-    HashSet<DBCell> cells;
-    // Mapping from each edge to the cells it neighbours
-    HashMap<DBEdge, HashSet<DBCell>> edgeToCellMap;
-    // Mapping from each cell to its edges
-    HashMap<DBCell, HashSet<DBEdge>> cellToEdgesMap;
+    // All edges possible, by index: the horizontal edges (x, y) -> (x + 1, y) first, at y * gridWidth + x, then the
+    // vertical edges (x, y) -> (x, y + 1), at gridWidth * (gridHeight + 1) + y * (gridWidth + 1) + x
+    DBEdge[] edges;
+    // All cells possible, with cell (x, y) at y * gridWidth + x
+    DBCell[] cells;
+    // The indices of the cells next to each edge (one or two)
+    int[][] edgeToCells;
+    int gridWidth, gridHeight;
 
     // Mutable state:
     int[] nCellsPerPlayer;
-    HashMap<DBCell, Integer> cellToOwnerMap;  // Mapping from each cell to its owner, if complete
-    HashMap<DBEdge, Integer> edgeToOwnerMap;  // Mapping from each edge to its owner, if placed
+    long[] placedEdges;  // Bit i set if edge i is placed
+    byte[] edgeOwners;  // The owner of each edge, if placed, or -1
+    byte[] cellEdgeCounts;  // The number of placed edges of each cell
+    byte[] cellOwners;  // The owner of each cell, if complete, or -1
+    int nCellsComplete;
     boolean lastActionDidNotScore;
 
     /**
@@ -44,7 +47,7 @@ public class DBGameState extends AbstractGameState {
 
     @Override
     protected List<Component> _getAllComponents() {
-        return new ArrayList<Component>() {{ addAll(edges); addAll(cells); }};
+        return new ArrayList<Component>() {{ addAll(Arrays.asList(edges)); addAll(Arrays.asList(cells)); }};
     }
 
     @Override
@@ -52,13 +55,17 @@ public class DBGameState extends AbstractGameState {
         DBGameState dbgs = new DBGameState(gameParameters, getNPlayers());
         dbgs.edges = edges;
         dbgs.cells = cells;
-        dbgs.edgeToCellMap = edgeToCellMap;
-        dbgs.cellToEdgesMap = cellToEdgesMap;
+        dbgs.edgeToCells = edgeToCells;
+        dbgs.gridWidth = gridWidth;
+        dbgs.gridHeight = gridHeight;
         dbgs.lastActionDidNotScore = lastActionDidNotScore;
 
         dbgs.nCellsPerPlayer = nCellsPerPlayer.clone();
-        dbgs.cellToOwnerMap = (HashMap<DBCell, Integer>) cellToOwnerMap.clone();
-        dbgs.edgeToOwnerMap = (HashMap<DBEdge, Integer>) edgeToOwnerMap.clone();
+        dbgs.placedEdges = placedEdges.clone();
+        dbgs.edgeOwners = edgeOwners.clone();
+        dbgs.cellEdgeCounts = cellEdgeCounts.clone();
+        dbgs.cellOwners = cellOwners.clone();
+        dbgs.nCellsComplete = nCellsComplete;
         dbgs.heuristic = heuristic;
         return dbgs;
     }
@@ -88,22 +95,20 @@ public class DBGameState extends AbstractGameState {
     public boolean _equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof DBGameState)) return false;
-        if (!super.equals(o)) return false;
         DBGameState that = (DBGameState) o;
         return lastActionDidNotScore == that.lastActionDidNotScore && Objects.equals(heuristic, that.heuristic)
-                && Objects.equals(edges, that.edges) && Objects.equals(cells, that.cells) &&
-                Objects.equals(edgeToCellMap, that.edgeToCellMap) &&
-                Objects.equals(cellToEdgesMap, that.cellToEdgesMap) &&
+                && gridWidth == that.gridWidth && gridHeight == that.gridHeight &&
                 Arrays.equals(nCellsPerPlayer, that.nCellsPerPlayer) &&
-                Objects.equals(cellToOwnerMap, that.cellToOwnerMap) &&
-                Objects.equals(edgeToOwnerMap, that.edgeToOwnerMap);
+                Arrays.equals(edgeOwners, that.edgeOwners) &&
+                Arrays.equals(cellOwners, that.cellOwners);
     }
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(super.hashCode(), edges, cells, edgeToCellMap, cellToEdgesMap,
-                cellToOwnerMap, edgeToOwnerMap, lastActionDidNotScore);
+        int result = Objects.hash(super.hashCode(), gridWidth, gridHeight, lastActionDidNotScore);
         result = 31 * result + Arrays.hashCode(nCellsPerPlayer);
+        result = 31 * result + Arrays.hashCode(edgeOwners);
+        result = 31 * result + Arrays.hashCode(cellOwners);
         return result;
     }
 
@@ -115,33 +120,21 @@ public class DBGameState extends AbstractGameState {
         int i = 0;
 
         for (DBEdge e: edges) {
-            if (i++ != 0) {
+            if (i != 0) {
                 sb.append(",");
             }
-            int owner = -1;
-            if (edgeToOwnerMap.get(e) != null) {
-                owner = edgeToOwnerMap.get(e);
-            }
+            int owner = edgeOwners[i++];
             sb.append("\"").append("Edge_Owner_").append(e.from.getX()).append("_").append(e.from.getY()).
                     append(e.to.getX()).append(e.to.getY()).append("\":").append(owner);
         }
 
         for (DBCell c: cells) {
             sb.append(",");
-            int owner = -1;
-            if (cellToOwnerMap.get(c) != null) {
-                owner = cellToOwnerMap.get(c);
-            }
+            int owner = getCellOwner(c);
             sb.append("\"").append("Cell_Owner_").append(c.position.getX()).append("_").append(c.position.getY()).append("\":").append(owner);
             sb.append(",");
 
-            int edgeCount = 0;
-
-            for (DBEdge e : cellToEdgesMap.get(c)) {
-                if (edgeToOwnerMap.get(e) != null) {
-                    edgeCount++;
-                }
-            }
+            int edgeCount = countCompleteEdges(c);
             sb.append("\"").append("Cell_Edge_Count_").append(c.position.getX()).append("_").append(c.position.getY()).append("\":").append(edgeCount);
         }
 
@@ -150,15 +143,80 @@ public class DBGameState extends AbstractGameState {
     }
 
 
-    public int countCompleteEdges(DBCell c) {
+    /**
+     * @return the index of the edge (as for edges), or -1 if it is not an edge of the grid
+     */
+    public int edgeIndex(DBEdge e) {
+        int x = Math.min(e.from.getX(), e.to.getX()), y = Math.min(e.from.getY(), e.to.getY());
+        if (e.from.getY() == e.to.getY() && Math.abs(e.from.getX() - e.to.getX()) == 1) {
+            if (x >= 0 && x < gridWidth && y >= 0 && y <= gridHeight)
+                return y * gridWidth + x;
+        } else if (e.from.getX() == e.to.getX() && Math.abs(e.from.getY() - e.to.getY()) == 1) {
+            if (x >= 0 && x <= gridWidth && y >= 0 && y < gridHeight)
+                return gridWidth * (gridHeight + 1) + y * (gridWidth + 1) + x;
+        }
+        return -1;
+    }
+
+    public boolean isPlaced(int edge) {
+        return (placedEdges[edge >>> 6] & 1L << edge) != 0;
+    }
+
+    /**
+     * Marks the edge as placed by the player, completing (and giving the player) any cells that now have 4 edges
+     *
+     * @return the number of cells completed
+     */
+    int placeEdge(int edge, int player) {
+        if (isPlaced(edge))
+            throw new IllegalArgumentException("Edge " + edges[edge] + " is already placed");
+        placedEdges[edge >>> 6] |= 1L << edge;
+        edgeOwners[edge] = (byte) player;
         int retValue = 0;
-        for (DBEdge e: cellToEdgesMap.get(c)) {
-            if (edgeToOwnerMap.containsKey(e)) {
+        for (int c : edgeToCells[edge]) {
+            if (++cellEdgeCounts[c] == 4) {  // A cell has 4 sides
+                cellOwners[c] = (byte) player;
+                nCellsPerPlayer[player]++;
+                nCellsComplete++;
                 retValue++;
             }
         }
         return retValue;
     }
+
+    /**
+     * Reverses placeEdge()
+     */
+    void removeEdge(int edge) {
+        placedEdges[edge >>> 6] &= ~(1L << edge);
+        edgeOwners[edge] = -1;
+        for (int c : edgeToCells[edge]) {
+            if (cellEdgeCounts[c]-- == 4) {
+                nCellsPerPlayer[cellOwners[c]]--;
+                cellOwners[c] = -1;
+                nCellsComplete--;
+            }
+        }
+    }
+
+    public int countCompleteEdges(DBCell c) {
+        return cellEdgeCounts[c.position.getY() * gridWidth + c.position.getX()];
+    }
+
+    /**
+     * @return the player who completed the cell, or -1 if it is not complete
+     */
+    public int getCellOwner(DBCell c) {
+        return cellOwners[c.position.getY() * gridWidth + c.position.getX()];
+    }
+
+    /**
+     * @return the player who placed the edge, or -1 if it is not placed
+     */
+    public int getEdgeOwner(DBEdge e) {
+        return edgeOwners[edgeIndex(e)];
+    }
+
     public boolean getLastActionDidNotScore(){return lastActionDidNotScore;}
     public void setLastActionDidNotScore(boolean value){
         lastActionDidNotScore = value;}
@@ -91,17 +91,16 @@ public class DBGridBoardView extends JComponent {
         for (DBCell c: dbgs.cells) {
             int xC = x + c.position.getX() * defaultItemSize;
             int yC = y + c.position.getY() * defaultItemSize;
-            int owner = -1;
-            if (dbgs.cellToOwnerMap.containsKey(c)) {
-                owner = dbgs.cellToOwnerMap.get(c);
-            }
+            int owner = dbgs.getCellOwner(c);
             drawCell(g, c, owner, xC, yC, x, y);
         }
         // Draw edges
         Stroke s = g.getStroke();
         g.setStroke(new BasicStroke(3));
-        for (DBEdge e: dbgs.edgeToOwnerMap.keySet()) {
-            g.setColor(edgeColors[dbgs.edgeToOwnerMap.get(e)]);
+        for (DBEdge e: dbgs.edges) {
+            int owner = dbgs.getEdgeOwner(e);
+            if (owner == -1) continue;
+            g.setColor(edgeColors[owner]);
             g.drawLine(e.from.getX() * defaultItemSize + x, e.from.getY() * defaultItemSize + y,
                     e.to.getX() * defaultItemSize + x, e.to.getY() * defaultItemSize + y);
         }
@@ -1,10 +1,12 @@
 package games.hanabi;
 
 import core.components.Card;
+import core.components.Zobrist;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Objects;
 
 public class HanabiCard extends Card {
 
@@ -82,9 +84,43 @@ public class HanabiCard extends Card {
     // create setters
     public void setNumber(int n){
         this.number = n;
+        zobristChanged();
     }
 
     public void setColor(CardType c){
         this.color = c;
+        zobristChanged();
+    }
+
+    /**
+     * The owner of this card is told which of their cards have number n.
+     */
+    public void hintNumber(int n) {
+        if (number == n)
+            ownerKnowsNumber = true;
+        else
+            possibleNumber.remove(Integer.valueOf(n));
+        zobristChanged();
+    }
+
+    /**
+     * The owner of this card is told which of their cards have colour c.
+     */
+    public void hintColor(CardType c) {
+        if (color.equals(c))
+            ownerKnowsColor = true;
+        else
+            possibleColour.remove(c);
+        zobristChanged();
+    }
+
+    /**
+     * Covers what is known about the card as well as its colour and number. Changes through setNumber(), setColor()
+     * and the hint methods are passed on to a Deck holding the card.
+     */
+    @Override
+    public long getZobristHash() {
+        return Zobrist.key(componentID, Objects.hash(color, number, colorVisibility, numberVisibility,
+                ownerKnowsColor, ownerKnowsNumber, possibleNumber, possibleColour));
     }
 }
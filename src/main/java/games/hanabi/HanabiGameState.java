@@ -15,6 +15,7 @@ import games.GameType;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class HanabiGameState extends AbstractGameState implements IPrintable {
 
@@ -48,6 +49,16 @@ public class HanabiGameState extends AbstractGameState implements IPrintable {
         }};
     }
 
+    @Override
+    public void forEachTopLevelComponent(Consumer<Component> action) {
+        playerDecks.forEach(action);
+        action.accept(drawDeck);
+        action.accept(discardDeck);
+        action.accept(failCounter);
+        action.accept(hintCounter);
+        currentCard.forEach(action);
+    }
+
     @Override
     protected AbstractGameState _copy(int playerId) {
         HanabiGameState copy = new HanabiGameState(gameParameters.copy(), getNPlayers());
@@ -36,20 +36,10 @@ public class Hint extends AbstractAction implements IPrintable {
         Counter HintCounter = hbgs.getHintCounter();
         for (HanabiCard cd : hbgs.getPlayerDecks().get(playerHand).getComponents()) {
             if (number != 0) {
-                if (cd.number == this.number) {
-                    cd.ownerKnowsNumber = true;
-                }
-                else{
-                    cd.possibleNumber.remove(Integer.valueOf(this.number));
-                }
+                cd.hintNumber(this.number);
             }
             else if (color != null) {
-                if (cd.color.equals(this.color)) {
-                    cd.ownerKnowsColor = true;
-                }
-                else{
-                    cd.possibleColour.remove(this.color);
-                }
+                cd.hintColor(this.color);
             }
 
         }
@@ -8,10 +8,6 @@ import games.loveletter.LoveLetterParameters;
 import games.loveletter.cards.CardType;
 import games.loveletter.cards.LoveLetterCard;
 
-import java.util.HashSet;
-import java.util.Set;
-import java.util.stream.IntStream;
-
 import static games.loveletter.cards.CardType.*;
 
 /**
@@ -25,51 +21,57 @@ public class LLStateFeaturesReduced implements IStateFeatureVector {
 
     @Override
     public double[] featureVector(AbstractGameState gs, int playerId) {
+        double[] retValue = new double[names.length];
+        featureVector(gs, playerId, retValue, 0);
+        return retValue;
+    }
+
+    @Override
+    public void featureVector(AbstractGameState gs, int playerId, double[] target, int offset) {
         LoveLetterGameState llgs = (LoveLetterGameState) gs;
         LoveLetterParameters llp = (LoveLetterParameters) gs.getGameParameters();
 
-        double[] retValue = new double[names.length];
-
         double cardValues = 0;
 
-        Set<CardType> cardTypes = new HashSet<>();
-        for (LoveLetterCard card : llgs.getPlayerHandCards().get(playerId).getComponents()) {
-            cardValues += card.cardType.getValue();
-            cardTypes.add(card.cardType);
+        // the indices of the card types are 2 - 9
+        for (int i = 2; i <= 9; i++)
+            target[offset + i] = 0.0;
+        PartialObservableDeck<LoveLetterCard> hand = llgs.getPlayerHandCards().get(playerId);
+        for (int i = 0; i < hand.getSize(); i++) {
+            CardType cardType = hand.get(i).cardType;
+            cardValues += cardType.getValue();
+            int index = switch (cardType) {
+                case Countess -> 2;
+                case Baron -> 3;
+                case Guard -> 4;
+                case Handmaid -> 5;
+                case King -> 6;
+                case Priest -> 7;
+                case Prince -> 8;
+                case Princess -> 9;
+            };
+            target[offset + index] = 1.0;
         }
 
-        double maxCardValue = 1 + llgs.getPlayerHandCards().get(playerId).getSize() * getMaxCardValue();
+        double maxCardValue = 1 + hand.getSize() * getMaxCardValue();
         double nRequiredTokens = (llgs.getNPlayers() == 2 ? llp.nTokensWin2 : llgs.getNPlayers() == 3 ? llp.nTokensWin3 : llp.nTokensWin4);
         if (nRequiredTokens < llgs.getGameScore(playerId)) nRequiredTokens = llgs.getGameScore(playerId);
 
-        retValue[0] = cardValues / maxCardValue;
-        retValue[1] = llgs.getGameScore(playerId) / nRequiredTokens;
-
-        if (cardTypes.contains(Countess)) retValue[2] = 1.0;
-        if (cardTypes.contains(King)) retValue[6] = 1.0;
-        if (cardTypes.contains(Baron)) retValue[3] = 1.0;
-        if (cardTypes.contains(Handmaid)) retValue[5] = 1.0;
-        if (cardTypes.contains(Guard)) retValue[4] = 1.0;
-        if (cardTypes.contains(Priest)) retValue[7] = 1.0;
-        if (cardTypes.contains(Prince)) retValue[8] = 1.0;
-        if (cardTypes.contains(Princess)) retValue[9] = 1.0;
+        target[offset] = cardValues / maxCardValue;
+        target[offset + 1] = llgs.getGameScore(playerId) / nRequiredTokens;
 
         int visibleCards = 0;
+        int maxOtherScore = Integer.MIN_VALUE;
         for (int player = 0; player < llgs.getNPlayers(); player++) {
             if (player != playerId) {
                 PartialObservableDeck<LoveLetterCard> deck = llgs.getPlayerHandCards().get(player);
-                visibleCards += (int) IntStream.range(0, deck.getSize()).filter(i -> deck.getVisibilityForPlayer(i, playerId)).count();
+                for (int i = 0; i < deck.getSize(); i++)
+                    if (deck.getVisibilityForPlayer(i, playerId)) visibleCards++;
+                maxOtherScore = Math.max(maxOtherScore, (int) llgs.getGameScore(player));
             }
         }
-        retValue[10] = visibleCards / (llgs.getNPlayers() - 1.0);
-
-        int maxOtherScore = IntStream.range(0, llgs.getNPlayers())
-                .filter(p -> p != playerId)
-                .map(p -> (int) llgs.getGameScore(p)).max().orElseThrow(() -> new AssertionError("??"));
-        retValue[11] = (llgs.getGameScore(playerId) - maxOtherScore) / nRequiredTokens;
-
-        return retValue;
-
+        target[offset + 10] = visibleCards / (llgs.getNPlayers() - 1.0);
+        target[offset + 11] = (llgs.getGameScore(playerId) - maxOtherScore) / nRequiredTokens;
     }
 
     @Override
@@ -1,6 +1,5 @@
 package games.loveletter.stats;
 
-import core.AbstractPlayer;
 import core.CoreConstants;
 import core.actions.AbstractAction;
 import core.actions.LogEvent;
@@ -39,7 +38,7 @@ public class LoveLetterMetrics implements IMetricsCollection {
         protected boolean _run(MetricsGameListener listener, Event e, Map<String, Object> records) {
             if (e.action instanceof PlayCard) {
                 PlayCard pc = (PlayCard) e.action;
-                String playerName = listener.getGame().getPlayers().get(e.playerID).toString();
+                String playerName = listener.getPlayerName(e.playerID);
                 boolean record = false;
 
                 if (pc.getCardType() == CardType.King) {
@@ -127,7 +126,7 @@ public class LoveLetterMetrics implements IMetricsCollection {
                 if (e.action instanceof PlayCard) {
                     CardType cardType = ((PlayCard) e.action).getCardType();
                     if (cardType == CardType.Guard || cardType == CardType.Baron) {
-                        String playerName = listener.getGame().getPlayers().get(e.playerID).toString();
+                        String playerName = listener.getPlayerName(e.playerID);
                         if (cardPlayed != null && cardPlayed == cardType) {
                             records.put(playerName + "-" + cardType.name() + "Success", successfulPlay ? 1 : 0);
                         } else {
@@ -203,13 +202,13 @@ public class LoveLetterMetrics implements IMetricsCollection {
         protected boolean _run(MetricsGameListener listener, Event e, Map<String, Object> records) {
             if (e.action instanceof PlayCard) {
                 PlayCard pc = (PlayCard) e.action;
-                for (int i = 0; i < listener.getGame().getPlayers().size(); i++) {
+                for (int i = 0; i < e.state.getNPlayers(); i++) {
                     if (i == e.state.getCurrentPlayer())
                         records.put("Player-" + e.state.getCurrentPlayer(), pc.getCardType().toString());
                     else records.put("Player-" + i, null);
                     for (int j = 0; j < playerNames.size(); j++) {
-                        for (AbstractPlayer player : listener.getGame().getPlayers()) {
-                            if (player.toString().equals(playerNames.get(j))) {
+                        for (int p = 0; p < e.state.getNPlayers(); p++) {
+                            if (listener.getPlayerName(p).equals(playerNames.get(j))) {
                                 records.put(playerNames.get(j) + "-" + j, pc.getCardType().toString());
                             } else {
                                 records.put(playerNames.get(j) + "-" + j, null);
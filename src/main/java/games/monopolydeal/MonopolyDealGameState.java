@@ -12,6 +12,7 @@ import games.monopolydeal.cards.PropertySet;
 import games.monopolydeal.cards.SetType;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 import static core.CoreConstants.VisibilityMode.*;
 
@@ -82,6 +83,17 @@ public class MonopolyDealGameState extends AbstractGameState {
         return components;
     }
 
+    @Override
+    public void forEachTopLevelComponent(Consumer<Component> action) {
+        playerHands.forEach(action);
+        playerBanks.forEach(action);
+        for (PropertySet[] playerPropertySet : playerPropertySets)
+            for (PropertySet propertySet : playerPropertySet)
+                action.accept(propertySet);
+        action.accept(discardPile);
+        action.accept(drawPile);
+    }
+
     /**
      * <p>Create a deep copy of the game state containing only those components the given player can observe.</p>
      * <p>If the playerID is NOT -1 and If any components are not visible to the given player (e.g. cards in the hands
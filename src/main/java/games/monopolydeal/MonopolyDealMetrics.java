@@ -196,7 +196,7 @@ public class MonopolyDealMetrics implements IMetricsCollection {
         public boolean _run(MetricsGameListener listener, Event e, Map<String, Object> records) {
             for (int i = 0; i < e.state.getNPlayers(); i++) {
                 records.put("Player-" + i, e.state.getHeuristicScore(i));
-                records.put("PlayerName-" + i, listener.getGame().getPlayers().get(i).toString());
+                records.put("PlayerName-" + i, listener.getPlayerName(i));
             }
             return true;
         }
@@ -256,7 +256,7 @@ public class MonopolyDealMetrics implements IMetricsCollection {
         protected boolean _run(MetricsGameListener listener, Event e, Map<String, Object> records) {
             records.put("Money", ((MonopolyDealGameState)e.state).getBankValue(e.playerID));
             records.put("PlayerIdx", e.playerID);
-            records.put("PlayerName", listener.getGame().getPlayers().get(e.playerID).toString());
+            records.put("PlayerName", listener.getPlayerName(e.playerID));
             return true;
         }
 
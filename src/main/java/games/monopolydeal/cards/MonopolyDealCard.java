@@ -1,6 +1,7 @@
 package games.monopolydeal.cards;
 
 import core.components.Card;
+import core.components.Zobrist;
 
 import java.util.Objects;
 
@@ -37,7 +38,10 @@ public class MonopolyDealCard extends Card{
     public boolean isPropertyWildCard(){ return type.isPropertyWild; }
     public int cardMoneyValue(){ return type.moneyValue; }
     public SetType getUseAs() { return useAs; }
-    public void setUseAs(SetType sType) {  useAs = sType;}
+    public void setUseAs(SetType sType) {
+        useAs = sType;
+        zobristChanged();
+    }
     public CardType cardType() { return type; }
     public boolean isDoubleTheRent(){ return type == CardType.DoubleTheRent; }
     @Override
@@ -57,6 +61,11 @@ public class MonopolyDealCard extends Card{
         return Objects.hash(super.hashCode(), type, useAs);
     }
 
+    @Override
+    public long getZobristHash() {
+        return Zobrist.key(componentID, Objects.hash(type, useAs));
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (obj instanceof MonopolyDealCard other) {
@@ -10,7 +10,6 @@ import core.components.FrenchCard;
 import games.poker.actions.*;
 import games.poker.actions.Fold;
 import games.poker.components.MoneyPot;
-import utilities.Pair;
 
 import java.util.*;
 
@@ -189,13 +188,11 @@ public class PokerForwardModel extends StandardForwardModel {
     private void roundEnd(PokerGameState pgs) {
         // Calculate winner of round for each of the pots, they earn the money. Ties split money equally.
 
-        Pair<Map<Integer, Integer>, Map<Integer, Set<Integer>>> translated = translatePokerHands(pgs);
-        Map<Integer, Integer> ranks = translated.a;
-        Map<Integer, Set<Integer>> hands = translated.b;
+        int[] handValues = evaluatePokerHands(pgs);
 
         for (MoneyPot pot : pgs.moneyPots) {
             // Calculate winners separately for each money pot
-            Set<Integer> winners = getWinner(pgs, pot, ranks, hands);
+            Set<Integer> winners = getWinner(pot, handValues);
             if (winners.isEmpty()) {
                 // then we return to the participants their personal contribution
                 for (int i : pot.getPlayerContribution().keySet()) {
@@ -245,64 +242,34 @@ public class PokerForwardModel extends StandardForwardModel {
         }
     }
 
-    public Pair<Map<Integer, Integer>, Map<Integer, Set<Integer>>> translatePokerHands(PokerGameState pgs) {
-        Map<Integer, Integer> ranks = new HashMap<>();
-        Map<Integer, Set<Integer>> hands = new HashMap<>();
+    /**
+     * @return the value of the best hand of each player still in the round, from their cards and the community cards
+     * (see PokerHandEvaluator; higher is better). This is 0 for players who have folded or are out of the game.
+     */
+    public int[] evaluatePokerHands(PokerGameState pgs) {
+        int[] handValues = new int[pgs.getNPlayers()];
+        long communityCards = PokerHandEvaluator.cardMask(pgs.communityCards);
         for (int i = 0; i < pgs.getNPlayers(); i++) {
-            if (!pgs.playerFold[i] && pgs.getPlayerResults()[i] != LOSE_GAME) {
-                Deck<FrenchCard> cardsToEvaluate = pgs.playerDecks.get(i).copy();
-                cardsToEvaluate.add(pgs.communityCards.copy());
-                Pair<PokerGameState.PokerHand, HashSet<Integer>> hand = PokerGameState.PokerHand.translateHand(cardsToEvaluate);
-                if (hand != null) {
-                    ranks.put(i, hand.a.rank);
-                    hands.put(i, hand.b);
-                }
-            }
+            if (!pgs.playerFold[i] && pgs.getPlayerResults()[i] != LOSE_GAME)
+                handValues[i] = PokerHandEvaluator.evaluate(communityCards | PokerHandEvaluator.cardMask(pgs.playerDecks.get(i)));
         }
-        return new Pair<>(ranks, hands);
+        return handValues;
     }
 
-    @SuppressWarnings("unchecked")
-    public Set<Integer> getWinner(PokerGameState pgs, MoneyPot pot,
-                                  Map<Integer, Integer> ranks, Map<Integer, Set<Integer>> hands) {
+    /**
+     * @return the players in the pot with the best hand (more than one if tied), or an empty set if none of them is
+     * still in the round
+     */
+    public Set<Integer> getWinner(MoneyPot pot, int[] handValues) {
         // Calculate winners separately for each money pot
-        Set<Integer> playersInPot = new HashSet<>(pot.getPlayerContribution().keySet());
-
-        int smallestRank = 11;
-        for (int i : playersInPot) {
-            if (!pgs.playerFold[i] && pgs.getPlayerResults()[i] != LOSE_GAME && ranks.containsKey(i) && ranks.get(i) < smallestRank) {
-                smallestRank = ranks.get(i);
-            }
+        int bestValue = 0;
+        for (int i : pot.getPlayerContribution().keySet()) {
+            if (handValues[i] > bestValue) bestValue = handValues[i];
         }
         Set<Integer> winners = new HashSet<>();
-        for (int i : playersInPot) {
-            if (!pgs.playerFold[i] && pgs.getPlayerResults()[i] != LOSE_GAME) {
-                if (ranks.get(i) == smallestRank) winners.add(i);
-            }
-        }
-        if (winners.size() > 1) {
-            // A tie in rank, check card values
-            ArrayList<Integer>[] cardValues = new ArrayList[pgs.getNPlayers()];
-            int nCards = 0;
-            for (int i : winners) {
-                cardValues[i] = new ArrayList<>(hands.get(i));
-                cardValues[i].sort(Collections.reverseOrder());
-                nCards = cardValues[i].size();
-            }
-            for (int j = 0; j < nCards; j++) {
-                // Checking card by card, once one player is found the winner we break; could still be a tie
-                int maxValue = 0;
-                for (int i : winners) {
-                    if (cardValues[i].get(j) > maxValue) maxValue = cardValues[i].get(j);
-                }
-                HashSet<Integer> actualWinners = new HashSet<>();
-                for (int i : winners) {
-                    if (cardValues[i].get(j) == maxValue) actualWinners.add(i);
-                }
-                if (actualWinners.size() == 1 || j == nCards - 1) {
-                    return actualWinners;
-                }
-            }
+        if (bestValue == 0) return winners;
+        for (int i : pot.getPlayerContribution().keySet()) {
+            if (handValues[i] == bestValue) winners.add(i);
         }
         return winners;
     }
@@ -0,0 +1,154 @@
+package games.poker;
+
+import core.components.Deck;
+import core.components.FrenchCard;
+
+import static games.poker.PokerGameState.PokerHand.*;
+
+/**
+ * Ranks poker hands of any number of cards (normally 5 to 7) as a single int, without allocating.
+ * <p>
+ * The cards are held as a bitmask, with 16 bits for each suit and bit n of a suit set for a card of number n (2 to 14,
+ * with Ace as 14). The type of hand is then found with bitwise operations on the numbers of each suit. The best
+ * 5 cards are used, and an Ace can also count as 1 in a straight (5-4-3-2-A).
+ * <p>
+ * A higher value is a better hand. The value holds the type of hand, and then up to five card numbers to break ties,
+ * in order of importance (e.g. for TwoPair: the higher pair, the lower pair, and the kicker). Hands with equal values
+ * are tied.
+ */
+public class PokerHandEvaluator {
+
+    private static final int SUIT_BITS = 16;
+    private static final int RANKS = 0x7FFC;  // bits 2 to 14
+    private static final int ACE = 14;
+    private static final PokerGameState.PokerHand[] byCategory = new PokerGameState.PokerHand[11];
+
+    static {
+        for (PokerGameState.PokerHand hand : PokerGameState.PokerHand.values())
+            byCategory[category(hand)] = hand;
+    }
+
+    // HighCard is 1, up to RoyalFlush as 10
+    private static int category(PokerGameState.PokerHand hand) {
+        return 11 - hand.rank;
+    }
+
+    /**
+     * @return the bit for the card
+     */
+    public static long cardBit(FrenchCard card) {
+        return 1L << (card.suite.ordinal() * SUIT_BITS + card.number);
+    }
+
+    /**
+     * @return the bitmask of all the cards in the deck (masks of several decks can be combined with |)
+     */
+    public static long cardMask(Deck<FrenchCard> deck) {
+        long mask = 0;
+        for (int i = 0; i < deck.getSize(); i++)
+            mask |= cardBit(deck.get(i));
+        return mask;
+    }
+
+    /**
+     * @return the value of the best hand in the cards (as from cardMask()); higher is better
+     */
+    public static int evaluate(long cards) {
+        int s0 = (int) (cards & RANKS), s1 = (int) ((cards >>> SUIT_BITS) & RANKS),
+                s2 = (int) ((cards >>> (2 * SUIT_BITS)) & RANKS), s3 = (int) ((cards >>> (3 * SUIT_BITS)) & RANKS);
+        int all = s0 | s1 | s2 | s3;
+
+        int flush = Integer.bitCount(s0) >= 5 ? s0 : Integer.bitCount(s1) >= 5 ? s1 :
+                Integer.bitCount(s2) >= 5 ? s2 : Integer.bitCount(s3) >= 5 ? s3 : 0;
+        if (flush != 0) {
+            int high = straightHigh(flush);
+            if (high == ACE)
+                return value(RoyalFlush, ACE);
+            if (high != 0)
+                return value(StraightFlush, high);
+        }
+
+        // the numbers held at least twice, three times and four times
+        int pairs = (s0 & s1) | (s0 & s2) | (s0 & s3) | (s1 & s2) | (s1 & s3) | (s2 & s3);
+        int trips = (s0 & s1 & s2) | (s0 & s1 & s3) | (s0 & s2 & s3) | (s1 & s2 & s3);
+        int quads = s0 & s1 & s2 & s3;
+
+        if (quads != 0) {
+            int quad = highest(quads);
+            return kickers(value(FourOfAKind, quad), all & ~(1 << quad), 1, 1);
+        }
+        if (trips != 0) {
+            int trip = highest(trips);
+            int others = pairs & ~(1 << trip);
+            if (others != 0)
+                return value(FullHouse, trip, highest(others));
+        }
+        if (flush != 0)
+            return kickers(Flush, flush, 5);
+        int straight = straightHigh(all);
+        if (straight != 0)
+            return value(Straight, straight);
+        if (trips != 0) {
+            int trip = highest(trips);
+            return kickers(value(ThreeOfAKind, trip), all & ~(1 << trip), 2, 1);
+        }
+        if (pairs != 0) {
+            int high = highest(pairs);
+            int rest = pairs & ~(1 << high);
+            if (rest != 0) {
+                int low = highest(rest);
+                return kickers(value(TwoPair, high, low), all & ~(1 << high) & ~(1 << low), 1, 2);
+            }
+            return kickers(value(OnePair, high), all & ~(1 << high), 3, 1);
+        }
+        return kickers(HighCard, all, 5);
+    }
+
+    /**
+     * @return the type of hand with the given value
+     */
+    public static PokerGameState.PokerHand getHand(int value) {
+        return byCategory[value >>> 20];
+    }
+
+    /**
+     * @return the highest card of a straight in the numbers, or 0 if there is none
+     */
+    private static int straightHigh(int numbers) {
+        // an Ace also counts as 1
+        int withLowAce = numbers | ((numbers >>> ACE) & 1) << 1;
+        int runs = withLowAce & (withLowAce << 1) & (withLowAce << 2) & (withLowAce << 3) & (withLowAce << 4);
+        return runs == 0 ? 0 : highest(runs);
+    }
+
+    private static int highest(int numbers) {
+        return 31 - Integer.numberOfLeadingZeros(numbers);
+    }
+
+    /**
+     * The type of hand is in bits 20 and up, followed by up to five numbers of 4 bits each, the first in bits 16-19
+     */
+    private static int value(PokerGameState.PokerHand hand, int first) {
+        return category(hand) << 20 | first << 16;
+    }
+
+    private static int value(PokerGameState.PokerHand hand, int first, int second) {
+        return category(hand) << 20 | first << 16 | second << 12;
+    }
+
+    private static int kickers(PokerGameState.PokerHand hand, int numbers, int n) {
+        return kickers(category(hand) << 20, numbers, n, 0);
+    }
+
+    /**
+     * Adds the highest n of the numbers to the value, starting at position first
+     */
+    private static int kickers(int value, int numbers, int n, int first) {
+        for (int i = first; i < first + n && numbers != 0; i++) {
+            int high = highest(numbers);
+            value |= high << (16 - 4 * i);
+            numbers &= ~(1 << high);
+        }
+        return value;
+    }
+}
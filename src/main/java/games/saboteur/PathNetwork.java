@@ -0,0 +1,372 @@
+package games.saboteur;
+
+import games.saboteur.components.PathCard;
+import utilities.Vector2D;
+
+import java.util.*;
+
+/**
+ * Keeps track of which cards on the board are connected to the start card, and of the empty cells next to an open
+ * side of those cards (the options, where a path card may be placed), without walking the board after each card.
+ * <p>
+ * Cards with open sides facing each other are joined in a union-find structure (dead ends, the Edge cards, join
+ * nothing). Placing a card only joins it to its neighbours and updates the options around it. A rockfall can split
+ * the network, which a union-find cannot undo, so removing a card rebuilds the structure from the cards left; this
+ * is linear in the number of cards placed, rather than in the size of the board.
+ * <p>
+ * Each option also holds the sides that a card placed there must have open and closed to match its neighbours, so
+ * checking if a card fits is a single mask comparison.
+ * <p>
+ * Sides are as in PathCard: 0 up (y - 1), 1 down (y + 1), 2 left (x - 1), 3 right (x + 1); so the side opposite d
+ * is d ^ 1. A set of sides is a mask with bit d set for side d.
+ */
+public class PathNetwork
+{
+    private static final int[] dx = {0, 0, -1, 1};
+    private static final int[] dy = {-1, 1, 0, 0};
+
+    private final int width, height;
+    private int startSlot = -1;
+
+    // the cards on the board, in slots in the order they were placed
+    private int nCards;
+    private int[] cells;  // y * width + x
+    private int[] sides;
+    private boolean[] passable;
+    private int[] parent, rank;
+    private final Map<Integer, Integer> slots;  // from cell to slot
+
+    // the options, in no particular order
+    private int nOptions;
+    private int[] options;
+    private int[] constraints;  // bits 4-7: the sides next to a card, bits 0-3: those of them that must be open
+    private final Map<Integer, Integer> optionIndex;  // from cell to index in options
+
+    public PathNetwork(int width, int height)
+    {
+        this.width = width;
+        this.height = height;
+        cells = new int[16];
+        sides = new int[16];
+        passable = new boolean[16];
+        parent = new int[16];
+        rank = new int[16];
+        slots = new HashMap<>();
+        options = new int[16];
+        constraints = new int[16];
+        optionIndex = new HashMap<>();
+    }
+
+    private PathNetwork(PathNetwork other)
+    {
+        width = other.width;
+        height = other.height;
+        startSlot = other.startSlot;
+        nCards = other.nCards;
+        cells = other.cells.clone();
+        sides = other.sides.clone();
+        passable = other.passable.clone();
+        parent = other.parent.clone();
+        rank = other.rank.clone();
+        slots = new HashMap<>(other.slots);
+        nOptions = other.nOptions;
+        options = other.options.clone();
+        constraints = other.constraints.clone();
+        optionIndex = new HashMap<>(other.optionIndex);
+    }
+
+    public PathNetwork copy()
+    {
+        return new PathNetwork(this);
+    }
+
+    /**
+     * @return the open sides of the card, as a mask
+     */
+    public static int sides(PathCard card)
+    {
+        boolean[] directions = card.getDirections();
+        int retValue = 0;
+        for (int d = 0; d < 4; d++)
+        {
+            if (directions[d]) retValue |= 1 << d;
+        }
+        return retValue;
+    }
+
+    /**
+     * @return the sides after PathCard.rotate()
+     */
+    public static int rotate(int sides)
+    {
+        return (sides & 0b0101) << 1 | (sides & 0b1010) >> 1;
+    }
+
+    /**
+     * Adds a card to the network, which must match all the cards next to it
+     */
+    public void place(int x, int y, PathCard card)
+    {
+        int cell = y * width + x;
+        if (slots.containsKey(cell))
+            throw new IllegalArgumentException("There is already a card at (" + x + ", " + y + ")");
+        if (nCards == cells.length)
+        {
+            int size = nCards * 2;
+            cells = Arrays.copyOf(cells, size);
+            sides = Arrays.copyOf(sides, size);
+            passable = Arrays.copyOf(passable, size);
+            parent = Arrays.copyOf(parent, size);
+            rank = Arrays.copyOf(rank, size);
+        }
+        int slot = nCards++;
+        cells[slot] = cell;
+        sides[slot] = sides(card);
+        passable[slot] = card.type != PathCard.PathCardType.Edge;
+        parent[slot] = slot;
+        rank[slot] = 0;
+        slots.put(cell, slot);
+        if (card.type == PathCard.PathCardType.Start)
+            startSlot = slot;
+
+        removeOption(cell);
+        // options next to the card now have to match it
+        for (int d = 0; d < 4; d++)
+        {
+            int neighbour = neighbour(cell, d);
+            Integer index = neighbour == -1 ? null : optionIndex.get(neighbour);
+            if (index != null)
+                constraints[index] |= constraint(d ^ 1, sides[slot] >> d & 1);
+        }
+        if (!passable[slot])
+            return;
+
+        // if the card joins a part of the network that was cut off by a rockfall (or the start card joins anything),
+        // all of that part needs options as well, not just the new card
+        boolean joinsDetached = false;
+        for (int d = 0; d < 4; d++)
+        {
+            int other = linked(slot, d);
+            if (other == -1) continue;
+            joinsDetached |= !isConnected(other);
+            union(slot, other);
+        }
+        if (!isConnected(slot))
+            return;
+        if (joinsDetached)
+            addAllOptions();
+        else
+            addOptions(slot);
+    }
+
+    /**
+     * Removes a card from the network, as after a rockfall
+     */
+    public void remove(int x, int y)
+    {
+        Integer slot = slots.remove(y * width + x);
+        if (slot == null)
+            return;
+        // close the gap, keeping the others in order
+        int n = nCards - slot - 1;
+        System.arraycopy(cells, slot + 1, cells, slot, n);
+        System.arraycopy(sides, slot + 1, sides, slot, n);
+        System.arraycopy(passable, slot + 1, passable, slot, n);
+        nCards--;
+        for (int i = slot; i < nCards; i++)
+            slots.put(cells[i], i);
+        if (startSlot == slot)
+            startSlot = -1;
+        else if (startSlot > slot)
+            startSlot--;
+        rebuild();
+    }
+
+    private void rebuild()
+    {
+        for (int i = 0; i < nCards; i++)
+        {
+            parent[i] = i;
+            rank[i] = 0;
+        }
+        for (int i = 0; i < nCards; i++)
+        {
+            // each pair is found from both ends, so down and right are enough
+            for (int d = 1; d < 4; d += 2)
+            {
+                int other = linked(i, d);
+                if (other != -1)
+                    union(i, other);
+            }
+        }
+        optionIndex.clear();
+        nOptions = 0;
+        addAllOptions();
+    }
+
+    /**
+     * @return the slot of the card joined to the card in the slot through side d, or -1 if there is none
+     */
+    private int linked(int slot, int d)
+    {
+        if (!passable[slot] || (sides[slot] >> d & 1) == 0)
+            return -1;
+        int neighbour = neighbour(cells[slot], d);
+        Integer other = neighbour == -1 ? null : slots.get(neighbour);
+        if (other == null || !passable[other] || (sides[other] >> (d ^ 1) & 1) == 0)
+            return -1;
+        return other;
+    }
+
+    private int neighbour(int cell, int d)
+    {
+        int x = cell % width + dx[d], y = cell / width + dy[d];
+        if (x < 0 || y < 0 || x >= width || y >= height)
+            return -1;
+        return y * width + x;
+    }
+
+    private static int constraint(int side, int open)
+    {
+        return 1 << (4 + side) | open << side;
+    }
+
+    private int find(int slot)
+    {
+        while (parent[slot] != slot)
+        {
+            parent[slot] = parent[parent[slot]];
+            slot = parent[slot];
+        }
+        return slot;
+    }
+
+    private void union(int a, int b)
+    {
+        a = find(a);
+        b = find(b);
+        if (a == b) return;
+        if (rank[a] < rank[b])
+        {
+            int temp = a;
+            a = b;
+            b = temp;
+        }
+        parent[b] = a;
+        if (rank[a] == rank[b])
+            rank[a]++;
+    }
+
+    private boolean isConnected(int slot)
+    {
+        return startSlot != -1 && find(slot) == find(startSlot);
+    }
+
+    private void addAllOptions()
+    {
+        for (int i = 0; i < nCards; i++)
+        {
+            if (passable[i] && isConnected(i))
+                addOptions(i);
+        }
+    }
+
+    private void addOptions(int slot)
+    {
+        for (int d = 0; d < 4; d++)
+        {
+            if ((sides[slot] >> d & 1) == 0) continue;
+            int neighbour = neighbour(cells[slot], d);
+            if (neighbour != -1 && !slots.containsKey(neighbour) && !optionIndex.containsKey(neighbour))
+                addOption(neighbour);
+        }
+    }
+
+    private void addOption(int cell)
+    {
+        int constraint = 0;
+        for (int d = 0; d < 4; d++)
+        {
+            int neighbour = neighbour(cell, d);
+            Integer other = neighbour == -1 ? null : slots.get(neighbour);
+            if (other != null)
+                constraint |= constraint(d, sides[other] >> (d ^ 1) & 1);
+        }
+        if (nOptions == options.length)
+        {
+            options = Arrays.copyOf(options, nOptions * 2);
+            constraints = Arrays.copyOf(constraints, nOptions * 2);
+        }
+        options[nOptions] = cell;
+        constraints[nOptions] = constraint;
+        optionIndex.put(cell, nOptions++);
+    }
+
+    private void removeOption(int cell)
+    {
+        Integer index = optionIndex.remove(cell);
+        if (index == null)
+            return;
+        // move the last option into the gap
+        nOptions--;
+        if (index != nOptions)
+        {
+            options[index] = options[nOptions];
+            constraints[index] = constraints[nOptions];
+            optionIndex.put(options[index], index);
+        }
+    }
+
+    public int getNOptions()
+    {
+        return nOptions;
+    }
+
+    public int getOptionX(int index)
+    {
+        return options[index] % width;
+    }
+
+    public int getOptionY(int index)
+    {
+        return options[index] / width;
+    }
+
+    /**
+     * @param sides the open sides of a card, as from sides()
+     * @return true if a card with those sides matches all the cards next to option number index
+     */
+    public boolean fits(int index, int sides)
+    {
+        int constraint = constraints[index];
+        return (sides & constraint >> 4) == (constraint & 0xF);
+    }
+
+    public boolean isOption(int x, int y)
+    {
+        return optionIndex.containsKey(y * width + x);
+    }
+
+    public Set<Vector2D> getOptions()
+    {
+        Set<Vector2D> retValue = new LinkedHashSet<>();
+        for (int i = 0; i < nOptions; i++)
+            retValue.add(new Vector2D(getOptionX(i), getOptionY(i)));
+        return retValue;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) return true;
+        if (!(o instanceof PathNetwork that)) return false;
+        return width == that.width && height == that.height && slots.keySet().equals(that.slots.keySet())
+                && optionIndex.keySet().equals(that.optionIndex.keySet());
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(width, height, slots.keySet(), optionIndex.keySet());
+    }
+}
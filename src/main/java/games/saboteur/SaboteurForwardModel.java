@@ -83,7 +83,6 @@ public class SaboteurForwardModel extends StandardForwardModel {
     {
         resetBoard(sgs, sgp);
         resetDecks(sgs);
-        resetPathCardOptions(sgs);
         setupStartingHand(sgs, sgp);
     }
 
@@ -136,6 +135,8 @@ public class SaboteurForwardModel extends StandardForwardModel {
                 sgs.gridBoard.setElement(x, y, null);
             }
         }
+        sgs.pathNetwork = new PathNetwork(sgs.gridBoard.getWidth(), sgs.gridBoard.getHeight());
+        sgs.pathNetwork.place(sgs.centerOfGrid, sgs.centerOfGrid, (PathCard) sgs.gridBoard.getElement(sgs.centerOfGrid, sgs.centerOfGrid));
         resetGoals(sgs,sgp);
     }
 
@@ -151,6 +152,7 @@ public class SaboteurForwardModel extends StandardForwardModel {
             assert startingY <= sgs.gridBoard.getHeight(): "Placing Goal card out of bounds for Y";
             PathCard currentCard = (PathCard) goalCard;
             sgs.gridBoard.setElement(sgp.goalSpacingX + 1 + sgs.centerOfGrid, startingY + sgs.centerOfGrid, currentCard);
+            sgs.pathNetwork.place(sgp.goalSpacingX + 1 + sgs.centerOfGrid, startingY + sgs.centerOfGrid, currentCard);
             startingY -= (sgp.goalSpacingY + 1);
         }
     }
@@ -196,14 +198,6 @@ public class SaboteurForwardModel extends StandardForwardModel {
         });
     }
 
-    private void resetPathCardOptions(SaboteurGameState sgs)
-    {
-        sgs.pathCardOptions.clear();
-        sgs.pathCardOptions.add(new Vector2D(sgs.centerOfGrid + 1, sgs.centerOfGrid));
-        sgs.pathCardOptions.add(new Vector2D(sgs.centerOfGrid - 1, sgs.centerOfGrid));
-        sgs.pathCardOptions.add(new Vector2D(sgs.centerOfGrid, sgs.centerOfGrid + 1));
-        sgs.pathCardOptions.add(new Vector2D(sgs.centerOfGrid, sgs.centerOfGrid - 1));
-    }
     //endregion
 
     //region Compute Action Functions
@@ -251,100 +245,27 @@ public class SaboteurForwardModel extends StandardForwardModel {
         return actions;
     }
 
-    //Updates the map of possible path card locations and directions whenever a path card is placed
+    //Places the card at each option where it fits the cards around it, as it is and rotated
     private ArrayList<AbstractAction> computePathAction(PathCard card, SaboteurGameState sgs)
     {
-        //Check if card can fit into key pair value
-        //Rotate card, and recheck
-        //If it can fit
-            //Add new action to place card
         ArrayList<AbstractAction> actions = new ArrayList<>();
-        for(Vector2D location: sgs.pathCardOptions)
+        PathNetwork pathNetwork = sgs.pathNetwork;
+        int sides = PathNetwork.sides(card);
+        int rotatedSides = PathNetwork.rotate(sides);
+        for(int i = 0; i < pathNetwork.getNOptions(); i++)
         {
-            if(checkPathCardPlacement(card, sgs, location))
+            if(pathNetwork.fits(i, sides))
             {
-                actions.add(new PlacePathCard(sgs.gridBoard.getComponentID(), location.getX(), location.getY(), card.getComponentID(), false));
+                actions.add(new PlacePathCard(sgs.gridBoard.getComponentID(), pathNetwork.getOptionX(i), pathNetwork.getOptionY(i), card.getComponentID(), false));
             }
-
-            //check when its rotated
-            card.rotate();
-            if(checkPathCardPlacement(card, sgs, location))
+            if(pathNetwork.fits(i, rotatedSides))
             {
-                actions.add(new PlacePathCard(sgs.gridBoard.getComponentID(), location.getX(), location.getY(), card.getComponentID(), true));
+                actions.add(new PlacePathCard(sgs.gridBoard.getComponentID(), pathNetwork.getOptionX(i), pathNetwork.getOptionY(i), card.getComponentID(), true));
             }
-            card.rotate();
         }
         return actions;
     }
 
-    //Check if the path card can be placed at the location
-    private boolean checkPathCardPlacement(PathCard card, SaboteurGameState sgs, Vector2D location)
-    {
-        if (location.getX() < 0 || location.getY() < 0
-                || location.getX() >= ((SaboteurGameParameters)sgs.getGameParameters()).gridSize
-                || location.getY() >= ((SaboteurGameParameters)sgs.getGameParameters()).gridSize) return false;
-        boolean[] currentDirections = card.getDirections();
-        for(int i = 0 ; i < 4; i++)
-        {
-            Vector2D offset = getCardOffset(i);
-            int neighborX = location.getX() + offset.getX();
-            int neighborY = location.getY() + offset.getY();
-            PathCard neighborCard = (PathCard) sgs.gridBoard.getElement(neighborX, neighborY);
-            if(neighborCard == null)
-            {
-                continue;
-            }
-            boolean[] neighbourDirections = neighborCard.getDirections();
-            if(currentDirections[i] != neighbourDirections[neighborCard.getOppositeDirection(i)])
-            {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    //For when Rockfall card is played
-    //Recalculate all possible path card options via recursion
-    private void recalculatePathCardOptions(SaboteurGameState sgs)
-    {
-        sgs.pathCardOptions.clear();
-        PathCard currentCard = (PathCard) sgs.gridBoard.getElement(sgs.centerOfGrid, sgs.centerOfGrid);
-        Map<Vector2D, PathCard> previousCards = new HashMap<>();
-        previousCards.put(new Vector2D(sgs.centerOfGrid, sgs.centerOfGrid), currentCard);
-        recalculatePathCardOptionsRecursive(previousCards,sgs, new Vector2D(sgs.centerOfGrid, sgs.centerOfGrid));
-    }
-
-    private void recalculatePathCardOptionsRecursive(Map<Vector2D, PathCard> previousCards, SaboteurGameState sgs, Vector2D location)
-    {
-        PathCard currentCard = (PathCard) sgs.gridBoard.getElement(location.getX(), location.getY());
-        if(currentCard == null)
-        {
-            sgs.pathCardOptions.add(location);
-            return;
-        }
-        else if (currentCard.type == PathCard.PathCardType.Edge)
-        {
-            return;
-        }
-        else if (previousCards.containsKey(location) && previousCards.size() != 1)
-        {
-            return;
-        }
-        //check adjacent cards for path card
-        for(int i = 0; i < 4; i++)
-        {
-            Vector2D offset = getCardOffset(i);
-            int neighborX = location.getX() + offset.getX();
-            int neighborY = location.getY() + offset.getY();
-            PathCard neighbourCard = (PathCard) sgs.gridBoard.getElement(neighborX, neighborY);
-            if (currentCard.getDirections()[i] && neighbourCard != previousCards.get(location))
-            {
-                previousCards.put(new Vector2D(location.getX(), location.getY()), currentCard);
-                recalculatePathCardOptionsRecursive(previousCards, sgs, new Vector2D(neighborX, neighborY));
-            }
-        }
-    }
-
     //down, up, left, right as the grid is 0 starts on the top left
     //0,1,2,3,4,5,6
     //1
@@ -474,31 +395,6 @@ public class SaboteurForwardModel extends StandardForwardModel {
                     distributeMinerEarnings(sgs);
                 }
             }
-            Vector2D location = new Vector2D(currentPlacement.getX(), currentPlacement.getY());
-            PathCard currentCard = (PathCard) sgs.gridBoard.getElement(location.getX(), location.getY());
-            boolean[] directions = currentCard.getDirections();
-            //add available options
-            if(currentCard.type == PathCard.PathCardType.Path)
-            {
-                for(int i = 0; i < 4; i++)
-                {
-                    Vector2D offset = getCardOffset(i);
-                    int neighborX = location.getX() + offset.getX();
-                    int neighborY = location.getY() + offset.getY();
-                    if(sgs.gridBoard.getElement(neighborX, neighborY) == null && directions[i])
-                    {
-                        sgs.pathCardOptions.add(new Vector2D(neighborX, neighborY));
-                    }
-                    else if(sgs.gridBoard.getElement(neighborX, neighborY) != null && directions[i])
-                    {
-                        recalculatePathCardOptions(sgs);
-                    }
-                }
-            }
-        }
-        else if(action instanceof PlayRockFallCard)
-        {
-            recalculatePathCardOptions(sgs);
         }
         else if(action instanceof DoNothing)
         {
@@ -25,7 +25,7 @@ public class SaboteurGameState extends AbstractGameState
     PartialObservableGridBoard gridBoard;
     Deck<SaboteurCard> nuggetDeck;
 
-    Set<Vector2D> pathCardOptions;
+    PathNetwork pathNetwork;  // the cards connected to the start, and where path cards may be placed
     int centerOfGrid;
 
     int nOfMiners;
@@ -36,7 +36,6 @@ public class SaboteurGameState extends AbstractGameState
         super(parameters, nPlayers);
         playerDecks = new ArrayList<>();
         toolDeck = new ArrayList<>();
-        pathCardOptions = new HashSet<>();
         playerNuggetDecks = new ArrayList<>();
     }
 
@@ -78,11 +77,7 @@ public class SaboteurGameState extends AbstractGameState
         }
         copy.goalDeck = goalDeck.copy();
 
-        copy.pathCardOptions = new HashSet<>();
-        for(Vector2D pathCardOption : pathCardOptions)
-        {
-            copy.pathCardOptions.add(pathCardOption.copy());
-        }
+        copy.pathNetwork = pathNetwork.copy();
 
         copy.centerOfGrid = centerOfGrid;
         copy.nOfMiners = nOfMiners;
@@ -216,7 +211,11 @@ public class SaboteurGameState extends AbstractGameState
     }
 
     public Set<Vector2D> getPathCardOptions() {
-        return pathCardOptions;
+        return pathNetwork.getOptions();
+    }
+
+    public PathNetwork getPathNetwork() {
+        return pathNetwork;
     }
 
     public PartialObservableDeck<SaboteurCard> getRoleDeck() {
@@ -274,12 +273,12 @@ public class SaboteurGameState extends AbstractGameState
     public boolean _equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof SaboteurGameState that)) return false;
-        return centerOfGrid == that.centerOfGrid && nOfMiners == that.nOfMiners && nOfSaboteurs == that.nOfSaboteurs && Objects.equals(playerDecks, that.playerDecks) && Objects.equals(toolDeck, that.toolDeck) && Objects.equals(roleDeck, that.roleDeck) && Objects.equals(playerNuggetDecks, that.playerNuggetDecks) && Objects.equals(drawDeck, that.drawDeck) && Objects.equals(discardDeck, that.discardDeck) && Objects.equals(goalDeck, that.goalDeck) && Objects.equals(gridBoard, that.gridBoard) && Objects.equals(nuggetDeck, that.nuggetDeck) && Objects.equals(pathCardOptions, that.pathCardOptions);
+        return centerOfGrid == that.centerOfGrid && nOfMiners == that.nOfMiners && nOfSaboteurs == that.nOfSaboteurs && Objects.equals(playerDecks, that.playerDecks) && Objects.equals(toolDeck, that.toolDeck) && Objects.equals(roleDeck, that.roleDeck) && Objects.equals(playerNuggetDecks, that.playerNuggetDecks) && Objects.equals(drawDeck, that.drawDeck) && Objects.equals(discardDeck, that.discardDeck) && Objects.equals(goalDeck, that.goalDeck) && Objects.equals(gridBoard, that.gridBoard) && Objects.equals(nuggetDeck, that.nuggetDeck) && Objects.equals(pathNetwork, that.pathNetwork);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(playerDecks, toolDeck, roleDeck, playerNuggetDecks, drawDeck, discardDeck, goalDeck, gridBoard, nuggetDeck, pathCardOptions, centerOfGrid, nOfMiners, nOfSaboteurs);
+        return Objects.hash(playerDecks, toolDeck, roleDeck, playerNuggetDecks, drawDeck, discardDeck, goalDeck, gridBoard, nuggetDeck, pathNetwork, centerOfGrid, nOfMiners, nOfSaboteurs);
     }
 
 }
@@ -6,7 +6,6 @@ import core.components.Deck;
 import games.saboteur.SaboteurGameState;
 import games.saboteur.components.PathCard;
 import games.saboteur.components.SaboteurCard;
-import utilities.Vector2D;
 
 import java.util.Objects;
 
@@ -28,13 +27,19 @@ public class PlacePathCard extends SetGridValueAction
             pathCard.rotate();
         }
         sgs.getGridBoard().setElement(getX(), getY(), pathCard);
-        sgs.getPathCardOptions().remove(new Vector2D(getX(), getY()));
+        sgs.getPathNetwork().place(getX(), getY(), pathCard);
 
         Deck<SaboteurCard> currentDeck = sgs.getPlayerDecks().get(sgs.getCurrentPlayer());
         currentDeck.remove(pathCard);
         return true;
     }
 
+    @Override
+    public boolean isReversible() {
+        // this also changes the path network and the player's cards, which are not recorded for undo
+        return false;
+    }
+
     @Override
     public PlacePathCard copy() {
         return this;
@@ -17,6 +17,7 @@ public class PlayRockFallCard extends SetGridValueAction
     public boolean execute(AbstractGameState gs) {
         SaboteurGameState sgs = (SaboteurGameState) gs;
         sgs.getGridBoard().setElement(getX(), getY(), null);
+        sgs.getPathNetwork().remove(getX(), getY());
 
         Deck<SaboteurCard> currentDeck = sgs.getPlayerDecks().get(sgs.getCurrentPlayer());
         int idx = -1;
@@ -30,6 +31,12 @@ public class PlayRockFallCard extends SetGridValueAction
         sgs.getDiscardDeck().add(currentDeck.pick(idx));
         return true;
     }
+    @Override
+    public boolean isReversible() {
+        // this also changes the path network and the player's cards, which are not recorded for undo
+        return false;
+    }
+
     @Override
     public PlayRockFallCard copy() {
         return this;
@@ -1,13 +1,10 @@
 package games.stratego;
 
 import core.AbstractGameState;
-import core.components.BoardNode;
+import core.components.GridBoard;
 import core.interfaces.IStateFeatureVector;
 import games.stratego.components.Piece;
 
-import java.util.ArrayList;
-import java.util.List;
-
 public class StrategoFeatures implements IStateFeatureVector {
 
     @Override
@@ -22,64 +19,43 @@ public class StrategoFeatures implements IStateFeatureVector {
     // Value = Piece Type
     @Override
     public double[] featureVector(AbstractGameState state, int playerID) {
+        StrategoGameState sgs = (StrategoGameState) state;
+        double[] retValue = new double[sgs.gridBoard.getWidth() * sgs.gridBoard.getHeight()];
+        featureVector(state, playerID, retValue, 0);
+        return retValue;
+    }
+
+    @Override
+    public void featureVector(AbstractGameState state, int playerID, double[] target, int offset) {
         /* Scheme
         * 1 Unknown Player Piece (I don't think this ever happens)
         * 2 - 13 Player Piece Type
         * -1 Unknown Opponent Piece
         * -2 - -13 Opponent Piece Type
         * 0 Empty Space */
-        StrategoGameState sgs = (StrategoGameState) state;
-        List<BoardNode> pieces = sgs.gridBoard.getComponents();
-        List<Double> values = new ArrayList<>();
-        int changeSignRed = playerID == 0 ? 1 : -1;
-        int changeSignBlue = playerID == 0 ? -1 : 1;
-
-        for (BoardNode bn : pieces) {
-            Piece piece = (Piece) bn;
-            if (piece != null) {
-
-                // Player is Red
-                if (playerID == 0) {
-
-                    // Player Pieces
-                    if (piece.getPieceAlliance() == Piece.Alliance.RED) {
-                        values.add((double) ((piece.getPieceType().ordinal() + 1)));
-                    }
+        GridBoard board = ((StrategoGameState) state).gridBoard;
+        Piece.Alliance alliance = playerID == 0 ? Piece.Alliance.RED : Piece.Alliance.BLUE;
 
-                    // Opponent Piece is known
-                    else if (piece.getPieceAlliance() == Piece.Alliance.BLUE && piece.isPieceKnown()) {
-                        values.add((double) ((piece.getPieceType().ordinal() + 1) * changeSignBlue));
-                    }
-
-                    // Enemy Unknown
-                    else {
-                        values.add(-1.0);
-                    }
-                }
-
-                // Player is Blue
-                else if (playerID == 1) {
-                    if (piece.getPieceAlliance() == Piece.Alliance.BLUE) {
-                        values.add((double) ((piece.getPieceType().ordinal() + 1)));
-                    }
-
-                    // Opponent Piece is known
-                    else if (piece.getPieceAlliance() == Piece.Alliance.RED && piece.isPieceKnown()) {
-                        values.add((double) ((piece.getPieceType().ordinal() + 1) * changeSignRed));
-                    }
-
-                    // Enemy Unknown
-                    else {
-                        values.add(-1.0);
-                    }
-                }
-            }
+        // in the order of GridBoard.flattenGrid(), row by row
+        for (int i = 0; i < board.getWidth() * board.getHeight(); i++) {
+            Piece piece = (Piece) board.getElement(i % board.getWidth(), i / board.getWidth());
             // Empty Space
+            if (piece == null) {
+                target[offset + i] = 0.0;
+            }
+            // Player Pieces
+            else if (piece.getPieceAlliance() == alliance) {
+                target[offset + i] = piece.getPieceType().ordinal() + 1;
+            }
+            // Opponent Piece is known
+            else if (piece.isPieceKnown()) {
+                target[offset + i] = -(piece.getPieceType().ordinal() + 1);
+            }
+            // Enemy Unknown
             else {
-                values.add(0.0);
+                target[offset + i] = -1.0;
             }
         }
-        return values.stream().mapToDouble(Double::doubleValue).toArray();
     }
 
 }
@@ -86,6 +86,11 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         return GameType.TerraformingMars;
     }
 
+    @Override
+    protected boolean supportsStructuralSharing() {
+        return true;
+    }
+
     @Override
     protected List<Component> _getAllComponents() {
         return new ArrayList<Component>() {{
@@ -5,9 +5,6 @@ import core.interfaces.IStateFeatureJSON;
 import core.interfaces.IStateFeatureVector;
 import org.json.simple.JSONObject;
 
-import java.util.ArrayList;
-import java.util.List;
-
 public class TTTFeatures implements IStateFeatureVector, IStateFeatureJSON {
 
     @Override
@@ -23,13 +20,12 @@ public class TTTFeatures implements IStateFeatureVector, IStateFeatureJSON {
     public String getObservationJson(AbstractGameState gameState, int playerId) {
         JSONObject json = new JSONObject();
         TicTacToeGameState tttgs = (TicTacToeGameState) gameState;
-        String playerSymbol = (playerId == 0) ? "x" : "o";
-        for (int x = 0; x < tttgs.gridBoard.getWidth(); x++) {
-            for (int y = 0; y < tttgs.gridBoard.getHeight(); y++) {
-                String cellSymbol = tttgs.gridBoard.getElement(x, y).toString();
-                if (cellSymbol.equals(playerSymbol)) {
+        for (int x = 0; x < tttgs.getWidth(); x++) {
+            for (int y = 0; y < tttgs.getHeight(); y++) {
+                int owner = tttgs.getPlayerAt(x, y);
+                if (owner == playerId) {
                     json.put(x + "," + y, 1);
-                } else if (cellSymbol.equals(".")) {
+                } else if (owner == -1) {
                     json.put(x + "," + y, 0);
                 } else {
                     json.put(x + "," + y, -1);
@@ -42,21 +38,27 @@ public class TTTFeatures implements IStateFeatureVector, IStateFeatureJSON {
     @Override
     public double[] featureVector(AbstractGameState state, int playerID) {
         TicTacToeGameState tttgs = (TicTacToeGameState) state;
-        List<Double> listVec = new ArrayList<>();
-        String playerSymbol = (playerID == 0) ? "x" : "o";
-        for (int x = 0; x < tttgs.gridBoard.getWidth(); x++) {
-            for (int y = 0; y < tttgs.gridBoard.getHeight(); y++) {
-                String cellSymbol = tttgs.gridBoard.getElement(x, y).toString();
-                if (cellSymbol.equals(playerSymbol)) {
-                    listVec.add(1.0);
-                } else if (cellSymbol.equals(".")) {
-                    listVec.add(0.0);
+        double[] retValue = new double[tttgs.getWidth() * tttgs.getHeight()];
+        featureVector(state, playerID, retValue, 0);
+        return retValue;
+    }
+
+    @Override
+    public void featureVector(AbstractGameState state, int playerID, double[] target, int offset) {
+        TicTacToeGameState tttgs = (TicTacToeGameState) state;
+        int i = offset;
+        for (int x = 0; x < tttgs.getWidth(); x++) {
+            for (int y = 0; y < tttgs.getHeight(); y++) {
+                int owner = tttgs.getPlayerAt(x, y);
+                if (owner == playerID) {
+                    target[i++] = 1.0;
+                } else if (owner == -1) {
+                    target[i++] = 0.0;
                 } else {
-                    listVec.add(-1.0);
+                    target[i++] = -1.0;
                 }
             }
         }
-        return listVec.stream().mapToDouble(i -> i).toArray();
     }
 
 //    @Override
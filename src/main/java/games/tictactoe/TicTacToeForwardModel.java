@@ -5,11 +5,13 @@ import core.CoreConstants;
 import core.StandardForwardModel;
 import core.actions.AbstractAction;
 import core.actions.ActionSpace;
+import core.actions.SetBitboardValueAction;
 import core.actions.SetGridValueAction;
 import core.components.BoardNode;
 import core.components.GridBoard;
 import core.interfaces.ITreeActionSpace;
 import utilities.ActionTreeNode;
+import utilities.Bitboard;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -23,7 +25,11 @@ public class TicTacToeForwardModel extends StandardForwardModel implements ITree
         TicTacToeGameParameters tttgp = (TicTacToeGameParameters) firstState.getGameParameters();
         int gridSize = tttgp.gridSize;
         TicTacToeGameState state = (TicTacToeGameState) firstState;
-        state.gridBoard = new GridBoard(gridSize, gridSize, new BoardNode(TicTacToeConstants.emptyCell));
+        state.emptyBoard = new GridBoard(gridSize, gridSize, new BoardNode(TicTacToeConstants.emptyCell));
+        state.gridBoard = null;
+        state.tokens = new Bitboard[state.getNPlayers()];
+        for (int p = 0; p < state.tokens.length; p++)
+            state.tokens[p] = new Bitboard(gridSize, gridSize);
     }
 
 
@@ -39,10 +45,10 @@ public class TicTacToeForwardModel extends StandardForwardModel implements ITree
 
         if (gameState.isNotTerminal()){
             // Normal action space
-            for (int x = 0; x < tttgs.gridBoard.getWidth(); x++) {
-                for (int y = 0; y < tttgs.gridBoard.getHeight(); y++) {
-                    if (tttgs.gridBoard.getElement(x, y).getComponentName().equals(TicTacToeConstants.emptyCell)) {
-                        actions.add(new SetGridValueAction(tttgs.gridBoard.getComponentID(), x, y, TicTacToeConstants.playerMapping.get(player).getComponentID()));
+            for (int x = 0; x < tttgs.getWidth(); x++) {
+                for (int y = 0; y < tttgs.getHeight(); y++) {
+                    if (tttgs.getPlayerAt(x, y) == -1) {
+                        actions.add(move(tttgs, x, y, player));
                     }
                 }
             }
@@ -50,93 +56,69 @@ public class TicTacToeForwardModel extends StandardForwardModel implements ITree
         return actions;
         }
 
+    private SetBitboardValueAction move(TicTacToeGameState tttgs, int x, int y, int player) {
+        return new SetBitboardValueAction(tttgs.emptyBoard.getComponentID(), x, y, TicTacToeConstants.playerMapping.get(player).getComponentID(), player);
+    }
+
+    @Override
+    protected boolean supportsIndexedActions(AbstractGameState gameState) {
+        return true;
+    }
+
+    @Override
+    protected int _countAvailableActions(AbstractGameState gameState) {
+        TicTacToeGameState tttgs = (TicTacToeGameState) gameState;
+        if (!gameState.isNotTerminal())
+            return 0;
+        return tttgs.getWidth() * tttgs.getHeight() - tttgs.getTokenCount();
+    }
+
+    @Override
+    protected AbstractAction _getAvailableAction(AbstractGameState gameState, int index) {
+        TicTacToeGameState tttgs = (TicTacToeGameState) gameState;
+        int player = gameState.getCurrentPlayer();
+        int remaining = index;
+        for (int x = 0; x < tttgs.getWidth(); x++) {
+            for (int y = 0; y < tttgs.getHeight(); y++) {
+                if (tttgs.getPlayerAt(x, y) == -1) {
+                    if (remaining == 0)
+                        return move(tttgs, x, y, player);
+                    remaining--;
+                }
+            }
+        }
+        throw new IllegalArgumentException("No available action with index " + index);
+    }
+
     @Override
     protected void _afterAction(AbstractGameState currentState, AbstractAction action) {
-        if (checkAndProcessGameEnd((TicTacToeGameState) currentState)) {
+        if (checkAndProcessGameEnd((TicTacToeGameState) currentState, (SetGridValueAction) action)) {
             return;
         }
         endPlayerTurn(currentState);
     }
 
+    @Override
+    public boolean supportsUndo() {
+        // all game-specific changes are made by (reversible) actions
+        return true;
+    }
+
     /**
-     * Checks if the game ended.
+     * Checks if the game ended. Only the row, column and diagonals through the token just placed can have been
+     * completed by it; a line the length of the grid is one of these.
      *
      * @param gameState - game state to check game end.
+     * @param move - the token just placed.
      */
-    private boolean checkAndProcessGameEnd(TicTacToeGameState gameState) {
-        GridBoard gridBoard = gameState.getGridBoard();
-
-        // Check columns
-        for (int x = 0; x < gridBoard.getWidth(); x++) {
-            BoardNode c = gridBoard.getElement(x, 0);
-            if (c != null && !c.getComponentName().equals(TicTacToeConstants.emptyCell)) {
-                boolean win = true;
-                for (int y = 1; y < gridBoard.getHeight(); y++) {
-                    BoardNode o = gridBoard.getElement(x, y);
-                    if (o.getComponentName().equals(TicTacToeConstants.emptyCell) || !o.equals(c)) {
-                        win = false;
-                        break;
-                    }
-                }
-                if (win) {
-                    registerWinner(gameState, c);
-                    return true;
-                }
-            }
-        }
-
-        // Check rows
-        for (int y = 0; y < gridBoard.getHeight(); y++) {
-            BoardNode c = gridBoard.getElement(0, y);
-            if (!c.getComponentName().equals(TicTacToeConstants.emptyCell)) {
-                boolean win = true;
-                for (int x = 1; x < gridBoard.getWidth(); x++) {
-                    BoardNode o = gridBoard.getElement(x, y);
-                    if (o.getComponentName().equals(TicTacToeConstants.emptyCell) || !o.equals(c)) {
-                        win = false;
-                        break;
-                    }
-                }
-                if (win) {
-                    registerWinner(gameState, c);
-                    return true;
-                }
-            }
+    private boolean checkAndProcessGameEnd(TicTacToeGameState gameState, SetGridValueAction move) {
+        int player = gameState.getPlayerAt(move.getX(), move.getY());
+        if (gameState.tokens[player].longestLine(move.getX(), move.getY()) >= gameState.getWidth()) {
+            registerWinner(gameState, TicTacToeConstants.playerMapping.get(player));
+            return true;
         }
 
-        // Check diagonals
-        // Primary
-        BoardNode c = gridBoard.getElement(0, 0);
-        if (!c.getComponentName().equals(TicTacToeConstants.emptyCell)) {
-            boolean win = true;
-            for (int i = 1; i < gridBoard.getWidth(); i++) {
-                BoardNode o = gridBoard.getElement(i, i);
-                if (o.getComponentName().equals(TicTacToeConstants.emptyCell) || !o.equals(c)) {
-                    win = false;
-                }
-            }
-            if (win) {
-                registerWinner(gameState, c);
-                return true;
-            }
-        }
-
-        // Secondary
-        c = gridBoard.getElement(gridBoard.getWidth() - 1, 0);
-        if (!c.getComponentName().equals(TicTacToeConstants.emptyCell)) {
-            boolean win = true;
-            for (int i = 1; i < gridBoard.getWidth(); i++) {
-                BoardNode o = gridBoard.getElement(gridBoard.getWidth() - 1 - i, i);
-                if (o.getComponentName().equals(TicTacToeConstants.emptyCell) || !o.equals(c)) {
-                    win = false;
-                }
-            }
-            if (win) {
-                registerWinner(gameState, c);
-                return true;
-            }
-        }
-        boolean tie = gridBoard.getComponents().stream().noneMatch(t -> t.getComponentName().equals(TicTacToeConstants.emptyCell));
+        boolean tie = gameState.getTokenCount() == gameState.getWidth() * gameState.getHeight();
 
         if (tie) {
             gameState.setGameStatus(CoreConstants.GameResult.DRAW_GAME);
@@ -159,7 +141,7 @@ public class TicTacToeForwardModel extends StandardForwardModel implements ITree
     }
 
     public ActionTreeNode initActionTree(AbstractGameState gameState){
-        int gridSize = ((TicTacToeGameState) gameState).gridBoard.getWidth();
+        int gridSize = ((TicTacToeGameState) gameState).getWidth();
         ActionTreeNode root = new ActionTreeNode(0, "root");
         for (int x = 0; x < gridSize; x++) {
             ActionTreeNode xNode = root.addChild(0, "X" + x);
@@ -174,13 +156,13 @@ public class TicTacToeForwardModel extends StandardForwardModel implements ITree
 
         TicTacToeGameState tttgs = (TicTacToeGameState) gameState;
         int player = tttgs.getCurrentPlayer();
-        for (int x = 0; x < tttgs.gridBoard.getWidth(); x++) {
+        for (int x = 0; x < tttgs.getWidth(); x++) {
             ActionTreeNode xNode = root.findChildrenByName("X" + x);
-            for (int y = 0; y < tttgs.gridBoard.getHeight(); y++) {
+            for (int y = 0; y < tttgs.getHeight(); y++) {
                 ActionTreeNode yNode = xNode.findChildrenByName("Y" + y);
-                if (tttgs.gridBoard.getElement(x, y).getComponentName().equals(TicTacToeConstants.emptyCell)) {
+                if (tttgs.getPlayerAt(x, y) == -1) {
                     xNode.setValue(1); // make sure that we set parent available
-                    yNode.setAction(new SetGridValueAction(tttgs.gridBoard.getComponentID(), x, y, TicTacToeConstants.playerMapping.get(player).getComponentID()));
+                    yNode.setAction(move(tttgs, x, y, player));
                 }
             }
         }
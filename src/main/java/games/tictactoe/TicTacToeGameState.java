@@ -2,20 +2,27 @@ package games.tictactoe;
 
 import core.AbstractGameState;
 import core.AbstractParameters;
-import core.components.BoardNode;
+import core.components.BitboardGridBoard;
 import core.components.Component;
 import core.components.GridBoard;
-import core.interfaces.IGridGameState;
+import core.interfaces.IBitboardGameState;
 import core.interfaces.IPrintable;
 import games.GameType;
+import utilities.Bitboard;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
 
-public class TicTacToeGameState extends AbstractGameState implements IPrintable, IGridGameState {
+public class TicTacToeGameState extends AbstractGameState implements IPrintable, IBitboardGameState {
 
+    // The tokens of each player
+    Bitboard[] tokens;
+    // An empty board, shared by all copies, from which gridBoard is built (with the same component ID)
+    GridBoard emptyBoard;
+    // The tokens as a GridBoard, built from the bitboards when first needed; changes to either are passed to the other
     GridBoard gridBoard;
 
     public TicTacToeGameState(AbstractParameters gameParameters, int nPlayers) {
@@ -30,7 +37,7 @@ public class TicTacToeGameState extends AbstractGameState implements IPrintable,
     @Override
     protected List<Component> _getAllComponents() {
         return new ArrayList<>() {{
-            add(gridBoard);
+            add(getGridBoard());
             addAll(TicTacToeConstants.playerMapping);
         }};
     }
@@ -38,7 +45,10 @@ public class TicTacToeGameState extends AbstractGameState implements IPrintable,
     @Override
     protected TicTacToeGameState _copy(int playerId) {
         TicTacToeGameState s = new TicTacToeGameState(gameParameters.copy(), getNPlayers());
-        s.gridBoard = gridBoard.copy();
+        s.tokens = new Bitboard[tokens.length];
+        for (int p = 0; p < tokens.length; p++)
+            s.tokens[p] = tokens[p].copy();
+        s.emptyBoard = emptyBoard;
         return s;
     }
 
@@ -61,21 +71,53 @@ public class TicTacToeGameState extends AbstractGameState implements IPrintable,
     /**
      * This returns the player id of the token at the given position. Or -1 if this is empty.
      */
+    @Override
     public int getPlayerAt(int x, int y) {
-        BoardNode token = gridBoard.getElement(x, y);
-        return token == null ? -1 : token.getOwnerId();
+        for (int p = 0; p < tokens.length; p++)
+            if (tokens[p].get(x, y)) return p;
+        return -1;
+    }
+
+    @Override
+    public Bitboard getTokens(int player) {
+        return tokens[player];
+    }
+
+    @Override
+    public void placeToken(int x, int y, int player) {
+        tokens[player].set(x, y);
+        if (gridBoard != null)
+            gridBoard.setElement(x, y, TicTacToeConstants.playerMapping.get(player));
+    }
+
+    @Override
+    public void removeToken(int x, int y) {
+        for (Bitboard playerTokens : tokens)
+            playerTokens.clear(x, y);
+        if (gridBoard != null)
+            gridBoard.setElement(x, y, emptyBoard.getElement(x, y));
+    }
+
+    /**
+     * @return the number of tokens on the board
+     */
+    public int getTokenCount() {
+        int retValue = 0;
+        for (Bitboard playerTokens : tokens)
+            retValue += playerTokens.count();
+        return retValue;
     }
 
     @Override
     protected boolean _equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof TicTacToeGameState that)) return false;
-        return Objects.equals(gridBoard, that.gridBoard);
+        return Arrays.equals(tokens, that.tokens);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), gridBoard);
+        return Objects.hash(super.hashCode(), Arrays.hashCode(tokens));
     }
     @Override
     public String toString() {
@@ -83,17 +125,29 @@ public class TicTacToeGameState extends AbstractGameState implements IPrintable,
                 Objects.hash(getAllComponents()) + "|" +
                 Objects.hash(gameStatus) + "|" +
                 Objects.hash(gamePhase) + "|*|" +
-                Objects.hash(gridBoard);
+                Arrays.hashCode(tokens);
     }
 
     @Override
     public GridBoard getGridBoard() {
+        if (gridBoard == null)
+            gridBoard = new BitboardGridBoard(emptyBoard, this, TicTacToeConstants.playerMapping);
         return gridBoard;
     }
 
+    @Override
+    public int getWidth() {
+        return emptyBoard.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return emptyBoard.getHeight();
+    }
+
     @Override
     public void printToConsole() {
-        System.out.println(gridBoard.toString());
+        System.out.println(getGridBoard().toString());
     }
 
 }
@@ -2,7 +2,6 @@ package games.tictactoe;
 
 import core.AbstractGameState;
 import core.CoreConstants;
-import core.components.BoardNode;
 import core.interfaces.IStateHeuristic;
 import evaluation.optimisation.TunableParameters;
 import utilities.Pair;
@@ -35,26 +34,25 @@ public class TicTacToeHeuristic extends TunableParameters implements IStateHeuri
         }
 
         // Count how many lines of player characters + rest empty, the more player characters the better
-        int[] nPlayer = new int[ttgs.gridBoard.getWidth()];
-        int[] nOpponent = new int[ttgs.gridBoard.getWidth()];
+        // (read from the bitboards of the state, so that the GridBoard does not need to be built)
+        int[] nPlayer = new int[ttgs.getWidth()];
+        int[] nOpponent = new int[ttgs.getWidth()];
 
         double nTotalCount = nPlayer.length * 2 + 2;  // N rows + N columns + 2 diagonals
 
-        BoardNode playerChar = TicTacToeConstants.playerMapping.get(playerId);
-
         // Check columns
-        for (int x = 0; x < ttgs.gridBoard.getWidth(); x++){
-            addCounts(countColumns(ttgs, x, playerChar), nPlayer, nOpponent);
+        for (int x = 0; x < ttgs.getWidth(); x++){
+            addCounts(countColumns(ttgs, x, playerId), nPlayer, nOpponent);
         }
         // Check rows
-        for (int y = 0; y < ttgs.gridBoard.getHeight(); y++){
-            addCounts(countRows(ttgs, y, playerChar), nPlayer, nOpponent);
+        for (int y = 0; y < ttgs.getHeight(); y++){
+            addCounts(countRows(ttgs, y, playerId), nPlayer, nOpponent);
         }
         // Check diagonals
         // Primary
-        addCounts(countPrimaryDiagonal(ttgs, playerChar), nPlayer, nOpponent);
+        addCounts(countPrimaryDiagonal(ttgs, playerId), nPlayer, nOpponent);
         // Secondary
-        addCounts(countSecondaryDiagonal(ttgs, playerChar), nPlayer, nOpponent);
+        addCounts(countSecondaryDiagonal(ttgs, playerId), nPlayer, nOpponent);
 
         // Calculate scores, the more characters for player, the higher the weight
         double pScore = 0, oppScore = 0;
@@ -66,42 +64,42 @@ public class TicTacToeHeuristic extends TunableParameters implements IStateHeuri
         return pScore * FACTOR_PLAYER + oppScore * FACTOR_OPPONENT;
     }
 
-    private Pair<Integer, Integer> countColumns(TicTacToeGameState ttgs, int column, BoardNode playerChar) {
+    private Pair<Integer, Integer> countColumns(TicTacToeGameState ttgs, int column, int playerId) {
         Pair<Integer, Integer> count = new Pair<>(0, 0);
-        for (int y = 0; y < ttgs.gridBoard.getHeight(); y++) {
-            checkChar(count, playerChar, ttgs.gridBoard.getElement(column, y));
+        for (int y = 0; y < ttgs.getHeight(); y++) {
+            checkChar(count, playerId, ttgs.getPlayerAt(column, y));
         }
         return count;
     }
 
-    private Pair<Integer, Integer> countRows(TicTacToeGameState ttgs, int row, BoardNode playerChar) {
+    private Pair<Integer, Integer> countRows(TicTacToeGameState ttgs, int row, int playerId) {
         Pair<Integer, Integer> count = new Pair<>(0, 0);
-        for (int x = 0; x < ttgs.gridBoard.getWidth(); x++) {
-            checkChar(count, playerChar, ttgs.gridBoard.getElement(x, row));
+        for (int x = 0; x < ttgs.getWidth(); x++) {
+            checkChar(count, playerId, ttgs.getPlayerAt(x, row));
         }
         return count;
     }
 
-    private Pair<Integer, Integer> countPrimaryDiagonal(TicTacToeGameState ttgs, BoardNode playerChar) {
+    private Pair<Integer, Integer> countPrimaryDiagonal(TicTacToeGameState ttgs, int playerId) {
         Pair<Integer, Integer> count = new Pair<>(0, 0);
-        for (int x = 0; x < ttgs.gridBoard.getWidth(); x++) {
-            checkChar(count, playerChar, ttgs.gridBoard.getElement(x, x));
+        for (int x = 0; x < ttgs.getWidth(); x++) {
+            checkChar(count, playerId, ttgs.getPlayerAt(x, x));
         }
         return count;
     }
 
-    private Pair<Integer, Integer> countSecondaryDiagonal(TicTacToeGameState ttgs, BoardNode playerChar) {
+    private Pair<Integer, Integer> countSecondaryDiagonal(TicTacToeGameState ttgs, int playerId) {
         Pair<Integer, Integer> count = new Pair<>(0, 0);
-        for (int x = 0; x < ttgs.gridBoard.getWidth(); x++) {
-            checkChar(count, playerChar, ttgs.gridBoard.getElement(ttgs.gridBoard.getWidth()-1-x, x));
+        for (int x = 0; x < ttgs.getWidth(); x++) {
+            checkChar(count, playerId, ttgs.getPlayerAt(ttgs.getWidth()-1-x, x));
         }
         return count;
     }
 
-    private void checkChar(Pair<Integer, Integer> count, BoardNode playerChar, BoardNode c) {
-        if (c.equals(playerChar)) {
+    private void checkChar(Pair<Integer, Integer> count, int playerId, int owner) {
+        if (owner == playerId) {
             count.a ++;
-        } else if (!c.getComponentName().equals(" ")) {
+        } else if (owner != -1) {
             count.b ++;
         }
     }
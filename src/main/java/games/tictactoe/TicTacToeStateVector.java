@@ -1,10 +1,8 @@
 package games.tictactoe;
 
 import core.AbstractGameState;
-import core.components.Token;
 import core.interfaces.IStateFeatureVector;
 
-import java.util.Arrays;
 import java.util.stream.IntStream;
 
 public class TicTacToeStateVector implements IStateFeatureVector {
@@ -17,19 +15,22 @@ public class TicTacToeStateVector implements IStateFeatureVector {
     @Override
     public double[] featureVector(AbstractGameState gs, int playerID) {
         TicTacToeGameState state = (TicTacToeGameState) gs;
-        String playerChar = TicTacToeConstants.playerMapping.get(playerID).getComponentName();
+        double[] retValue = new double[state.getWidth() * state.getHeight()];
+        featureVector(gs, playerID, retValue, 0);
+        return retValue;
+    }
 
-        return Arrays.stream(state.gridBoard.flattenGrid()).mapToDouble(c -> {
-            String pos = c.getComponentName();
-            if (pos.equals(playerChar)) {
-                return 1.0;
-            } else if (pos.equals(TicTacToeConstants.emptyCell)) {
-                return 0.0;
-            } else { // opponent's piece
-                return -1.0;
+    @Override
+    public void featureVector(AbstractGameState gs, int playerID, double[] target, int offset) {
+        TicTacToeGameState state = (TicTacToeGameState) gs;
+        // row by row, as GridBoard.flattenGrid()
+        int i = offset;
+        for (int y = 0; y < state.getHeight(); y++) {
+            for (int x = 0; x < state.getWidth(); x++) {
+                int owner = state.getPlayerAt(x, y);
+                target[i++] = owner == -1 ? 0.0 : owner == playerID ? 1.0 : -1.0;  // -1 for the opponent's piece
             }
-        }).toArray();
-
+        }
     }
 
     @Override
@@ -102,7 +102,7 @@ public class ToadParameters extends TunableParameters {
 
     @Override
     protected boolean _equals(Object o) {
-        return (o instanceof ToadParameters) && super.equals(o);
+        return o instanceof ToadParameters;
     }
 
     @Override
@@ -339,8 +339,10 @@ public class UnoForwardModel extends StandardForwardModel {
         int player = ugs.getCurrentPlayer();
 
         Deck<UnoCard> playerHand = ugs.playerDecks.get(player);
-        for (UnoCard card : playerHand.getComponents()) {
-            int cardIdx = playerHand.getComponents().indexOf(card);
+        // cards are only equal to themselves, so the position in the hand is the index of the card
+        List<UnoCard> cards = playerHand.getComponents();
+        for (int cardIdx = 0; cardIdx < cards.size(); cardIdx++) {
+            UnoCard card = cards.get(cardIdx);
             if (card.isPlayable(ugs)) {
                 if (ugs.isWildCard(card)) {
                     for (String color : ((UnoGameParameters) ugs.getGameParameters()).colors) {
@@ -358,5 +360,48 @@ public class UnoForwardModel extends StandardForwardModel {
 
         return actions;
     }
+
+    @Override
+    protected boolean supportsIndexedActions(AbstractGameState gameState) {
+        return true;
+    }
+
+    @Override
+    protected int _countAvailableActions(AbstractGameState gameState) {
+        UnoGameState ugs = (UnoGameState) gameState;
+        int nColors = ((UnoGameParameters) ugs.getGameParameters()).colors.length;
+        int count = 0;
+        List<UnoCard> cards = ugs.playerDecks.get(ugs.getCurrentPlayer()).getComponents();
+        for (int i = 0; i < cards.size(); i++) {
+            UnoCard card = cards.get(i);
+            if (card.isPlayable(ugs))
+                count += ugs.isWildCard(card) ? nColors : 1;
+        }
+        return Math.max(count, 1);  // NoCards if nothing can be played
+    }
+
+    @Override
+    protected AbstractAction _getAvailableAction(AbstractGameState gameState, int index) {
+        UnoGameState ugs = (UnoGameState) gameState;
+        String[] colors = ((UnoGameParameters) ugs.getGameParameters()).colors;
+        Deck<UnoCard> playerHand = ugs.playerDecks.get(ugs.getCurrentPlayer());
+        int remaining = index;
+        List<UnoCard> cards = playerHand.getComponents();
+        for (int cardIdx = 0; cardIdx < cards.size(); cardIdx++) {
+            UnoCard card = cards.get(cardIdx);
+            if (card.isPlayable(ugs)) {
+                int n = ugs.isWildCard(card) ? colors.length : 1;
+                if (remaining < n) {
+                    return ugs.isWildCard(card) ?
+                            new PlayCard(playerHand.getComponentID(), ugs.discardDeck.getComponentID(), cardIdx, colors[remaining]) :
+                            new PlayCard(playerHand.getComponentID(), ugs.discardDeck.getComponentID(), cardIdx);
+                }
+                remaining -= n;
+            }
+        }
+        if (index == 0)
+            return new NoCards();
+        throw new IllegalArgumentException("No available action with index " + index);
+    }
 }
 
@@ -49,7 +49,8 @@ public class NoCards extends AbstractAction implements IPrintable {
 
     @Override
     public AbstractAction copy() {
-        return new NoCards();
+        // no state, so no need to copy
+        return this;
     }
 
     @Override
@@ -1,6 +1,8 @@
 package players.learners;
 
 import core.interfaces.ILearner;
+import evaluation.loggers.BinaryStatsLogger;
+import evaluation.loggers.BinaryStatsReader;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
@@ -60,10 +62,19 @@ public abstract class AbstractLearner implements ILearner {
     protected void loadData(String... files) {
         List<double[]> data = new ArrayList<>();
         for (String file : files) {
+            if (file.endsWith(BinaryStatsLogger.EXTENSION)) {
+                // the columnar files are memory-mapped, and need no parsing
+                try (BinaryStatsReader reader = new BinaryStatsReader(file)) {
+                    header = reader.getColumnNames();
+                    data.addAll(Arrays.asList(reader.readRows()));
+                } catch (IOException e) {
+                    e.printStackTrace();
+                    throw new AssertionError("Problem reading file " + file);
+                }
+                continue;
+            }
             try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
                 header = reader.readLine().split("\\t");
-                descriptions = new String[header.length - 11];
-                System.arraycopy(header, 5, descriptions, 0, descriptions.length);
                 while (reader.ready()) {
                     double[] datum = Arrays.stream(reader.readLine().split("\\t")).mapToDouble(Double::parseDouble).toArray();
                     data.add(datum);
@@ -77,6 +88,9 @@ public abstract class AbstractLearner implements ILearner {
             }
         }
 
+        descriptions = new String[header.length - 11];
+        System.arraycopy(header, 5, descriptions, 0, descriptions.length);
+
         // now convert data to [][]
         // we assume (for the moment) that the columns are: GameID, Player, Round, Turn, CurrentScore... Win, Ordinal, FinalScore
         // with ... representing the game specific features
@@ -0,0 +1,171 @@
+package players.mcts;
+
+import core.actions.AbstractAction;
+import utilities.Pair;
+
+/**
+ * The MAST statistics of one player: the number of visits and the total value for each action (or action key).
+ * <p>
+ * This is an open-addressing hash table with the visits and values held in parallel primitive arrays, so that
+ * updating an action that is already in the table neither boxes nor allocates.
+ */
+public class MASTTable {
+
+    private Object[] keys;
+    private int[] hashes;
+    private int[] visits;
+    private double[] totals;
+    private int size;
+
+    public MASTTable() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize the number of keys the table can hold before it needs to grow
+     */
+    public MASTTable(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        keys = new Object[capacity];
+        hashes = new int[capacity];
+        visits = new int[capacity];
+        totals = new double[capacity];
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * @return the slot holding key, or -(slot + 1) for the empty slot where it would go
+     */
+    private int find(Object key, int hash) {
+        int mask = keys.length - 1;
+        int slot = hash & mask;
+        while (keys[slot] != null) {
+            if (hashes[slot] == hash && keys[slot].equals(key))
+                return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -(slot + 1);
+    }
+
+    private int insert(Object key, int hash, int emptySlot) {
+        if ((size + 1) * 2 > keys.length) {
+            grow();
+            emptySlot = -(find(key, hash) + 1);
+        }
+        keys[emptySlot] = key;
+        hashes[emptySlot] = hash;
+        size++;
+        return emptySlot;
+    }
+
+    private void grow() {
+        Object[] oldKeys = keys;
+        int[] oldHashes = hashes, oldVisits = visits;
+        double[] oldTotals = totals;
+        int capacity = oldKeys.length * 2;
+        keys = new Object[capacity];
+        hashes = new int[capacity];
+        visits = new int[capacity];
+        totals = new double[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == null) continue;
+            int slot = -(find(oldKeys[i], oldHashes[i]) + 1);
+            keys[slot] = oldKeys[i];
+            hashes[slot] = oldHashes[i];
+            visits[slot] = oldVisits[i];
+            totals[slot] = oldTotals[i];
+        }
+    }
+
+    /**
+     * Adds one visit with the given value. The key is stored as it is if it is new to the table.
+     */
+    public void update(Object key, double value) {
+        int hash = hash(key);
+        int slot = find(key, hash);
+        if (slot < 0)
+            slot = insert(key, hash, -(slot + 1));
+        visits[slot]++;
+        totals[slot] += value;
+    }
+
+    /**
+     * As update(), but if the action is new to the table a copy of it is stored, as actions may be mutable.
+     */
+    public void updateAction(AbstractAction action, double value) {
+        int hash = hash(action);
+        int slot = find(action, hash);
+        if (slot < 0)
+            slot = insert(action.copy(), hash, -(slot + 1));
+        visits[slot]++;
+        totals[slot] += value;
+    }
+
+    public boolean containsKey(Object key) {
+        return find(key, hash(key)) >= 0;
+    }
+
+    public int getVisits(Object key) {
+        int slot = find(key, hash(key));
+        return slot < 0 ? 0 : visits[slot];
+    }
+
+    public double getTotal(Object key) {
+        int slot = find(key, hash(key));
+        return slot < 0 ? 0.0 : totals[slot];
+    }
+
+    /**
+     * @return the mean value of key, or defaultValue if it has no visits
+     */
+    public double getMean(Object key, double defaultValue) {
+        int slot = find(key, hash(key));
+        if (slot < 0 || visits[slot] == 0)
+            return defaultValue;
+        return totals[slot] / visits[slot];
+    }
+
+    /**
+     * @return the (visits, total value) of key, or null if it is not in the table. This allocates, and is
+     * intended for inspection rather than for use during search.
+     */
+    public Pair<Integer, Double> get(Object key) {
+        int slot = find(key, hash(key));
+        return slot < 0 ? null : new Pair<>(visits[slot], totals[slot]);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a new table with the statistics decayed by gamma, as in Utils.decay()
+     * (if gamma is not in [0, 1) the statistics are unchanged)
+     */
+    public MASTTable decay(double gamma) {
+        MASTTable retValue = copy();
+        if (gamma < 1.0 && gamma >= 0.0) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == null || visits[i] == 0) continue;
+                int newCount = (int) (visits[i] * gamma);
+                retValue.totals[i] = totals[i] * newCount / visits[i];
+                retValue.visits[i] = newCount;
+            }
+        }
+        return retValue;
+    }
+
+    public MASTTable copy() {
+        MASTTable retValue = new MASTTable(1);
+        retValue.keys = keys.clone();
+        retValue.hashes = hashes.clone();
+        retValue.visits = visits.clone();
+        retValue.totals = totals.clone();
+        retValue.size = size;
+        return retValue;
+    }
+}
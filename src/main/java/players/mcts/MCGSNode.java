@@ -98,6 +98,18 @@ public class MCGSNode extends SingleTreeNode {
         super.advanceState(gs, act, inRollout);
     }
 
+    @Override
+    protected int subtreeSize() {
+        // the graph can contain cycles, so we count the nodes in the transposition table rather than recursing
+        return transpositionMap.size();
+    }
+
+    @Override
+    protected void boundTreeSize() {
+        // maxTreeNodes is not supported, as nodes can be reached by more than one path (and are referenced
+        // from the transposition table), so we cannot remove a subtree cleanly
+    }
+
     @Override
     protected void resetDepth(SingleTreeNode unusedArgument) {
         int depthDelta = depth;
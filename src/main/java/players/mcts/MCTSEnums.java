@@ -34,6 +34,21 @@ public class MCTSEnums {
         // even if the best action was taken (this down-weights the actual observed reward from that iteration.)
     }
 
+    public enum ParallelMode {
+        None, Root, Determinisation
+        // Root runs one independent tree per thread (each with its own Random and rollout/opponent policies),
+        // and the root statistics of all trees are merged when the decision is made (see RootMerge)
+        // Determinisation (ensemble ISMCTS) is as Root, but each tree searches a single determinisation of the state,
+        // sampled up front from the information set of the deciding player (one per thread)
+    }
+
+    public enum RootMerge {
+        Visits, Votes
+        // Visits sums the visits and total values of each root action over all trees, and then applies the selectionPolicy
+        // Votes gives each tree one vote for its own bestAction(), with ties broken by the summed visits.
+        // Votes is the natural choice for stochastic final policies (EXP3, RegretMatching)
+    }
+
     public enum RolloutIncrement {
         TICK, TURN, ROUND
         // Determine which event will trigger an increment on the rolloutDepth counter.
@@ -15,6 +15,11 @@ public class MCTSMetrics implements IMetricsCollection {
 
     public static class TreeStats extends AbstractMetric {
 
+        @Override
+        public boolean requiresLiveGame() {
+            return true;
+        }
+
         @Override
         protected boolean _run(MetricsGameListener listener, Event e, Map<String, Object> records) {
             AbstractPlayer player = listener.getGame().getPlayers().get(e.state.getCurrentPlayer());
@@ -92,6 +97,11 @@ public class MCTSMetrics implements IMetricsCollection {
 
     public static class MultiTreeStats extends AbstractMetric {
 
+        @Override
+        public boolean requiresLiveGame() {
+            return true;
+        }
+
         @Override
         protected boolean _run(MetricsGameListener listener, Event e, Map<String, Object> records) {
             AbstractPlayer player = listener.getGame().getPlayers().get(e.state.getCurrentPlayer());
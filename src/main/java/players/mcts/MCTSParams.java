@@ -75,6 +75,15 @@ public class MCTSParams extends PlayerParameters {
     public double backupLambda = 1.0;
     public int maxBackupThreshold = 1000000;
     public Class<?> instantiationClass;
+    public MCTSEnums.ParallelMode parallelMode = MCTSEnums.ParallelMode.None;
+    public int parallelThreads = 1;  // only used if parallelMode != None
+    public MCTSEnums.RootMerge rootMerge = MCTSEnums.RootMerge.Visits;
+    // random rollouts pick actions directly from the forward model, without creating the list of all actions
+    // (see AbstractForwardModel.randomAvailableAction()). This does not change the actions chosen.
+    public boolean fastRandomRollouts = true;
+    // the maximum number of nodes in the tree (per player tree with MultiTree); zero for no limit. When this is
+    // exceeded the least visited nodes are removed, and re-used for new nodes. Not supported with MCGS.
+    public int maxTreeNodes = 0;
 
     public MCTSParams() {
         addTunableParameter("K", Math.sqrt(2), Arrays.asList(0.0, 0.1, 1.0, Math.sqrt(2), 3.0, 10.0));
@@ -124,6 +133,11 @@ public class MCTSParams extends PlayerParameters {
         addTunableParameter("backupLambda", 1.0);
         addTunableParameter("maxBackupThreshold", 1000000);
         addTunableParameter("instantiationClass", "players.mcts.MCTSPlayer");
+        addTunableParameter("parallelMode", MCTSEnums.ParallelMode.None, Arrays.asList(MCTSEnums.ParallelMode.values()));
+        addTunableParameter("parallelThreads", 1);
+        addTunableParameter("rootMerge", MCTSEnums.RootMerge.Visits, Arrays.asList(MCTSEnums.RootMerge.values()));
+        addTunableParameter("fastRandomRollouts", true);
+        addTunableParameter("maxTreeNodes", 0);
     }
 
     @Override
@@ -179,6 +193,11 @@ public class MCTSParams extends PlayerParameters {
         backupPolicy = (MCTSEnums.BackupPolicy) getParameterValue("backupPolicy");
         backupLambda = (double) getParameterValue("backupLambda");
         maxBackupThreshold = (int) getParameterValue("maxBackupThreshold");
+        parallelMode = (MCTSEnums.ParallelMode) getParameterValue("parallelMode");
+        parallelThreads = (int) getParameterValue("parallelThreads");
+        rootMerge = (MCTSEnums.RootMerge) getParameterValue("rootMerge");
+        fastRandomRollouts = (boolean) getParameterValue("fastRandomRollouts");
+        maxTreeNodes = (int) getParameterValue("maxTreeNodes");
         try {
             instantiationClass = Class.forName((String) getParameterValue("instantiationClass"));
         } catch (ClassNotFoundException e) {
@@ -14,6 +14,7 @@ import utilities.Pair;
 import utilities.Utils;
 
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -21,6 +22,7 @@ import java.util.stream.Collectors;
 
 import static players.mcts.MCTSEnums.OpponentTreePolicy.*;
 import static players.mcts.MCTSEnums.OpponentTreePolicy.MultiTree;
+import static players.PlayerConstants.BUDGET_TIME;
 
 public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasStateHeuristic {
 
@@ -28,9 +30,13 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
     protected boolean debug = false;
     protected SingleTreeNode root;
     protected Pair<Integer, AbstractAction> lastAction;
-    List<Map<Object, Pair<Integer, Double>>> MASTStats;
+    List<MASTTable> MASTStats;
     protected Map<Object, Integer> oldGraphKeys = new HashMap<>();
     protected List<Object> recentlyRemovedKeys = new ArrayList<>();
+    // Root parallelisation: one independent worker (and tree) per thread
+    protected MCTSPlayer[] rootWorkers;
+    protected ExecutorService rootExecutor;
+    protected Map<AbstractAction, ActionStats> mergedRootStats;
 
     public MCTSPlayer() {
         this(new MCTSParams());
@@ -67,6 +73,68 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
         oldGraphKeys = new HashMap<>();
         getParameters().getRolloutStrategy().initializePlayer(state);
         getParameters().getOpponentModel().initializePlayer(state);
+        mergedRootStats = null;
+        if (getParameters().parallelMode != MCTSEnums.ParallelMode.None && getParameters().parallelThreads > 1)
+            initializeRootWorkers(state);
+        else {
+            shutdownRootExecutor();
+            rootWorkers = null;
+        }
+    }
+
+    /**
+     * The thread pool for the root workers is created when first needed, and shut down in finalizePlayer(), so that
+     * the threads of a player are not kept once its game is over (players are copied for each game of a tournament).
+     */
+    private ExecutorService rootExecutor() {
+        if (rootExecutor == null)
+            rootExecutor = Executors.newFixedThreadPool(rootWorkers.length, r -> {
+                Thread t = new Thread(r, toString() + "-RootWorker");
+                t.setDaemon(true);
+                return t;
+            });
+        return rootExecutor;
+    }
+
+    private void shutdownRootExecutor() {
+        if (rootExecutor != null) {
+            rootExecutor.shutdown();
+            rootExecutor = null;
+        }
+    }
+
+    /**
+     * Creates one worker per thread for root parallelisation. Each worker has its own copy of the parameters (and hence
+     * of any rollout or opponent policy), a distinct random seed, and its own tree.
+     * Iteration-style budgets are split across the workers, so that the total computation is the same as for a
+     * sequential search. A time budget is given to each worker in full, as this is measured on each worker's thread.
+     * In Determinisation mode a worker searches the single determinisation it is given, so any Information_Set
+     * worker is switched to Open_Loop (which re-uses the hidden information of that determinisation on each iteration).
+     */
+    protected void initializeRootWorkers(AbstractGameState state) {
+        MCTSParams params = getParameters();
+        int nThreads = params.parallelThreads;
+        if (rootWorkers == null || rootWorkers.length != nThreads)
+            shutdownRootExecutor();
+        rootWorkers = new MCTSPlayer[nThreads];
+        for (int i = 0; i < nThreads; i++) {
+            MCTSParams workerParams = (MCTSParams) params.copy();
+            workerParams.setRandomSeed(params.getRandomSeed() + 1 + i);
+            workerParams.parallelMode = MCTSEnums.ParallelMode.None;
+            if (params.parallelMode == MCTSEnums.ParallelMode.Determinisation && params.information == MCTSEnums.Information.Information_Set)
+                workerParams.information = MCTSEnums.Information.Open_Loop;
+            workerParams.parallelThreads = 1;
+            workerParams.budgetType = params.budgetType;
+            workerParams.breakMS = params.breakMS;
+            workerParams.budget = params.budgetType == BUDGET_TIME ? params.budget : Math.max(1, params.budget / nThreads);
+            MCTSPlayer worker = new MCTSPlayer(workerParams, toString() + "-" + i);
+            worker.rnd = new Random(rnd.nextLong());
+            // the actions have already been filtered by our decorators (and the decision is recorded by them)
+            worker.decorators.clear();
+            worker.setForwardModel(getForwardModel());
+            worker.initializePlayer(state);
+            rootWorkers[i] = worker;
+        }
     }
 
     /**
@@ -253,7 +321,7 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
         }
         if (MASTStats != null && getParameters().MASTGamma > 0.0)
             root.MASTStatistics = MASTStats.stream()
-                    .map(m -> Utils.decay(m, getParameters().MASTGamma))
+                    .map(m -> m.decay(getParameters().MASTGamma))
                     .collect(Collectors.toList());
 
         if (getParameters().getRolloutStrategy() instanceof IMASTUser) {
@@ -266,6 +334,8 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
 
     @Override
     public AbstractAction _getAction(AbstractGameState gameState, List<AbstractAction> actions) {
+        if (rootWorkers != null)
+            return rootParallelSearch(gameState, actions);
         // Search for best action from the root
         long currentTimeNano = System.nanoTime();
         createRootNode(gameState);
@@ -296,6 +366,71 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
         return lastAction.b.copy();
     }
 
+    /**
+     * Runs an independent search on each root worker in parallel, and then merges the root statistics
+     * of the resulting trees to make the final decision (as determined by the rootMerge parameter).
+     * In Determinisation mode each worker is given a different determinisation of the state, from the redeterminisation
+     * of copy(decisionPlayer). These are all sampled here, in order, so the result does not depend on thread scheduling.
+     */
+    protected AbstractAction rootParallelSearch(AbstractGameState gameState, List<AbstractAction> actions) {
+        MCTSParams params = getParameters();
+        int decisionPlayer = gameState.getCurrentPlayer();
+        boolean determinise = params.parallelMode == MCTSEnums.ParallelMode.Determinisation;
+        List<Future<AbstractAction>> results = new ArrayList<>();
+        for (MCTSPlayer worker : rootWorkers) {
+            // each worker has a private copy of the state, so that nothing is shared between threads
+            AbstractGameState workerState = determinise ? gameState.copy(decisionPlayer) : gameState.copy();
+            // getAction() gives the state the worker's own Random
+            results.add(rootExecutor().submit(() -> worker.getAction(workerState, actions)));
+        }
+        mergedRootStats = new LinkedHashMap<>();
+        Map<AbstractAction, Integer> votes = new HashMap<>();
+        for (int i = 0; i < rootWorkers.length; i++) {
+            try {
+                votes.merge(results.get(i).get(), 1, Integer::sum);
+            } catch (InterruptedException | ExecutionException e) {
+                throw new RuntimeException("Error in root parallel MCTS worker " + i, e);
+            }
+            SingleTreeNode workerRoot = rootWorkers[i].root instanceof MultiTreeNode mtRoot ?
+                    mtRoot.getRoot(decisionPlayer) : rootWorkers[i].root;
+            for (Map.Entry<AbstractAction, ActionStats> entry : workerRoot.actionValues.entrySet()) {
+                mergedRootStats.computeIfAbsent(entry.getKey(), a -> new ActionStats(gameState.getNPlayers()))
+                        .add(entry.getValue());
+            }
+        }
+
+        AbstractAction bestAction = null;
+        int bestVotes = -1;
+        double bestValue = -Double.MAX_VALUE;
+        for (AbstractAction action : actions) {
+            ActionStats stats = mergedRootStats.get(action);
+            if (stats == null)
+                continue;
+            // with Votes we only use the visits to break ties
+            int actionVotes = params.rootMerge == MCTSEnums.RootMerge.Votes ? votes.getOrDefault(action, 0) : 0;
+            double value = params.rootMerge == MCTSEnums.RootMerge.Votes || params.selectionPolicy == MCTSEnums.SelectionPolicy.ROBUST ?
+                    stats.nVisits : stats.totValue[decisionPlayer] / (stats.nVisits + params.noiseEpsilon);
+            value = Utils.noise(value, params.noiseEpsilon, rnd.nextDouble());
+            if (actionVotes > bestVotes || (actionVotes == bestVotes && value > bestValue)) {
+                bestVotes = actionVotes;
+                bestValue = value;
+                bestAction = action;
+            }
+        }
+        if (bestAction == null)
+            throw new AssertionError("No action selected by root parallel search");
+
+        // the root of the first worker is retained for debugging and metrics
+        root = rootWorkers[0].root;
+        lastAction = new Pair<>(decisionPlayer, bestAction);
+        // and each worker needs to know the action actually taken if they are to reuse their tree
+        for (MCTSPlayer worker : rootWorkers)
+            worker.lastAction = lastAction;
+        if (debug)
+            System.out.println("Root parallel decision: " + bestAction + " with votes " + votes);
+        return bestAction.copy();
+    }
+
     @Override
     public void finalizePlayer(AbstractGameState state) {
         getParameters().getRolloutStrategy().onEvent(Event.createEvent(Event.GameEvent.GAME_OVER, state));
@@ -304,6 +439,10 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
             ((IGameListener) getParameters().heuristic).onEvent(Event.createEvent(Event.GameEvent.GAME_OVER, state));
         if (getParameters().actionHeuristic instanceof IGameListener)
             ((IGameListener) getParameters().actionHeuristic).onEvent(Event.createEvent(Event.GameEvent.GAME_OVER, state));
+        if (rootWorkers != null)
+            for (MCTSPlayer worker : rootWorkers)
+                worker.finalizePlayer(state);
+        shutdownRootExecutor();
 
     }
 
@@ -329,10 +468,13 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
         Map<AbstractAction, Map<String, Object>> retValue = new LinkedHashMap<>();
 
         if (root != null && root.getVisits() > 1) {
-            for (AbstractAction action : root.actionValues.keySet()) {
-                ActionStats stats = root.actionValues.get(action);
+            // with root parallelisation we report the merged statistics over all trees
+            Map<AbstractAction, ActionStats> rootStats = mergedRootStats != null ? mergedRootStats : root.actionValues;
+            int rootVisits = mergedRootStats != null ? rootStats.values().stream().mapToInt(s -> s.nVisits).sum() : root.getVisits();
+            for (AbstractAction action : rootStats.keySet()) {
+                ActionStats stats = rootStats.get(action);
                 int visits = stats == null ? 0 : stats.nVisits;
-                double visitProportion = visits / (double) root.getVisits();
+                double visitProportion = visits / (double) rootVisits;
                 double meanValue = stats == null || visits == 0 ? 0.0 : stats.totValue[root.decisionPlayer] / visits;
                 double heuristicValue = getParameters().heuristic.evaluateState(root.state, root.decisionPlayer);
                 double actionValue = getParameters().actionHeuristic.evaluateAction(action, root.state, root.actionsFromOpenLoopState);
@@ -3,6 +3,7 @@ package players.mcts;
 import core.AbstractGameState;
 import core.AbstractPlayer;
 import core.actions.AbstractAction;
+import core.actions.ActionRegistry;
 import utilities.Pair;
 import utilities.Utils;
 
@@ -41,10 +42,11 @@ public class MultiTreeNode extends SingleTreeNode {
         // only root node maintains MAST statistics
         MASTStatistics = new ArrayList<>();
         for (int i = 0; i < state.getNPlayers(); i++)
-            MASTStatistics.add(new HashMap<>());
+            MASTStatistics.add(new MASTTable());
         if (params.useMASTAsActionHeuristic) {
             params.actionHeuristic = new MASTActionHeuristic(MASTStatistics, params.MASTActionKey, params.MASTDefaultValue);
         }
+        actionRegistry = new ActionRegistry();
         instantiate(null, null, state);
 
         roots = new SingleTreeNode[state.getNPlayers()];
@@ -77,7 +79,9 @@ public class MultiTreeNode extends SingleTreeNode {
 
         actionsInTree = new ArrayList<>();
         currentNodeTrajectory = new ArrayList<>();
-        actionsInRollout = new ArrayList<>();
+        if (actionsInRollout == null)
+            actionsInRollout = new RolloutTrajectory();
+        actionsInRollout.clear();
         // Keep iterating while the state reached is not terminal and the depth of the tree is not exceeded
         do {
             if (debug)
@@ -99,11 +103,15 @@ public class MultiTreeNode extends SingleTreeNode {
                 // note that different players will enter rollout at different times, which is why
                 // we cannot have a simple rollout() method as in SingleTree search
                 AbstractPlayer agent = currentActor == decisionPlayer ? params.getRolloutStrategy() : params.getOpponentModel();
-                List<AbstractAction> availableActions = forwardModel.computeAvailableActions(currentState, mctsPlayer.getParameters().actionSpace);
-                if (availableActions.isEmpty())
-                    throw new AssertionError("We should always have something to choose from");
-
-                AbstractAction chosen = agent.getAction(currentState, availableActions);
+                AbstractAction chosen;
+                if (isFastRandom(agent)) {
+                    chosen = forwardModel.randomAvailableAction(currentState, mctsPlayer.getParameters().actionSpace, agent.getRnd());
+                } else {
+                    List<AbstractAction> availableActions = forwardModel.computeAvailableActions(currentState, mctsPlayer.getParameters().actionSpace);
+                    if (availableActions.isEmpty())
+                        throw new AssertionError("We should always have something to choose from");
+                    chosen = agent.getAction(currentState, availableActions);
+                }
                 if (debug)
                     System.out.printf("Rollout action chosen for P%d - %s %n", currentActor, chosen);
 
@@ -156,6 +164,17 @@ public class MultiTreeNode extends SingleTreeNode {
         root.updateMASTStatistics(actionsInTree, actionsInRollout, finalValues);
     }
 
+    /**
+     * Each player's tree is kept within params.maxTreeNodes separately
+     */
+    @Override
+    protected void boundTreeSize() {
+        for (SingleTreeNode playerRoot : roots) {
+            if (playerRoot != null)
+                playerRoot.boundTreeSize();
+        }
+    }
+
 
     private void updateCurrentLocation(int playerId, AbstractGameState state) {
         if (lastAction[playerId] != null && !nodeExpanded[playerId]) { // we have a previous action and are not yet in rollout
@@ -46,6 +46,13 @@ public class OMATreeNode extends SingleTreeNode {
         super.rootify(template, state);
         this.OMAParent = Optional.empty();
     }
+    @Override
+    protected void clearForReuse() {
+        super.clearForReuse();
+        OMAParent = Optional.empty();
+        OMAChildren.clear();
+    }
+
     /**
      * Back up the value of the child through all parents. Increase number of visits and total value.
      *
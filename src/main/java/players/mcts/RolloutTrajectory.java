@@ -0,0 +1,44 @@
+package players.mcts;
+
+import core.actions.AbstractAction;
+
+import java.util.Arrays;
+
+/**
+ * The actions taken during the rollout of one MCTS iteration, and the player who took each one.
+ * This is reused across iterations (see clear()), so that recording a rollout does not allocate.
+ */
+class RolloutTrajectory {
+
+    private int[] players = new int[64];
+    private AbstractAction[] actions = new AbstractAction[64];
+    private int size;
+
+    void add(int player, AbstractAction action) {
+        if (size == players.length) {
+            players = Arrays.copyOf(players, size * 2);
+            actions = Arrays.copyOf(actions, size * 2);
+        }
+        players[size] = player;
+        actions[size] = action;
+        size++;
+    }
+
+    void clear() {
+        // we do not need to retain the actions until the next iteration overwrites them
+        Arrays.fill(actions, 0, size, null);
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int getPlayer(int index) {
+        return players[index];
+    }
+
+    AbstractAction getAction(int index) {
+        return actions[index];
+    }
+}
@@ -2,9 +2,11 @@ package players.mcts;
 
 import core.*;
 import core.actions.AbstractAction;
+import core.actions.ActionRegistry;
 import core.actions.DoNothing;
 import core.interfaces.IActionHeuristic;
 import players.PlayerConstants;
+import players.simple.RandomPlayer;
 import utilities.*;
 
 import java.util.*;
@@ -22,6 +24,9 @@ import static utilities.Utils.*;
 
 public class SingleTreeNode {
 
+    // when the tree exceeds params.maxTreeNodes, we evict nodes until it is back to this proportion of the budget
+    static final double EVICTION_TARGET = 0.9;
+
     //  private final Map<AbstractAction, Integer> nValidVisits = new HashMap<>();
     // State in this node (closed loop)
     protected AbstractGameState state;
@@ -46,8 +51,10 @@ public class SingleTreeNode {
     // (specifically when using SelfOnly trees, with START/END_TURN/ROUND rollout termination conditions
     protected int lastActorInRollout, lastTurnInRollout, lastRoundInRollout, turnAtStartOfRollout, roundAtStartOfRollout;
     List<AbstractAction> actionsFromOpenLoopState = new ArrayList<>();
-    Map<AbstractAction, Double> actionValueEstimates = new HashMap<>();
-    Map<AbstractAction, Double> actionPDFEstimates = new HashMap<>();
+    // actionValueEstimates, actionPDFEstimates and regretMatchingAverage are only used by some variants, so these
+    // start as empty (immutable) maps, and are allocated on first use
+    Map<AbstractAction, Double> actionValueEstimates = Collections.emptyMap();
+    Map<AbstractAction, Double> actionPDFEstimates = Collections.emptyMap();
     // Depth of this node
     protected int depth;
     // the id of the player who makes the decision at this node
@@ -59,7 +66,7 @@ public class SingleTreeNode {
     double initialisationTimeTaken;
     protected double highReward = Double.NEGATIVE_INFINITY;
     protected double lowReward = Double.POSITIVE_INFINITY;
-    protected Map<AbstractAction, Double> regretMatchingAverage = new HashMap<>();
+    protected Map<AbstractAction, Double> regretMatchingAverage = Collections.emptyMap();
     protected int nodeClash;
     // Root node of tree
     protected SingleTreeNode root;
@@ -70,14 +77,20 @@ public class SingleTreeNode {
     // only ever have one position in the array populated: and similarly if we are using a SelfOnly tree).
     Map<AbstractAction, SingleTreeNode[]> children = new LinkedHashMap<>();
     Map<AbstractAction, ActionStats> actionValues = new HashMap<>();
-    List<Map<Object, Pair<Integer, Double>>> MASTStatistics; // a list of one Map per player. Action -> (visits, totValue)
+    List<MASTTable> MASTStatistics; // a list of one table per player. Action -> (visits, totValue)
+    // maintained on the root only; the canonical copy of each distinct action in the tree, shared by all its nodes
+    ActionRegistry actionRegistry;
     // ToDoubleBiFunction<AbstractAction, AbstractGameState> MASTFunction;
     // The total value of all trajectories through this node (one element per player)
     private Supplier<? extends SingleTreeNode> factory;
     // Total value of this node
     protected List<SingleTreeNode> currentNodeTrajectory;
     protected List<Pair<Integer, AbstractAction>> actionsInTree;
-    List<Pair<Integer, AbstractAction>> actionsInRollout;
+    RolloutTrajectory actionsInRollout;
+    // The number of nodes in the tree, maintained on the root only. This is used to keep the tree within
+    // params.maxTreeNodes; nodes evicted from the tree are kept in nodePool for re-use by createChildNode()
+    protected int treeSize;
+    private Deque<SingleTreeNode> nodePool;
 
     protected SingleTreeNode() {
     }
@@ -93,17 +106,21 @@ public class SingleTreeNode {
         // only root node maintains MAST statistics
         retValue.MASTStatistics = new ArrayList<>();
         for (int i = 0; i < state.getNPlayers(); i++)
-            retValue.MASTStatistics.add(new HashMap<>());
+            retValue.MASTStatistics.add(new MASTTable());
+        retValue.actionRegistry = new ActionRegistry();
         if (retValue.params.useMASTAsActionHeuristic)
             retValue.params.actionHeuristic = new MASTActionHeuristic(retValue.MASTStatistics, retValue.params.MASTActionKey, retValue.params.MASTDefaultValue);
         retValue.instantiate(null, null, state);
+        retValue.treeSize = 1;
         return retValue;
     }
 
     public static SingleTreeNode createChildNode(SingleTreeNode parent, AbstractAction actionToReach, AbstractGameState state,
                                                  Supplier<? extends SingleTreeNode> factory) {
-        SingleTreeNode retValue = factory.get();
+        Deque<SingleTreeNode> pool = parent.root.nodePool;
+        SingleTreeNode retValue = pool == null || pool.isEmpty() ? factory.get() : pool.pop();
         retValue.instantiate(parent, actionToReach, state);
+        parent.root.treeSize++;
         return retValue;
     }
 
@@ -148,6 +165,10 @@ public class SingleTreeNode {
     }
 
     public void rootify(SingleTreeNode template, AbstractGameState newState) {
+        // the registry is kept for the new tree, but cleared so that it does not grow over the whole game (the
+        // reused part of the tree keeps its instances, which are equal to any new ones)
+        actionRegistry = template.actionRegistry;
+        actionRegistry.clear();
         // now we need to reset the depth on all the children (recursively)
         if (newState != null)
             instantiate(null, null, newState);
@@ -158,7 +179,138 @@ public class SingleTreeNode {
         inheritedVisits = nVisits;
         MASTStatistics = new ArrayList<>();
         for (int i = 0; i < template.MASTStatistics.size(); i++)
-            MASTStatistics.add(new HashMap<>());
+            MASTStatistics.add(new MASTTable());
+        treeSize = subtreeSize();
+    }
+
+    /**
+     * @return the number of nodes in the subtree below (and including) this node
+     */
+    protected int subtreeSize() {
+        int retValue = 1;
+        for (SingleTreeNode[] childArray : children.values()) {
+            if (childArray == null) continue;
+            for (SingleTreeNode child : childArray) {
+                if (child != null) retValue += child.subtreeSize();
+            }
+        }
+        return retValue;
+    }
+
+    /**
+     * Called on the root after each iteration of search. If the tree has grown beyond params.maxTreeNodes then
+     * we remove the least visited nodes (and all the nodes below them) until it is back to EVICTION_TARGET of the
+     * budget. Removing a batch at a time means we only sort the nodes once every (1 - EVICTION_TARGET) * maxTreeNodes
+     * iterations.
+     * <p>
+     * The statistics for the action that led to a removed node are kept on its parent, so the action will still be
+     * selected on its merits; a new node is expanded if the search goes that way again.
+     */
+    protected void boundTreeSize() {
+        if (params.maxTreeNodes <= 0 || treeSize <= params.maxTreeNodes)
+            return;
+        int target = (int) (params.maxTreeNodes * EVICTION_TARGET);
+        List<SingleTreeNode> candidates = new ArrayList<>(treeSize);
+        for (SingleTreeNode[] childArray : children.values()) {
+            if (childArray == null) continue;
+            for (SingleTreeNode child : childArray) {
+                if (child != null) child.addSubtreeTo(candidates);
+            }
+        }
+        // least visited first, and the deepest first amongst those with the same visits (so that we remove leaves
+        // in preference to their parents)
+        candidates.sort(Comparator.comparingInt((SingleTreeNode n) -> n.nVisits).thenComparingInt(n -> -n.depth));
+        if (nodePool == null)
+            nodePool = new ArrayDeque<>();
+        for (SingleTreeNode node : candidates) {
+            if (treeSize <= target)
+                break;
+            if (node.parent == null)
+                continue;  // already removed with an ancestor
+            SingleTreeNode[] siblings = node.parent.children.get(node.actionToReach);
+            for (int i = 0; i < siblings.length; i++) {
+                if (siblings[i] == node)
+                    siblings[i] = null;
+            }
+            treeSize -= node.releaseSubtree(nodePool);
+        }
+    }
+
+    private void addSubtreeTo(List<SingleTreeNode> nodes) {
+        nodes.add(this);
+        for (SingleTreeNode[] childArray : children.values()) {
+            if (childArray == null) continue;
+            for (SingleTreeNode child : childArray) {
+                if (child != null) child.addSubtreeTo(nodes);
+            }
+        }
+    }
+
+    /**
+     * Clears this node and all the nodes below it, and adds them to the pool for re-use
+     *
+     * @return the number of nodes released
+     */
+    private int releaseSubtree(Deque<SingleTreeNode> pool) {
+        int retValue = 1;
+        for (SingleTreeNode[] childArray : children.values()) {
+            if (childArray == null) continue;
+            for (SingleTreeNode child : childArray) {
+                if (child != null) retValue += child.releaseSubtree(pool);
+            }
+        }
+        clearForReuse();
+        pool.push(this);
+        return retValue;
+    }
+
+    /**
+     * Resets this node to the state of a newly constructed one, ready for instantiate() to be called again.
+     * The children and actionValues maps are cleared rather than replaced, so they keep their allocated capacity.
+     * Subclasses with additional fields must override this to reset them too.
+     */
+    protected void clearForReuse() {
+        state = null;
+        openLoopState = null;
+        fmCallsCount = 0;
+        copyCount = 0;
+        paranoidPlayer = -1;
+        actionToReach = null;
+        nVisits = 0;
+        inheritedVisits = 0;
+        rolloutActionsTaken = 0;
+        lastActorInRollout = 0;
+        lastTurnInRollout = 0;
+        lastRoundInRollout = 0;
+        turnAtStartOfRollout = 0;
+        roundAtStartOfRollout = 0;
+        actionsFromOpenLoopState = new ArrayList<>();
+        actionValueEstimates = Collections.emptyMap();
+        actionPDFEstimates = Collections.emptyMap();
+        depth = 0;
+        decisionPlayer = 0;
+        redeterminisationPlayer = -1;
+        round = 0;
+        turn = 0;
+        turnOwner = 0;
+        terminalNode = false;
+        timeTaken = 0.0;
+        initialisationTimeTaken = 0.0;
+        highReward = Double.NEGATIVE_INFINITY;
+        lowReward = Double.POSITIVE_INFINITY;
+        regretMatchingAverage = Collections.emptyMap();
+        nodeClash = 0;
+        root = null;
+        parent = null;
+        children.clear();
+        actionValues.clear();
+        MASTStatistics = null;
+        actionRegistry = null;
+        currentNodeTrajectory = null;
+        actionsInTree = null;
+        actionsInRollout = null;
+        treeSize = 0;
+        nodePool = null;
     }
 
     protected void resetDepth(SingleTreeNode newRoot) {
@@ -212,6 +364,8 @@ public class SingleTreeNode {
                 // change over the course of the search. Setting it to 1 will update it on every visit; but possibly
                 // at a high additional computational cost.
                 if (params.actionHeuristic != IActionHeuristic.nullReturn) {
+                    if (actionValueEstimates.isEmpty())
+                        actionValueEstimates = new HashMap<>();
                     if (actionValueEstimates.isEmpty() || nVisits % params.actionHeuristicRecalculationThreshold == 0) {
                         // in this case we initialise all action values
                         double[] actionValues = params.actionHeuristic.evaluateAllActions(actionsFromOpenLoopState, actionState);
@@ -257,7 +411,8 @@ public class SingleTreeNode {
             for (AbstractAction action : actionsFromOpenLoopState) {
                 if (!actionValues.containsKey(action)) {
                     actionValues.put(action, new ActionStats(actionState.getNPlayers()));
-                    children.put(action.copy(), null); // mark a new node to be expanded
+                    // mark a new node to be expanded; all nodes share one canonical copy of each distinct action
+                    children.put(root.actionRegistry.intern(action), null);
                     // This *does* rely on a good equals method being implemented for Actions
                     if (!children.containsKey(action))
                         throw new AssertionError("We have an action that does not obey the equals/hashcode contract" + action);
@@ -309,8 +464,6 @@ public class SingleTreeNode {
         initialiseRootMetrics();
         initialisationTimeTaken = initialisationTime;
         // Variables for tracking time budget
-        double avgTimeTaken;
-        long remaining;
         int remainingLimit = params.breakMS;
         ElapsedCpuTimer elapsedTimer = new ElapsedCpuTimer();
         if (params.budgetType == BUDGET_TIME) {
@@ -344,6 +497,7 @@ public class SingleTreeNode {
 
             // Selection + expansion: navigate tree until a node not fully expanded is found, add a new node to the tree
             oneSearchIteration();
+            boundTreeSize();
 
             // Finished iteration
             numIters++;
@@ -351,10 +505,8 @@ public class SingleTreeNode {
             // Check stopping condition
             PlayerConstants budgetType = params.budgetType;
             if (budgetType == BUDGET_TIME) {
-                // Time budget
-                remaining = elapsedTimer.remainingTimeMillis();
-                avgTimeTaken = (double) elapsedTimer.elapsedMillis() / numIters;
-                stop = remaining <= 2 * avgTimeTaken || remaining <= remainingLimit;
+                // Time budget (the clock is only read every few iterations)
+                stop = elapsedTimer.iterationBudgetExhausted(remainingLimit);
             } else if (budgetType == BUDGET_ITERATIONS) {
                 // Iteration budget
                 stop = numIters >= params.budget;
@@ -377,7 +529,9 @@ public class SingleTreeNode {
     protected void oneSearchIteration() {
         actionsInTree = new ArrayList<>();
         currentNodeTrajectory = new ArrayList<>();
-        actionsInRollout = new ArrayList<>();
+        if (actionsInRollout == null)
+            actionsInRollout = new RolloutTrajectory();
+        actionsInRollout.clear();
 
         SingleTreeNode selected = treePolicy();
         if (selected == this && openLoopState.isNotTerminalForPlayer(decisionPlayer) && nVisits > 3 && !(this instanceof MCGSNode))
@@ -397,22 +551,20 @@ public class SingleTreeNode {
     }
 
     protected void updateMASTStatistics
-            (List<Pair<Integer, AbstractAction>> tree, List<Pair<Integer, AbstractAction>> rollout, double[] value) {
+            (List<Pair<Integer, AbstractAction>> tree, RolloutTrajectory rollout, double[] value) {
         if (params.useMAST) {
-            List<Pair<Integer, AbstractAction>> MASTActions = new ArrayList<>();
             switch (params.MAST) {
                 case Rollout:
-                    MASTActions = rollout;
+                    root.MASTBackup(rollout, value);
                     break;
                 case Tree:
-                    MASTActions = tree;
+                    root.MASTBackup(tree, value);
                     break;
                 case Both:
-                    MASTActions = rollout;
-                    MASTActions.addAll(tree);
+                    root.MASTBackup(rollout, value);
+                    root.MASTBackup(tree, value);
                     break;
             }
-            root.MASTBackup(MASTActions, value);
         }
     }
 
@@ -558,7 +710,7 @@ public class SingleTreeNode {
             lastTurnInRollout = gs.getTurnCounter();
             lastRoundInRollout = gs.getRoundCounter();
             lastActorInRollout = gs.getCurrentPlayer();
-            root.actionsInRollout.add(new Pair<>(lastActorInRollout, act));
+            root.actionsInRollout.add(lastActorInRollout, act);
         } else {
             root.actionsInTree.add(new Pair<>(gs.getCurrentPlayer(), act));
         }
@@ -582,12 +734,16 @@ public class SingleTreeNode {
         while (gs.getCurrentPlayer() != id && gs.isNotTerminalForPlayer(id) && !(inRollout && finishRollout(gs))) {
             //       AbstractGameState preGS = gs.copy();
             AbstractPlayer oppModel = params.getOpponentModel();
-            List<AbstractAction> availableActions = forwardModel.computeAvailableActions(gs, params.actionSpace);
-            if (availableActions.isEmpty())
-                throw new AssertionError("Should always have at least one action possible..." + (action != null ? " Last action: " + action : ""));
-            action = oppModel.getAction(gs, availableActions);
+            if (isFastRandom(oppModel)) {
+                action = forwardModel.randomAvailableAction(gs, params.actionSpace, oppModel.getRnd());
+            } else {
+                List<AbstractAction> availableActions = forwardModel.computeAvailableActions(gs, params.actionSpace);
+                if (availableActions.isEmpty())
+                    throw new AssertionError("Should always have at least one action possible..." + (action != null ? " Last action: " + action : ""));
+                action = oppModel.getAction(gs, availableActions);
+            }
             if (inRollout) {
-                root.actionsInRollout.add(new Pair<>(gs.getCurrentPlayer(), action));
+                root.actionsInRollout.add(gs.getCurrentPlayer(), action);
                 lastActorInRollout = gs.getCurrentPlayer();
                 lastRoundInRollout = gs.getRoundCounter();
                 lastTurnInRollout = gs.getTurnCounter();
@@ -906,12 +1062,16 @@ public class SingleTreeNode {
 
             AbstractAction next = null;
             while (!finishRollout(rolloutState)) {
-                List<AbstractAction> availableActions = forwardModel.computeAvailableActions(rolloutState, params.actionSpace);
-                if (availableActions.isEmpty()) {
-                    throw new AssertionError("No actions available in rollout!" + (next != null ? " Last action: " + next : ""));
-                }
                 AbstractPlayer agent = rolloutState.getCurrentPlayer() == root.decisionPlayer ? params.getRolloutStrategy() : params.getOpponentModel();
-                next = agent.getAction(rolloutState, availableActions);
+                if (isFastRandom(agent)) {
+                    next = forwardModel.randomAvailableAction(rolloutState, params.actionSpace, agent.getRnd());
+                } else {
+                    List<AbstractAction> availableActions = forwardModel.computeAvailableActions(rolloutState, params.actionSpace);
+                    if (availableActions.isEmpty()) {
+                        throw new AssertionError("No actions available in rollout!" + (next != null ? " Last action: " + next : ""));
+                    }
+                    next = agent.getAction(rolloutState, availableActions);
+                }
                 advanceState(rolloutState, next, true);
             }
         }
@@ -926,6 +1086,14 @@ public class SingleTreeNode {
         return retValue;
     }
 
+    /**
+     * @return true if the agent is a plain RandomPlayer, so that we can pick its actions directly from the forward
+     * model (see AbstractForwardModel.randomAvailableAction()) without creating the list of all available actions
+     */
+    protected boolean isFastRandom(AbstractPlayer agent) {
+        return params.fastRandomRollouts && agent.getClass() == RandomPlayer.class && !agent.hasDecorators();
+    }
+
     /**
      * Checks if rollout is finished. Rollouts end on maximum length, or if game ended.
      *
@@ -1131,16 +1299,23 @@ public class SingleTreeNode {
 
     protected void MASTBackup(List<Pair<Integer, AbstractAction>> rolloutActions, double[] delta) {
         for (Pair<Integer, AbstractAction> pair : rolloutActions) {
-            AbstractAction action = pair.b;
-            int player = pair.a;
-            Object actionKey = params.MASTActionKey == null ? action.copy() : params.MASTActionKey.key(action);
-            Pair<Integer, Double> stats = MASTStatistics.get(player).getOrDefault(actionKey, new Pair<>(0, 0.0));
-            stats.a++;  // visits
-            stats.b += delta[player];   // value
-            MASTStatistics.get(player).put(actionKey, stats);
+            MASTBackup(pair.a, pair.b, delta);
+        }
+    }
+
+    protected void MASTBackup(RolloutTrajectory rolloutActions, double[] delta) {
+        for (int i = 0; i < rolloutActions.size(); i++) {
+            MASTBackup(rolloutActions.getPlayer(i), rolloutActions.getAction(i), delta);
         }
     }
 
+    private void MASTBackup(int player, AbstractAction action, double[] delta) {
+        if (params.MASTActionKey == null)
+            MASTStatistics.get(player).updateAction(action, delta[player]);
+        else
+            MASTStatistics.get(player).update(params.MASTActionKey.key(action), delta[player]);
+    }
+
     /**
      * Calculates the best action from the root according to the selection policy
      *
@@ -1214,6 +1389,8 @@ public class SingleTreeNode {
     protected void updateRegretMatchingAverage(List<AbstractAction> actionsToConsider) {
         double[] av = actionValues(actionsToConsider);
         double[] pdf = pdf(av);
+        if (regretMatchingAverage.isEmpty())
+            regretMatchingAverage = new HashMap<>();
         for (int i = 0; i < actionsToConsider.size(); i++) {
             regretMatchingAverage.merge(actionsToConsider.get(i), pdf[i], Double::sum);
         }
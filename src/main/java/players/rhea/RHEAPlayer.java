@@ -6,17 +6,17 @@ import core.actions.AbstractAction;
 import players.IAnyTimePlayer;
 import players.PlayerConstants;
 import players.mcts.MASTPlayer;
+import players.mcts.MASTTable;
 import players.simple.RandomPlayer;
 import utilities.ElapsedCpuTimer;
 import utilities.Pair;
-import utilities.Utils;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
 public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
     private static final AbstractPlayer randomPlayer = new RandomPlayer();
-    List<Map<Object, Pair<Integer, Double>>> MASTStatistics; // a list of one Map per player. Action -> (visits, totValue)
+    List<MASTTable> MASTStatistics; // a list of one table per player. Action -> (visits, totValue)
     protected List<RHEAIndividual> population = new ArrayList<>();
     // Budgets
     protected double timePerIteration = 0, timeTaken = 0, initTime = 0;
@@ -42,7 +42,7 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
     public void initializePlayer(AbstractGameState state) {
         MASTStatistics = new ArrayList<>();
         for (int i = 0; i < state.getNPlayers(); i++)
-            MASTStatistics.add(new HashMap<>());
+            MASTStatistics.add(new MASTTable());
         population = new ArrayList<>();
     }
 
@@ -61,10 +61,10 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
             if (MASTStatistics == null) {
                 MASTStatistics = new ArrayList<>();
                 for (int i = 0; i < stateObs.getNPlayers(); i++)
-                    MASTStatistics.add(new HashMap<>());
+                    MASTStatistics.add(new MASTTable());
             } else {
                 MASTStatistics = MASTStatistics.stream()
-                        .map(m -> Utils.decay(m, params.discountFactor))
+                        .map(m -> m.decay(params.discountFactor))
                         .collect(Collectors.toList());
             }
             mastPlayer = new MASTPlayer(null, 1.0, 0.0, System.currentTimeMillis(), 0.0);
@@ -283,10 +283,7 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
             AbstractAction action = rolloutActions[i];
             if (action == null)
                 break;
-            Pair<Integer, Double> stats = MASTStatistics.get(player).getOrDefault(action, new Pair<>(0, 0.0));
-            stats.a++;  // visits
-            stats.b += delta;   // value
-            MASTStatistics.get(player).put(action.copy(), stats);
+            MASTStatistics.get(player).updateAction(action, delta);
         }
     }
 
@@ -36,6 +36,7 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
 
     private long startTime;
     private SearchResult rootResult;
+    private long nodesExpanded;
 
     protected List<Map<AbstractAction, ActionStats>> actionValueEstimates;
 
@@ -59,6 +60,7 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
         // - TURN: only when turn number has changed as a result of applying the action
         startTime = System.currentTimeMillis();
         rootResult = null;
+        nodesExpanded = 0;
         actionValueEstimates = new ArrayList<>();
         if (getParameters().iterativeDeepening) {
             // we do a depth D = 1 search, then D = 2 and so on until we reach maxDepth or exhaust budget
@@ -89,6 +91,13 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
         return rootResult;
     }
 
+    /**
+     * @return the number of nodes (states) visited by the last search
+     */
+    public long getNodesExpanded() {
+        return nodesExpanded;
+    }
+
     @Override
     public void setStateHeuristic(IStateHeuristic heuristic) {
         getParameters().setParameterValue("heuristic", heuristic);
@@ -107,6 +116,7 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
     protected SearchResult expand(AbstractGameState state, List<AbstractAction> actions, int searchDepth,
                                   double alpha, double beta) {
         MaxNSearchParameters params = getParameters();
+        nodesExpanded++;
         // if we have reached the end of the search, or the state is terminal, we evaluate the state
         if (searchDepth == 0 || !state.isNotTerminal()) {
             // when valuing a state, we need to record the full vector of values for each player
@@ -141,22 +151,35 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
         }
         Map<AbstractAction, ActionStats> statsMap = actionValueEstimates.get(searchDepth - 1);
         Map<AbstractAction, double[]> actionValues = new HashMap<>();
+        boolean makeUnmake = params.makeUnmake && getForwardModel().supportsUndo();
+        int currentPlayer = state.getCurrentPlayer();
+        int turnCounter = state.getTurnCounter();
         for (AbstractAction action : actions) {
-            AbstractGameState stateCopy = state.copy();
-            getForwardModel().next(stateCopy, action);
+            // with make/unmake we apply the action to state itself, and undo it once the recursion returns
+            boolean undo = makeUnmake && action.isReversible();
+            AbstractGameState stateCopy;
+            if (undo) {
+                stateCopy = state;
+                getForwardModel().applyAndRecord(stateCopy, action);
+            } else {
+                stateCopy = state.copy();
+                getForwardModel().next(stateCopy, action);
+            }
             // if we are at the bottom, then save a bit of time by not calculating the valid actions (which we'll never try)
             List<AbstractAction> nextActions = searchDepth > 0 ? getForwardModel().computeAvailableActions(stateCopy) : List.of();
 
             int newDepth = switch (params.searchUnit) {
                 case ACTION -> searchDepth - 1;
                 case MACRO_ACTION ->
-                        state.getCurrentPlayer() != stateCopy.getCurrentPlayer() ? searchDepth - 1 : searchDepth;
-                case TURN -> state.getTurnCounter() != stateCopy.getTurnCounter() ? searchDepth - 1 : searchDepth;
+                        currentPlayer != stateCopy.getCurrentPlayer() ? searchDepth - 1 : searchDepth;
+                case TURN -> turnCounter != stateCopy.getTurnCounter() ? searchDepth - 1 : searchDepth;
             };
 
             // recurse - we are here just interested in the value of stateCopy, and hence of taking action
             // We are not interested in the best action from stateCopy
             SearchResult result = expand(stateCopy, nextActions, newDepth, alpha, beta);
+            if (undo)
+                getForwardModel().undo(state);
             if (params.expandByEstimatedValue) {
                 // we store the value estimates for each action
                 if (!statsMap.containsKey(action)) {
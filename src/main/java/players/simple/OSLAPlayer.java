@@ -40,17 +40,28 @@ public class OSLAPlayer extends AbstractPlayer {
         AbstractAction bestAction = null;
         double[] valState = new double[actions.size()];
         int playerID = gs.getCurrentPlayer();
+        boolean makeUnmake = getForwardModel().supportsUndo();
 
         for (int actionIndex = 0; actionIndex < actions.size(); actionIndex++) {
             AbstractAction action = actions.get(actionIndex);
-            AbstractGameState gsCopy = gs.copy();
-            getForwardModel().next(gsCopy, action);
+            // if we can, we apply the action to gs and then undo it, rather than copying gs
+            boolean undo = makeUnmake && action.isReversible();
+            AbstractGameState gsCopy;
+            if (undo) {
+                gsCopy = gs;
+                getForwardModel().applyAndRecord(gsCopy, action);
+            } else {
+                gsCopy = gs.copy();
+                getForwardModel().next(gsCopy, action);
+            }
 
             if (heuristic != null) {
                 valState[actionIndex] = heuristic.evaluateState(gsCopy, playerID);
             } else {
                 valState[actionIndex] = gsCopy.getHeuristicScore(playerID);
             }
+            if (undo)
+                getForwardModel().undo(gs);
 
             double Q = noise(valState[actionIndex], getParameters().noiseEpsilon, rnd.nextDouble());
 
@@ -0,0 +1,122 @@
+package utilities;
+
+import core.components.Zobrist;
+
+import java.util.Arrays;
+
+/**
+ * A set of cells of a width x height grid, as bits: cell (x, y) is bit y * width + x, spread over as many longs as
+ * needed (a single long for boards of up to 64 cells). Copying one is a clone of that array, so game states that hold
+ * their boards like this (one Bitboard for the pieces of each player, say) copy far more cheaply than a GridBoard
+ * of BoardNodes.
+ */
+public class Bitboard {
+
+    private final int width, height;
+    private final long[] bits;
+
+    public Bitboard(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.bits = new long[(width * height + 63) / 64];
+    }
+
+    private Bitboard(Bitboard other) {
+        this.width = other.width;
+        this.height = other.height;
+        this.bits = other.bits.clone();
+    }
+
+    public Bitboard copy() {
+        return new Bitboard(this);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public boolean get(int x, int y) {
+        int i = y * width + x;
+        return (bits[i >>> 6] & 1L << i) != 0;
+    }
+
+    public void set(int x, int y) {
+        int i = y * width + x;
+        bits[i >>> 6] |= 1L << i;
+    }
+
+    public void clear(int x, int y) {
+        int i = y * width + x;
+        bits[i >>> 6] &= ~(1L << i);
+    }
+
+    /**
+     * @return the number of cells in the set
+     */
+    public int count() {
+        int retValue = 0;
+        for (long word : bits)
+            retValue += Long.bitCount(word);
+        return retValue;
+    }
+
+    /**
+     * @return the number of cells in the line through (x, y) in direction (dx, dy) (both ways), that are in the set
+     * without a gap; 0 if (x, y) is not in the set itself
+     */
+    public int lineLength(int x, int y, int dx, int dy) {
+        if (!get(x, y))
+            return 0;
+        int retValue = 1;
+        for (int i = x + dx, j = y + dy; i >= 0 && i < width && j >= 0 && j < height && get(i, j); i += dx, j += dy)
+            retValue++;
+        for (int i = x - dx, j = y - dy; i >= 0 && i < width && j >= 0 && j < height && get(i, j); i -= dx, j -= dy)
+            retValue++;
+        return retValue;
+    }
+
+    /**
+     * @return the longest of the lines through (x, y) (vertical, horizontal and both diagonals), as for lineLength()
+     */
+    public int longestLine(int x, int y) {
+        return Math.max(Math.max(lineLength(x, y, 0, 1), lineLength(x, y, 1, 0)),
+                Math.max(lineLength(x, y, 1, 1), lineLength(x, y, 1, -1)));
+    }
+
+    /**
+     * @return a 64-bit hash of the cells in the set (see core.components.Zobrist)
+     */
+    public long getZobristHash() {
+        long retValue = 0;
+        for (int i = 0; i < bits.length; i++)
+            retValue += Zobrist.key(i, bits[i]);
+        return retValue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Bitboard other)) return false;
+        return width == other.width && height == other.height && Arrays.equals(bits, other.bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * width + height) + Arrays.hashCode(bits);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++)
+                sb.append(get(x, y) ? 'X' : '.');
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -15,6 +15,15 @@ public class ElapsedCpuChessTimer extends ElapsedCpuTimer {
         reset();
     }
 
+    private ElapsedCpuChessTimer(ElapsedCpuChessTimer other) {
+        super(other);
+        this.timeRemaining = other.timeRemaining;
+        this.incrementAction = other.incrementAction;
+        this.incrementTurn = other.incrementTurn;
+        this.incrementRound = other.incrementRound;
+        this.incrementMilestone = other.incrementMilestone;
+    }
+
     public void reset() {
         super.reset();
         timeRemaining = maxTime;
@@ -64,13 +73,7 @@ public class ElapsedCpuChessTimer extends ElapsedCpuTimer {
 
     public ElapsedCpuChessTimer copy()
     {
-        ElapsedCpuChessTimer newCpuTimer = new ElapsedCpuChessTimer(this.maxTime, this.incrementAction,
-                this.incrementTurn, this.incrementRound, this.incrementMilestone);
-        newCpuTimer.oldTime = this.oldTime;
-        newCpuTimer.bean = this.bean;
-        newCpuTimer.nIters = this.nIters;
-        newCpuTimer.timeRemaining = this.timeRemaining;
-        return newCpuTimer;
+        return new ElapsedCpuChessTimer(this);
     }
 
     @Override
@@ -12,19 +12,48 @@ public class ElapsedCpuTimer {
 
     protected static final boolean OS_WIN = System.getProperty("os.name").contains("Windows");
 
-    // allows for easy reporting of elapsed time
-    protected ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    // allows for easy reporting of elapsed time; this is thread-safe, so one is shared by all timers
+    protected static final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+    // Reading the CPU clock is a system call, which is significant for searches with very short iterations.
+    // iterationBudgetExhausted() only reads it about once every CHECK_PERIOD_NANOS, which is calibrated on start-up
+    // to be 100 times the cost of one reading (within 10 microseconds to 1 millisecond).
+    static final long CHECK_PERIOD_NANOS;
+
+    static {
+        long start = System.nanoTime();
+        long sink = 0;
+        for (int i = 0; i < 1000; i++)
+            sink += readCpuTime();
+        long perRead = (System.nanoTime() - start + (sink & 1)) / 1000;
+        CHECK_PERIOD_NANOS = Math.max(10_000, Math.min(1_000_000, perRead * 100));
+    }
+
     protected long oldTime;
     protected long maxTime;
     protected int nIters;
+    private int itersUntilCheck = 1, checkInterval = 1;
 
     public ElapsedCpuTimer() {
         reset();
     }
 
+    /**
+     * Copy constructor, which does not read the clock
+     */
+    protected ElapsedCpuTimer(ElapsedCpuTimer other) {
+        maxTime = other.maxTime;
+        oldTime = other.oldTime;
+        nIters = other.nIters;
+        itersUntilCheck = other.itersUntilCheck;
+        checkInterval = other.checkInterval;
+    }
+
     public void reset() {
         oldTime = getTime();
         nIters = 0;
+        itersUntilCheck = 1;
+        checkInterval = 1;
     }
 
     public long elapsed() {
@@ -60,6 +89,10 @@ public class ElapsedCpuTimer {
         return (long) (diff / 1000000.0);
     }
 
+    public long remainingTimeNanos() {
+        return maxTime - elapsed();
+    }
+
     public boolean exceededMaxTime() {
         return elapsed() > maxTime;
     }
@@ -83,14 +116,30 @@ public class ElapsedCpuTimer {
         nIters++;
     }
 
+    /**
+     * Ends an iteration (as endIteration()), and checks the time budget set by setMaxTimeMillis().
+     * The clock is only read every checkInterval iterations, which is set from the average time per iteration so that
+     * the readings are about CHECK_PERIOD_NANOS apart. To keep within the budget less break_ms, we stop when the
+     * time left before that is not enough for the iterations until the next reading, plus one.
+     *
+     * @param break_ms - time to leave unused at the end of the budget, can be 0.
+     * @return - true if the search should stop now.
+     */
+    public boolean iterationBudgetExhausted(int break_ms) {
+        nIters++;
+        if (--itersUntilCheck > 0)
+            return false;
+        long elapsed = elapsed();
+        double average = (double) elapsed / nIters;
+        checkInterval = (int) Math.max(1, Math.min(1000, CHECK_PERIOD_NANOS / Math.max(average, 1.0)));
+        itersUntilCheck = checkInterval;
+        long remaining = maxTime - elapsed;
+        return remaining - break_ms * 1000000L <= (checkInterval + 1) * average;
+    }
+
     public ElapsedCpuTimer copy()
     {
-        ElapsedCpuTimer newCpuTimer = new ElapsedCpuTimer();
-        newCpuTimer.maxTime = this.maxTime;
-        newCpuTimer.oldTime = this.oldTime;
-        newCpuTimer.bean = this.bean;
-        newCpuTimer.nIters = this.nIters;
-        return newCpuTimer;
+        return new ElapsedCpuTimer(this);
     }
 
     @Override
@@ -106,6 +155,10 @@ public class ElapsedCpuTimer {
     }
 
     protected long getCpuTime() {
+        return readCpuTime();
+    }
+
+    private static long readCpuTime() {
         if(OS_WIN)
             return System.nanoTime();
 
@@ -0,0 +1,168 @@
+package utilities;
+
+import java.util.*;
+
+/**
+ * A List backed by a circular array, as used for the components of a Deck.
+ * <p>
+ * get() and set() are O(1), as with an ArrayList. Unlike an ArrayList, adding or removing at either end of the list
+ * is also O(1) (amortised), so drawing from the top of a deck and adding to the top or bottom are all cheap.
+ * Adding or removing in the middle moves whichever side of the list is shorter.
+ * <p>
+ * (A LinkedList has O(1) operations at both ends, but O(n) indexed access, which makes iterating over a List
+ * by index O(n^2).)
+ */
+public class RingBufferList<T> extends AbstractList<T> implements RandomAccess {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private Object[] elements;
+    private int head;  // physical index of element 0
+    private int size;
+
+    public RingBufferList() {
+        this(MIN_CAPACITY);
+    }
+
+    public RingBufferList(int initialCapacity) {
+        elements = new Object[Math.max(initialCapacity, MIN_CAPACITY)];
+    }
+
+    public RingBufferList(Collection<? extends T> contents) {
+        Object[] source = contents.toArray();
+        elements = Arrays.copyOf(source, Math.max(source.length, MIN_CAPACITY), Object[].class);
+        size = source.length;
+    }
+
+    private int physical(int index) {
+        int i = head + index;
+        return i >= elements.length ? i - elements.length : i;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= elements.length)
+            return;
+        Object[] newElements = new Object[Math.max(required, elements.length * 2)];
+        copyOut(newElements);
+        elements = newElements;
+        head = 0;
+    }
+
+    // copies the contents, in order, to the start of the target array
+    private void copyOut(Object[] target) {
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, target, 0, firstPart);
+        System.arraycopy(elements, 0, target, firstPart, size - firstPart);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        return (T) elements[physical(index)];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T set(int index, T element) {
+        Objects.checkIndex(index, size);
+        int i = physical(index);
+        T old = (T) elements[i];
+        elements[i] = element;
+        return old;
+    }
+
+    @Override
+    public boolean add(T element) {
+        add(size, element);
+        return true;
+    }
+
+    @Override
+    public void add(int index, T element) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        ensureCapacity(size + 1);
+        openGap(index, 1);
+        elements[physical(index)] = element;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        return addAll(size, c);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends T> c) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        Object[] added = c.toArray();
+        if (added.length == 0)
+            return false;
+        ensureCapacity(size + added.length);
+        openGap(index, added.length);
+        for (int i = 0; i < added.length; i++)
+            elements[physical(index + i)] = added[i];
+        size += added.length;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Moves elements so that there are n free slots at logical positions [index, index + n), moving the elements
+     * before or after index, whichever are fewer. The capacity must already be sufficient, and size is not changed.
+     */
+    private void openGap(int index, int n) {
+        if (index < size / 2) {
+            head -= n;
+            if (head < 0)
+                head += elements.length;
+            for (int i = 0; i < index; i++)
+                elements[physical(i)] = elements[physical(i + n)];
+        } else {
+            for (int i = size - 1; i >= index; i--)
+                elements[physical(i + n)] = elements[physical(i)];
+        }
+    }
+
+    @Override
+    public T remove(int index) {
+        T old = get(index);
+        if (index < size / 2) {
+            for (int i = index; i > 0; i--)
+                elements[physical(i)] = elements[physical(i - 1)];
+            elements[head] = null;
+            head = head + 1 == elements.length ? 0 : head + 1;
+        } else {
+            for (int i = index; i < size - 1; i++)
+                elements[physical(i)] = elements[physical(i + 1)];
+            elements[physical(size - 1)] = null;
+        }
+        size--;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++)
+            elements[physical(i)] = null;
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] retValue = new Object[size];
+        copyOut(retValue);
+        return retValue;
+    }
+}
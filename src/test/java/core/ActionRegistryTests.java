@@ -0,0 +1,52 @@
+package core;
+
+import core.actions.AbstractAction;
+import core.actions.ActionRegistry;
+import core.actions.DoNothing;
+import core.actions.DrawCard;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ActionRegistryTests {
+
+    @Test
+    public void equalActionsShareAnInstance() {
+        ActionRegistry registry = new ActionRegistry();
+
+        DrawCard first = new DrawCard(1, 2, 0);
+        AbstractAction canonical = registry.intern(first);
+        // the registry keeps its own copy
+        assertNotSame(first, canonical);
+        assertEquals(first, canonical);
+
+        assertSame(canonical, registry.intern(new DrawCard(1, 2, 0)));
+        assertSame(canonical, registry.intern(canonical));
+        assertEquals(1, registry.size());
+
+        assertNotEquals(canonical, registry.intern(new DrawCard(1, 2, 1)));
+        registry.intern(new DoNothing());
+        assertEquals(3, registry.size());
+    }
+
+    @Test
+    public void registriesAreIndependent() {
+        ActionRegistry registry = new ActionRegistry();
+        ActionRegistry other = new ActionRegistry();
+        AbstractAction canonical = registry.intern(new DrawCard(1, 2, 0));
+        assertNotSame(canonical, other.intern(new DrawCard(1, 2, 0)));
+        assertEquals(1, other.size());
+    }
+
+    @Test
+    public void clearedRegistryMakesNewCanonicalInstances() {
+        ActionRegistry registry = new ActionRegistry();
+        AbstractAction canonical = registry.intern(new DrawCard(1, 2, 0));
+        registry.clear();
+        assertEquals(0, registry.size());
+        AbstractAction next = registry.intern(new DrawCard(1, 2, 0));
+        assertNotSame(canonical, next);
+        assertEquals(canonical, next);
+        assertEquals(1, registry.size());
+    }
+}
@@ -0,0 +1,188 @@
+package core;
+
+import core.actions.AbstractAction;
+import core.actions.ActionSpace;
+import evaluation.listeners.IGameListener;
+import evaluation.metrics.Event;
+import games.GameType;
+import games.tictactoe.TicTacToeForwardModel;
+import games.tictactoe.TicTacToeGameParameters;
+import games.tictactoe.TicTacToeGameState;
+import org.junit.Test;
+import players.human.HumanConsolePlayer;
+import players.mcts.MCTSPlayer;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class GameDecisionTests {
+
+    /**
+     * Checks that every decision is made on an observation, from the actions available in that observation
+     */
+    static class CheckingPlayer extends RandomPlayer {
+        int decisions, observations;
+
+        CheckingPlayer(long seed) {
+            super(new Random(seed));
+        }
+
+        @Override
+        public AbstractAction _getAction(AbstractGameState observation, List<AbstractAction> actions) {
+            decisions++;
+            assertNotNull(observation);
+            assertEquals(actions, getForwardModel().computeAvailableActions(observation, getParameters().actionSpace));
+            return super._getAction(observation, actions);
+        }
+
+        @Override
+        public CheckingPlayer copy() {
+            return this;
+        }
+    }
+
+    static class ObservingPlayer extends CheckingPlayer {
+        ObservingPlayer(long seed) {
+            super(seed);
+        }
+
+        @Override
+        public void registerUpdatedObservation(AbstractGameState observation) {
+            observations++;
+        }
+    }
+
+    /**
+     * Counts the decisions with a single action (which are played automatically) for each player, and checks that
+     * the game state was only copied for those if the player uses the observation
+     */
+    static class AutoPlayListener implements IGameListener {
+        Game game;
+        int[] autoPlayed;
+
+        @Override
+        public void onEvent(Event event) {
+            if (event.type != Event.GameEvent.ACTION_CHOSEN)
+                return;
+            AbstractPlayer player = game.getPlayers().get(event.playerID);
+            if (game.getAvailableActions(player.getParameters().actionSpace).size() != 1)
+                return;
+            autoPlayed[event.playerID]++;
+            assertEquals(player.usesUpdatedObservations(), game.getCopyTime() > 0);
+        }
+
+        @Override
+        public void report() {
+        }
+
+        @Override
+        public void setGame(Game game) {
+            this.game = game;
+            autoPlayed = new int[game.getPlayers().size()];
+        }
+
+        @Override
+        public Game getGame() {
+            return game;
+        }
+    }
+
+    @Test
+    public void singleActionsAreOnlyObservedByPlayersThatUseThem() {
+        int totalAutoPlayed = 0, totalDecisions = 0;
+        for (GameType gameType : List.of(GameType.LoveLetter, GameType.Dominion, GameType.Poker)) {
+            for (long seed = 0; seed < 3; seed++) {
+                Game game = gameType.createGameInstance(2, seed);
+                AutoPlayListener listener = new AutoPlayListener();
+                List<CheckingPlayer> players = List.of(new ObservingPlayer(seed), new CheckingPlayer(seed + 1));
+                game.reset(new ArrayList<>(players));
+                game.addListener(listener);
+                game.run();
+
+                // the player using the observations is sent one for every action played automatically
+                assertEquals(gameType.name(), listener.autoPlayed[0], players.get(0).observations);
+                assertEquals(0, players.get(1).observations);
+                totalAutoPlayed += listener.autoPlayed[0] + listener.autoPlayed[1];
+                totalDecisions += players.get(0).decisions + players.get(1).decisions;
+            }
+        }
+        assertTrue(totalAutoPlayed > 0);
+        assertTrue(totalDecisions > 0);
+    }
+
+    static class CountingForwardModel extends TicTacToeForwardModel {
+        int computed;
+
+        @Override
+        protected List<AbstractAction> _computeAvailableActions(AbstractGameState gameState, ActionSpace actionSpace) {
+            computed++;
+            return super._computeAvailableActions(gameState, actionSpace);
+        }
+    }
+
+    /**
+     * Counts the decisions of the player, and checks the actions were computed once for each of them
+     */
+    static class ComputeCountListener implements IGameListener {
+        final CountingForwardModel forwardModel;
+        Game game;
+        int choices;
+
+        ComputeCountListener(CountingForwardModel forwardModel) {
+            this.forwardModel = forwardModel;
+        }
+
+        @Override
+        public void onEvent(Event event) {
+            if (event.type == Event.GameEvent.ACTION_CHOSEN) {
+                assertEquals(1, forwardModel.computed);
+                if (game.getAvailableActions(game.getPlayers().get(event.playerID).getParameters().actionSpace).size() > 1)
+                    choices++;
+                assertEquals(1, forwardModel.computed);
+            }
+            if (event.type == Event.GameEvent.ACTION_TAKEN || event.type == Event.GameEvent.ABOUT_TO_START)
+                forwardModel.computed = 0;
+        }
+
+        @Override
+        public void report() {
+        }
+
+        @Override
+        public void setGame(Game game) {
+            this.game = game;
+        }
+
+        @Override
+        public Game getGame() {
+            return game;
+        }
+    }
+
+    @Test
+    public void actionsAreComputedOncePerDecision() {
+        CountingForwardModel forwardModel = new CountingForwardModel();
+        TicTacToeGameState state = new TicTacToeGameState(new TicTacToeGameParameters(), 2);
+        Game game = new Game(GameType.TicTacToe, List.of(new RandomPlayer(new Random(1)), new RandomPlayer(new Random(2))),
+                forwardModel, state);
+        ComputeCountListener listener = new ComputeCountListener(forwardModel);
+        game.addListener(listener);
+        game.run();
+        assertFalse(game.getGameState().isNotTerminal());
+        assertTrue(listener.choices > 0);
+    }
+
+    @Test
+    public void usesUpdatedObservationsIfOverridden() {
+        assertFalse(new RandomPlayer().usesUpdatedObservations());
+        assertFalse(new CheckingPlayer(0).usesUpdatedObservations());
+        assertTrue(new ObservingPlayer(0).usesUpdatedObservations());
+        // inherited from a superclass that overrides it
+        assertTrue(new ObservingPlayer(0) {
+        }.usesUpdatedObservations());
+        assertTrue(new MCTSPlayer().usesUpdatedObservations());
+        assertTrue(new HumanConsolePlayer().usesUpdatedObservations());
+    }
+}
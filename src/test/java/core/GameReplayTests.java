@@ -0,0 +1,89 @@
+package core;
+
+import core.actions.AbstractAction;
+import evaluation.listeners.GameRecordListener;
+import games.GameType;
+import games.loveletter.LoveLetterGameState;
+import org.junit.After;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+import utilities.Pair;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class GameReplayTests {
+
+    String fileName;
+
+    @After
+    public void cleanup() {
+        if (fileName != null)
+            new File(fileName).delete();
+    }
+
+    private Game recordGame(GameType gameType, int fingerprintInterval) {
+        Game game = gameType.createGameInstance(3, 2331);
+        GameRecordListener listener = new GameRecordListener(fingerprintInterval);
+        game.addListener(listener);
+        game.reset(List.of(new RandomPlayer(new Random(1)), new RandomPlayer(new Random(2)), new RandomPlayer(new Random(3))));
+        game.run();
+        fileName = listener.getFileName();
+        return game;
+    }
+
+    /**
+     * The replay creates its components afresh, and components are only equal if they have the same ID, so the
+     * states are compared through everything but the IDs
+     */
+    private void assertSameState(AbstractGameState expected, AbstractGameState actual) {
+        assertEquals(expected.getGameTick(), actual.getGameTick());
+        assertEquals(expected.getCurrentPlayer(), actual.getCurrentPlayer());
+        assertEquals(expected.getRoundCounter(), actual.getRoundCounter());
+        assertEquals(expected.getTurnCounter(), actual.getTurnCounter());
+        assertEquals(expected.getGameStatus(), actual.getGameStatus());
+        assertArrayEquals(expected.getPlayerResults(), actual.getPlayerResults());
+        assertEquals(expected.getHistory(), actual.getHistory());
+        LoveLetterGameState llExpected = (LoveLetterGameState) expected, llActual = (LoveLetterGameState) actual;
+        for (int p = 0; p < expected.getNPlayers(); p++) {
+            assertEquals(expected.getGameScore(p), actual.getGameScore(p), 0.0);
+            assertEquals(llExpected.getPlayerHandCards().get(p).toString(), llActual.getPlayerHandCards().get(p).toString());
+            assertEquals(llExpected.getPlayerDiscardCards().get(p).toString(), llActual.getPlayerDiscardCards().get(p).toString());
+        }
+        assertEquals(llExpected.getDrawPile().toString(), llActual.getDrawPile().toString());
+        assertEquals(llExpected.getReserveCards().toString(), llActual.getReserveCards().toString());
+        assertEquals(String.valueOf(llExpected.getRemovedCard()), String.valueOf(llActual.getRemovedCard()));
+    }
+
+    @Test
+    public void replayReachesTheFinalState() throws IOException {
+        Game game = recordGame(GameType.LoveLetter, 7);
+        GameReplay replay = new GameReplay(fileName);
+        assertTrue(replay.isComplete());
+        assertEquals(GameType.LoveLetter, replay.getGameType());
+        assertEquals(game.getGameState().getHistory().size(), replay.getActionCount());
+
+        assertSameState(game.getGameState(), replay.getStateAfter(replay.getActionCount()));
+    }
+
+    @Test
+    public void replayFromStatesKeptInMemory() throws IOException {
+        Game game = recordGame(GameType.LoveLetter, 5);
+        GameReplay replay = new GameReplay(fileName);
+        int n = replay.getActionCount();
+        // later requests start from the states kept at the fingerprints passed by earlier ones, and
+        // a new replay of the same file starts again from the beginning of the game
+        AbstractGameState middle = replay.getStateAfter(n / 2);
+        assertSameState(middle, replay.getStateAfter(n / 2));
+        assertSameState(middle, new GameReplay(fileName).getStateAfter(n / 2));
+        assertEquals(middle.getGameTick(), replay.getState(middle.getGameTick()).getGameTick());
+        assertSameState(game.getGameState(), replay.getStateAfter(n));
+
+        List<Pair<Integer, AbstractAction>> history = game.getGameState().getHistory();
+        assertEquals(history, replay.getActions());
+    }
+}
@@ -0,0 +1,59 @@
+package core;
+
+import core.actions.AbstractAction;
+import games.GameType;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class IndexedActionsTests {
+
+    /**
+     * Plays random games, and checks at each decision that _countAvailableActions() and _getAvailableAction() match
+     * the list from computeAvailableActions(), and that randomAvailableAction() picks the same action as a RandomPlayer
+     * with the same seed.
+     */
+    private void checkIndexedActions(GameType gameType, int nPlayers, long seed) {
+        Game game = gameType.createGameInstance(nPlayers, seed);
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel forwardModel = game.getForwardModel();
+        Random rnd = new Random(seed);
+
+        while (state.isNotTerminal()) {
+            List<AbstractAction> actions = forwardModel.computeAvailableActions(state);
+            if (!state.isActionInProgress()) {
+                assertTrue(forwardModel.supportsIndexedActions(state));
+                assertEquals(actions.size(), forwardModel._countAvailableActions(state));
+                for (int i = 0; i < actions.size(); i++)
+                    assertEquals(actions.get(i), forwardModel._getAvailableAction(state, i));
+            }
+            long actionSeed = rnd.nextLong();
+            AbstractAction expected = new RandomPlayer(new Random(actionSeed)).getAction(state, actions);
+            AbstractAction fast = forwardModel.randomAvailableAction(state, null, new Random(actionSeed));
+            assertEquals(expected, fast);
+            forwardModel.next(state, fast.copy());
+        }
+    }
+
+    @Test
+    public void ticTacToe() {
+        for (long seed = 0; seed < 10; seed++)
+            checkIndexedActions(GameType.TicTacToe, 2, seed);
+    }
+
+    @Test
+    public void connect4() {
+        for (long seed = 0; seed < 10; seed++)
+            checkIndexedActions(GameType.Connect4, 2, seed);
+    }
+
+    @Test
+    public void uno() {
+        for (long seed = 0; seed < 5; seed++)
+            checkIndexedActions(GameType.Uno, 3, seed);
+    }
+}
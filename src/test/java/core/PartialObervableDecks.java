@@ -4,6 +4,7 @@ import core.components.Deck;
 import core.components.PartialObservableDeck;
 import games.dominion.cards.CardType;
 import games.dominion.cards.DominionCard;
+import games.hanabi.HanabiCard;
 import org.junit.Test;
 import utilities.DeterminisationUtilities;
 
@@ -406,4 +407,21 @@ public class PartialObervableDecks {
         assertEquals(3, nonShuffledCount[0], 3); // 2 cards, so expect 20/6 = 3
         assertEquals(7, nonShuffledCount[1], 3); // 4 cards, so expect 40/6 = 7
     }
+
+    @Test
+    public void copyOnWriteDeckCopiedForAPlayerUsesTheirViewOfEachCard() {
+        PartialObservableDeck<HanabiCard> deck = new PartialObservableDeck<>("Test", 0, new boolean[]{false, true});
+        deck.setCopyOnWrite(true);
+        HanabiCard card = new HanabiCard(games.hanabi.CardType.Red, 3);
+        card.ownerKnowsColor = false;
+        deck.add(card);
+
+        // the owner does not know the colour of their card, so their copy must not share the original
+        HanabiCard ownerView = deck.copy(0).get(0);
+        assertNotSame(card, ownerView);
+        assertFalse(ownerView.colorVisibility);
+        // a full copy can share it
+        assertSame(card, deck.copy().get(0));
+        assertTrue(deck.copy(0).isCopyOnWrite());
+    }
 }
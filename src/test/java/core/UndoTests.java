@@ -0,0 +1,77 @@
+package core;
+
+import core.actions.AbstractAction;
+import games.GameType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class UndoTests {
+
+    /**
+     * Plays a random game with applyAndRecord(), keeping a copy of the state before each action.
+     * We then undo every action, and check that the state matches the copy at each step.
+     */
+    private void playAndUndo(GameType gameType, int nPlayers, long seed) {
+        Game game = gameType.createGameInstance(nPlayers, seed);
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel forwardModel = game.getForwardModel();
+        assertTrue(forwardModel.supportsUndo());
+        Random rnd = new Random(seed);
+
+        List<AbstractGameState> before = new ArrayList<>();
+        List<Integer> historySize = new ArrayList<>();
+        while (state.isNotTerminal() && before.size() < 500) {
+            List<AbstractAction> actions = forwardModel.computeAvailableActions(state);
+            before.add(state.copy());
+            historySize.add(state.getHistory().size());
+            forwardModel.applyAndRecord(state, actions.get(rnd.nextInt(actions.size())));
+        }
+        assertEquals(before.size(), state.getUndoDepth());
+
+        for (int i = before.size() - 1; i >= 0; i--) {
+            forwardModel.undo(state);
+            assertEquals(before.get(i), state);
+            assertEquals(before.get(i).hashCode(), state.hashCode());
+            assertEquals((int) historySize.get(i), state.getHistory().size());
+        }
+        assertEquals(0, state.getUndoDepth());
+        assertEquals(forwardModel.computeAvailableActions(before.get(0)), forwardModel.computeAvailableActions(state));
+    }
+
+    @Test
+    public void ticTacToe() {
+        for (long seed = 0; seed < 10; seed++)
+            playAndUndo(GameType.TicTacToe, 2, seed);
+    }
+
+    @Test
+    public void connect4() {
+        for (long seed = 0; seed < 10; seed++)
+            playAndUndo(GameType.Connect4, 2, seed);
+    }
+
+    @Test
+    public void dotsAndBoxes() {
+        for (long seed = 0; seed < 5; seed++)
+            playAndUndo(GameType.DotsAndBoxes, 3, seed);
+    }
+
+    @Test
+    public void chineseCheckers() {
+        for (long seed = 0; seed < 3; seed++)
+            playAndUndo(GameType.ChineseCheckers, 2, seed);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void undoNotSupported() {
+        Game game = GameType.LoveLetter.createGameInstance(2, 42);
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel forwardModel = game.getForwardModel();
+        forwardModel.applyAndRecord(state, forwardModel.computeAvailableActions(state).get(0));
+    }
+}
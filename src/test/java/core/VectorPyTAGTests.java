@@ -0,0 +1,116 @@
+package core;
+
+import games.GameType;
+import org.junit.Test;
+import players.python.PythonAgent;
+import players.simple.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class VectorPyTAGTests {
+
+    static final int N_ENVS = 5;
+    static final int STEPS = 100;
+
+    /**
+     * Plays STEPS steps in each environment, picking a random valid action from the mask each time, and returns
+     * the observations, masks, rewards and dones after each step (concatenated)
+     */
+    private List<double[]> run(int nThreads) throws Exception {
+        List<AbstractPlayer> players = new ArrayList<>();
+        players.add(new PythonAgent());
+        players.add(new RandomPlayer(new Random(23)));
+        VectorPyTAG env = new VectorPyTAG(GameType.TicTacToe, null, players, N_ENVS, 42, false, nThreads);
+        int obsSize = env.getObservationSpace();
+        // the action space is not known until after reset(), so we allocate generously
+        double[] observations = new double[N_ENVS * obsSize];
+        int[] masks = new int[N_ENVS * 9];
+        double[] rewards = new double[N_ENVS];
+        int[] dones = new int[N_ENVS];
+        int[] actions = new int[N_ENVS];
+        env.setBuffers(observations, masks, rewards, dones, actions);
+        env.reset();
+        int actionSpace = env.getActionSpace();
+        assertEquals(9, actionSpace);
+
+        Random rnd = new Random(7);
+        List<double[]> retValue = new ArrayList<>();
+        int episodesFinished = 0;
+        for (int step = 0; step < STEPS; step++) {
+            for (int i = 0; i < N_ENVS; i++) {
+                List<Integer> valid = new ArrayList<>();
+                for (int a = 0; a < actionSpace; a++)
+                    if (masks[i * actionSpace + a] == 1) valid.add(a);
+                assertFalse(valid.isEmpty());
+                actions[i] = valid.get(rnd.nextInt(valid.size()));
+            }
+            env.step();
+            episodesFinished += Arrays.stream(dones).sum();
+            double[] snapshot = new double[observations.length + masks.length + 2 * N_ENVS];
+            System.arraycopy(observations, 0, snapshot, 0, observations.length);
+            for (int i = 0; i < masks.length; i++)
+                snapshot[observations.length + i] = masks[i];
+            for (int i = 0; i < N_ENVS; i++) {
+                snapshot[observations.length + masks.length + i] = rewards[i];
+                snapshot[observations.length + masks.length + N_ENVS + i] = dones[i];
+            }
+            retValue.add(snapshot);
+        }
+        env.close();
+        // with at most 5 moves each per game of TicTacToe, every environment will have finished several episodes
+        assertTrue(episodesFinished >= N_ENVS * 10);
+        return retValue;
+    }
+
+    @Test
+    public void sameResultsWithAnyNumberOfThreads() throws Exception {
+        List<double[]> sequential = run(1);
+        List<double[]> parallel = run(3);
+        for (int step = 0; step < STEPS; step++)
+            assertArrayEquals(sequential.get(step), parallel.get(step), 0.0);
+    }
+
+    /**
+     * The observations written into the buffers are those that PyTAG.getObservationVector() gives from the player's
+     * copy of the state, whether or not VectorPyTAG makes that copy
+     */
+    private void checkObservations(GameType gameType) throws Exception {
+        List<AbstractPlayer> players = new ArrayList<>();
+        players.add(new PythonAgent());
+        players.add(new RandomPlayer(new Random(31)));
+        VectorPyTAG env = new VectorPyTAG(gameType, null, players, N_ENVS, 17, false, 1);
+        int obsSize = env.getObservationSpace();
+        double[] observations = new double[N_ENVS * obsSize];
+        int[] masks = new int[N_ENVS * 1000];
+        int[] actions = new int[N_ENVS];
+        env.setBuffers(observations, masks, new double[N_ENVS], new int[N_ENVS], actions);
+        env.reset();
+
+        Random rnd = new Random(11);
+        for (int step = 0; step < STEPS; step++) {
+            int actionSpace = env.getActionSpace();
+            for (int i = 0; i < N_ENVS; i++) {
+                assertArrayEquals(env.getEnv(i).getObservationVector(),
+                        Arrays.copyOfRange(observations, i * obsSize, (i + 1) * obsSize), 0.0);
+                List<Integer> valid = new ArrayList<>();
+                for (int a = 0; a < actionSpace; a++)
+                    if (masks[i * actionSpace + a] == 1) valid.add(a);
+                actions[i] = valid.get(rnd.nextInt(valid.size()));
+            }
+            env.step();
+        }
+        env.close();
+    }
+
+    @Test
+    public void observationsMatchThePlayersView() throws Exception {
+        checkObservations(GameType.TicTacToe);
+        checkObservations(GameType.LoveLetter);
+        checkObservations(GameType.Diamant);
+    }
+}
@@ -0,0 +1,220 @@
+package core;
+
+import core.actions.AbstractAction;
+import core.actions.SetGridValueAction;
+import core.components.*;
+import games.GameType;
+import games.hanabi.CardType;
+import games.hanabi.HanabiCard;
+import games.hanabi.HanabiGameState;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static core.CoreConstants.VisibilityMode.HIDDEN_TO_ALL;
+import static org.junit.Assert.*;
+
+public class ZobristHashTests {
+
+    Random rnd = new Random(393);
+
+    private <T extends Component> long recomputed(Deck<T> deck) {
+        long hash = 0, power = 1;
+        for (T c : deck.getComponents()) {
+            hash += c.getZobristHash() * power;
+            power *= Zobrist.SEQUENCE_MULTIPLIER;
+        }
+        return hash;
+    }
+
+    @Test
+    public void deckHashIsMaintainedIncrementally() {
+        Deck<Card> deck = new Deck<>("Test", HIDDEN_TO_ALL);
+        List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < 20; i++)
+            cards.add(new Card("Card" + i));
+        for (int step = 0; step < 1000; step++) {
+            switch (rnd.nextInt(5)) {
+                case 0 -> deck.add(cards.get(rnd.nextInt(cards.size())));
+                case 1 -> deck.addToBottom(cards.get(rnd.nextInt(cards.size())));
+                case 2 -> deck.draw();
+                case 3 -> deck.pickLast();
+                default -> {
+                    if (deck.getSize() > 0)
+                        deck.pick(rnd.nextInt(deck.getSize()));
+                }
+            }
+            long incremental = deck.getZobristHash();
+            Deck<Card> copy = deck.copy();
+            assertEquals(incremental, copy.getZobristHash());
+            assertEquals(incremental, recomputed(deck));
+        }
+    }
+
+    @Test
+    public void deckHashFollowsChangesThroughComponentsList() {
+        Deck<Card> deck = new Deck<>("Test", HIDDEN_TO_ALL);
+        for (int i = 0; i < 5; i++)
+            deck.add(new Card("Card" + i));
+        long before = deck.getZobristHash();
+        deck.getComponents().set(2, new Card("Other"));
+        assertNotEquals(before, deck.getZobristHash());
+        assertEquals(recomputed(deck), deck.getZobristHash());
+        deck.getComponents().remove(0);
+        assertEquals(recomputed(deck), deck.getZobristHash());
+    }
+
+    @Test
+    public void deckHashFollowsChangesToComponentsInIt() {
+        Deck<Counter> deck = new Deck<>("Test", HIDDEN_TO_ALL);
+        Counter counter = new Counter(0, 0, 10, "Counter");
+        deck.add(new Counter(0, 0, 10, "Other"));
+        deck.add(counter);
+        long before = deck.getZobristHash();
+        counter.increment();
+        assertNotEquals(before, deck.getZobristHash());
+        assertEquals(recomputed(deck), deck.getZobristHash());
+        Deck<Counter> copy = deck.copy();
+        copy.get(0).decrement();
+        assertEquals(before, copy.getZobristHash());
+        assertNotEquals(before, deck.getZobristHash());
+
+        // once the counter has left the deck, it no longer affects it
+        deck.remove(counter);
+        long removed = deck.getZobristHash();
+        counter.increment();
+        assertEquals(removed, deck.getZobristHash());
+    }
+
+    @Test
+    public void keyFollowsChangesToCardsInADeck() {
+        ZobristStateKey stateKey = new ZobristStateKey();
+        Game game = GameType.Hanabi.createGameInstance(2, 42);
+        HanabiGameState state = (HanabiGameState) game.getGameState();
+        Deck<HanabiCard> hand = state.getPlayerDecks().get(0);
+        HanabiCard card = hand.get(1);
+        long before = (long) stateKey.getKey(state);
+        long deckBefore = hand.getZobristHash();
+
+        card.hintNumber(card.number);
+        assertNotEquals(before, (long) stateKey.getKey(state));
+        assertNotEquals(deckBefore, hand.getZobristHash());
+        assertEquals(recomputed(hand), hand.getZobristHash());
+        long hinted = (long) stateKey.getKey(state);
+        card.setNumber(card.number == 1 ? 2 : 1);
+        assertNotEquals(hinted, (long) stateKey.getKey(state));
+        card.setColor(card.color == CardType.Red ? CardType.Blue : CardType.Red);
+        assertEquals(recomputed(hand), hand.getZobristHash());
+        assertEquals(stateKey.getKey(state), stateKey.getKey(state.copy()));
+    }
+
+    // a card with state in hashCode() that does not tell its deck when it changes
+    static class ValueCard extends Card {
+        int value;
+
+        ValueCard(String name) {
+            super(name);
+        }
+
+        ValueCard(String name, int ID, int value) {
+            super(name, ID);
+            this.value = value;
+        }
+
+        @Override
+        public ValueCard copy() {
+            return new ValueCard(componentName, componentID, value);
+        }
+
+        @Override
+        public int hashCode() {
+            return componentID * 31 + value;
+        }
+    }
+
+    @Test
+    public void deckHashFollowsCardsThatDoNotReportChanges() {
+        Deck<Card> deck = new Deck<>("Test", HIDDEN_TO_ALL);
+        ValueCard changing = new ValueCard("Changing");
+        deck.add(new Card("A"));
+        deck.add(changing);
+        deck.add(new Card("B"));
+        long before = deck.getZobristHash();
+        changing.value++;
+        assertNotEquals(before, deck.getZobristHash());
+        assertEquals(recomputed(deck), deck.getZobristHash());
+        deck.draw();
+        assertEquals(recomputed(deck), deck.getZobristHash());
+        changing.value++;
+        deck.addToBottom(new Card("C"));
+        assertEquals(recomputed(deck), deck.getZobristHash());
+        assertEquals(recomputed(deck), deck.copy().getZobristHash());
+    }
+
+    @Test
+    public void topLevelComponentsAreVisitedInOrder() {
+        for (GameType gameType : List.of(GameType.Hanabi, GameType.Dominion, GameType.MonopolyDeal)) {
+            AbstractGameState state = gameType.createGameInstance(3, 42).getGameState();
+            List<Component> visited = new ArrayList<>();
+            state.forEachTopLevelComponent(visited::add);
+            assertEquals(gameType.name(), state.getAllTopLevelComponents(), visited);
+        }
+    }
+
+    @Test
+    public void deckHashDependsOnOrder() {
+        Deck<Card> deck = new Deck<>("Test", HIDDEN_TO_ALL);
+        Card a = new Card("A"), b = new Card("B");
+        deck.add(a);
+        deck.add(b);
+        long ab = deck.getZobristHash();
+        deck.clear();
+        deck.add(b);
+        deck.add(a);
+        assertNotEquals(ab, deck.getZobristHash());
+    }
+
+    @Test
+    public void equalStatesHaveEqualKeys() {
+        ZobristStateKey stateKey = new ZobristStateKey();
+        for (GameType gameType : List.of(GameType.TicTacToe, GameType.Connect4)) {
+            Game game = gameType.createGameInstance(2, 42);
+            AbstractGameState state = game.getGameState();
+            AbstractForwardModel forwardModel = game.getForwardModel();
+            while (state.isNotTerminal()) {
+                AbstractGameState copy = state.copy();
+                assertEquals(stateKey.getKey(state), stateKey.getKey(copy));
+                List<AbstractAction> actions = forwardModel.computeAvailableActions(state);
+                long before = (long) stateKey.getKey(state);
+                forwardModel.next(state, actions.get(rnd.nextInt(actions.size())));
+                assertNotEquals(before, (long) stateKey.getKey(state));
+            }
+        }
+    }
+
+    @Test
+    public void transposedMovesGiveTheSameKey() {
+        // the same two moves by each player, in a different order, reach the same TicTacToe position
+        ZobristStateKey stateKey = new ZobristStateKey();
+        Game game = GameType.TicTacToe.createGameInstance(2, 42);
+        AbstractForwardModel forwardModel = game.getForwardModel();
+        AbstractGameState first = game.getGameState().copy();
+        AbstractGameState second = game.getGameState().copy();
+        int[] order1 = {0, 1, 2, 3}, order2 = {2, 3, 0, 1};
+        int[][] cells = {{0, 0}, {1, 1}, {2, 0}, {0, 2}};
+        for (int i = 0; i < 4; i++) {
+            playCell(forwardModel, first, cells[order1[i]]);
+            playCell(forwardModel, second, cells[order2[i]]);
+        }
+        assertEquals(stateKey.getKey(first), stateKey.getKey(second));
+    }
+
+    private void playCell(AbstractForwardModel forwardModel, AbstractGameState state, int[] cell) {
+        AbstractAction action = forwardModel.computeAvailableActions(state).stream()
+                .filter(a -> ((SetGridValueAction) a).getX() == cell[0] && ((SetGridValueAction) a).getY() == cell[1])
+                .findFirst().orElseThrow();
+        forwardModel.next(state, action);
+    }
+}
@@ -1,6 +1,11 @@
 package evaluation;
 
 import core.AbstractPlayer;
+import evaluation.listeners.IGameListener;
+import evaluation.listeners.MetricsGameListener;
+import evaluation.metrics.AbstractMetric;
+import evaluation.metrics.GameMetrics;
+import evaluation.metrics.IDataLogger;
 import evaluation.tournaments.AbstractTournament;
 import evaluation.tournaments.RoundRobinTournament;
 import games.GameType;
@@ -8,6 +13,9 @@ import org.junit.*;
 import players.simple.RandomPlayer;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 
 import static org.junit.Assert.*;
@@ -132,4 +140,97 @@ public class RunGamesTest {
         assertEquals(66, tournament.getNGamesPlayed()[3], 15);
     }
 
+    private RoundRobinTournament seededTournament(String mode, int nThreads, IGameListener... listeners) {
+        List<AbstractPlayer> seededAgents = new ArrayList<>();
+        for (int i = 0; i < 4; i++)
+            seededAgents.add(new RandomPlayer(new Random(i)));
+        config.put(RunArg.mode, mode);
+        config.put(RunArg.seed, 42L);
+        config.put(RunArg.nThreads, nThreads);
+        RoundRobinTournament retValue = new RoundRobinTournament(seededAgents, GameType.Poker, 3, null, config);
+        for (IGameListener listener : listeners)
+            retValue.addListener(listener);
+        retValue.run();
+        return retValue;
+    }
+
+    @Test
+    public void parallelResultsMatchSequential() {
+        for (String mode : new String[]{"exhaustive", "random", "oneVsAll"}) {
+            RoundRobinTournament sequential = seededTournament(mode, 1);
+            RoundRobinTournament parallel = seededTournament(mode, 3);
+            assertArrayEquals(sequential.getNGamesPlayed(), parallel.getNGamesPlayed());
+            for (int i = 0; i < 4; i++) {
+                assertEquals(sequential.getWinRate(i), parallel.getWinRate(i), 0.0);
+                assertEquals(sequential.getWinStdErr(i), parallel.getWinStdErr(i), 0.0);
+                assertEquals(sequential.getOrdinalRank(i), parallel.getOrdinalRank(i), 0.0);
+                assertEquals(sequential.getOrdinalStdErr(i), parallel.getOrdinalStdErr(i), 0.0);
+            }
+            assertEquals(sequential.getWinnerIndex(), parallel.getWinnerIndex());
+        }
+    }
+
+    /**
+     * Runs a seeded tournament with a MetricsGameListener writing its raw data to files in the given directory
+     */
+    private void seededMetrics(String mode, int nThreads, Path dir) {
+        MetricsGameListener listener = new MetricsGameListener(IDataLogger.ReportDestination.ToFile,
+                new IDataLogger.ReportType[]{IDataLogger.ReportType.RawData},
+                new AbstractMetric[]{new GameMetrics.GameScore(), new GameMetrics.StateSpace(), new GameMetrics.FinalScore(),
+                        new GameMetrics.OrdinalPosition(), new GameMetrics.Winner()});
+        listener.setOutputDirectory(dir.toString());
+        seededTournament(mode, nThreads, listener);
+    }
+
+    /**
+     * @return the lines of a csv file, without the GameID column (game IDs are unique to each run)
+     */
+    private List<String> withoutGameID(File csv) throws IOException {
+        List<String> lines = Files.readAllLines(csv.toPath());
+        int column = Arrays.asList(lines.get(0).split(",")).indexOf("GameID");
+        List<String> retValue = new ArrayList<>();
+        for (String line : lines) {
+            List<String> values = new ArrayList<>(Arrays.asList(line.split(",", -1)));
+            if (column > -1)
+                values.remove(column);
+            retValue.add(String.join(",", values));
+        }
+        return retValue;
+    }
+
+    @Test
+    public void parallelMetricsMatchSequential() throws IOException {
+        Path sequentialDir = Files.createTempDirectory("sequential");
+        Path parallelDir = Files.createTempDirectory("parallel");
+        try {
+            seededMetrics("random", 1, sequentialDir);
+            seededMetrics("random", 3, parallelDir);
+            File[] sequentialFiles = sequentialDir.toFile().listFiles();
+            assertNotNull(sequentialFiles);
+            assertEquals(5, sequentialFiles.length);
+            for (File file : sequentialFiles) {
+                File parallelFile = parallelDir.resolve(file.getName()).toFile();
+                assertTrue(file.getName(), parallelFile.exists());
+                List<String> expected = withoutGameID(file);
+                assertTrue(file.getName(), expected.size() > 1);
+                assertEquals(file.getName(), expected, withoutGameID(parallelFile));
+            }
+        } finally {
+            for (Path dir : List.of(sequentialDir, parallelDir)) {
+                File[] files = dir.toFile().listFiles();
+                if (files != null)
+                    for (File file : files)
+                        file.delete();
+                dir.toFile().delete();
+            }
+        }
+    }
+
+    @Test
+    public void runGamesPassesThreadsToTournament() {
+        // RunGames hands its parsed config to the tournament, so nThreads must be one of its arguments
+        Map<RunArg, Object> parsed = RunArg.parseConfig(new String[]{"nThreads=3"}, Collections.singletonList(RunArg.Usage.RunGames));
+        assertEquals(3, parsed.get(RunArg.nThreads));
+    }
+
 }
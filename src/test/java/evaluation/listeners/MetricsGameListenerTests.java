@@ -0,0 +1,204 @@
+package evaluation.listeners;
+
+import core.AbstractPlayer;
+import core.Game;
+import core.interfaces.IGameEvent;
+import evaluation.metrics.AbstractMetric;
+import evaluation.metrics.Event;
+import evaluation.metrics.GameMetrics;
+import evaluation.metrics.IDataLogger;
+import evaluation.metrics.IDataProcessor;
+import games.GameType;
+import games.loveletter.stats.LoveLetterMetrics;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class MetricsGameListenerTests {
+
+    /**
+     * Keeps everything a metric records, in order
+     */
+    static class RecordingLogger implements IDataLogger {
+        final AbstractMetric metric;
+        final List<String> data = new ArrayList<>();
+
+        RecordingLogger(AbstractMetric metric) {
+            this.metric = metric;
+        }
+
+        @Override
+        public void init(Game game, int nPlayersPerGame, Set<String> playerNames) {
+            // some metrics set themselves up when asked for their columns
+            metric.getColumns(nPlayersPerGame, playerNames);
+        }
+
+        @Override
+        public void addData(String columnName, Object data) {
+            // the game IDs differ between the two runs
+            if (!columnName.equals("GameID"))
+                this.data.add(columnName + "=" + data);
+        }
+
+        @Override
+        public IDataProcessor getDefaultProcessor() {
+            return null;
+        }
+
+        @Override
+        public IDataLogger copy() {
+            return this;
+        }
+
+        @Override
+        public IDataLogger emptyCopy() {
+            return this;
+        }
+
+        @Override
+        public IDataLogger create() {
+            return this;
+        }
+    }
+
+    /**
+     * GameScore, run on a copy of the state on the background thread in async mode
+     */
+    static class GameScoreOnCopy extends GameMetrics.GameScore {
+        @Override
+        public boolean runsOnStateCopy() {
+            return true;
+        }
+    }
+
+    /**
+     * Checks which thread and state each event is processed on
+     */
+    static class ThreadCheck extends AbstractMetric {
+        final boolean onCopy;
+        final Thread gameThread = Thread.currentThread();
+        int events;
+
+        ThreadCheck(boolean onCopy) {
+            this.onCopy = onCopy;
+        }
+
+        @Override
+        public boolean runsOnStateCopy() {
+            return onCopy;
+        }
+
+        @Override
+        protected boolean _run(MetricsGameListener listener, Event e, Map<String, Object> records) {
+            events++;
+            assertEquals(onCopy, Thread.currentThread() != gameThread);
+            assertEquals(onCopy, e.state != listener.getGame().getGameState());
+            records.put("Tick", e.state.getGameTick());
+            return true;
+        }
+
+        @Override
+        public Set<IGameEvent> getDefaultEventTypes() {
+            return Set.of(Event.GameEvent.ACTION_CHOSEN);
+        }
+
+        @Override
+        public Map<String, Class<?>> getColumns(int nPlayersPerGame, Set<String> playerNames) {
+            return Map.of("Tick", Integer.class);
+        }
+    }
+
+    // metrics are known by their class name, so this needs a class of its own
+    static class ThreadCheckOnCopy extends ThreadCheck {
+        ThreadCheckOnCopy() {
+            super(true);
+        }
+    }
+
+    private Map<String, List<String>> runGames(boolean async) {
+        AbstractMetric[] metrics = new AbstractMetric[]{
+                new GameMetrics.GameScore(), new GameMetrics.FinalScore(), new GameMetrics.PlayerType(),
+                new GameMetrics.OrdinalPosition(), new GameMetrics.Decisions(), new GameMetrics.Actions(),
+                new GameMetrics.ActionsReduced(), new GameMetrics.Winner(),
+                new LoveLetterMetrics.CardStatsActionChosen(), new LoveLetterMetrics.CardsPlayed(),
+                new LoveLetterMetrics.WinCause(), new LoveLetterMetrics.RoundLength(), new GameScoreOnCopy()
+        };
+        MetricsGameListener listener = new MetricsGameListener(metrics);
+        Map<String, RecordingLogger> loggers = new LinkedHashMap<>();
+        for (AbstractMetric metric : metrics) {
+            RecordingLogger logger = new RecordingLogger(metric);
+            metric.setDataLogger(logger);
+            loggers.put(metric.getName(), logger);
+        }
+        if (async)
+            listener.setAsync(16);
+
+        Game game = GameType.LoveLetter.createGameInstance(3, 93);
+        List<AbstractPlayer> players = List.of(new RandomPlayer(new Random(1)), new RandomPlayer(new Random(2)), new RandomPlayer(new Random(3)));
+        Set<String> playerNames = players.stream().map(AbstractPlayer::toString).collect(Collectors.toSet());
+        listener.init(game, 3, playerNames);
+        game.addListener(listener);
+        for (int i = 0; i < 5; i++) {
+            game.reset(players, 93 + i);
+            game.run();
+        }
+        listener.flush();
+
+        Map<String, List<String>> retValue = new LinkedHashMap<>();
+        for (Map.Entry<String, RecordingLogger> entry : loggers.entrySet()) {
+            retValue.put(entry.getKey(), entry.getValue().data);
+            assertEquals(5, metricByName(metrics, entry.getKey()).getGamesCompleted());
+        }
+        return retValue;
+    }
+
+    private AbstractMetric metricByName(AbstractMetric[] metrics, String name) {
+        return Arrays.stream(metrics).filter(m -> m.getName().equals(name)).findFirst().orElseThrow();
+    }
+
+    @Test
+    public void asyncRecordsMatchSync() {
+        Map<String, List<String>> sync = runGames(false);
+        Map<String, List<String>> async = runGames(true);
+        assertEquals(sync.keySet(), async.keySet());
+        for (String metric : sync.keySet()) {
+            assertFalse(metric, sync.get(metric).isEmpty());
+            assertEquals(metric, sync.get(metric), async.get(metric));
+        }
+    }
+
+    @Test
+    public void recordedEventsKeepTheGameSeed() {
+        Game game = GameType.LoveLetter.createGameInstance(3, 93);
+        EventRecorder recorder = new EventRecorder();
+        game.addListener(recorder);
+        game.reset(List.of(new RandomPlayer(new Random(1)), new RandomPlayer(new Random(2)), new RandomPlayer(new Random(3))), 71);
+        game.run();
+        assertFalse(recorder.getEvents().isEmpty());
+        for (Event event : recorder.getEvents()) {
+            assertNotSame(game.getGameState(), event.state);
+            assertEquals(71, event.state.getGameParameters().getRandomSeed());
+        }
+    }
+
+    @Test
+    public void stateIsOnlyCopiedForMetricsThatAskForIt() {
+        ThreadCheck live = new ThreadCheck(false), onCopy = new ThreadCheckOnCopy();
+        MetricsGameListener listener = new MetricsGameListener(new AbstractMetric[]{live, onCopy});
+        live.setDataLogger(new RecordingLogger(live));
+        onCopy.setDataLogger(new RecordingLogger(onCopy));
+        listener.setAsync(16);
+        Game game = GameType.LoveLetter.createGameInstance(3, 93);
+        game.addListener(listener);
+        game.reset(List.of(new RandomPlayer(new Random(1)), new RandomPlayer(new Random(2)), new RandomPlayer(new Random(3))), 71);
+        game.run();
+        listener.flush();
+        assertTrue(live.events > 0);
+        assertEquals(live.events, onCopy.events);
+        assertEquals(((RecordingLogger) live.getDataLogger()).data, ((RecordingLogger) onCopy.getDataLogger()).data);
+    }
+}
@@ -0,0 +1,73 @@
+package evaluation.loggers;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class BinaryStatsLoggerTest {
+
+    String fileName = "BinaryStatsLoggerTest" + BinaryStatsLogger.EXTENSION;
+
+    @After
+    public void cleanup() {
+        new File(fileName).delete();
+    }
+
+    private Map<String, Object> row(int i) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("GameID", i / 10);
+        data.put("Feature", i * 0.5);
+        data.put("Flag", i % 2 == 0);
+        data.put("Missing", i % 3 == 0 ? null : 1.0);
+        return data;
+    }
+
+    @Test
+    public void writeAndRead() throws IOException {
+        // 25 rows in chunks of 7, so the last chunk is partial
+        BinaryStatsLogger logger = new BinaryStatsLogger(fileName, false, 7);
+        for (int i = 0; i < 25; i++)
+            logger.record(row(i));
+        logger.processDataAndFinish();
+
+        try (BinaryStatsReader reader = new BinaryStatsReader(fileName)) {
+            assertArrayEquals(new String[]{"GameID", "Feature", "Flag", "Missing"}, reader.getColumnNames());
+            assertEquals(25, reader.getRowCount());
+            double[][] rows = reader.readRows();
+            for (int i = 0; i < 25; i++) {
+                assertEquals(i / 10, rows[i][0], 0.0);
+                assertEquals(i * 0.5, rows[i][1], 0.0);
+                assertEquals(i % 2 == 0 ? 1.0 : 0.0, rows[i][2], 0.0);
+                assertEquals(i % 3 == 0 ? Double.NaN : 1.0, rows[i][3], 0.0);
+            }
+            double[] feature = reader.readColumn(1);
+            for (int i = 0; i < 25; i++)
+                assertEquals(i * 0.5, feature[i], 0.0);
+        }
+    }
+
+    @Test
+    public void append() throws IOException {
+        BinaryStatsLogger logger = new BinaryStatsLogger(fileName, false, 4);
+        for (int i = 0; i < 5; i++)
+            logger.record(row(i));
+        logger.processDataAndFinish();
+        logger = new BinaryStatsLogger(fileName, true, 4);
+        for (int i = 5; i < 12; i++)
+            logger.record(row(i));
+        logger.processDataAndFinish();
+
+        try (BinaryStatsReader reader = new BinaryStatsReader(fileName)) {
+            assertEquals(12, reader.getRowCount());
+            double[] feature = reader.readColumn(1);
+            for (int i = 0; i < 12; i++)
+                assertEquals(i * 0.5, feature[i], 0.0);
+        }
+    }
+}
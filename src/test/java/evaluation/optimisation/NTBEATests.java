@@ -0,0 +1,194 @@
+package evaluation.optimisation;
+
+import core.AbstractParameters;
+import evaluation.optimisation.ntbea.*;
+import games.GameType;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class NTBEATests {
+
+    /**
+     * A tuned player whose play depends only on its settings (the tunable MCTS and Boltzmann players are given a
+     * new random seed from the clock whenever they are instantiated, so would not play the same games twice)
+     */
+    static class SeededRandomParams extends TunableParameters<RandomPlayer> {
+        int a, b, c;
+
+        SeededRandomParams() {
+            addTunableParameter("a", 0, List.of(0, 1, 2, 3, 4, 5, 6, 7));
+            addTunableParameter("b", 0, List.of(0, 1, 2, 3));
+            addTunableParameter("c", 0, List.of(0, 1, 2));
+        }
+
+        @Override
+        public void _reset() {
+            a = (int) getParameterValue("a");
+            b = (int) getParameterValue("b");
+            c = (int) getParameterValue("c");
+        }
+
+        @Override
+        public RandomPlayer instantiate() {
+            return new RandomPlayer(new Random(a * 1000L + b * 100L + c));
+        }
+
+        @Override
+        protected AbstractParameters _copy() {
+            return new SeededRandomParams();
+        }
+
+        @Override
+        protected boolean _equals(Object o) {
+            return o instanceof SeededRandomParams;
+        }
+    }
+
+    private static NTBEAParameters params(int seed, int iterations, int batchSize, int evalsPerTrial, int nThreads) {
+        NTBEAParameters params = new NTBEAParameters();
+        params.setParameterValue("seed", seed);
+        params.setParameterValue("iterations", iterations);
+        params.setParameterValue("evalGames", 20);
+        params.setParameterValue("batchSize", batchSize);
+        params.setParameterValue("evalsPerTrial", evalsPerTrial);
+        params.logFile = "";
+        params.nThreads = nThreads;
+        params.searchSpace = new ITPSearchSpace<>(new SeededRandomParams());
+        return params;
+    }
+
+    private static NTBEA tuneLoveLetter(int nThreads) {
+        NTBEA ntbea = new NTBEA(params(42, 60, 4, 1, nThreads), GameType.LoveLetter, 2);
+        ntbea.setOpponents(List.of(new RandomPlayer(new Random(7))));
+        for (int i = 0; i < 3; i++)
+            ntbea.runIteration();
+        return ntbea;
+    }
+
+    @Test
+    public void recommendationsAreTheSameForAnyNumberOfThreads() {
+        NTBEA sequential = tuneLoveLetter(1);
+        NTBEA parallel = tuneLoveLetter(4);
+
+        assertEquals(3, sequential.winnerSettings.size());
+        assertEquals(60, sequential.landscapeModel.getSampledPoints().size());
+        assertArrayEquals(sequential.winnerSettings.toArray(), parallel.winnerSettings.toArray());
+        assertArrayEquals(sequential.bestResult.b, parallel.bestResult.b);
+        assertEquals(sequential.bestResult.a.a, parallel.bestResult.a.a, 0.0);
+        assertEquals(sequential.bestResult.a.b, parallel.bestResult.a.b, 0.0);
+        // and the final iteration evaluated the same settings, in the same order, with the same results
+        assertArrayEquals(sequential.landscapeModel.getSampledPoints().toArray(),
+                parallel.landscapeModel.getSampledPoints().toArray());
+        for (int[] point : sequential.landscapeModel.getSampledPoints())
+            assertEquals(sequential.landscapeModel.getMeanEstimate(point), parallel.landscapeModel.getMeanEstimate(point), 0.0);
+    }
+
+    /**
+     * A noisy function of the settings, which records the settings it is asked to evaluate
+     */
+    static class RecordingEvaluator implements SolutionEvaluator {
+        final SearchSpace searchSpace;
+        final Random rnd = new Random(311);
+        final List<int[]> evaluated = new ArrayList<>();
+
+        RecordingEvaluator(SearchSpace searchSpace) {
+            this.searchSpace = searchSpace;
+        }
+
+        @Override
+        public void reset() {
+            evaluated.clear();
+        }
+
+        @Override
+        public double evaluate(int[] solution) {
+            evaluated.add(solution.clone());
+            double value = (solution[0] + 2.0 * solution[1] - solution[2]) / 12.0;
+            return rnd.nextDouble() < value ? 1.0 : 0.0;
+        }
+
+        @Override
+        public SearchSpace searchSpace() {
+            return searchSpace;
+        }
+
+        @Override
+        public int nEvals() {
+            return evaluated.size();
+        }
+    }
+
+    /**
+     * The search as it was before settings were proposed in batches, with its random number generator seeded
+     */
+    private static void unbatchedTrial(LandscapeModel landscapeModel, SolutionEvaluator evaluator, NTBEAParameters params) {
+        Random rnd = new Random(params.seed);
+        SearchSpace searchSpace = landscapeModel.getSearchSpace();
+        int nNeighbours = (int) Math.min(params.neighbourhoodSize, SearchSpaceUtil.size(searchSpace) / 4);
+        if (nNeighbours < 5) nNeighbours = 5;
+
+        int[] p = SearchSpaceUtil.randomPoint(searchSpace, rnd);
+        for (int i = 0; i < params.iterationsPerRun; i++) {
+            double fitness = 0.0;
+            for (int s = 0; s < params.evaluationsPerTrial; s++)
+                fitness += evaluator.evaluate(p);
+            landscapeModel.addPoint(p, fitness / params.evaluationsPerTrial);
+
+            int nDims = searchSpace.nDims();
+            double bestSoFar = Double.NEGATIVE_INFINITY;
+            int[] settingToTryNext = new int[0];
+            for (int n = 0; n < nNeighbours; n++) {
+                int[] pp = Arrays.copyOf(p, p.length);
+                boolean mutation = false;
+                for (int d = 0; d < nDims; d++) {
+                    if (rnd.nextDouble() < 1.0 / nDims) {
+                        pp[d] = rnd.nextInt(searchSpace.nValues(d) - 1);
+                        if (p[d] <= pp[d]) pp[d]++;
+                        mutation = true;
+                    }
+                }
+                if (!mutation) {
+                    int d = rnd.nextInt(searchSpace.nDims());
+                    pp[d] = rnd.nextInt(searchSpace.nValues(d) - 1);
+                    if (p[d] <= pp[d]) pp[d]++;
+                }
+                double estimatedUpperBound = landscapeModel.getUpperBound(pp);
+                if (estimatedUpperBound > bestSoFar) {
+                    settingToTryNext = pp;
+                    bestSoFar = estimatedUpperBound;
+                }
+            }
+            if (settingToTryNext.length == 0)
+                settingToTryNext = p;
+            p = settingToTryNext;
+        }
+    }
+
+    @Test
+    public void batchSizeOfOneMatchesTheUnbatchedSearch() {
+        for (int seed = 0; seed < 5; seed++) {
+            for (int evalsPerTrial : new int[]{1, 3}) {
+                NTBEAParameters params = params(seed, 150, 1, evalsPerTrial, 1);
+
+                NTupleSystem expectedModel = new NTupleSystem(params);
+                RecordingEvaluator expected = new RecordingEvaluator(params.searchSpace);
+                unbatchedTrial(expectedModel, expected, params);
+
+                NTupleSystem model = new NTupleSystem(params);
+                RecordingEvaluator actual = new RecordingEvaluator(params.searchSpace);
+                new NTupleBanditEA(model, params).runTrial(actual, params.iterationsPerRun);
+
+                assertEquals(150 * evalsPerTrial, actual.nEvals());
+                assertArrayEquals(expected.evaluated.toArray(), actual.evaluated.toArray());
+                assertArrayEquals(expectedModel.getSampledPoints().toArray(), model.getSampledPoints().toArray());
+                assertArrayEquals(expectedModel.getBestSampled(), model.getBestSampled());
+                assertEquals(expectedModel.getMeanEstimate(model.getBestSampled()),
+                        model.getMeanEstimate(model.getBestSampled()), 0.0);
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package games.catan;
+
+import core.components.BoardNodeWithEdges;
+import core.components.GraphBoardWithEdges;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class RoadNetworkTests {
+
+    // The vertices of an N x N grid, with a road possible from each to the next one right or down
+    static final int N = 6;
+    static final int nPlayers = 3;
+
+    Random rnd = new Random(5);
+    GraphBoardWithEdges graph;
+    int[] nodeIDs;
+
+    // The roads of each player and the owner of the settlement at each vertex, for the brute force search
+    List<List<int[]>> roads;
+    int[] owners;
+
+    private RoadNetwork newNetwork() {
+        graph = new GraphBoardWithEdges();
+        nodeIDs = new int[N * N];
+        for (int v = 0; v < N * N; v++) {
+            BoardNodeWithEdges node = new BoardNodeWithEdges();
+            graph.addBoardNode(node);
+            nodeIDs[v] = node.getComponentID();
+        }
+        roads = new ArrayList<>();
+        for (int p = 0; p < nPlayers; p++)
+            roads.add(new ArrayList<>());
+        owners = new int[N * N];
+        Arrays.fill(owners, -1);
+        return new RoadNetwork(graph, nPlayers);
+    }
+
+    /**
+     * @return the longest road of the player, found by trying every trail from every vertex
+     */
+    private int longestRoad(int player) {
+        int retValue = 0;
+        for (int v = 0; v < N * N; v++)
+            retValue = Math.max(retValue, longestTrailFrom(player, v, new boolean[roads.get(player).size()]));
+        return retValue;
+    }
+
+    private int longestTrailFrom(int player, int vertex, boolean[] used) {
+        int retValue = 0;
+        List<int[]> playerRoads = roads.get(player);
+        for (int i = 0; i < used.length; i++) {
+            if (used[i]) continue;
+            int[] road = playerRoads.get(i);
+            int next;
+            if (road[0] == vertex) next = road[1];
+            else if (road[1] == vertex) next = road[0];
+            else continue;
+            used[i] = true;
+            boolean blocked = owners[next] != -1 && owners[next] != player;
+            retValue = Math.max(retValue, 1 + (blocked ? 0 : longestTrailFrom(player, next, used)));
+            used[i] = false;
+        }
+        return retValue;
+    }
+
+    @Test
+    public void longestRoadsMatchBruteForce() {
+        for (int game = 0; game < 500; game++) {
+            RoadNetwork network = newNetwork();
+            Set<Long> built = new HashSet<>();
+            for (int step = 0; step < 45; step++) {
+                int player = rnd.nextInt(nPlayers);
+                if (rnd.nextInt(4) == 0) {
+                    int v = rnd.nextInt(N * N);
+                    if (owners[v] != -1) continue;
+                    owners[v] = player;
+                    network.addSettlement(player, nodeIDs[v]);
+                } else {
+                    if (roads.get(player).size() >= 15) continue;
+                    int v = rnd.nextInt(N * N), x = v % N, y = v / N;
+                    int w = rnd.nextBoolean() ? (x + 1 < N ? v + 1 : -1) : (y + 1 < N ? v + N : -1);
+                    if (w == -1 || !built.add((long) v * N * N + w)) continue;
+                    roads.get(player).add(new int[]{v, w});
+                    assertEquals(longestRoad(player), network.addRoad(player, nodeIDs[v], nodeIDs[w]));
+                }
+                for (int p = 0; p < nPlayers; p++) {
+                    assertEquals(longestRoad(p), network.getLongestRoad(p));
+                    assertEquals(roads.get(p).size(), network.getNRoads(p));
+                }
+            }
+            RoadNetwork copy = network.copy();
+            assertEquals(network, copy);
+            assertEquals(network.hashCode(), copy.hashCode());
+        }
+    }
+
+    @Test
+    public void roadsBuiltInAnotherOrderAreEqual() {
+        RoadNetwork network = newNetwork();
+        RoadNetwork reversed = new RoadNetwork(graph, nPlayers);
+        // a path along the top row, built from either end (and with each segment the other way round)
+        for (int x = 0; x + 1 < N; x++)
+            network.addRoad(0, nodeIDs[x], nodeIDs[x + 1]);
+        for (int x = N - 1; x > 0; x--)
+            reversed.addRoad(0, nodeIDs[x], nodeIDs[x - 1]);
+        assertEquals(N - 1, network.getLongestRoad(0));
+        assertEquals(network, reversed);
+        assertEquals(network.hashCode(), reversed.hashCode());
+
+        reversed.addRoad(0, nodeIDs[0], nodeIDs[N]);
+        assertNotEquals(network, reversed);
+        network.addRoad(1, nodeIDs[0], nodeIDs[N]);
+        assertNotEquals(network, reversed);
+    }
+}
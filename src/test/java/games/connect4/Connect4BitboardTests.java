@@ -0,0 +1,111 @@
+package games.connect4;
+
+import core.AbstractForwardModel;
+import core.Game;
+import core.actions.AbstractAction;
+import core.actions.SetGridValueAction;
+import core.components.GridBoard;
+import games.GameType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class Connect4BitboardTests {
+
+    Random rnd = new Random(2024);
+
+    /**
+     * The column heights counted from the tokens
+     */
+    private int[] countColumnHeights(Connect4GameState state) {
+        int[] retValue = new int[state.getWidth()];
+        for (int x = 0; x < state.getWidth(); x++) {
+            for (int y = 0; y < state.getHeight(); y++) {
+                if (state.getPlayerAt(x, y) != -1) retValue[x]++;
+            }
+        }
+        return retValue;
+    }
+
+    @Test
+    public void columnHeightsFollowUndo() {
+        for (long seed = 0; seed < 10; seed++) {
+            Game game = GameType.Connect4.createGameInstance(2, seed);
+            Connect4GameState state = (Connect4GameState) game.getGameState();
+            AbstractForwardModel forwardModel = game.getForwardModel();
+
+            List<int[]> before = new ArrayList<>();
+            while (state.isNotTerminal()) {
+                List<AbstractAction> actions = forwardModel.computeAvailableActions(state);
+                before.add(state.columnHeights.clone());
+                forwardModel.applyAndRecord(state, actions.get(rnd.nextInt(actions.size())));
+                assertArrayEquals(countColumnHeights(state), state.columnHeights);
+            }
+            for (int i = before.size() - 1; i >= 0; i--) {
+                forwardModel.undo(state);
+                assertArrayEquals(before.get(i), state.columnHeights);
+                assertArrayEquals(countColumnHeights(state), state.columnHeights);
+            }
+            for (int x = 0; x < state.getWidth(); x++)
+                assertEquals(state.getHeight() - 1, state.getLandingRow(x));
+        }
+    }
+
+    @Test
+    public void gridBoardChangesAreWrittenThrough() {
+        Game game = GameType.Connect4.createGameInstance(2, 11);
+        Connect4GameState state = (Connect4GameState) game.getGameState();
+        Connect4GameState bitboardOnly = (Connect4GameState) state.copy();
+        AbstractForwardModel forwardModel = game.getForwardModel();
+        GridBoard board = state.getGridBoard();
+
+        while (state.isNotTerminal()) {
+            int x = rnd.nextInt(state.getWidth());
+            int y = state.getLandingRow(x);
+            if (y < 0) continue;
+            int player = state.getCurrentPlayer();
+            // a plain SetGridValueAction, which only knows about the GridBoard
+            SetGridValueAction action = new SetGridValueAction(board.getComponentID(), x, y,
+                    Connect4Constants.playerMapping.get(player).getComponentID());
+            forwardModel.next(state, action);
+            assertEquals(player, state.getPlayerAt(x, y));
+            assertEquals(Connect4Constants.playerMapping.get(player), board.getElement(x, y));
+            assertEquals(y - 1, state.getLandingRow(x));
+            assertArrayEquals(countColumnHeights(state), state.columnHeights);
+
+            // and the same move on a state that never built its GridBoard
+            List<AbstractAction> actions = forwardModel.computeAvailableActions(bitboardOnly);
+            for (AbstractAction a : actions) {
+                if (((SetGridValueAction) a).getX() == x) {
+                    forwardModel.next(bitboardOnly, a);
+                    break;
+                }
+            }
+            assertEquals(bitboardOnly, state);
+            assertEquals(bitboardOnly.getGameStatus(), state.getGameStatus());
+        }
+        assertEquals(bitboardOnly.getWinningCells(), state.getWinningCells());
+    }
+
+    @Test
+    public void winningCellsAreWinCountLong() {
+        for (long seed = 0; seed < 50; seed++) {
+            Game game = GameType.Connect4.createGameInstance(2, seed);
+            Connect4GameState state = (Connect4GameState) game.getGameState();
+            AbstractForwardModel forwardModel = game.getForwardModel();
+            while (state.isNotTerminal()) {
+                List<AbstractAction> actions = forwardModel.computeAvailableActions(state);
+                forwardModel.next(state, actions.get(rnd.nextInt(actions.size())));
+            }
+            if (state.getWinningCells().isEmpty()) continue;  // a draw
+            int winCount = ((Connect4GameParameters) state.getGameParameters()).winCount;
+            assertEquals(winCount, state.getWinningCells().size());
+            int winner = state.getPlayerAt(state.getWinningCells().get(0).a, state.getWinningCells().get(0).b);
+            state.getWinningCells().forEach(cell -> assertEquals(winner, state.getPlayerAt(cell.a, cell.b)));
+        }
+    }
+}
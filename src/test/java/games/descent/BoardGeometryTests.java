@@ -0,0 +1,112 @@
+package games.descent;
+
+import core.components.BoardNode;
+import core.components.GridBoard;
+import core.properties.PropertyInt;
+import core.properties.PropertyVector2D;
+import games.descent2e.DescentForwardModel;
+import games.descent2e.DescentGameState;
+import games.descent2e.DescentHelper;
+import games.descent2e.DescentParameters;
+import org.junit.Test;
+import utilities.LineOfSight;
+import utilities.Pair;
+import utilities.Vector2D;
+
+import java.util.*;
+
+import static core.CoreConstants.coordinateHash;
+import static core.CoreConstants.playersHash;
+import static org.junit.Assert.*;
+
+public class BoardGeometryTests {
+
+    DescentForwardModel fm = new DescentForwardModel();
+    Random rnd = new Random(7113);
+
+    /**
+     * Line of sight as it was found before DescentBoardGeometry, by walking the line on the board
+     */
+    private boolean walkLineOfSight(GridBoard board, Vector2D startPoint, Vector2D endPoint) {
+        List<Vector2D> containedPoints = LineOfSight.bresenhamsLineAlgorithm(startPoint, endPoint);
+        int start = ((PropertyInt) board.getElement(startPoint).getProperty(playersHash)).value;
+        int target = ((PropertyInt) board.getElement(endPoint).getProperty(playersHash)).value;
+        for (int i = 1; i < containedPoints.size(); i++) {
+            BoardNode currentTile = board.getElement(containedPoints.get(i));
+            if (currentTile == null)
+                return false;
+            int owner = ((PropertyInt) currentTile.getProperty(playersHash)).value;
+            if (owner != -1 && i != containedPoints.size() - 1 && owner != target && owner != start)
+                return false;
+            if (!board.getElement(containedPoints.get(i - 1)).getNeighbours().containsKey(currentTile))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * The distance as it was found before DescentBoardGeometry, by a breadth-first search from the start
+     */
+    private int searchDistance(GridBoard board, Vector2D start, Vector2D end) {
+        if (board.getElement(start) == null || board.getElement(end) == null)
+            return -1;
+        boolean[][] visited = new boolean[board.getWidth()][board.getHeight()];
+        visited[start.getX()][start.getY()] = true;
+        Queue<Pair<BoardNode, Integer>> queue = new LinkedList<>();
+        queue.add(new Pair<>(board.getElement(start), 0));
+        while (!queue.isEmpty()) {
+            Pair<BoardNode, Integer> curr = queue.poll();
+            if (((PropertyVector2D) curr.a.getProperty(coordinateHash)).values.equals(end))
+                return curr.b;
+            for (BoardNode neighbour : curr.a.getNeighbours().keySet()) {
+                if (neighbour == null) continue;
+                Vector2D next = ((PropertyVector2D) neighbour.getProperty(coordinateHash)).values;
+                if (next.getX() < 0 || next.getX() >= board.getWidth() || next.getY() < 0 || next.getY() >= board.getHeight())
+                    continue;
+                if (!visited[next.getX()][next.getY()]) {
+                    visited[next.getX()][next.getY()] = true;
+                    queue.add(new Pair<>(neighbour, curr.b + 1));
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    public void distancesAndLineOfSightMatchSearchingTheBoard() {
+        for (long seed = 0; seed < 3; seed++) {
+            DescentParameters params = new DescentParameters();
+            params.setRandomSeed(seed);
+            DescentGameState state = new DescentGameState(params, 2);
+            fm.setup(state);
+            GridBoard board = state.getMasterBoard();
+
+            List<Vector2D> cells = new ArrayList<>();
+            for (int y = 0; y < board.getHeight(); y++)
+                for (int x = 0; x < board.getWidth(); x++)
+                    if (board.getElement(x, y) != null)
+                        cells.add(new Vector2D(x, y));
+            assertFalse(cells.isEmpty());
+
+            // with the figures from setup, and then with many more scattered at random (some covering several cells)
+            for (int layout = 0; layout < 4; layout++) {
+                if (layout > 0) {
+                    for (int i = 0; i < cells.size() / 10; i++) {
+                        int figure = rnd.nextInt(6);
+                        board.getElement(cells.get(rnd.nextInt(cells.size()))).setProperty(new PropertyInt("players", figure));
+                    }
+                }
+                for (int i = 0; i < 3000; i++) {
+                    Vector2D from = cells.get(rnd.nextInt(cells.size()));
+                    Vector2D to = cells.get(rnd.nextInt(cells.size()));
+                    assertEquals(searchDistance(board, from, to), DescentHelper.bfsLee(state, from, to));
+                    assertEquals(walkLineOfSight(board, from, to), DescentHelper.hasLineOfSight(state, from, to));
+                }
+            }
+            // cells off the board, or missing from it
+            Vector2D cell = cells.get(0);
+            assertEquals(-1, DescentHelper.bfsLee(state, cell, new Vector2D(-1, 0)));
+            assertEquals(-1, DescentHelper.bfsLee(state, new Vector2D(board.getWidth(), 0), cell));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package games.dotsboxes;
+
+import core.Game;
+import games.GameType;
+import org.junit.Test;
+import utilities.Vector2D;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class DBGameStateTests {
+
+    Random rnd = new Random(55);
+
+    /**
+     * The four edges of the cell, as they were found for each cell before the edges were indexed
+     */
+    private List<DBEdge> edgesOf(DBCell c) {
+        int x = c.position.getX(), y = c.position.getY();
+        return Arrays.asList(
+                new DBEdge(new Vector2D(x, y), new Vector2D(x, y + 1)),
+                new DBEdge(new Vector2D(x, y), new Vector2D(x + 1, y)),
+                new DBEdge(new Vector2D(x + 1, y), new Vector2D(x + 1, y + 1)),
+                new DBEdge(new Vector2D(x, y + 1), new Vector2D(x + 1, y + 1)));
+    }
+
+    @Test
+    public void placeAndRemoveEdgeMatchEdgeAndCellMaps() {
+        for (long seed = 0; seed < 10; seed++) {
+            Game game = GameType.DotsAndBoxes.createGameInstance(3, seed);
+            DBGameState state = (DBGameState) game.getGameState();
+
+            // the maps from edges and cells to their owners, kept as they were before the edges were indexed
+            Map<DBEdge, Integer> edgeToOwnerMap = new HashMap<>();
+            Map<DBCell, Integer> cellToOwnerMap = new HashMap<>();
+            int[] nCellsPerPlayer = new int[state.getNPlayers()];
+
+            List<Integer> order = new ArrayList<>();
+            for (int e = 0; e < state.edges.length; e++)
+                order.add(e);
+            Collections.shuffle(order, rnd);
+            List<DBGameState> before = new ArrayList<>();
+            for (int e : order) {
+                DBEdge edge = state.edges[e];
+                assertEquals(e, state.edgeIndex(edge));
+                int player = rnd.nextInt(state.getNPlayers());
+                before.add((DBGameState) state.copy());
+
+                int nCellsBefore = cellToOwnerMap.size();
+                edgeToOwnerMap.put(edge, player);
+                for (DBCell c : state.cells) {
+                    if (!cellToOwnerMap.containsKey(c) && edgesOf(c).contains(edge)
+                            && edgeToOwnerMap.keySet().containsAll(edgesOf(c))) {
+                        cellToOwnerMap.put(c, player);
+                        nCellsPerPlayer[player]++;
+                    }
+                }
+                assertEquals(cellToOwnerMap.size() - nCellsBefore, state.placeEdge(e, player));
+
+                for (DBEdge other : state.edges)
+                    assertEquals((int) edgeToOwnerMap.getOrDefault(other, -1), state.getEdgeOwner(other));
+                for (DBCell c : state.cells) {
+                    assertEquals((int) cellToOwnerMap.getOrDefault(c, -1), state.getCellOwner(c));
+                    int nEdges = 0;
+                    for (DBEdge ce : edgesOf(c))
+                        if (edgeToOwnerMap.containsKey(ce)) nEdges++;
+                    assertEquals(nEdges, state.countCompleteEdges(c));
+                }
+                assertArrayEquals(nCellsPerPlayer, state.nCellsPerPlayer);
+                assertEquals(cellToOwnerMap.size(), state.nCellsComplete);
+            }
+            assertEquals(state.cells.length, state.nCellsComplete);
+
+            for (int i = order.size() - 1; i >= 0; i--) {
+                state.removeEdge(order.get(i));
+                assertEquals(before.get(i), state);
+                assertArrayEquals(before.get(i).cellEdgeCounts, state.cellEdgeCounts);
+                assertArrayEquals(before.get(i).placedEdges, state.placedEdges);
+                assertEquals(before.get(i).nCellsComplete, state.nCellsComplete);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void edgesCannotBePlacedTwice() {
+        Game game = GameType.DotsAndBoxes.createGameInstance(2, 1);
+        DBGameState state = (DBGameState) game.getGameState();
+        state.placeEdge(0, 0);
+        state.placeEdge(0, 1);
+    }
+}
@@ -0,0 +1,70 @@
+package games.poker;
+
+import core.components.FrenchCard;
+import org.junit.Test;
+
+import static core.components.FrenchCard.FrenchCardType.*;
+import static core.components.FrenchCard.Suite.*;
+import static games.poker.PokerGameState.PokerHand.*;
+import static org.junit.Assert.*;
+
+public class PokerHandEvaluatorTest {
+
+    private static FrenchCard card(int number, FrenchCard.Suite suite) {
+        return switch (number) {
+            case 11 -> new FrenchCard(Jack, suite);
+            case 12 -> new FrenchCard(Queen, suite);
+            case 13 -> new FrenchCard(King, suite);
+            case 14 -> new FrenchCard(Ace, suite);
+            default -> new FrenchCard(FrenchCard.FrenchCardType.Number, suite, number);
+        };
+    }
+
+    private static int evaluate(FrenchCard... cards) {
+        long mask = 0;
+        for (FrenchCard card : cards)
+            mask |= PokerHandEvaluator.cardBit(card);
+        return PokerHandEvaluator.evaluate(mask);
+    }
+
+    @Test
+    public void handTypes() {
+        assertEquals(RoyalFlush, PokerHandEvaluator.getHand(evaluate(card(10, Hearts), card(11, Hearts), card(12, Hearts),
+                card(13, Hearts), card(14, Hearts), card(2, Spades), card(3, Clubs))));
+        assertEquals(StraightFlush, PokerHandEvaluator.getHand(evaluate(card(14, Clubs), card(2, Clubs), card(3, Clubs),
+                card(4, Clubs), card(5, Clubs), card(13, Clubs), card(9, Spades))));
+        assertEquals(FourOfAKind, PokerHandEvaluator.getHand(evaluate(card(9, Hearts), card(9, Clubs), card(9, Spades),
+                card(9, Diamonds), card(5, Clubs))));
+        assertEquals(FullHouse, PokerHandEvaluator.getHand(evaluate(card(9, Hearts), card(9, Clubs), card(9, Spades),
+                card(5, Diamonds), card(5, Clubs), card(5, Hearts), card(2, Clubs))));
+        assertEquals(Flush, PokerHandEvaluator.getHand(evaluate(card(2, Hearts), card(7, Hearts), card(9, Hearts),
+                card(11, Hearts), card(13, Hearts), card(10, Clubs), card(12, Spades))));
+        assertEquals(Straight, PokerHandEvaluator.getHand(evaluate(card(14, Hearts), card(2, Clubs), card(3, Spades),
+                card(4, Diamonds), card(5, Clubs))));
+        assertEquals(ThreeOfAKind, PokerHandEvaluator.getHand(evaluate(card(9, Hearts), card(9, Clubs), card(9, Spades),
+                card(4, Diamonds), card(5, Clubs))));
+        assertEquals(TwoPair, PokerHandEvaluator.getHand(evaluate(card(9, Hearts), card(9, Clubs), card(4, Spades),
+                card(4, Diamonds), card(5, Clubs), card(5, Spades), card(2, Hearts))));
+        assertEquals(OnePair, PokerHandEvaluator.getHand(evaluate(card(9, Hearts), card(9, Clubs), card(3, Spades),
+                card(4, Diamonds), card(12, Clubs))));
+        assertEquals(HighCard, PokerHandEvaluator.getHand(evaluate(card(9, Hearts), card(8, Clubs), card(3, Spades),
+                card(4, Diamonds), card(12, Clubs))));
+    }
+
+    @Test
+    public void tieBreaks() {
+        // the higher type of hand wins, and then the highest cards in order of importance
+        assertTrue(evaluate(card(2, Hearts), card(2, Clubs), card(3, Spades), card(4, Diamonds), card(5, Clubs), card(7, Hearts))
+                > evaluate(card(14, Hearts), card(13, Clubs), card(11, Spades), card(10, Diamonds), card(8, Clubs), card(7, Spades)));
+        assertTrue(evaluate(card(10, Hearts), card(10, Clubs), card(3, Spades), card(4, Diamonds), card(5, Clubs))
+                > evaluate(card(9, Hearts), card(9, Clubs), card(14, Spades), card(13, Diamonds), card(12, Clubs)));
+        assertTrue(evaluate(card(10, Hearts), card(10, Clubs), card(7, Spades), card(4, Diamonds), card(2, Clubs))
+                > evaluate(card(10, Spades), card(10, Diamonds), card(6, Spades), card(5, Diamonds), card(4, Clubs)));
+        // the wheel is the lowest straight
+        assertTrue(evaluate(card(2, Hearts), card(3, Clubs), card(4, Spades), card(5, Diamonds), card(6, Clubs))
+                > evaluate(card(14, Hearts), card(2, Clubs), card(3, Spades), card(4, Diamonds), card(5, Clubs)));
+        // only the best five cards count
+        assertEquals(evaluate(card(14, Hearts), card(14, Clubs), card(13, Spades), card(12, Diamonds), card(11, Clubs), card(3, Spades), card(2, Hearts)),
+                evaluate(card(14, Spades), card(14, Diamonds), card(13, Hearts), card(12, Clubs), card(11, Hearts), card(4, Spades), card(2, Diamonds)));
+    }
+}
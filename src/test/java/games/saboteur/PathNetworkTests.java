@@ -0,0 +1,141 @@
+package games.saboteur;
+
+import games.saboteur.components.PathCard;
+import org.junit.Test;
+import utilities.Vector2D;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class PathNetworkTests {
+
+    // Sides as in PathCard: 0 up, 1 down, 2 left, 3 right
+    static final int[] dx = {0, 0, -1, 1};
+    static final int[] dy = {-1, 1, 0, 0};
+    static final int size = 15;
+
+    Random rnd = new Random(1729);
+
+    private PathCard randomCard(PathCard.PathCardType type) {
+        boolean[] directions = new boolean[4];
+        for (int d = 0; d < 4; d++)
+            directions[d] = rnd.nextBoolean();
+        return new PathCard(type, directions);
+    }
+
+    private boolean onBoard(int x, int y) {
+        return x >= 0 && y >= 0 && x < size && y < size;
+    }
+
+    /**
+     * The options found from scratch: the empty cells next to an open side of a card that can be reached from the
+     * start through open sides facing each other, without passing through an Edge card
+     */
+    private Set<Vector2D> options(PathCard[][] board, Vector2D start) {
+        Set<Vector2D> retValue = new HashSet<>();
+        Set<Vector2D> visited = new HashSet<>();
+        Deque<Vector2D> open = new ArrayDeque<>();
+        open.add(start);
+        visited.add(start);
+        while (!open.isEmpty()) {
+            Vector2D cell = open.poll();
+            PathCard card = board[cell.getX()][cell.getY()];
+            for (int d = 0; d < 4; d++) {
+                if (!card.getDirections()[d]) continue;
+                int x = cell.getX() + dx[d], y = cell.getY() + dy[d];
+                if (!onBoard(x, y)) continue;
+                PathCard next = board[x][y];
+                if (next == null)
+                    retValue.add(new Vector2D(x, y));
+                else if (next.type != PathCard.PathCardType.Edge && next.getDirections()[d ^ 1]
+                        && visited.add(new Vector2D(x, y)))
+                    open.add(new Vector2D(x, y));
+            }
+        }
+        return retValue;
+    }
+
+    /**
+     * @return true if the card matches all the cards next to the cell, as checked before PathNetwork
+     */
+    private boolean fits(PathCard[][] board, int x, int y, boolean[] directions) {
+        for (int d = 0; d < 4; d++) {
+            int nx = x + dx[d], ny = y + dy[d];
+            if (!onBoard(nx, ny) || board[nx][ny] == null) continue;
+            if (directions[d] != board[nx][ny].getDirections()[d ^ 1])
+                return false;
+        }
+        return true;
+    }
+
+    private void checkNetwork(PathNetwork network, PathCard[][] board, Vector2D start) {
+        assertEquals(options(board, start), network.getOptions());
+        for (int i = 0; i < network.getNOptions(); i++) {
+            int x = network.getOptionX(i), y = network.getOptionY(i);
+            assertTrue(network.isOption(x, y));
+            for (int sides = 0; sides < 16; sides++) {
+                boolean[] directions = new boolean[4];
+                for (int d = 0; d < 4; d++)
+                    directions[d] = (sides >> d & 1) != 0;
+                assertEquals(fits(board, x, y, directions), network.fits(i, sides));
+            }
+        }
+    }
+
+    @Test
+    public void optionsMatchRecomputationAfterPlacementsAndRockfalls() {
+        for (int game = 0; game < 200; game++) {
+            PathCard[][] board = new PathCard[size][size];
+            PathNetwork network = new PathNetwork(size, size);
+            Vector2D start = new Vector2D(size / 2, size / 2);
+            board[start.getX()][start.getY()] = new PathCard(PathCard.PathCardType.Start, new boolean[]{true, true, true, true});
+            network.place(start.getX(), start.getY(), board[start.getX()][start.getY()]);
+            // some goals, away from the start and not yet connected to it
+            for (int g = 0; g < 3; g++) {
+                int x = size - 3, y = size / 2 - 2 + 2 * g;
+                board[x][y] = new PathCard(PathCard.PathCardType.Goal, new boolean[]{true, true, true, true});
+                network.place(x, y, board[x][y]);
+            }
+            List<Vector2D> placed = new ArrayList<>();
+            checkNetwork(network, board, start);
+
+            for (int step = 0; step < 80; step++) {
+                if (!placed.isEmpty() && rnd.nextInt(5) == 0) {
+                    // a rockfall on any path card
+                    Vector2D cell = placed.remove(rnd.nextInt(placed.size()));
+                    board[cell.getX()][cell.getY()] = null;
+                    network.remove(cell.getX(), cell.getY());
+                } else if (network.getNOptions() > 0) {
+                    PathCard card = randomCard(rnd.nextInt(4) == 0 ? PathCard.PathCardType.Edge : PathCard.PathCardType.Path);
+                    int index = rnd.nextInt(network.getNOptions());
+                    if (!network.fits(index, PathNetwork.sides(card))) {
+                        card.rotate();
+                        if (!network.fits(index, PathNetwork.sides(card))) continue;
+                    }
+                    int x = network.getOptionX(index), y = network.getOptionY(index);
+                    board[x][y] = card;
+                    network.place(x, y, card);
+                    placed.add(new Vector2D(x, y));
+                }
+                checkNetwork(network, board, start);
+                PathNetwork copy = network.copy();
+                assertEquals(network, copy);
+                assertEquals(network.hashCode(), copy.hashCode());
+            }
+        }
+    }
+
+    @Test
+    public void rotatedSidesMatchRotatedCard() {
+        for (int sides = 0; sides < 16; sides++) {
+            boolean[] directions = new boolean[4];
+            for (int d = 0; d < 4; d++)
+                directions[d] = (sides >> d & 1) != 0;
+            PathCard card = new PathCard(PathCard.PathCardType.Path, directions);
+            assertEquals(sides, PathNetwork.sides(card));
+            card.rotate();
+            assertEquals(PathNetwork.rotate(sides), PathNetwork.sides(card));
+        }
+    }
+}
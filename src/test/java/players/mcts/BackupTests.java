@@ -111,7 +111,7 @@ public class BackupTests {
                 new Pair<>(0, new LMRAction("Middle")));
         root.currentNodeTrajectory = nodeTrajectory001;
         root.actionsInTree = actionTrajectory001;
-        root.actionsInRollout = new ArrayList<>();
+        root.actionsInRollout = new RolloutTrajectory();
         lastNode = levelFourLeaf;
     }
 
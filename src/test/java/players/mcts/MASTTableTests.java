@@ -0,0 +1,164 @@
+package players.mcts;
+
+import core.actions.DoNothing;
+import org.junit.Test;
+import utilities.Pair;
+import utilities.Utils;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks MASTTable against the Map of (visits, total value) Pairs that it replaced
+ */
+public class MASTTableTests {
+
+    Random rnd = new Random(4921);
+
+    // a key with a chosen hash, so that we can force keys into the same slot
+    record Key(int id, int hash) {
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    // the update previously used for MAST statistics
+    private static void update(Map<Object, Pair<Integer, Double>> map, Object key, double value) {
+        Pair<Integer, Double> stats = map.getOrDefault(key, new Pair<>(0, 0.0));
+        stats.a++;
+        stats.b += value;
+        map.put(key, stats);
+    }
+
+    private static void assertMatches(Map<Object, Pair<Integer, Double>> expected, MASTTable table) {
+        assertEquals(expected.size(), table.size());
+        for (Object key : expected.keySet()) {
+            assertTrue(table.containsKey(key));
+            Pair<Integer, Double> stats = table.get(key);
+            assertEquals(expected.get(key).a, stats.a);
+            assertEquals(expected.get(key).b, stats.b, 0.0);
+            assertEquals((int) expected.get(key).a, table.getVisits(key));
+            assertEquals(expected.get(key).b, table.getTotal(key), 0.0);
+        }
+    }
+
+    @Test
+    public void matchesMapOfPairs() {
+        Map<Object, Pair<Integer, Double>> expected = new HashMap<>();
+        MASTTable table = new MASTTable();
+        for (int i = 0; i < 5000; i++) {
+            Key key = new Key(rnd.nextInt(200), rnd.nextInt(50));
+            double value = rnd.nextGaussian();
+            update(expected, key, value);
+            table.update(key, value);
+        }
+        assertMatches(expected, table);
+        assertFalse(table.containsKey(new Key(-1, 3)));
+        assertNull(table.get(new Key(-1, 3)));
+        assertEquals(0, table.getVisits(new Key(-1, 3)));
+        assertEquals(-5.0, table.getMean(new Key(-1, 3), -5.0), 0.0);
+    }
+
+    @Test
+    public void collidingKeysAreProbedLinearly() {
+        Map<Object, Pair<Integer, Double>> expected = new HashMap<>();
+        MASTTable table = new MASTTable(64);
+        // the first keys all have the same hash, and the others hashes that differ only above the mask (of a table of
+        // 128 slots), so all of them fall in the same slot
+        List<Key> keys = new ArrayList<>();
+        for (int i = 0; i < 20; i++)
+            keys.add(new Key(i, 7));
+        for (int i = 0; i < 20; i++)
+            keys.add(new Key(100 + i, 7 + (i << 8)));
+        for (int round = 0; round < 3; round++) {
+            for (Key key : keys) {
+                double value = rnd.nextDouble();
+                update(expected, key, value);
+                table.update(key, value);
+                assertMatches(expected, table);
+            }
+        }
+        assertFalse(table.containsKey(new Key(-1, 7)));
+    }
+
+    @Test
+    public void growsPastTheLoadFactor() {
+        Map<Object, Pair<Integer, Double>> expected = new HashMap<>();
+        MASTTable table = new MASTTable(2);
+        for (int i = 0; i < 1000; i++) {
+            Key key = new Key(i, i % 3 == 0 ? 11 : i);
+            update(expected, key, i);
+            table.update(key, i);
+            // every key inserted so far is still found, whenever the table grows
+            if (Integer.bitCount(i) == 1 || i % 97 == 0)
+                assertMatches(expected, table);
+        }
+        assertMatches(expected, table);
+        for (int i = 0; i < 1000; i++)
+            assertEquals(i, table.getMean(new Key(i, i % 3 == 0 ? 11 : i), -1.0), 0.0);
+    }
+
+    @Test
+    public void updateActionMatchesCopiedKeys() {
+        Map<Object, Pair<Integer, Double>> expected = new HashMap<>();
+        MASTTable table = new MASTTable();
+        DoNothing action = new DoNothing();
+        update(expected, action.copy(), 1.0);
+        table.updateAction(action, 1.0);
+        update(expected, action.copy(), 3.0);
+        table.updateAction(action, 3.0);
+        assertMatches(expected, table);
+        assertEquals(2.0, table.getMean(action, 0.0), 0.0);
+    }
+
+    @Test
+    public void copiesAreIndependent() {
+        Map<Object, Pair<Integer, Double>> expected = new HashMap<>();
+        MASTTable table = new MASTTable(4);
+        for (int i = 0; i < 6; i++) {
+            update(expected, new Key(i, i % 2), i);
+            table.update(new Key(i, i % 2), i);
+        }
+        Map<Object, Pair<Integer, Double>> expectedCopy = new HashMap<>();
+        expected.forEach((k, v) -> expectedCopy.put(k, new Pair<>(v.a, v.b)));
+        MASTTable copy = table.copy();
+        assertMatches(expected, copy);
+
+        // existing keys, new keys, and enough of them to grow one table but not the other
+        for (int i = 0; i < 40; i++) {
+            update(expectedCopy, new Key(i, i % 2), -i);
+            copy.update(new Key(i, i % 2), -i);
+        }
+        update(expected, new Key(2, 0), 10.0);
+        table.update(new Key(2, 0), 10.0);
+        assertMatches(expected, table);
+        assertMatches(expectedCopy, copy);
+        assertFalse(table.containsKey(new Key(30, 0)));
+    }
+
+    @Test
+    public void decayMatchesUtilsDecay() {
+        Map<Object, Pair<Integer, Double>> expected = new HashMap<>();
+        MASTTable table = new MASTTable();
+        for (int i = 0; i < 500; i++) {
+            Key key = new Key(rnd.nextInt(60), rnd.nextInt(20));
+            double value = rnd.nextDouble() * 10 - 5;
+            update(expected, key, value);
+            table.update(key, value);
+        }
+        // a low gamma leaves some entries with zero visits, which the next decay must also match
+        for (double gamma : new double[]{0.1, 0.5, 0.9, 0.0, 0.99, 1.0, 1.5, -0.1}) {
+            Map<Object, Pair<Integer, Double>> before = new HashMap<>();
+            expected.forEach((k, v) -> before.put(k, new Pair<>(v.a, v.b)));
+            MASTTable decayed = table.decay(gamma);
+            expected = Utils.decay(expected, gamma);
+            assertMatches(expected, decayed);
+            // the table decayed is unchanged
+            assertMatches(before, table);
+            table = decayed;
+        }
+        assertTrue(expected.values().stream().anyMatch(p -> p.a == 0));
+    }
+}
@@ -113,6 +113,30 @@ public class MCTSNodesAndVisitsTests {
         runGame(game, 4, new int[0], new int[0]);
     }
 
+    @Test
+    public void boundedTree() {
+        params.maxTreeNodes = 50;
+        Game game = createGame(params);
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel forwardModel = game.getForwardModel();
+        int counter = 0;
+        do {
+            AbstractAction actionChosen = game.getPlayers().get(state.getCurrentPlayer())
+                    ._getAction(state, forwardModel.computeAvailableActions(state));
+            if (state.getCurrentPlayer() == 0) {
+                SingleTreeNode root = mctsPlayer.getRoot(0);
+                TreeStatistics stats = new TreeStatistics(root);
+                // the action statistics on the root are kept when nodes below it are evicted
+                assertEquals(200, root.getVisits());
+                assertEquals(200, root.actionValues.values().stream().mapToInt(actionStats -> actionStats.nVisits).sum());
+                assertEquals(stats.totalNodes, root.treeSize);
+                assertTrue(stats.totalNodes <= 50);
+                counter++;
+            }
+            forwardModel.next(state, actionChosen);
+        } while (counter < 4);
+    }
+
     private void runGame(Game game, int moves, int[] expectedNodes, int[] errorMargin) {
         int counter = 0;
         AbstractGameState state = game.getGameState();
@@ -0,0 +1,124 @@
+package players.mcts;
+
+import core.AbstractPlayer;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import org.junit.Before;
+import org.junit.Test;
+import players.PlayerConstants;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.Assert.*;
+
+public class RootParallelTests {
+
+    MCTSParams params;
+
+    @Before
+    public void setup() {
+        params = new MCTSParams();
+        params.setRandomSeed(3902);
+        params.setParameterValue("parallelMode", MCTSEnums.ParallelMode.Root);
+        params.setParameterValue("parallelThreads", 4);
+        params.budgetType = PlayerConstants.BUDGET_ITERATIONS;
+        params.budget = 400;
+    }
+
+    private Game runGame(MCTSPlayer mctsPlayer) {
+        List<AbstractPlayer> players = new ArrayList<>();
+        players.add(mctsPlayer);
+        players.add(new RandomPlayer(new Random(392)));
+        Game game = GameType.TicTacToe.createGameInstance(2, 404);
+        game.reset(players);
+        game.run();
+        return game;
+    }
+
+    @Test
+    public void iterationBudgetIsSplitAcrossWorkers() {
+        MCTSPlayer mctsPlayer = new MCTSPlayer(params);
+        Game game = runGame(mctsPlayer);
+        assertFalse(game.getGameState().isNotTerminal());
+        assertEquals(4, mctsPlayer.rootWorkers.length);
+        for (MCTSPlayer worker : mctsPlayer.rootWorkers) {
+            assertEquals(100, worker.getParameters().budget);
+            assertNull(worker.rootWorkers);
+        }
+    }
+
+    @Test
+    public void mergedStatisticsSumOverAllTrees() {
+        MCTSPlayer mctsPlayer = new MCTSPlayer(params);
+        List<AbstractPlayer> players = List.of(mctsPlayer, new RandomPlayer(new Random(392)));
+        Game game = GameType.TicTacToe.createGameInstance(2, 404);
+        game.reset(players);
+        List<AbstractAction> actions = game.getForwardModel().computeAvailableActions(game.getGameState());
+        AbstractAction chosen = mctsPlayer.getAction(game.getGameState().copy(0), actions);
+        assertTrue(actions.contains(chosen));
+
+        int totalVisits = mctsPlayer.mergedRootStats.values().stream().mapToInt(s -> s.nVisits).sum();
+        int workerVisits = Arrays.stream(mctsPlayer.rootWorkers)
+                .mapToInt(w -> w.root.actionValues.values().stream().mapToInt(s -> s.nVisits).sum())
+                .sum();
+        assertEquals(workerVisits, totalVisits);
+        assertEquals(400, totalVisits, 4);
+    }
+
+    @Test
+    public void votesSelectALegalAction() {
+        params.setParameterValue("rootMerge", MCTSEnums.RootMerge.Votes);
+        MCTSPlayer mctsPlayer = new MCTSPlayer(params);
+        Game game = runGame(mctsPlayer);
+        assertFalse(game.getGameState().isNotTerminal());
+    }
+
+    @Test
+    public void determinisationWorkersSearchOpenLoop() {
+        params.setParameterValue("parallelMode", MCTSEnums.ParallelMode.Determinisation);
+        params.setParameterValue("information", MCTSEnums.Information.Information_Set);
+        MCTSPlayer mctsPlayer = new MCTSPlayer(params);
+        List<AbstractPlayer> players = List.of(mctsPlayer, new RandomPlayer(new Random(392)));
+        Game game = GameType.LoveLetter.createGameInstance(2, 404);
+        game.reset(players);
+        game.run();
+        assertFalse(game.getGameState().isNotTerminal());
+        for (MCTSPlayer worker : mctsPlayer.rootWorkers)
+            assertEquals(MCTSEnums.Information.Open_Loop, worker.getParameters().information);
+    }
+
+    @Test
+    public void workersSearchWithTheirOwnRandom() {
+        // in Closed_Loop the root keeps the state the worker was asked to search
+        params.setParameterValue("information", MCTSEnums.Information.Closed_Loop);
+        MCTSPlayer mctsPlayer = new MCTSPlayer(params);
+        Game game = GameType.TicTacToe.createGameInstance(2, 404);
+        game.reset(List.of(mctsPlayer, new RandomPlayer(new Random(392))));
+        List<AbstractAction> actions = game.getForwardModel().computeAvailableActions(game.getGameState());
+        mctsPlayer.getAction(game.getGameState().copy(0), actions);
+        for (MCTSPlayer worker : mctsPlayer.rootWorkers)
+            assertSame(worker.getRnd(), worker.root.getState().getRnd());
+    }
+
+    @Test
+    public void threadPoolIsShutDownWhenTheGameIsOver() {
+        MCTSPlayer mctsPlayer = new MCTSPlayer(params);
+        Game game = GameType.TicTacToe.createGameInstance(2, 404);
+        game.reset(List.of(mctsPlayer, new RandomPlayer(new Random(392))));
+        List<AbstractAction> actions = game.getForwardModel().computeAvailableActions(game.getGameState());
+        mctsPlayer.getAction(game.getGameState().copy(0), actions);
+        ExecutorService executor = mctsPlayer.rootExecutor;
+        assertNotNull(executor);
+        mctsPlayer.finalizePlayer(game.getGameState());
+        assertTrue(executor.isShutdown());
+        assertNull(mctsPlayer.rootExecutor);
+
+        // a copy played in a full game (as in a tournament) does not keep its threads either
+        MCTSPlayer copy = mctsPlayer.copy();
+        runGame(copy);
+        assertNull(copy.rootExecutor);
+    }
+}
@@ -4,6 +4,7 @@ import core.actions.AbstractAction;
 import games.GameType;
 import utilities.Pair;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.*;
@@ -68,8 +69,10 @@ public class STNRollout extends SingleTreeNode {
     }
 
     @Override
-    protected void updateMASTStatistics(List<Pair<Integer, AbstractAction>> tree, List<Pair<Integer, AbstractAction>> rollout, double[] value) {
-        rolloutActions = rollout;
+    protected void updateMASTStatistics(List<Pair<Integer, AbstractAction>> tree, RolloutTrajectory rollout, double[] value) {
+        rolloutActions = new ArrayList<>();
+        for (int i = 0; i < rollout.size(); i++)
+            rolloutActions.add(new Pair<>(rollout.getPlayer(i), rollout.getAction(i)));
     }
 
     @Override
@@ -0,0 +1,100 @@
+package utilities;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class BitboardTests {
+
+    Random rnd = new Random(617);
+
+    /**
+     * The line length counted the slow way, on a plain boolean grid
+     */
+    private int lineLength(boolean[][] cells, int x, int y, int dx, int dy) {
+        if (!cells[x][y])
+            return 0;
+        int retValue = 1;
+        for (int sign = -1; sign <= 1; sign += 2) {
+            int i = x + sign * dx, j = y + sign * dy;
+            while (i >= 0 && i < cells.length && j >= 0 && j < cells[0].length && cells[i][j]) {
+                retValue++;
+                i += sign * dx;
+                j += sign * dy;
+            }
+        }
+        return retValue;
+    }
+
+    @Test
+    public void lineLengthsMatchAPlainGrid() {
+        // 9 x 9 and 10 x 7 take two words, with rows that cross from one to the next; 8 x 8 fills exactly one
+        int[][] sizes = {{9, 9}, {10, 7}, {8, 8}, {3, 3}, {13, 11}};
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        for (int[] size : sizes) {
+            for (int run = 0; run < 50; run++) {
+                boolean[][] expected = new boolean[size[0]][size[1]];
+                Bitboard actual = new Bitboard(size[0], size[1]);
+                for (int step = 0; step < 3 * size[0] * size[1]; step++) {
+                    int x = rnd.nextInt(size[0]), y = rnd.nextInt(size[1]);
+                    expected[x][y] = rnd.nextInt(3) != 0;
+                    if (expected[x][y]) actual.set(x, y);
+                    else actual.clear(x, y);
+                }
+                int count = 0;
+                for (int x = 0; x < size[0]; x++) {
+                    for (int y = 0; y < size[1]; y++) {
+                        assertEquals(expected[x][y], actual.get(x, y));
+                        if (expected[x][y]) count++;
+                        int longest = 0;
+                        for (int[] d : directions) {
+                            int length = lineLength(expected, x, y, d[0], d[1]);
+                            assertEquals(length, actual.lineLength(x, y, d[0], d[1]));
+                            longest = Math.max(longest, length);
+                        }
+                        assertEquals(longest, actual.longestLine(x, y));
+                    }
+                }
+                assertEquals(count, actual.count());
+            }
+        }
+    }
+
+    @Test
+    public void linesAcrossTheWordBoundary() {
+        // on a 9 x 9 board, bit 63 is (0, 7) and bit 64 is (1, 7), so row 7 is split between the two words
+        Bitboard board = new Bitboard(9, 9);
+        for (int x = 0; x < 9; x++)
+            board.set(x, 7);
+        for (int x = 0; x < 9; x++)
+            assertEquals(9, board.lineLength(x, 7, 1, 0));
+        // and the diagonal from (0, 8) to (8, 0) crosses it too
+        for (int i = 0; i < 9; i++)
+            board.set(i, 8 - i);
+        assertEquals(9, board.lineLength(0, 8, 1, -1));
+        assertEquals(9, board.lineLength(4, 4, 1, -1));
+        board.clear(1, 7);
+        assertEquals(1, board.lineLength(0, 7, 1, 0));
+        assertEquals(7, board.lineLength(8, 7, 1, 0));
+        assertEquals(0, board.lineLength(1, 7, 1, -1));
+        assertEquals(7, board.lineLength(2, 6, 1, -1));
+        assertEquals(16, board.count());
+    }
+
+    @Test
+    public void copiesAreIndependentAndEqual() {
+        Bitboard board = new Bitboard(9, 9);
+        board.set(0, 7);
+        board.set(1, 7);
+        Bitboard copy = board.copy();
+        assertEquals(board, copy);
+        assertEquals(board.hashCode(), copy.hashCode());
+        assertEquals(board.getZobristHash(), copy.getZobristHash());
+        copy.clear(1, 7);
+        assertNotEquals(board, copy);
+        assertNotEquals(board.getZobristHash(), copy.getZobristHash());
+        assertTrue(board.get(1, 7));
+    }
+}
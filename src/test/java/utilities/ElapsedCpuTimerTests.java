@@ -0,0 +1,112 @@
+package utilities;
+
+import core.AbstractGameState;
+import games.GameType;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ElapsedCpuTimerTests {
+
+    // a timer with a clock we move forward ourselves, which counts how often it is read
+    static class FakeClockTimer extends ElapsedCpuTimer {
+        long now, reads;
+
+        @Override
+        protected long getTime() {
+            reads++;
+            return now;
+        }
+    }
+
+    /**
+     * Runs iterations of the given length until the timer says to stop, as a time-budgeted MCTS search does
+     *
+     * @return the number of iterations
+     */
+    private long search(FakeClockTimer timer, long iterationNanos, int budgetMS, int breakMS) {
+        timer.setMaxTimeMillis(budgetMS);
+        timer.reset();
+        timer.reads = 0;
+        long iterations = 0;
+        do {
+            timer.now += iterationNanos;
+            iterations++;
+        } while (!timer.iterationBudgetExhausted(breakMS));
+        return iterations;
+    }
+
+    private void checkStopsWithinBudget(long iterationNanos, int budgetMS, int breakMS) {
+        FakeClockTimer timer = new FakeClockTimer();
+        search(timer, iterationNanos, budgetMS, breakMS);
+        long limit = (budgetMS - breakMS) * 1000000L;
+        assertTrue("elapsed " + timer.now + " over " + limit, timer.now <= limit);
+        // and we do not stop more than the iterations between readings, plus one, early
+        long checkInterval = Math.max(1, Math.min(1000, ElapsedCpuTimer.CHECK_PERIOD_NANOS / iterationNanos));
+        assertTrue("elapsed " + timer.now + " too far under " + limit,
+                timer.now > limit - (checkInterval + 2) * iterationNanos);
+    }
+
+    @Test
+    public void slowIterationsStopWithinBudget() {
+        // longer than CHECK_PERIOD_NANOS, so the clock is read after every iteration
+        for (int breakMS : new int[]{0, 5, 30}) {
+            checkStopsWithinBudget(3_000_000, 100, breakMS);
+            checkStopsWithinBudget(7_300_000, 100, breakMS);
+        }
+        FakeClockTimer timer = new FakeClockTimer();
+        long iterations = search(timer, 3_000_000, 100, 10);
+        assertEquals(iterations, timer.reads);
+    }
+
+    @Test
+    public void fastIterationsStopWithinBudget() {
+        // short enough that the clock is only read every 1000 iterations
+        for (int breakMS : new int[]{0, 2, 7}) {
+            checkStopsWithinBudget(5, 10, breakMS);
+            checkStopsWithinBudget(3, 10, breakMS);
+        }
+        FakeClockTimer timer = new FakeClockTimer();
+        long iterations = search(timer, 5, 10, 2);
+        assertEquals(8000000 / 5, iterations, 1001);
+        assertTrue(timer.reads <= iterations / 1000 + 2);
+    }
+
+    @Test
+    public void intermediateIterationsStopWithinBudget() {
+        for (long iterationNanos : new long[]{1_000, 20_000, 150_000})
+            checkStopsWithinBudget(iterationNanos, 50, 10);
+    }
+
+    @Test
+    public void timersAreOnlyCopiedWhenUpdated() {
+        AbstractGameState state = GameType.TicTacToe.createGameInstance(2, 42).getGameState();
+        ElapsedCpuChessTimer original0 = state.getPlayerTimerForUpdate(0);
+        ElapsedCpuChessTimer original1 = state.getPlayerTimerForUpdate(1);
+        long remaining = original0.remainingTime();
+        AbstractGameState copy = state.copy();
+
+        // the copy takes its own timer for player 0 only when it is updated, and only once
+        ElapsedCpuChessTimer copy0 = copy.getPlayerTimerForUpdate(0);
+        assertNotSame(original0, copy0);
+        assertSame(copy0, copy.getPlayerTimerForUpdate(0));
+        while (copy0.elapsed() == 0)
+            state.copy();
+        copy0.pause();
+        assertTrue(copy0.remainingTime() < remaining);
+        assertEquals(remaining, original0.remainingTime());
+
+        // the original also no longer shares its timer with the copy, and neither changes the other's
+        ElapsedCpuChessTimer updated1 = state.getPlayerTimerForUpdate(1);
+        assertNotSame(original1, updated1);
+        assertNotSame(updated1, copy.getPlayerTimerForUpdate(1));
+        updated1.pause();
+        assertEquals(original1.remainingTime(), copy.getPlayerTimerForUpdate(1).remainingTime());
+        assertTrue(updated1.remainingTime() < original1.remainingTime());
+
+        // getPlayerTimer() returns the timers owned by the state
+        assertSame(copy0, copy.getPlayerTimer()[0]);
+        assertSame(updated1, state.getPlayerTimer()[1]);
+        assertNotSame(state.getPlayerTimer()[0], copy.getPlayerTimer()[0]);
+    }
+}
@@ -0,0 +1,79 @@
+package utilities;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class RingBufferListTests {
+
+    Random rnd = new Random(393);
+
+    @Test
+    public void randomOperationsMatchArrayList() {
+        for (int run = 0; run < 20; run++) {
+            List<Integer> expected = new ArrayList<>();
+            List<Integer> actual = new RingBufferList<>(rnd.nextInt(4));
+            for (int step = 0; step < 2000; step++) {
+                int size = expected.size();
+                int index = rnd.nextInt(size + 1);
+                switch (rnd.nextInt(7)) {
+                    case 0:
+                        expected.add(0, step);
+                        actual.add(0, step);
+                        break;
+                    case 1:
+                        expected.add(step);
+                        actual.add(step);
+                        break;
+                    case 2:
+                        expected.add(index, step);
+                        actual.add(index, step);
+                        break;
+                    case 3:
+                        List<Integer> added = Arrays.asList(step, -step, step + 1);
+                        expected.addAll(index, added);
+                        actual.addAll(index, added);
+                        break;
+                    case 4:
+                    case 5:
+                        if (size > 0) {
+                            index = rnd.nextInt(size);
+                            assertEquals(expected.remove(index), actual.remove(index));
+                        }
+                        break;
+                    default:
+                        if (size > 0) {
+                            index = rnd.nextInt(size);
+                            assertEquals(expected.set(index, -1), actual.set(index, -1));
+                        }
+                }
+                assertEquals(expected.size(), actual.size());
+                for (int i = 0; i < expected.size(); i++)
+                    assertEquals(expected.get(i), actual.get(i));
+            }
+            assertEquals(expected, actual);
+            assertArrayEquals(expected.toArray(), actual.toArray());
+            assertEquals(expected, new RingBufferList<>(actual));
+            actual.clear();
+            assertTrue(actual.isEmpty());
+        }
+    }
+
+    @Test
+    public void drawFromTopOfDeck() {
+        List<Integer> list = new RingBufferList<>();
+        for (int i = 0; i < 100; i++)
+            list.add(0, i);
+        for (int i = 99; i >= 0; i--)
+            assertEquals(i, (int) list.remove(0));
+        assertTrue(list.isEmpty());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getOutOfRange() {
+        List<Integer> list = new RingBufferList<>(Arrays.asList(1, 2, 3));
+        list.get(3);
+    }
+}